@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import org.flossware.jcore.collections.ArrayIterator;
+import org.flossware.jcore.operation.NullSuccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures construction throughput of short lived AbstractCommonBase subclasses under contention. The uncached benchmark
+ * performs the per instance LogManager lookup AbstractCommonBase used to do, as a baseline.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class AbstractCommonBaseBenchmark {
+
+    /**
+     * Looks up its logger on every construction, as AbstractCommonBase used to.
+     */
+    static final class UncachedBase {
+
+        final Logger logger;
+
+        UncachedBase() {
+            this.logger = Logger.getLogger(getClass().getName());
+        }
+    }
+
+    /**
+     * Values for our array iterators.
+     */
+    static final String[] VALUES = {"one", "two", "three"};
+
+    @Benchmark
+    public Object uncached() {
+        return new UncachedBase();
+    }
+
+    @Benchmark
+    public Object nullSuccess() {
+        return new NullSuccess<>();
+    }
+
+    @Benchmark
+    public Object arrayIterator() {
+        return new ArrayIterator<>(VALUES);
+    }
+}
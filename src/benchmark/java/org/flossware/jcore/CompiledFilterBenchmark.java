@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.utils.FilterUtils;
+import org.flossware.jcore.utils.collections.IterableUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a hand nested filter, whose clauses always run in the order written, with the same clauses compiled by
+ * FilterUtils.all() - when searching with IterableUtils.contains(). The clauses are written worst first: an expensive clause that
+ * accepts everything ahead of a cheap one that rejects almost everything.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CompiledFilterBenchmark {
+
+    /**
+     * Expensive and accepts everything.
+     */
+    static final Filter<Integer, Integer> EXPENSIVE = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return Integer.toString(toFilter).hashCode() != Integer.MIN_VALUE;
+        }
+    };
+
+    /**
+     * Cheap and accepts everything.
+     */
+    static final Filter<Integer, Integer> NON_NEGATIVE = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter >= 0;
+        }
+    };
+
+    /**
+     * Cheap and accepts one value in a thousand.
+     */
+    static final Filter<Integer, Integer> REMAINDER = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter % 1000 == value;
+        }
+    };
+
+    /**
+     * The clauses nested by hand.
+     */
+    static final Filter<Integer, Integer> NESTED = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return EXPENSIVE.accept(toFilter, value) && NON_NEGATIVE.accept(toFilter, value) && REMAINDER.accept(toFilter, value);
+        }
+    };
+
+    @Param({"100000"})
+    int size;
+
+    List<Integer> values;
+
+    Filter<Integer, Integer> compiled;
+
+    @Setup
+    public void setup() {
+        values = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            values.add(index);
+        }
+
+        compiled = FilterUtils.all(EXPENSIVE, NON_NEGATIVE, REMAINDER);
+    }
+
+    @Benchmark
+    public boolean nested() {
+        return IterableUtils.contains(values, NESTED, -1);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return IterableUtils.contains(values, compiled, -1);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures creating and fully iterating an ArrayIterator, against a plain indexed loop as a baseline.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayIteratorBenchmark {
+
+    @Param({"4", "256", "16384"})
+    int size;
+
+    Integer[] values;
+
+    @Setup
+    public void setup() {
+        values = new Integer[size];
+
+        for (int index = 0; index < size; index++) {
+            values[index] = index;
+        }
+    }
+
+    @Benchmark
+    public long arrayIterator() {
+        long retVal = 0;
+
+        final ArrayIterator<Integer> iter = new ArrayIterator<>(values);
+
+        while (iter.hasNext()) {
+            retVal += iter.next();
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public long arrayIterable() {
+        long retVal = 0;
+
+        for (final Integer value : new ArrayIterable<>(values)) {
+            retVal += value;
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public long baseline() {
+        long retVal = 0;
+
+        for (int index = 0; index < values.length; index++) {
+            retVal += values[index];
+        }
+
+        return retVal;
+    }
+}
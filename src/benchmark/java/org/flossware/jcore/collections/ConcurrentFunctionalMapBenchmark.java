@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.BiFunction;
+import org.flossware.jcore.collections.map.ConcurrentFunctionalMap;
+import org.flossware.jcore.collections.map.FastFunctionalMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of ConcurrentFunctionalMap with a functional map over Collections.synchronizedMap() as every available
+ * processor reads and writes. Use -t to vary the number of threads and check scaling.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class ConcurrentFunctionalMapBenchmark {
+
+    /**
+     * Adds two integers.
+     */
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer first, final Integer second) {
+            return first + second;
+        }
+    };
+
+    @Param({"CONCURRENT", "SYNCHRONIZED"})
+    String kind;
+
+    @Param({"65536"})
+    int size;
+
+    Integer[] keys;
+
+    ConcurrentFunctionalMap<Integer, Integer> concurrentMap;
+
+    Map<Integer, Integer> synchronizedHashMap;
+
+    FastFunctionalMap<Integer, Integer> synchronizedMap;
+
+    boolean isConcurrent;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[size];
+        isConcurrent = "CONCURRENT".equals(kind);
+        concurrentMap = new ConcurrentFunctionalMap<>();
+        synchronizedHashMap = Collections.synchronizedMap(new HashMap<Integer, Integer>());
+        synchronizedMap = new FastFunctionalMap<>(synchronizedHashMap);
+
+        for (int key = 0; key < size; key++) {
+            keys[key] = key;
+            concurrentMap.putF(keys[key], key);
+            synchronizedMap.putF(keys[key], key);
+        }
+    }
+
+    Integer nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    Map<Integer, Integer> map() {
+        return isConcurrent ? concurrentMap : synchronizedMap;
+    }
+
+    @Benchmark
+    public Object get() {
+        return map().get(nextKey());
+    }
+
+    @Benchmark
+    public Object putF() {
+        final Integer key = nextKey();
+
+        return isConcurrent ? concurrentMap.putF(key, key) : synchronizedMap.putF(key, key);
+    }
+
+    @Benchmark
+    public Object readMostly() {
+        final Integer key = nextKey();
+
+        if (ThreadLocalRandom.current().nextInt(10) != 0) {
+            return map().get(key);
+        }
+
+        return isConcurrent ? concurrentMap.putF(key, key) : synchronizedMap.putF(key, key);
+    }
+
+    @Benchmark
+    public Object merge() {
+        final Integer key = nextKey();
+
+        if (isConcurrent) {
+            return concurrentMap.mergeValue(key, 1, SUM);
+        }
+
+        synchronized (synchronizedHashMap) {
+            final Integer current = synchronizedHashMap.get(key);
+            final Integer merged = null == current ? 1 : current + 1;
+
+            synchronizedHashMap.put(key, merged);
+
+            return merged;
+        }
+    }
+}
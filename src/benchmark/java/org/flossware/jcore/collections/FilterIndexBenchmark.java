@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.KeyFilter;
+import org.flossware.jcore.utils.collections.IterableUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares repeated IterableUtils.contains() scans with hashed and sorted FilterIndex lookups of the same key filter.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FilterIndexBenchmark {
+
+    /**
+     * Keys longs by their value divided by ten.
+     */
+    static final KeyFilter<Long, Long> TENS = new KeyFilter<Long, Long>() {
+        @Override
+        public Long getKey(final Long toFilter) {
+            return toFilter / 10;
+        }
+    };
+
+    /**
+     * Natural ordering of longs.
+     */
+    static final Comparator<Long> COMPARATOR = new Comparator<Long>() {
+        @Override
+        public int compare(final Long o1, final Long o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    @Param({"10000"})
+    int size;
+
+    List<Long> values;
+
+    Long[] keys;
+
+    FilterIndex<Long, Long> hashed;
+
+    FilterIndex<Long, Long> sorted;
+
+    int index;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+
+        values = new ArrayList<>(size);
+        keys = new Long[1024];
+
+        for (int position = 0; position < size; position++) {
+            values.add((long) random.nextInt(size * 20));
+        }
+
+        for (int position = 0; position < keys.length; position++) {
+            keys[position] = (long) random.nextInt(size * 2);
+        }
+
+        hashed = FilterIndex.hashed(values, TENS);
+        sorted = FilterIndex.sorted(values, TENS, COMPARATOR);
+    }
+
+    Long nextKey() {
+        index = (index + 1) & (keys.length - 1);
+
+        return keys[index];
+    }
+
+    @Benchmark
+    public boolean scan() {
+        return IterableUtils.contains(values, TENS, nextKey());
+    }
+
+    @Benchmark
+    public boolean hashed() {
+        return hashed.contains(nextKey());
+    }
+
+    @Benchmark
+    public boolean sorted() {
+        return sorted.contains(nextKey());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.Filter;
+import org.flossware.jcore.Function;
+import org.flossware.jcore.collections.collection.FastFunctionalCollection;
+import org.flossware.jcore.collections.collection.FunctionalCollection;
+import org.flossware.jcore.collections.collection.FunctionalCollectionView;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares a filter, map and limit pipeline built by materializing each step (CollectionUtils.filter() then copying) with the
+ * same pipeline as lazy views. Run with "-prof gc" to compare allocation.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FunctionalCollectionViewBenchmark {
+
+    static final Filter<Integer, Integer> DIVISIBLE_BY = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer divisor) {
+            return toFilter % divisor == 0;
+        }
+    };
+
+    static final Function<Integer, Long> SQUARE = new Function<Integer, Long>() {
+        @Override
+        public Long apply(final Integer value) {
+            return (long) value * value;
+        }
+    };
+
+    @Param({"100000"})
+    int size;
+
+    FunctionalCollection<Integer> collection;
+
+    @Setup
+    public void setup() {
+        final List<Integer> values = new ArrayList<>(size);
+
+        for (int value = 0; value < size; value++) {
+            values.add(value);
+        }
+
+        collection = new FastFunctionalCollection<>(values);
+    }
+
+    @Benchmark
+    public long materialized() {
+        final Collection<Integer> filtered = CollectionUtils.filter(collection, DIVISIBLE_BY, 3);
+        final List<Long> mapped = new ArrayList<>();
+
+        for (final Integer value : filtered) {
+            mapped.add(SQUARE.apply(value));
+        }
+
+        long retVal = 0;
+
+        for (final Long value : mapped.subList(0, Math.min(1000, mapped.size()))) {
+            retVal += value;
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public long views() {
+        long retVal = 0;
+
+        for (final Long value : FunctionalCollectionView.limit(FunctionalCollectionView.map(FunctionalCollectionView.filter(collection, DIVISIBLE_BY, 3), SQUARE), 1000)) {
+            retVal += value;
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.collections.collection.DefaultFunctionalCollection;
+import org.flossware.jcore.collections.collection.FastFunctionalCollection;
+import org.flossware.jcore.collections.collection.FunctionalCollection;
+import org.flossware.jcore.collections.map.DefaultFunctionalMap;
+import org.flossware.jcore.collections.map.FastFunctionalMap;
+import org.flossware.jcore.collections.map.FunctionalMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the logging functional collections and maps with their logging free "fast" siblings. Logging is at its default
+ * level, so the logging versions pay only for their level checks.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FunctionalCollectionsBenchmark {
+
+    @Param({"DEFAULT", "FAST"})
+    String kind;
+
+    @Param({"1024"})
+    int size;
+
+    Integer[] keys;
+
+    FunctionalMap<Integer, Integer> map;
+
+    FunctionalCollection<Integer> collection;
+
+    int index;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[size];
+
+        final HashMap<Integer, Integer> hashMap = new HashMap<>();
+        final HashSet<Integer> set = new HashSet<>();
+
+        map = "FAST".equals(kind) ? new FastFunctionalMap<>(hashMap) : new DefaultFunctionalMap<>(hashMap);
+        collection = "FAST".equals(kind) ? new FastFunctionalCollection<>(set) : new DefaultFunctionalCollection<>(set);
+
+        for (int key = 0; key < size; key++) {
+            keys[key] = key;
+            map.putF(key, key);
+        }
+    }
+
+    Integer nextKey() {
+        index = (index + 1) & (size - 1);
+
+        return keys[index];
+    }
+
+    @Benchmark
+    public Object mapGet() {
+        return map.get(nextKey());
+    }
+
+    @Benchmark
+    public Object mapPutF() {
+        final Integer key = nextKey();
+
+        return map.putF(key, key);
+    }
+
+    @Benchmark
+    public boolean mapContainsKey() {
+        return map.containsKey(nextKey());
+    }
+
+    @Benchmark
+    public Object collectionAddFRemoveF() {
+        final Integer key = nextKey();
+
+        return collection.addF(key).removeF(key);
+    }
+
+    @Benchmark
+    public int collectionSize() {
+        return collection.size();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.collections.map.DefaultFunctionalMap;
+import org.flossware.jcore.collections.map.FunctionalMap;
+import org.flossware.jcore.collections.map.PersistentFunctionalMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares publishing a changed copy of a map - copying a HashMap into a new DefaultFunctionalMap - with returning a new version
+ * of a PersistentFunctionalMap. Also compares reads.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistentFunctionalMapBenchmark {
+
+    @Param({"1024", "65536"})
+    int size;
+
+    Integer[] keys;
+
+    Map<Integer, Integer> hashMap;
+
+    PersistentFunctionalMap<Integer, Integer> persistentMap;
+
+    int index;
+
+    @Setup
+    public void setup() {
+        keys = new Integer[size];
+        hashMap = new HashMap<>();
+        persistentMap = PersistentFunctionalMap.empty();
+
+        for (int key = 0; key < size; key++) {
+            keys[key] = key;
+            hashMap.put(key, key);
+            persistentMap = persistentMap.putF(key, key);
+        }
+    }
+
+    Integer nextKey() {
+        index = (index + 1) & (size - 1);
+
+        return keys[index];
+    }
+
+    @Benchmark
+    public Object copyOnWritePutF() {
+        final FunctionalMap<Integer, Integer> copy = new DefaultFunctionalMap<>(new HashMap<>(hashMap));
+
+        return copy.putF(nextKey(), -1);
+    }
+
+    @Benchmark
+    public Object persistentPutF() {
+        return persistentMap.putF(nextKey(), -1);
+    }
+
+    @Benchmark
+    public Object hashMapGet() {
+        return hashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Object persistentGet() {
+        return persistentMap.get(nextKey());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.collections.collection.FastFunctionalCollection;
+import org.flossware.jcore.collections.collection.IntHashSet;
+import org.flossware.jcore.collections.collection.LongHashSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the open addressing IntHashSet and LongHashSet with a FastFunctionalCollection over a HashSet of boxed
+ * values. Keys are random so that the boxed values are not served from the Integer and Long caches.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveHashSetBenchmark {
+
+    @Param({"1024", "65536"})
+    int size;
+
+    int[] intKeys;
+
+    long[] longKeys;
+
+    IntHashSet intSet;
+
+    LongHashSet longSet;
+
+    FastFunctionalCollection<Integer> boxedCollection;
+
+    int index;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+
+        intKeys = new int[size];
+        longKeys = new long[size];
+
+        intSet = new IntHashSet();
+        longSet = new LongHashSet();
+        boxedCollection = new FastFunctionalCollection<>(new HashSet<Integer>());
+
+        for (int key = 0; key < size; key++) {
+            intKeys[key] = random.nextInt();
+            longKeys[key] = random.nextLong();
+
+            intSet.addF(intKeys[key]);
+            longSet.addF(longKeys[key]);
+            boxedCollection.addF(intKeys[key]);
+        }
+    }
+
+    int nextIndex() {
+        index = (index + 1) & (size - 1);
+
+        return index;
+    }
+
+    @Benchmark
+    public boolean intContains() {
+        return intSet.contains(intKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean longContains() {
+        return longSet.contains(longKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean boxedContains() {
+        return boxedCollection.contains(intKeys[nextIndex()]);
+    }
+
+    @Benchmark
+    public Object intRemoveFAddF() {
+        final int key = intKeys[nextIndex()];
+
+        return intSet.removeF(key).addF(key);
+    }
+
+    @Benchmark
+    public Object longRemoveFAddF() {
+        final long key = longKeys[nextIndex()];
+
+        return longSet.removeF(key).addF(key);
+    }
+
+    @Benchmark
+    public Object boxedRemoveFAddF() {
+        final int key = intKeys[nextIndex()];
+
+        return boxedCollection.removeF(key).addF(key);
+    }
+
+    @Benchmark
+    public long intIterate() {
+        long retVal = 0;
+
+        for (final IntIterator iter = intSet.iterator(); iter.hasNext();) {
+            retVal += iter.nextInt();
+        }
+
+        return retVal;
+    }
+
+    @Benchmark
+    public long boxedIterate() {
+        long retVal = 0;
+
+        for (final Iterator<Integer> iter = boxedCollection.iterator(); iter.hasNext();) {
+            retVal += iter.next();
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures StringUtils.concatWithSeparator across the number of objects concatenated.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringUtilsBenchmark {
+
+    @Param({"1", "8", "64"})
+    int count;
+
+    @Param({"false", "true"})
+    boolean isSeparatorAtEnd;
+
+    Object[] objs;
+
+    @Setup
+    public void setup() {
+        objs = new Object[count];
+
+        for (int index = 0; index < count; index++) {
+            objs[index] = (index % 2 == 0) ? "value" + index : Integer.valueOf(index);
+        }
+    }
+
+    @Benchmark
+    public String concatWithSeparator() {
+        return StringUtils.concatWithSeparator(isSeparatorAtEnd, ", ", objs);
+    }
+
+    @Benchmark
+    public String concat() {
+        return StringUtils.concat(objs);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the LinkedList/TreeSet based asList(), asSet() and sort() of CollectionUtils with the array backed, presized toList(),
+ * toSet() and toSortedList(), and the zero copy VIEW mode. The largest sizes need a large heap - for example
+ * -jvmArgs -Xmx4g.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionCopyBenchmark {
+
+    /**
+     * Natural ordering of integers.
+     */
+    static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+        @Override
+        public int compare(final Integer o1, final Integer o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    List<Integer> values;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+
+        values = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            values.add(random.nextInt());
+        }
+    }
+
+    @Benchmark
+    public Collection<Integer> asList() {
+        return CollectionUtils.asList(values);
+    }
+
+    @Benchmark
+    public Collection<Integer> toList() {
+        return CollectionUtils.toList(values);
+    }
+
+    @Benchmark
+    public Collection<Integer> toListView() {
+        return CollectionUtils.toList(values, CopyMode.VIEW);
+    }
+
+    @Benchmark
+    public Collection<Integer> asSet() {
+        return CollectionUtils.asSet(values);
+    }
+
+    @Benchmark
+    public Collection<Integer> toSet() {
+        return CollectionUtils.toSet(values);
+    }
+
+    @Benchmark
+    public Collection<Integer> toSortedSet() {
+        return CollectionUtils.toSortedSet(values, COMPARATOR);
+    }
+
+    @Benchmark
+    public Collection<Integer> sort() {
+        return CollectionUtils.sort(values, COMPARATOR);
+    }
+
+    @Benchmark
+    public Collection<Integer> toSortedList() {
+        return CollectionUtils.toSortedList(values, COMPARATOR);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures CollectionUtils.filter and CollectionUtils.sort, and their fork/join parallel variants, across collection sizes.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionUtilsBenchmark {
+
+    /**
+     * Accepts values less than the value given.
+     */
+    static final Filter<Integer, Integer> LESS_THAN = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter < value;
+        }
+    };
+
+    /**
+     * Natural ordering of integers.
+     */
+    static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+        @Override
+        public int compare(final Integer o1, final Integer o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"50"})
+    int selectivity;
+
+    List<Integer> values;
+
+    Integer threshold;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+
+        values = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            values.add(random.nextInt(100));
+        }
+
+        threshold = selectivity;
+    }
+
+    @Benchmark
+    public Collection<Integer> filter() {
+        return CollectionUtils.filter(values, LESS_THAN, threshold);
+    }
+
+    @Benchmark
+    public Collection<Integer> sort() {
+        return CollectionUtils.sort(values, COMPARATOR);
+    }
+
+    @Benchmark
+    public Collection<Integer> parallelFilter() {
+        return CollectionUtils.parallelFilter(values, LESS_THAN, threshold);
+    }
+
+    @Benchmark
+    public Collection<Integer> parallelSort() {
+        return CollectionUtils.parallelSort(values, COMPARATOR);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.ToDoubleFunction;
+import org.flossware.jcore.ToIntFunction;
+import org.flossware.jcore.ToLongFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares sorting records by a numeric field using a comparator with the radix based sortByIntKey(), sortByLongKey() and
+ * sortByDoubleKey().
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KeySortBenchmark {
+
+    /**
+     * A record with numeric fields to sort by.
+     */
+    static final class Record {
+
+        final int intKey;
+        final long longKey;
+        final double doubleKey;
+
+        Record(final int intKey, final long longKey, final double doubleKey) {
+            this.intKey = intKey;
+            this.longKey = longKey;
+            this.doubleKey = doubleKey;
+        }
+    }
+
+    static final Comparator<Record> INT_COMPARATOR = new Comparator<Record>() {
+        @Override
+        public int compare(final Record o1, final Record o2) {
+            return Integer.compare(o1.intKey, o2.intKey);
+        }
+    };
+
+    static final Comparator<Record> LONG_COMPARATOR = new Comparator<Record>() {
+        @Override
+        public int compare(final Record o1, final Record o2) {
+            return Long.compare(o1.longKey, o2.longKey);
+        }
+    };
+
+    static final Comparator<Record> DOUBLE_COMPARATOR = new Comparator<Record>() {
+        @Override
+        public int compare(final Record o1, final Record o2) {
+            return Double.compare(o1.doubleKey, o2.doubleKey);
+        }
+    };
+
+    static final ToIntFunction<Record> INT_KEY = new ToIntFunction<Record>() {
+        @Override
+        public int applyAsInt(final Record value) {
+            return value.intKey;
+        }
+    };
+
+    static final ToLongFunction<Record> LONG_KEY = new ToLongFunction<Record>() {
+        @Override
+        public long applyAsLong(final Record value) {
+            return value.longKey;
+        }
+    };
+
+    static final ToDoubleFunction<Record> DOUBLE_KEY = new ToDoubleFunction<Record>() {
+        @Override
+        public double applyAsDouble(final Record value) {
+            return value.doubleKey;
+        }
+    };
+
+    @Param({"10000", "1000000"})
+    int size;
+
+    List<Record> values;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+
+        values = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            values.add(new Record(random.nextInt(), random.nextLong(), random.nextDouble() * size));
+        }
+    }
+
+    @Benchmark
+    public List<Record> intComparator() {
+        return CollectionUtils.toSortedList(values, INT_COMPARATOR);
+    }
+
+    @Benchmark
+    public List<Record> intKey() {
+        return CollectionUtils.sortByIntKey(values, INT_KEY);
+    }
+
+    @Benchmark
+    public List<Record> longComparator() {
+        return CollectionUtils.toSortedList(values, LONG_COMPARATOR);
+    }
+
+    @Benchmark
+    public List<Record> longKey() {
+        return CollectionUtils.sortByLongKey(values, LONG_KEY);
+    }
+
+    @Benchmark
+    public List<Record> doubleComparator() {
+        return CollectionUtils.toSortedList(values, DOUBLE_COMPARATOR);
+    }
+
+    @Benchmark
+    public List<Record> doubleKey() {
+        return CollectionUtils.sortByDoubleKey(values, DOUBLE_KEY);
+    }
+}
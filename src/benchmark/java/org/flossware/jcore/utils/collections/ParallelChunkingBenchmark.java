@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.flossware.jcore.collections.ArraySplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares splitting work into fixed chunks of the threshold - leaving a sliver of a last chunk and an uneven last round - with
+ * the even halving of ArraySplitter the parallel operations of CollectionUtils use. Sizes are chosen so fixed chunks leave one
+ * round of work to a fraction of the pool's threads. Only meaningful with several processors.
+ *
+ * @author Scot P. Floess
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelChunkingBenchmark {
+
+    /**
+     * Splits a range into fixed chunks of the threshold, as the parallel operations once did.
+     */
+    static final class FixedChunkTask extends RecursiveAction {
+
+        final Integer[] values;
+        final int threshold;
+        final int fromChunk;
+        final int toChunk;
+        final AtomicLong sum;
+
+        FixedChunkTask(final Integer[] values, final int threshold, final int fromChunk, final int toChunk, final AtomicLong sum) {
+            this.values = values;
+            this.threshold = threshold;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+            this.sum = sum;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk == 1) {
+                final int from = fromChunk * threshold;
+                final int to = Math.min(values.length, from + threshold);
+
+                long partial = 0;
+
+                for (int index = from; index < to; index++) {
+                    partial += work(values[index]);
+                }
+
+                sum.addAndGet(partial);
+
+                return;
+            }
+
+            final int middle = (fromChunk + toChunk) >>> 1;
+
+            invokeAll(new FixedChunkTask(values, threshold, fromChunk, middle, sum), new FixedChunkTask(values, threshold, middle, toChunk, sum));
+        }
+    }
+
+    /**
+     * Some work for each value.
+     */
+    static long work(final int value) {
+        long retVal = value;
+
+        for (int count = 0; count < 64; count++) {
+            retVal = retVal * 6364136223846793005L + 1442695040888963407L;
+        }
+
+        return retVal;
+    }
+
+    @Param({"8192"})
+    int threshold;
+
+    /**
+     * The size in thresholds per processor - fractions leave fixed chunks an uneven last round.
+     */
+    @Param({"1.5", "2.25"})
+    double thresholdsPerProcessor;
+
+    ForkJoinPool pool;
+
+    Integer[] values;
+
+    @Setup
+    public void setup() {
+        pool = CollectionUtils.getDefaultForkJoinPool();
+        values = new Integer[(int) (threshold * thresholdsPerProcessor * pool.getParallelism())];
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index;
+        }
+    }
+
+    @Benchmark
+    public long fixedChunks() {
+        final AtomicLong sum = new AtomicLong();
+
+        pool.invoke(new FixedChunkTask(values, threshold, 0, (values.length + threshold - 1) / threshold, sum));
+
+        return sum.get();
+    }
+
+    @Benchmark
+    public long evenSplits() {
+        final AtomicLong sum = new AtomicLong();
+
+        ForkJoinTasks.forEachChunk(pool, new ArraySplitter<>(values), threshold, new ForkJoinTasks.ChunkHandler<Integer>() {
+            @Override
+            public void handle(final int chunk, final ArraySplitter<Integer> chunkValues) {
+                long partial = 0;
+
+                while (chunkValues.hasNext()) {
+                    partial += work(chunkValues.next());
+                }
+
+                sum.addAndGet(partial);
+            }
+        });
+
+        return sum.get();
+    }
+}
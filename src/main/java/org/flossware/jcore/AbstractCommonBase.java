@@ -33,10 +33,10 @@ public abstract class AbstractCommonBase {
     private final Logger logger;
 
     /**
-     * Default constructor.
+     * Default constructor. The logger is cached per class, so constructing costs no more than a field store.
      */
     protected AbstractCommonBase() {
-        this.logger = Logger.getLogger(getClass().getName());
+        this.logger = LoggerUtils.getLogger(getClass());
     }
 
     /**
@@ -48,6 +48,133 @@ public abstract class AbstractCommonBase {
         return logger;
     }
 
+    /**
+     * Return true if our logger will log at <code>level</code>.
+     *
+     * @param level the level of the log.
+     *
+     * @return true if our logger will log at <code>level</code> or false if not.
+     */
+    protected boolean isLoggable(final Level level) {
+        return LoggerUtils.isLoggable(getLogger(), level);
+    }
+
+    /**
+     * Performs a log of <code>str</code>.
+     *
+     * @param level the level of the log.
+     * @param str the string to log.
+     */
+    protected void log(final Level level, final String str) {
+        LoggerUtils.log(getLogger(), level, str);
+    }
+
+    /**
+     * Performs a log of one object.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     */
+    protected void log(final Level level, final String str, final Object obj0) {
+        LoggerUtils.log(getLogger(), level, str, obj0);
+    }
+
+    /**
+     * Performs a log of two objects.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     * @param obj1 the 1st parameter.
+     */
+    protected void log(final Level level, final String str, final Object obj0, final Object obj1) {
+        LoggerUtils.log(getLogger(), level, str, obj0, obj1);
+    }
+
+    /**
+     * Performs a log of three objects.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     */
+    protected void log(final Level level, final String str, final Object obj0, final Object obj1, final Object obj2) {
+        LoggerUtils.log(getLogger(), level, str, obj0, obj1, obj2);
+    }
+
+    /**
+     * Performs a log of four objects.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     * @param obj3 the 3rd parameter.
+     */
+    protected void log(final Level level, final String str, final Object obj0, final Object obj1, final Object obj2, final Object obj3) {
+        LoggerUtils.log(getLogger(), level, str, obj0, obj1, obj2, obj3);
+    }
+
+    /**
+     * Performs a log of a boolean.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param value the 0th parameter.
+     */
+    protected void log(final Level level, final String str, final boolean value) {
+        LoggerUtils.log(getLogger(), level, str, value);
+    }
+
+    /**
+     * Performs a log of an int.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param value the 0th parameter.
+     */
+    protected void log(final Level level, final String str, final int value) {
+        LoggerUtils.log(getLogger(), level, str, value);
+    }
+
+    /**
+     * Performs a log of a long.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param value the 0th parameter.
+     */
+    protected void log(final Level level, final String str, final long value) {
+        LoggerUtils.log(getLogger(), level, str, value);
+    }
+
+    /**
+     * Performs a log of a lazily computed value.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param supplier0 supplies the 0th parameter.
+     */
+    protected void log(final Level level, final String str, final Supplier<?> supplier0) {
+        LoggerUtils.log(getLogger(), level, str, supplier0);
+    }
+
+    /**
+     * Performs a log of two lazily computed values.
+     *
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param supplier0 supplies the 0th parameter.
+     * @param supplier1 supplies the 1st parameter.
+     */
+    protected void log(final Level level, final String str, final Supplier<?> supplier0, final Supplier<?> supplier1) {
+        LoggerUtils.log(getLogger(), level, str, supplier0, supplier1);
+    }
+
     /**
      * Performs a log using the var args <code>objs</code> as an array that can be presented to the logger.
      *
@@ -74,6 +201,139 @@ public abstract class AbstractCommonBase {
         return LoggerUtils.logAndReturn(getLogger(), level, str, retVal);
     }
 
+    /**
+     * Log and return the value, logging <code>obj1</code> as the 1st parameter.
+     *
+     * @param <V> the type of data to return.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the object logged.
+     */
+    protected <V> V logAndReturn(final Level level, final String str, final V retVal, final Object obj1) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1);
+    }
+
+    /**
+     * Log and return the value, logging <code>obj1</code> and <code>obj2</code> as the 1st and 2nd parameters.
+     *
+     * @param <V> the type of data to return.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     *
+     * @return the object logged.
+     */
+    protected <V> V logAndReturn(final Level level, final String str, final V retVal, final Object obj1, final Object obj2) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1, obj2);
+    }
+
+    /**
+     * Log and return the value, logging <code>obj1</code>, <code>obj2</code> and <code>obj3</code> as the 1st, 2nd and 3rd
+     * parameters.
+     *
+     * @param <V> the type of data to return.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     * @param obj3 the 3rd parameter.
+     *
+     * @return the object logged.
+     */
+    protected <V> V logAndReturn(final Level level, final String str, final V retVal, final Object obj1, final Object obj2, final Object obj3) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1, obj2, obj3);
+    }
+
+    /**
+     * Log and return a boolean value.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     *
+     * @return the value logged.
+     */
+    protected boolean logAndReturn(final Level level, final String str, final boolean retVal) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal);
+    }
+
+    /**
+     * Log and return a boolean value, logging <code>obj1</code> as the 1st parameter.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the value logged.
+     */
+    protected boolean logAndReturn(final Level level, final String str, final boolean retVal, final Object obj1) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1);
+    }
+
+    /**
+     * Log and return an int value.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     *
+     * @return the value logged.
+     */
+    protected int logAndReturn(final Level level, final String str, final int retVal) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal);
+    }
+
+    /**
+     * Log and return an int value, logging <code>obj1</code> as the 1st parameter.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the value logged.
+     */
+    protected int logAndReturn(final Level level, final String str, final int retVal, final Object obj1) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1);
+    }
+
+    /**
+     * Log and return a long value.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     *
+     * @return the value logged.
+     */
+    protected long logAndReturn(final Level level, final String str, final long retVal) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal);
+    }
+
+    /**
+     * Log and return a long value, logging <code>obj1</code> as the 1st parameter.
+     *
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the value logged.
+     */
+    protected long logAndReturn(final Level level, final String str, final long retVal, final Object obj1) {
+        return LoggerUtils.logAndReturn(getLogger(), level, str, retVal, obj1);
+    }
+
     /**
      * Log and return the value thats found at <code>index</code> in the var arg <code>objs</code>. The "i" in LogFi stands for
  integer position. Without a unique name on this method, there is conflict in calling the logAndReturn() counterpart.
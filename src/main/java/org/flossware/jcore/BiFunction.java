@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+/**
+ * API to compute a result from two values.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type of the first value.
+ * @param <U> the type of the second value.
+ * @param <R> the type of result.
+ */
+public interface BiFunction<T, U, R> {
+
+    /**
+     * Compute a result from <code>first</code> and <code>second</code>.
+     *
+     * @param first the first value.
+     * @param second the second value.
+     *
+     * @return the result.
+     */
+    R apply(T first, U second);
+}
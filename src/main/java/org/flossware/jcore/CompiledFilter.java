@@ -0,0 +1,339 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A flat array of filters evaluated as one filter - either all must accept (short circuiting on the first rejection) or any
+ * must accept (short circuiting on the first acceptance). Each clause counts how often it is evaluated and accepts and, for a
+ * sample of evaluations, how long it takes. Every <code>reorderInterval</code> evaluations the clauses are reordered so those
+ * most likely to decide the result for the least cost run first. The result never depends on the order, only the cost does.
+ *
+ * Thread safe: statistics are updated without synchronization, so under contention some updates may be lost - which only
+ * affects the ordering.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type being filtered.
+ * @param <V> the value applied when filtering.
+ */
+public final class CompiledFilter<T, V> implements Filter<T, V> {
+
+    /**
+     * How clause results are combined.
+     */
+    public enum Mode {
+        /**
+         * All clauses must accept.
+         */
+        ALL,
+        /**
+         * Any clause must accept.
+         */
+        ANY
+    }
+
+    /**
+     * The default number of evaluations between reorders.
+     */
+    public static final int DEFAULT_REORDER_INTERVAL = 1024;
+
+    /**
+     * One in this many evaluations is timed - must be a power of two.
+     */
+    static final int SAMPLE_RATE = 64;
+
+    /**
+     * The least probability used when scoring, so a clause that never decides is merely scored last.
+     */
+    static final double MIN_PROBABILITY = 1.0e-6;
+
+    /**
+     * A filter and its statistics.
+     */
+    static final class Clause<T, V> {
+
+        final Filter<? super T, ? super V> filter;
+
+        int evaluated;
+        int accepted;
+        int timed;
+        long nanos;
+
+        Clause(final Filter<? super T, ? super V> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * Return our mean cost in nanoseconds.
+         *
+         * @return our mean cost or a negative number if never timed.
+         */
+        double cost() {
+            final int currentTimed = timed;
+
+            return currentTimed <= 0 ? -1.0 : 1.0 + (double) nanos / currentTimed;
+        }
+
+        /**
+         * Return the expected cost of deciding the result with this clause - its mean cost divided by the probability it decides
+         * the result. Lower is better.
+         *
+         * @param mode how results are combined.
+         * @param unknownCost the cost to use if never timed.
+         *
+         * @return the score, or positive infinity if never evaluated.
+         */
+        double score(final Mode mode, final double unknownCost) {
+            final int currentEvaluated = evaluated;
+
+            if (currentEvaluated <= 0) {
+                return Double.POSITIVE_INFINITY;
+            }
+
+            final double currentCost = cost();
+            final double acceptRate = Math.min(1.0, (double) accepted / currentEvaluated);
+            final double decideRate = Mode.ALL == mode ? 1.0 - acceptRate : acceptRate;
+
+            return (currentCost < 0 ? unknownCost : currentCost) / Math.max(decideRate, MIN_PROBABILITY);
+        }
+
+        /**
+         * Halve our statistics, so recent evaluations outweigh older ones.
+         */
+        void decay() {
+            evaluated >>= 1;
+            accepted >>= 1;
+            timed >>= 1;
+            nanos >>= 1;
+        }
+    }
+
+    /**
+     * How clause results are combined.
+     */
+    private final Mode mode;
+
+    /**
+     * The number of evaluations between reorders.
+     */
+    private final int reorderInterval;
+
+    /**
+     * Our clauses in evaluation order - replaced, never modified, when reordering.
+     */
+    private volatile Clause<T, V>[] clauses;
+
+    /**
+     * The number of evaluations, wrapping on overflow.
+     */
+    private int evaluations;
+
+    /**
+     * Sets how results are combined, the clauses in their initial order and how often to reorder.
+     *
+     * @param mode how results are combined.
+     * @param filters the clauses in their initial order.
+     * @param reorderInterval the number of evaluations between reorders.
+     *
+     * @throws IllegalArgumentException if <code>mode</code> or <code>filters</code> is null, <code>filters</code> contains null
+     * or <code>reorderInterval</code> is less than one.
+     */
+    public CompiledFilter(final Mode mode, final Collection<? extends Filter<? super T, ? super V>> filters, final int reorderInterval) {
+        this.mode = ObjectUtils.ensureObject(mode, "Must have a mode");
+        this.reorderInterval = IntUtils.ensureMinInt(reorderInterval, 1, "Reorder interval must be positive");
+
+        ObjectUtils.ensureObject(filters, "Must have filters");
+
+        @SuppressWarnings("unchecked")
+        final Clause<T, V>[] newClauses = (Clause<T, V>[]) new Clause<?, ?>[filters.size()];
+
+        int index = 0;
+
+        for (final Filter<? super T, ? super V> filter : filters) {
+            newClauses[index++] = new Clause<>(ObjectUtils.ensureObject(filter, "Cannot have a null filter"));
+        }
+
+        this.clauses = newClauses;
+    }
+
+    /**
+     * Sets how results are combined and the clauses in their initial order, reordering every
+     * {@link #DEFAULT_REORDER_INTERVAL} evaluations.
+     *
+     * @param mode how results are combined.
+     * @param filters the clauses in their initial order.
+     *
+     * @throws IllegalArgumentException if <code>mode</code> or <code>filters</code> is null or <code>filters</code> contains null.
+     */
+    public CompiledFilter(final Mode mode, final Collection<? extends Filter<? super T, ? super V>> filters) {
+        this(mode, filters, DEFAULT_REORDER_INTERVAL);
+    }
+
+    /**
+     * Return how clause results are combined.
+     *
+     * @return how clause results are combined.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Return the number of evaluations between reorders.
+     *
+     * @return the number of evaluations between reorders.
+     */
+    public int getReorderInterval() {
+        return reorderInterval;
+    }
+
+    /**
+     * Return our clauses in their current evaluation order.
+     *
+     * @return our clauses in their current evaluation order.
+     */
+    public List<Filter<? super T, ? super V>> getFilters() {
+        final Clause<T, V>[] currentClauses = clauses;
+        final List<Filter<? super T, ? super V>> retVal = new ArrayList<>(currentClauses.length);
+
+        for (final Clause<T, V> clause : currentClauses) {
+            retVal.add(clause.filter);
+        }
+
+        return Collections.unmodifiableList(retVal);
+    }
+
+    /**
+     * Return the mean cost of those clauses that have been timed.
+     *
+     * @param currentClauses the clauses.
+     *
+     * @return the mean cost or one if none have been timed.
+     */
+    static double computeMeanCost(final Clause<?, ?>[] currentClauses) {
+        double total = 0;
+        int count = 0;
+
+        for (final Clause<?, ?> clause : currentClauses) {
+            final double cost = clause.cost();
+
+            if (cost >= 0) {
+                total += cost;
+                count++;
+            }
+        }
+
+        return count == 0 ? 1.0 : total / count;
+    }
+
+    /**
+     * Reorder our clauses by their score, lowest first, keeping the current order among equal scores. Clauses never timed are
+     * assumed to cost the mean of those that have been. Statistics are decayed afterwards.
+     */
+    synchronized void reorder() {
+        final Clause<T, V>[] currentClauses = clauses;
+        final Integer[] order = new Integer[currentClauses.length];
+        final double meanCost = computeMeanCost(currentClauses);
+
+        // Scores are taken once up front - statistics change under us and sorting needs a consistent order.
+        final double[] scores = new double[currentClauses.length];
+
+        for (int index = 0; index < currentClauses.length; index++) {
+            order[index] = index;
+            scores[index] = currentClauses[index].score(mode, meanCost);
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                return Double.compare(scores[first], scores[second]);
+            }
+        });
+
+        final Clause<T, V>[] newClauses = currentClauses.clone();
+
+        for (int index = 0; index < newClauses.length; index++) {
+            newClauses[index] = currentClauses[order[index]];
+            newClauses[index].decay();
+        }
+
+        clauses = newClauses;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final T toFilter, final V value) {
+        final int count = ++evaluations;
+
+        if (count % reorderInterval == 0) {
+            reorder();
+        }
+
+        final Clause<T, V>[] currentClauses = clauses;
+        final boolean decidingResult = Mode.ANY == mode;
+        final boolean isTimed = (count & (SAMPLE_RATE - 1)) == 0;
+
+        for (final Clause<T, V> clause : currentClauses) {
+            final boolean result;
+
+            if (isTimed) {
+                final long start = System.nanoTime();
+
+                result = clause.filter.accept(toFilter, value);
+
+                clause.nanos += System.nanoTime() - start;
+                clause.timed++;
+            } else {
+                result = clause.filter.accept(toFilter, value);
+            }
+
+            clause.evaluated++;
+
+            if (result) {
+                clause.accepted++;
+            }
+
+            if (result == decidingResult) {
+                return decidingResult;
+            }
+        }
+
+        return !decidingResult;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return getMode() + getFilters().toString();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import java.util.Objects;
+
+/**
+ * A filter accepting when the key it extracts from the object being filtered equals the value applied. Because the filter is
+ * defined entirely by its key, a search with it can be answered by an index of keys instead of a scan.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type being filtered.
+ * @param <K> the key type, also the value applied when filtering.
+ */
+public abstract class KeyFilter<T, K> implements Filter<T, K> {
+
+    /**
+     * Return the key of <code>toFilter</code>.
+     *
+     * @param toFilter the object to extract a key from.
+     *
+     * @return the key.
+     */
+    public abstract K getKey(T toFilter);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean accept(final T toFilter, final K value) {
+        return Objects.equals(getKey(toFilter), value);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+/**
+ * API to lazily supply a value. Useful when computing the value is expensive and may not be needed - for example a log argument
+ * when the log level is disabled.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value supplied.
+ */
+public interface Supplier<V> {
+
+    /**
+     * Return the value.
+     *
+     * @return the value.
+     */
+    V get();
+}
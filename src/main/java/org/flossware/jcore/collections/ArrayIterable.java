@@ -29,7 +29,15 @@ import org.flossware.jcore.utils.collections.ArrayUtils;
  */
 public class ArrayIterable<T> extends AbstractCommonBase implements Iterable<T> {
     
-    private final ArrayIterator arrayIterator; 
+    /**
+     * Iterates the array elements.
+     */
+    private final ArrayIterator<T> arrayIterator;
+
+    /**
+     * The array elements.
+     */
+    private final T[] values;
 
     /**
      * Sets an array to iterate upon.
@@ -37,7 +45,17 @@ public class ArrayIterable<T> extends AbstractCommonBase implements Iterable<T>
      * @param values the array elements.
      */
     public ArrayIterable(final T[] values) {
-        this.arrayIterator = new ArrayIterator(ArrayUtils.ensureArray(values, 0));
+        this.values = ArrayUtils.ensureArray(values, 0);
+        this.arrayIterator = new ArrayIterator<>(this.values);
+    }
+
+    /**
+     * Return a new splitter over all of our elements, for splitting work evenly across fork/join tasks.
+     *
+     * @return a new splitter.
+     */
+    public ArraySplitter<T> splitter() {
+        return new ArraySplitter<>(values);
     }
 
     /**
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Iterates over a range of an array and can split off the first half of what remains - the Java 7 counterpart of an array
+ * Spliterator. Sizes are always exact, and splitting halves the remaining range, so recursive fork/join tasks split work evenly:
+ * split until getExactSize() is small enough, then iterate.
+ *
+ * Not thread safe - hand each split to one thread.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type in the array.
+ */
+public final class ArraySplitter<T> implements Iterator<T> {
+
+    /**
+     * The array we iterate over.
+     */
+    private final T[] values;
+
+    /**
+     * Our next index.
+     */
+    private int index;
+
+    /**
+     * One past our last index.
+     */
+    private final int fence;
+
+    /**
+     * Sets the array and the range to iterate over.
+     *
+     * @param values the array.
+     * @param from the first index.
+     * @param to one past the last index.
+     *
+     * @throws IllegalArgumentException if <code>values</code> is null or the range is not within it.
+     */
+    public ArraySplitter(final T[] values, final int from, final int to) {
+        this.values = ObjectUtils.ensureObject(values, "Must provide an array!");
+        this.index = IntUtils.ensureMinInt(from, 0, "From cannot be negative");
+        this.fence = to;
+
+        if (to < from || to > values.length) {
+            throw new IllegalArgumentException("Range [" + from + ", " + to + ") not within array of length [" + values.length + "]");
+        }
+    }
+
+    /**
+     * Sets the array to iterate over.
+     *
+     * @param values the array.
+     *
+     * @throws IllegalArgumentException if <code>values</code> is null.
+     */
+    public ArraySplitter(final T[] values) {
+        this(values, 0, null == values ? 0 : values.length);
+    }
+
+    /**
+     * Return a splitter over a snapshot of <code>collection</code>, taken with toArray().
+     *
+     * @param <T> the type in the collection.
+     *
+     * @param collection the values to iterate over.
+     *
+     * @return the splitter.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> ArraySplitter<T> of(final Collection<? extends T> collection) {
+        return new ArraySplitter<>((T[]) ObjectUtils.ensureObject(collection, "Must have a collection").toArray());
+    }
+
+    /**
+     * Return the number of values remaining.
+     *
+     * @return the number of values remaining.
+     */
+    public int getExactSize() {
+        return fence - index;
+    }
+
+    /**
+     * Split off the first half of the values remaining - we keep the second half.
+     *
+     * @return a splitter over the first half or null if fewer than two values remain.
+     */
+    public ArraySplitter<T> trySplit() {
+        final int middle = (index + fence) >>> 1;
+
+        if (middle <= index) {
+            return null;
+        }
+
+        final ArraySplitter<T> retVal = new ArraySplitter<>(values, index, middle);
+
+        index = middle;
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+        return index < fence;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T next() {
+        if (index >= fence) {
+            throw new NoSuchElementException(ArrayIterator.NEXT_ERROR_MSG);
+        }
+
+        return values[index++];
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException(ArrayIterator.REMOVE_ERROR_MSG);
+    }
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.flossware.jcore.KeyFilter;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Indexes values by the key a {@link KeyFilter} extracts, so repeated searches with the filter - what
+ * IterableUtils.contains(values, filter, key) answers with a scan - are a lookup instead. A hashed index finds a key in O(1); a
+ * sorted index finds a key in O(log n) and can also find ranges of keys. The index is maintained incrementally with add() and
+ * remove(), which IndexedFunctionalCollection calls as it changes.
+ *
+ * Keys must not change while their value is indexed. Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type indexed.
+ * @param <K> the key type.
+ */
+public final class FilterIndex<T, K> {
+
+    /**
+     * Extracts our keys.
+     */
+    private final KeyFilter<? super T, K> filter;
+
+    /**
+     * The order of keys or null if hashed.
+     */
+    private final Comparator<? super K> comparator;
+
+    /**
+     * The values for each key, in the order added.
+     */
+    private final Map<K, List<T>> index;
+
+    /**
+     * The number of values indexed.
+     */
+    private int size;
+
+    /**
+     * Sets our filter and key order.
+     *
+     * @param filter extracts our keys.
+     * @param comparator the order of keys or null to hash keys.
+     */
+    private FilterIndex(final KeyFilter<? super T, K> filter, final Comparator<? super K> comparator) {
+        this.filter = ObjectUtils.ensureObject(filter, "Must have a filter");
+        this.comparator = comparator;
+        this.index = null == comparator ? new HashMap<K, List<T>>() : new TreeMap<K, List<T>>(comparator);
+    }
+
+    /**
+     * Return a hashed index of <code>values</code>.
+     *
+     * @param <T> the type indexed.
+     * @param <K> the key type.
+     *
+     * @param values the values to index.
+     * @param filter extracts our keys.
+     *
+     * @return the index.
+     *
+     * @throws IllegalArgumentException if <code>values</code> or <code>filter</code> is null.
+     */
+    public static <T, K> FilterIndex<T, K> hashed(final Iterable<? extends T> values, final KeyFilter<? super T, K> filter) {
+        return new FilterIndex<T, K>(filter, null).refresh(values);
+    }
+
+    /**
+     * Return a sorted index of <code>values</code>.
+     *
+     * @param <T> the type indexed.
+     * @param <K> the key type.
+     *
+     * @param values the values to index.
+     * @param filter extracts our keys.
+     * @param comparator the order of keys - should be consistent with equals() for lookups to match the filter.
+     *
+     * @return the index.
+     *
+     * @throws IllegalArgumentException if <code>values</code>, <code>filter</code> or <code>comparator</code> is null.
+     */
+    public static <T, K> FilterIndex<T, K> sorted(final Iterable<? extends T> values, final KeyFilter<? super T, K> filter, final Comparator<? super K> comparator) {
+        return new FilterIndex<T, K>(filter, ObjectUtils.ensureObject(comparator, "Must have a comparator")).refresh(values);
+    }
+
+    /**
+     * Return the filter extracting our keys.
+     *
+     * @return the filter.
+     */
+    public KeyFilter<? super T, K> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Return true if keys are sorted and ranges can be found.
+     *
+     * @return true if sorted or false if hashed.
+     */
+    public boolean isSorted() {
+        return null != comparator;
+    }
+
+    /**
+     * Return the number of values indexed.
+     *
+     * @return the number of values indexed.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Index <code>value</code>.
+     *
+     * @param value the value to index.
+     *
+     * @return self.
+     */
+    public FilterIndex<T, K> add(final T value) {
+        final K key = filter.getKey(value);
+
+        List<T> values = index.get(key);
+
+        if (null == values) {
+            values = new ArrayList<>(1);
+            index.put(key, values);
+        }
+
+        values.add(value);
+        size++;
+
+        return this;
+    }
+
+    /**
+     * Stop indexing one value equal to <code>value</code>.
+     *
+     * @param value the value to stop indexing.
+     *
+     * @return true if a value was indexed and removed or false if not.
+     */
+    public boolean remove(final T value) {
+        final K key = filter.getKey(value);
+        final List<T> values = index.get(key);
+
+        if (null == values || !values.remove(value)) {
+            return false;
+        }
+
+        if (values.isEmpty()) {
+            index.remove(key);
+        }
+
+        size--;
+
+        return true;
+    }
+
+    /**
+     * Stop indexing all values.
+     */
+    public void clear() {
+        index.clear();
+        size = 0;
+    }
+
+    /**
+     * Index only <code>values</code>, discarding anything indexed.
+     *
+     * @param values the values to index.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>values</code> is null.
+     */
+    public FilterIndex<T, K> refresh(final Iterable<? extends T> values) {
+        ObjectUtils.ensureObject(values, "Must have values");
+
+        clear();
+
+        for (final T value : values) {
+            add(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Return true if a value is indexed whose filter accepts <code>key</code>.
+     *
+     * @param key the key to find.
+     *
+     * @return true if found or false if not.
+     */
+    public boolean contains(final K key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Return the first value added whose filter accepts <code>key</code>.
+     *
+     * @param key the key to find.
+     *
+     * @return the value or null if not found.
+     */
+    public T find(final K key) {
+        final List<T> values = index.get(key);
+
+        return null == values ? null : values.get(0);
+    }
+
+    /**
+     * Return every value whose filter accepts <code>key</code>, in the order added.
+     *
+     * @param key the key to find.
+     *
+     * @return an unmodifiable view of the values, empty if not found.
+     */
+    public List<T> findAll(final K key) {
+        final List<T> values = index.get(key);
+
+        return null == values ? Collections.<T>emptyList() : Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Return our keys within a range.
+     *
+     * @param from the lowest key, inclusive.
+     * @param to the highest key, exclusive.
+     *
+     * @return the keys in the range.
+     *
+     * @throws IllegalStateException if hashed.
+     */
+    NavigableMap<K, List<T>> range(final K from, final K to) {
+        if (!isSorted()) {
+            throw new IllegalStateException("Ranges require a sorted index");
+        }
+
+        return ((NavigableMap<K, List<T>>) index).subMap(from, true, to, false);
+    }
+
+    /**
+     * Return true if a value is indexed whose key is at least <code>from</code> and less than <code>to</code>.
+     *
+     * @param from the lowest key, inclusive.
+     * @param to the highest key, exclusive.
+     *
+     * @return true if found or false if not.
+     *
+     * @throws IllegalStateException if hashed.
+     * @throws IllegalArgumentException if <code>from</code> is greater than <code>to</code>.
+     */
+    public boolean containsRange(final K from, final K to) {
+        return !range(from, to).isEmpty();
+    }
+
+    /**
+     * Return every value whose key is at least <code>from</code> and less than <code>to</code>, in key order.
+     *
+     * @param from the lowest key, inclusive.
+     * @param to the highest key, exclusive.
+     *
+     * @return the values found.
+     *
+     * @throws IllegalStateException if hashed.
+     * @throws IllegalArgumentException if <code>from</code> is greater than <code>to</code>.
+     */
+    public List<T> findRange(final K from, final K to) {
+        final List<T> retVal = new ArrayList<>();
+
+        for (final Collection<T> values : range(from, to).values()) {
+            retVal.addAll(values);
+        }
+
+        return retVal;
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Collects the first k values, in sort order, of the values added to it - without keeping the rest. A bounded max heap holds the
+ * k best values seen so far, so collecting n values is O(n log k) time and O(min(n, k)) memory - the heap starts small and grows
+ * only as values are kept. Among equal values the first added wins, so the result is exactly the first k values a stable sort
+ * would produce.
+ *
+ * Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type collected.
+ */
+public final class TopKCollector<V> {
+
+    /**
+     * The initial capacity of our heap, if k is larger.
+     */
+    static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum number of values to keep.
+     */
+    private final int k;
+
+    /**
+     * The sort order.
+     */
+    private final Comparator<? super V> comparator;
+
+    /**
+     * Our heap of values - the worst kept value is at the root.
+     */
+    private Object[] values;
+
+    /**
+     * The order each value in our heap was added in - breaks ties.
+     */
+    private long[] sequences;
+
+    /**
+     * The number of values in our heap.
+     */
+    private int size;
+
+    /**
+     * The number of values ever added.
+     */
+    private long count;
+
+    /**
+     * Sets the number of values to keep and their sort order.
+     *
+     * @param k the maximum number of values to keep.
+     * @param comparator the sort order.
+     *
+     * @throws IllegalArgumentException if <code>k</code> is negative or <code>comparator</code> is null.
+     */
+    public TopKCollector(final int k, final Comparator<? super V> comparator) {
+        this.k = IntUtils.ensureMinInt(k, 0, "K cannot be negative");
+        this.comparator = ObjectUtils.ensureObject(comparator, "Must have a comparator");
+        this.values = new Object[Math.min(k, INITIAL_CAPACITY)];
+        this.sequences = new long[values.length];
+    }
+
+    /**
+     * Return the capacity of our heap. Present for testing.
+     *
+     * @return the capacity of our heap.
+     */
+    int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Ensure our heap can hold one more value - doubling it, but never beyond k.
+     */
+    private void ensureCapacity() {
+        if (size == values.length) {
+            final int capacity = (int) Math.min((long) values.length * 2, k);
+
+            values = Arrays.copyOf(values, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+        }
+    }
+
+    /**
+     * Return the value at <code>index</code> of our heap.
+     *
+     * @param index a heap index.
+     *
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * Return true if the value at <code>first</code> sorts after the value at <code>second</code>.
+     *
+     * @param first a heap index.
+     * @param second another heap index.
+     *
+     * @return true if <code>first</code> is worse.
+     */
+    private boolean isWorse(final int first, final int second) {
+        final int result = comparator.compare(valueAt(first), valueAt(second));
+
+        return result > 0 || (result == 0 && sequences[first] > sequences[second]);
+    }
+
+    /**
+     * Swap two heap entries.
+     *
+     * @param first a heap index.
+     * @param second another heap index.
+     */
+    private void swap(final int first, final int second) {
+        final Object value = values[first];
+        final long sequence = sequences[first];
+
+        values[first] = values[second];
+        sequences[first] = sequences[second];
+        values[second] = value;
+        sequences[second] = sequence;
+    }
+
+    /**
+     * Move the entry at <code>index</code> up until its parent is worse.
+     *
+     * @param index a heap index.
+     */
+    private void siftUp(final int index) {
+        for (int child = index; child > 0;) {
+            final int parent = (child - 1) >>> 1;
+
+            if (!isWorse(child, parent)) {
+                return;
+            }
+
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    /**
+     * Move the entry at <code>index</code> down until its children are better.
+     *
+     * @param index a heap index.
+     */
+    private void siftDown(final int index) {
+        for (int parent = index;;) {
+            int worst = parent;
+            final int left = 2 * parent + 1;
+
+            if (left < size && isWorse(left, worst)) {
+                worst = left;
+            }
+
+            if (left + 1 < size && isWorse(left + 1, worst)) {
+                worst = left + 1;
+            }
+
+            if (worst == parent) {
+                return;
+            }
+
+            swap(parent, worst);
+            parent = worst;
+        }
+    }
+
+    /**
+     * Return the maximum number of values kept.
+     *
+     * @return the maximum number of values kept.
+     */
+    public int getK() {
+        return k;
+    }
+
+    /**
+     * Return the number of values kept.
+     *
+     * @return the number of values kept.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the number of values ever added.
+     *
+     * @return the number of values ever added.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Add a value, keeping it if it is among the first k in sort order so far.
+     *
+     * @param value the value to add.
+     *
+     * @return self.
+     */
+    public TopKCollector<V> add(final V value) {
+        final long sequence = count++;
+
+        if (size < k) {
+            ensureCapacity();
+
+            values[size] = value;
+            sequences[size] = sequence;
+
+            siftUp(size++);
+        } else if (k > 0 && comparator.compare(value, valueAt(0)) < 0) {
+            values[0] = value;
+            sequences[0] = sequence;
+
+            siftDown(0);
+        }
+
+        return this;
+    }
+
+    /**
+     * Add every value of <code>iterable</code>, without materializing it.
+     *
+     * @param iterable the values to add.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>iterable</code> is null.
+     */
+    public TopKCollector<V> addAll(final Iterable<? extends V> iterable) {
+        for (final V value : ObjectUtils.ensureObject(iterable, "Must have an iterable")) {
+            add(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Return the values kept, in sort order. We are left unchanged and may keep collecting.
+     *
+     * @return a new list of the values kept.
+     */
+    public List<V> toList() {
+        final TopKCollector<V> heap = new TopKCollector<>(k, comparator);
+
+        heap.values = Arrays.copyOf(values, size);
+        heap.sequences = Arrays.copyOf(sequences, size);
+        heap.size = size;
+
+        final List<V> retVal = new ArrayList<>(size);
+
+        while (heap.size > 0) {
+            retVal.add(heap.valueAt(0));
+
+            heap.size--;
+            heap.values[0] = heap.values[heap.size];
+            heap.sequences[0] = heap.sequences[heap.size];
+            heap.values[heap.size] = null;
+
+            heap.siftDown(0);
+        }
+
+        Collections.reverse(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Forget all values.
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+
+        size = 0;
+        count = 0;
+    }
+}
@@ -112,7 +112,7 @@ public abstract class AbstractFunctionalCollection<V> extends AbstractCommonBase
      */
     @Override
     public boolean contains(final Object o) {
-        return logAndReturnByIndex(Level.FINEST, "Object [{0}] contained [{1}]", 1, o, getCollection().contains(o));
+        return logAndReturn(Level.FINEST, "Contained [{0}] for object [{1}]", getCollection().contains(o), o);
     }
 
     /**
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Collection;
+import java.util.Iterator;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+
+/**
+ * A functional collection that delegates directly to its collection without any logging. Use on hot paths where the per call
+ * log checks of DefaultFunctionalCollection are not wanted.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value found in the collection.
+ */
+public class FastFunctionalCollection<V> implements FunctionalCollection<V> {
+
+    /**
+     * Our collection.
+     */
+    private final Collection<V> collection;
+
+    /**
+     * This constructor sets the collection to be used.
+     *
+     * @param collection the collection to use.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public FastFunctionalCollection(final Collection<V> collection) {
+        this.collection = CollectionUtils.ensureCollection(collection, 0, "Collection cannot be null!");
+    }
+
+    /**
+     * Return the collection we use.
+     *
+     * @return the collection to be used.
+     */
+    protected Collection<V> getCollection() {
+        return collection;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalCollection<V> addF(final V value) {
+        collection.add(value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalCollection<V> removeF(final V value) {
+        collection.remove(value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalCollection<V> addAllF(final Collection<? extends V> collection) {
+        this.collection.addAll(collection);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalCollection<V> removeAllF(final Collection<?> collection) {
+        this.collection.removeAll(collection);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return collection.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return collection.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o) {
+        return collection.contains(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return collection.iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray() {
+        return collection.toArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(final T[] ts) {
+        return collection.toArray(ts);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final V e) {
+        return collection.add(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o) {
+        return collection.remove(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(final Collection<?> clctn) {
+        return collection.containsAll(clctn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends V> clctn) {
+        return collection.addAll(clctn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> clctn) {
+        return collection.retainAll(clctn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> clctn) {
+        return collection.removeAll(clctn);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        collection.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return collection.toString();
+    }
+}
@@ -0,0 +1,528 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.flossware.jcore.Filter;
+import org.flossware.jcore.Function;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+
+/**
+ * A lazy, read only view over other values - the result of map(), filter(), limit(), skip(), flatMap() and concat(). Nothing is
+ * copied: each iteration pulls values through the whole chain of views in a single pass, so chained views produce no
+ * intermediate collections. Views are live - they reflect the current contents of what they view each time they are iterated.
+ *
+ * Sizes are computed by iterating, unless the view knows its size from its source. Adding or removing is not supported.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value found in the view.
+ */
+public abstract class FunctionalCollectionView<V> extends AbstractCollection<V> implements FunctionalCollection<V> {
+
+    /**
+     * An iterator that computes its next value ahead of time.
+     */
+    abstract static class LookaheadIterator<V> implements Iterator<V> {
+
+        /**
+         * Our next value, if computed.
+         */
+        private V next;
+
+        /**
+         * True if next holds a value.
+         */
+        private boolean hasComputed;
+
+        /**
+         * True if there are no more values.
+         */
+        private boolean isDone;
+
+        /**
+         * Compute our next value, calling done() if there are none.
+         *
+         * @return the next value.
+         */
+        protected abstract V computeNext();
+
+        /**
+         * Called from computeNext() when there are no more values.
+         *
+         * @return null.
+         */
+        protected final V done() {
+            isDone = true;
+
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            if (!hasComputed && !isDone) {
+                next = computeNext();
+                hasComputed = !isDone;
+            }
+
+            return hasComputed;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final V retVal = next;
+
+            next = null;
+            hasComputed = false;
+
+            return retVal;
+        }
+
+        /**
+         * Not supported.
+         *
+         * @throws UnsupportedOperationException always.
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Views are read only");
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    protected FunctionalCollectionView() {
+    }
+
+    /**
+     * Return the size of <code>iterable</code>, iterating if it is not a Collection.
+     *
+     * @param iterable the values.
+     *
+     * @return the size.
+     */
+    static int sizeOf(final Iterable<?> iterable) {
+        if (iterable instanceof Collection) {
+            return ((Collection<?>) iterable).size();
+        }
+
+        int retVal = 0;
+
+        for (final Iterator<?> iter = iterable.iterator(); iter.hasNext(); iter.next()) {
+            retVal++;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return a view of <code>source</code> with <code>function</code> applied to each value.
+     *
+     * @param <T> the type of value in <code>source</code>.
+     * @param <R> the type of value in the view.
+     *
+     * @param source the values to view.
+     * @param function applied to each value.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if <code>source</code> or <code>function</code> are null.
+     */
+    public static <T, R> FunctionalCollectionView<R> map(final Iterable<T> source, final Function<? super T, ? extends R> function) {
+        ObjectUtils.ensureObject(source, "Must have a source");
+        ObjectUtils.ensureObject(function, "Must have a function");
+
+        return new FunctionalCollectionView<R>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<R> iterator() {
+                final Iterator<T> iter = source.iterator();
+
+                return new Iterator<R>() {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public boolean hasNext() {
+                        return iter.hasNext();
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public R next() {
+                        return function.apply(iter.next());
+                    }
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException("Views are read only");
+                    }
+                };
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int size() {
+                return sizeOf(source);
+            }
+        };
+    }
+
+    /**
+     * Return a view of the values in <code>source</code> that <code>filter</code> accepts.
+     *
+     * @param <T> the type of value in <code>source</code>.
+     * @param <F> the type of value passed to <code>filter</code>.
+     *
+     * @param source the values to view.
+     * @param filter decides which values are viewed.
+     * @param value passed to <code>filter</code> with each value.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if <code>source</code> or <code>filter</code> are null.
+     */
+    public static <T, F> FunctionalCollectionView<T> filter(final Iterable<T> source, final Filter<? super T, F> filter, final F value) {
+        ObjectUtils.ensureObject(source, "Must have a source");
+        ObjectUtils.ensureObject(filter, CollectionUtils.FILTER_ERROR_MSG);
+
+        return new FunctionalCollectionView<T>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<T> iterator() {
+                final Iterator<T> iter = source.iterator();
+
+                return new LookaheadIterator<T>() {
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    protected T computeNext() {
+                        while (iter.hasNext()) {
+                            final T toFilter = iter.next();
+
+                            if (filter.accept(toFilter, value)) {
+                                return toFilter;
+                            }
+                        }
+
+                        return done();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Return a view of at most the first <code>maxSize</code> values of <code>source</code>. Stops pulling values from
+     * <code>source</code> once <code>maxSize</code> values are seen.
+     *
+     * @param <T> the type of value in the view.
+     *
+     * @param source the values to view.
+     * @param maxSize the maximum number of values to view.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if <code>source</code> is null or <code>maxSize</code> is negative.
+     */
+    public static <T> FunctionalCollectionView<T> limit(final Iterable<T> source, final long maxSize) {
+        ObjectUtils.ensureObject(source, "Must have a source");
+        LongUtils.ensureMinLong(maxSize, 0, "Max size cannot be negative");
+
+        return new FunctionalCollectionView<T>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<T> iterator() {
+                final Iterator<T> iter = source.iterator();
+
+                return new LookaheadIterator<T>() {
+                    long remaining = maxSize;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    protected T computeNext() {
+                        if (remaining <= 0 || !iter.hasNext()) {
+                            return done();
+                        }
+
+                        remaining--;
+
+                        return iter.next();
+                    }
+                };
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int size() {
+                return source instanceof Collection ? (int) Math.min(maxSize, ((Collection<?>) source).size()) : super.size();
+            }
+        };
+    }
+
+    /**
+     * Return a view of the values of <code>source</code> after the first <code>count</code>.
+     *
+     * @param <T> the type of value in the view.
+     *
+     * @param source the values to view.
+     * @param count the number of values to skip.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if <code>source</code> is null or <code>count</code> is negative.
+     */
+    public static <T> FunctionalCollectionView<T> skip(final Iterable<T> source, final long count) {
+        ObjectUtils.ensureObject(source, "Must have a source");
+        LongUtils.ensureMinLong(count, 0, "Count cannot be negative");
+
+        return new FunctionalCollectionView<T>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<T> iterator() {
+                final Iterator<T> iter = source.iterator();
+
+                return new LookaheadIterator<T>() {
+                    long toSkip = count;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    protected T computeNext() {
+                        for (; toSkip > 0 && iter.hasNext(); toSkip--) {
+                            iter.next();
+                        }
+
+                        return iter.hasNext() ? iter.next() : done();
+                    }
+                };
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int size() {
+                return source instanceof Collection ? (int) Math.max(0, ((Collection<?>) source).size() - count) : super.size();
+            }
+        };
+    }
+
+    /**
+     * Return a view of the values of each Iterable <code>function</code> returns for the values of <code>source</code>. A null
+     * Iterable is treated as empty.
+     *
+     * @param <T> the type of value in <code>source</code>.
+     * @param <R> the type of value in the view.
+     *
+     * @param source the values to view.
+     * @param function returns the values to view for each value.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if <code>source</code> or <code>function</code> are null.
+     */
+    public static <T, R> FunctionalCollectionView<R> flatMap(final Iterable<T> source, final Function<? super T, ? extends Iterable<? extends R>> function) {
+        ObjectUtils.ensureObject(source, "Must have a source");
+        ObjectUtils.ensureObject(function, "Must have a function");
+
+        return new FunctionalCollectionView<R>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<R> iterator() {
+                final Iterator<T> iter = source.iterator();
+
+                return new LookaheadIterator<R>() {
+                    Iterator<? extends R> current = Collections.<R>emptyList().iterator();
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    protected R computeNext() {
+                        while (!current.hasNext()) {
+                            if (!iter.hasNext()) {
+                                return done();
+                            }
+
+                            final Iterable<? extends R> values = function.apply(iter.next());
+
+                            current = null == values ? Collections.<R>emptyList().iterator() : values.iterator();
+                        }
+
+                        return current.next();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Return a view of the values of <code>first</code> followed by those of <code>second</code>.
+     *
+     * @param <T> the type of value in the view.
+     *
+     * @param first the first values to view.
+     * @param second the values to view after <code>first</code>.
+     *
+     * @return the view.
+     *
+     * @throws IllegalArgumentException if <code>first</code> or <code>second</code> are null.
+     */
+    public static <T> FunctionalCollectionView<T> concat(final Iterable<? extends T> first, final Iterable<? extends T> second) {
+        ObjectUtils.ensureObject(first, "Must have a first source");
+        ObjectUtils.ensureObject(second, "Must have a second source");
+
+        return new FunctionalCollectionView<T>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<T> iterator() {
+                return new LookaheadIterator<T>() {
+                    Iterator<? extends T> current = first.iterator();
+                    boolean isFirst = true;
+
+                    /**
+                     * {@inheritDoc}
+                     */
+                    @Override
+                    protected T computeNext() {
+                        if (!current.hasNext() && isFirst) {
+                            current = second.iterator();
+                            isFirst = false;
+                        }
+
+                        return current.hasNext() ? current.next() : done();
+                    }
+                };
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int size() {
+                return sizeOf(first) + sizeOf(second);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc} Computed by iterating.
+     */
+    @Override
+    public int size() {
+        return sizeOf(new Iterable<V>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<V> iterator() {
+                return FunctionalCollectionView.this.iterator();
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc} Only pulls the first value.
+     */
+    @Override
+    public boolean isEmpty() {
+        return !iterator().hasNext();
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public FunctionalCollection<V> addF(final V value) {
+        throw new UnsupportedOperationException("Views are read only");
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public FunctionalCollection<V> removeF(final V value) {
+        throw new UnsupportedOperationException("Views are read only");
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public FunctionalCollection<V> addAllF(final Collection<? extends V> collection) {
+        throw new UnsupportedOperationException("Views are read only");
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public FunctionalCollection<V> removeAllF(final Collection<?> collection) {
+        throw new UnsupportedOperationException("Views are read only");
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import org.flossware.jcore.KeyFilter;
+import org.flossware.jcore.collections.FilterIndex;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+
+/**
+ * A functional collection that keeps filter indexes of its values current. Adds and removes - including through iterator() -
+ * update each index incrementally; retainAll() and removeAll() refresh them. Changes made to the wrapped collection directly are
+ * not seen until refresh() is called.
+ *
+ * Not thread safe.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value found in the collection.
+ */
+public class IndexedFunctionalCollection<V> extends AbstractFunctionalCollection<V> {
+
+    /**
+     * Removes values from our indexes as they are removed by an iterator.
+     */
+    final class IndexedIterator implements Iterator<V> {
+
+        final Iterator<V> iterator;
+
+        V last;
+
+        IndexedIterator(final Iterator<V> iterator) {
+            this.iterator = iterator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public V next() {
+            last = iterator.next();
+
+            return last;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void remove() {
+            iterator.remove();
+
+            for (final FilterIndex<V, ?> index : indexes) {
+                index.remove(last);
+            }
+        }
+    }
+
+    /**
+     * Our collection.
+     */
+    private final Collection<V> collection;
+
+    /**
+     * Our indexes.
+     */
+    private final List<FilterIndex<V, ?>> indexes;
+
+    /**
+     * This constructor sets the collection to index.
+     *
+     * @param collection the collection to index.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public IndexedFunctionalCollection(final Collection<V> collection) {
+        this.collection = CollectionUtils.ensureCollection(collection, 0, "Collection cannot be null!");
+        this.indexes = new ArrayList<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<V> getCollection() {
+        return collection;
+    }
+
+    /**
+     * Create a hashed index of our values, kept current as we change.
+     *
+     * @param <K> the key type.
+     *
+     * @param filter extracts the keys.
+     *
+     * @return the index.
+     *
+     * @throws IllegalArgumentException if <code>filter</code> is null.
+     */
+    public <K> FilterIndex<V, K> index(final KeyFilter<? super V, K> filter) {
+        final FilterIndex<V, K> retVal = FilterIndex.hashed(getCollection(), filter);
+
+        indexes.add(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Create a sorted index of our values, kept current as we change.
+     *
+     * @param <K> the key type.
+     *
+     * @param filter extracts the keys.
+     * @param comparator the order of keys.
+     *
+     * @return the index.
+     *
+     * @throws IllegalArgumentException if <code>filter</code> or <code>comparator</code> is null.
+     */
+    public <K> FilterIndex<V, K> sortedIndex(final KeyFilter<? super V, K> filter, final Comparator<? super K> comparator) {
+        final FilterIndex<V, K> retVal = FilterIndex.sorted(getCollection(), filter, comparator);
+
+        indexes.add(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Stop keeping <code>index</code> current.
+     *
+     * @param index the index to drop.
+     *
+     * @return true if <code>index</code> was ours or false if not.
+     */
+    public boolean dropIndex(final FilterIndex<V, ?> index) {
+        return indexes.remove(index);
+    }
+
+    /**
+     * Rebuild our indexes from our values.
+     *
+     * @return self.
+     */
+    public IndexedFunctionalCollection<V> refresh() {
+        for (final FilterIndex<V, ?> index : indexes) {
+            index.refresh(getCollection());
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new IndexedIterator(super.iterator());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final V e) {
+        final boolean retVal = super.add(e);
+
+        if (retVal) {
+            for (final FilterIndex<V, ?> index : indexes) {
+                index.add(e);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc} Each index then drops a value equal to <code>o</code>, in constant time for a hashed collection. Should
+     * <code>o</code> not be a V, or not have the key of the stored value it equals, the index is refreshed instead.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(final Object o) {
+        if (!super.remove(o)) {
+            return false;
+        }
+
+        for (final FilterIndex<V, ?> index : indexes) {
+            try {
+                if (!index.remove((V) o)) {
+                    index.refresh(getCollection());
+                }
+            } catch (final ClassCastException classCastException) {
+                index.refresh(getCollection());
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends V> clctn) {
+        boolean retVal = false;
+
+        for (final V value : clctn) {
+            retVal |= add(value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> clctn) {
+        final boolean retVal = super.retainAll(clctn);
+
+        if (retVal) {
+            refresh();
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> clctn) {
+        final boolean retVal = super.removeAll(clctn);
+
+        if (retVal) {
+            refresh();
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+
+        for (final FilterIndex<V, ?> index : indexes) {
+            index.clear();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import org.flossware.jcore.metrics.Counter;
+import org.flossware.jcore.metrics.HighWaterMark;
+import org.flossware.jcore.metrics.Meter;
+import org.flossware.jcore.metrics.MetricRegistry;
+import org.flossware.jcore.metrics.Timer;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.StringUtils;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+
+/**
+ * A functional collection that records metrics about its use: hits and misses for contains(), add and remove rates, the highest
+ * size reached and the latency of 1 in sampleRate contains, adds and removes. Recording takes no locks, so it is as safe for
+ * concurrent use as the collection it wraps.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value found in the collection.
+ */
+public class InstrumentedFunctionalCollection<V> extends AbstractFunctionalCollection<V> {
+
+    /**
+     * By default, 1 in this many operations is timed.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+
+    /**
+     * Our collection.
+     */
+    private final Collection<V> collection;
+
+    /**
+     * 1 in this many operations is timed.
+     */
+    private final int sampleRate;
+
+    /**
+     * Lookups that found a value.
+     */
+    private final Counter hits;
+
+    /**
+     * Lookups that did not find a value.
+     */
+    private final Counter misses;
+
+    /**
+     * Rate of adds.
+     */
+    private final Meter adds;
+
+    /**
+     * Rate of removes.
+     */
+    private final Meter removes;
+
+    /**
+     * The largest size reached.
+     */
+    private final HighWaterMark sizeHighWaterMark;
+
+    /**
+     * Sampled contains() latency.
+     */
+    private final Timer lookupTimer;
+
+    /**
+     * Sampled add() latency.
+     */
+    private final Timer addTimer;
+
+    /**
+     * Sampled remove() latency.
+     */
+    private final Timer removeTimer;
+
+    /**
+     * This constructor sets the collection to instrument and how often to time operations.
+     *
+     * @param collection the collection to instrument.
+     * @param sampleRate 1 in this many operations is timed.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null or <code>sampleRate</code> is less than 1.
+     */
+    public InstrumentedFunctionalCollection(final Collection<V> collection, final int sampleRate) {
+        this.collection = CollectionUtils.ensureCollection(collection, 0, "Collection cannot be null!");
+        this.sampleRate = IntUtils.ensureMinInt(sampleRate, 1, "Must have a sample rate of at least one");
+        this.hits = new Counter();
+        this.misses = new Counter();
+        this.adds = new Meter();
+        this.removes = new Meter();
+        this.sizeHighWaterMark = new HighWaterMark();
+        this.lookupTimer = new Timer();
+        this.addTimer = new Timer();
+        this.removeTimer = new Timer();
+
+        sizeHighWaterMark.update(collection.size());
+    }
+
+    /**
+     * This constructor sets the collection to instrument, timing 1 in DEFAULT_SAMPLE_RATE operations.
+     *
+     * @param collection the collection to instrument.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public InstrumentedFunctionalCollection(final Collection<V> collection) {
+        this(collection, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Collection<V> getCollection() {
+        return collection;
+    }
+
+    /**
+     * Return true if the current operation should be timed.
+     *
+     * @return true if the current operation should be timed.
+     */
+    boolean isSampled() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Register our metrics in <code>metricRegistry</code>, named <code>prefix</code> followed by ".hits", ".misses", ".adds",
+     * ".removes", ".size.max", ".lookup", ".add" and ".remove".
+     *
+     * @param metricRegistry the registry to register in.
+     * @param prefix the prefix of our metric names.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>prefix</code> is blank or any of the names are already registered.
+     */
+    public InstrumentedFunctionalCollection<V> register(final MetricRegistry metricRegistry, final String prefix) {
+        StringUtils.ensureString(prefix, "Must have a prefix");
+
+        metricRegistry.register(prefix + ".hits", hits);
+        metricRegistry.register(prefix + ".misses", misses);
+        metricRegistry.register(prefix + ".adds", adds);
+        metricRegistry.register(prefix + ".removes", removes);
+        metricRegistry.register(prefix + ".size.max", sizeHighWaterMark);
+        metricRegistry.register(prefix + ".lookup", lookupTimer);
+        metricRegistry.register(prefix + ".add", addTimer);
+        metricRegistry.register(prefix + ".remove", removeTimer);
+
+        return this;
+    }
+
+    /**
+     * Return 1 in this many operations are timed.
+     *
+     * @return the sample rate.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Return the contains() calls that found a value.
+     *
+     * @return the hits.
+     */
+    public Counter getHits() {
+        return hits;
+    }
+
+    /**
+     * Return the contains() calls that did not find a value.
+     *
+     * @return the misses.
+     */
+    public Counter getMisses() {
+        return misses;
+    }
+
+    /**
+     * Return the fraction of contains() calls that were hits.
+     *
+     * @return the hit ratio or 0 if there have been no lookups.
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.getCount();
+        final long total = hitCount + misses.getCount();
+
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Return the rate of adds.
+     *
+     * @return the rate of adds.
+     */
+    public Meter getAdds() {
+        return adds;
+    }
+
+    /**
+     * Return the rate of removes.
+     *
+     * @return the rate of removes.
+     */
+    public Meter getRemoves() {
+        return removes;
+    }
+
+    /**
+     * Return the largest size reached.
+     *
+     * @return the largest size reached.
+     */
+    public HighWaterMark getSizeHighWaterMark() {
+        return sizeHighWaterMark;
+    }
+
+    /**
+     * Return the sampled contains() latency.
+     *
+     * @return the lookup timer.
+     */
+    public Timer getLookupTimer() {
+        return lookupTimer;
+    }
+
+    /**
+     * Return the sampled add() latency.
+     *
+     * @return the add timer.
+     */
+    public Timer getAddTimer() {
+        return addTimer;
+    }
+
+    /**
+     * Return the sampled remove() latency.
+     *
+     * @return the remove timer.
+     */
+    public Timer getRemoveTimer() {
+        return removeTimer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o) {
+        final long start = isSampled() ? lookupTimer.start() : -1;
+        final boolean retVal = super.contains(o);
+
+        if (start != -1) {
+            lookupTimer.stop(start);
+        }
+
+        (retVal ? hits : misses).inc();
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final V e) {
+        final long start = isSampled() ? addTimer.start() : -1;
+        final boolean retVal = super.add(e);
+
+        if (start != -1) {
+            addTimer.stop(start);
+        }
+
+        adds.mark();
+
+        if (retVal) {
+            sizeHighWaterMark.update(getCollection().size());
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends V> clctn) {
+        final boolean retVal = super.addAll(clctn);
+
+        adds.mark(clctn.size());
+        sizeHighWaterMark.update(getCollection().size());
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o) {
+        final long start = isSampled() ? removeTimer.start() : -1;
+        final boolean retVal = super.remove(o);
+
+        if (start != -1) {
+            removeTimer.stop(start);
+        }
+
+        removes.mark();
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> clctn) {
+        final boolean retVal = super.removeAll(clctn);
+
+        removes.mark(clctn.size());
+
+        return retVal;
+    }
+}
@@ -0,0 +1,565 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.flossware.jcore.collections.LongIterator;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.HashUtils;
+
+/**
+ * A set of unique long values, stored unboxed in an open addressing hash table with linear probing. Removal shifts entries back
+ * rather than leaving tombstones, so lookups stay short however many removes occur. Add calls can be chained, as with the
+ * functional collections: set.addF(1L).addF(2L). This is deliberately not a java.util.Collection nor a FunctionalCollection -
+ * those would box every value. Not thread safe, and iterators are undefined if the set is modified while iterating.
+ *
+ * @author Scot P. Floess
+ */
+public class LongHashSet {
+
+    /**
+     * Marks a free slot in our table - the value itself is tracked by hasFreeValue.
+     */
+    static final long FREE = 0;
+
+    /**
+     * Our table.
+     */
+    private long[] values;
+
+    /**
+     * Mask to compute a slot from a hash.
+     */
+    private int mask;
+
+    /**
+     * The number of values in our table - excludes FREE.
+     */
+    private int assigned;
+
+    /**
+     * When assigned exceeds this, our table grows.
+     */
+    private int threshold;
+
+    /**
+     * True if we contain FREE.
+     */
+    private boolean hasFreeValue;
+
+    /**
+     * Our load factor.
+     */
+    private final float loadFactor;
+
+    /**
+     * This constructor sets the expected size and load factor.
+     *
+     * @param expectedSize the number of values expected - the table will not grow until exceeded.
+     * @param loadFactor how full our table may be before growing.
+     *
+     * @throws IllegalArgumentException if <code>expectedSize</code> is negative or <code>loadFactor</code> is not between 0 and 1.
+     */
+    public LongHashSet(final int expectedSize, final float loadFactor) {
+        this.loadFactor = HashUtils.ensureLoadFactor(loadFactor);
+
+        allocate(HashUtils.computeCapacity(expectedSize, loadFactor));
+    }
+
+    /**
+     * This constructor sets the expected size.
+     *
+     * @param expectedSize the number of values expected - the table will not grow until exceeded.
+     *
+     * @throws IllegalArgumentException if <code>expectedSize</code> is negative.
+     */
+    public LongHashSet(final int expectedSize) {
+        this(expectedSize, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public LongHashSet() {
+        this(HashUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocate a table of <code>capacity</code>.
+     *
+     * @param capacity the capacity of the table.
+     */
+    private void allocate(final int capacity) {
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = HashUtils.computeThreshold(capacity, loadFactor);
+    }
+
+    /**
+     * Return the slot <code>value</code> hashes to.
+     *
+     * @param value the value.
+     *
+     * @return the slot.
+     */
+    private int computeSlot(final long value) {
+        return HashUtils.mix(value) & mask;
+    }
+
+    /**
+     * Return the slot holding <code>value</code>.
+     *
+     * @param value a value other than FREE.
+     *
+     * @return the slot holding <code>value</code> or -1 if not found.
+     */
+    private int findSlot(final long value) {
+        for (int slot = computeSlot(value);; slot = (slot + 1) & mask) {
+            final long current = values[slot];
+
+            if (current == value) {
+                return slot;
+            } else if (current == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Grow our table, reinserting all values.
+     */
+    private void grow() {
+        final long[] oldValues = values;
+
+        allocate(HashUtils.computeGrownCapacity(oldValues.length));
+
+        for (final long value : oldValues) {
+            if (value != FREE) {
+                int slot = computeSlot(value);
+
+                while (values[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+
+                values[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Remove the value at <code>slot</code>, shifting back any values that probed past it.
+     *
+     * @param slot the slot to empty.
+     */
+    private void shiftBack(final int slot) {
+        int free = slot;
+
+        for (int current = (free + 1) & mask;; current = (current + 1) & mask) {
+            final long value = values[current];
+
+            if (value == FREE) {
+                values[free] = FREE;
+
+                return;
+            }
+
+            final int home = computeSlot(value);
+
+            if (free <= current ? (free >= home || home > current) : (free >= home && home > current)) {
+                values[free] = value;
+                free = current;
+            }
+        }
+    }
+
+    /**
+     * Return the capacity of our table. Present for testing.
+     *
+     * @return the capacity of our table.
+     */
+    int capacity() {
+        return values.length;
+    }
+
+    /**
+     * Add <code>value</code> if not already present.
+     *
+     * @param value the value to add.
+     *
+     * @return true if added or false if already present.
+     */
+    public boolean add(final long value) {
+        if (value == FREE) {
+            if (hasFreeValue) {
+                return false;
+            }
+
+            hasFreeValue = true;
+
+            return true;
+        }
+
+        int slot = computeSlot(value);
+
+        for (long current = values[slot]; current != FREE; current = values[slot]) {
+            if (current == value) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        values[slot] = value;
+
+        if (++assigned > threshold) {
+            grow();
+        }
+
+        return true;
+    }
+
+    /**
+     * Remove <code>value</code> if present.
+     *
+     * @param value the value to remove.
+     *
+     * @return true if removed or false if not present.
+     */
+    public boolean remove(final long value) {
+        if (value == FREE) {
+            final boolean retVal = hasFreeValue;
+
+            hasFreeValue = false;
+
+            return retVal;
+        }
+
+        final int slot = findSlot(value);
+
+        if (slot < 0) {
+            return false;
+        }
+
+        shiftBack(slot);
+        assigned--;
+
+        return true;
+    }
+
+    /**
+     * Return true if <code>value</code> is present.
+     *
+     * @param value the value to find.
+     *
+     * @return true if present or false if not.
+     */
+    public boolean contains(final long value) {
+        return value == FREE ? hasFreeValue : findSlot(value) >= 0;
+    }
+
+    /**
+     * Return true if all of <code>toFind</code> are present.
+     *
+     * @param toFind the values to find.
+     *
+     * @return true if all are present or false if not.
+     *
+     * @throws IllegalArgumentException if <code>toFind</code> is null.
+     */
+    public boolean containsAll(final long... toFind) {
+        for (final long value : ObjectUtils.ensureObject(toFind, "Must have values")) {
+            if (!contains(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the number of values.
+     *
+     * @return the number of values.
+     */
+    public int size() {
+        return hasFreeValue ? assigned + 1 : assigned;
+    }
+
+    /**
+     * Return true if there are no values.
+     *
+     * @return true if there are no values or false if not.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove all values, keeping our capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, FREE);
+
+        assigned = 0;
+        hasFreeValue = false;
+    }
+
+    /**
+     * Adds the specified value if it is not already present.
+     *
+     * @param value to be added.
+     *
+     * @return self.
+     */
+    public LongHashSet addF(final long value) {
+        add(value);
+
+        return this;
+    }
+
+    /**
+     * Removes value if present.
+     *
+     * @param value to remove.
+     *
+     * @return self.
+     */
+    public LongHashSet removeF(final long value) {
+        remove(value);
+
+        return this;
+    }
+
+    /**
+     * Add all of <code>toAdd</code>.
+     *
+     * @param toAdd the values to add.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>toAdd</code> is null.
+     */
+    public LongHashSet addAllF(final long... toAdd) {
+        for (final long value : ObjectUtils.ensureObject(toAdd, "Must have values")) {
+            add(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Add all values in <code>set</code>.
+     *
+     * @param set the values to add.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>set</code> is null.
+     */
+    public LongHashSet addAllF(final LongHashSet set) {
+        for (final LongIterator iter = ObjectUtils.ensureObject(set, "Must have a set").iterator(); iter.hasNext();) {
+            add(iter.nextLong());
+        }
+
+        return this;
+    }
+
+    /**
+     * Remove all of <code>toRemove</code>.
+     *
+     * @param toRemove the values to remove.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>toRemove</code> is null.
+     */
+    public LongHashSet removeAllF(final long... toRemove) {
+        for (final long value : ObjectUtils.ensureObject(toRemove, "Must have values")) {
+            remove(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Remove all values in <code>set</code>.
+     *
+     * @param set the values to remove.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>set</code> is null.
+     */
+    public LongHashSet removeAllF(final LongHashSet set) {
+        for (final LongIterator iter = ObjectUtils.ensureObject(set, "Must have a set").iterator(); iter.hasNext();) {
+            remove(iter.nextLong());
+        }
+
+        return this;
+    }
+
+    /**
+     * Return an iterator over our values, in no particular order.
+     *
+     * @return an iterator over our values.
+     */
+    public LongIterator iterator() {
+        return new LongIterator() {
+            /**
+             * True until FREE has been returned, if we contain it.
+             */
+            private boolean isFreeValuePending = hasFreeValue;
+
+            /**
+             * The next slot to examine.
+             */
+            private int slot = advance(0);
+
+            /**
+             * Return the first slot at or after <code>start</code> holding a value.
+             */
+            private int advance(final int start) {
+                int retVal = start;
+
+                while (retVal < values.length && values[retVal] == FREE) {
+                    retVal++;
+                }
+
+                return retVal;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                return isFreeValuePending || slot < values.length;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public long nextLong() {
+                if (isFreeValuePending) {
+                    isFreeValuePending = false;
+
+                    return FREE;
+                }
+
+                if (slot >= values.length) {
+                    throw new NoSuchElementException();
+                }
+
+                final long retVal = values[slot];
+
+                slot = advance(slot + 1);
+
+                return retVal;
+            }
+        };
+    }
+
+    /**
+     * Return our values as an array, in no particular order.
+     *
+     * @return our values.
+     */
+    public long[] toArray() {
+        final long[] retVal = new long[size()];
+
+        int index = 0;
+
+        for (final LongIterator iter = iterator(); iter.hasNext();) {
+            retVal[index++] = iter.nextLong();
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return the hash code of a value - the same as Long.hashCode() so our hash code matches a Set of Long.
+     *
+     * @param value the value.
+     *
+     * @return the hash code.
+     */
+    static int hashCode(final long value) {
+        return (int) (value ^ (value >>> 32));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int retVal = 0;
+
+        for (final LongIterator iter = iterator(); iter.hasNext();) {
+            retVal += hashCode(iter.nextLong());
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof LongHashSet)) {
+            return false;
+        }
+
+        final LongHashSet other = (LongHashSet) object;
+
+        if (other.size() != size()) {
+            return false;
+        }
+
+        for (final LongIterator iter = other.iterator(); iter.hasNext();) {
+            if (!contains(iter.nextLong())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+
+        for (final LongIterator iter = iterator(); iter.hasNext();) {
+            sb.append(iter.nextLong());
+
+            if (iter.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import org.flossware.jcore.utils.collections.CollectionUtils;
+
+/**
+ * An immutable functional collection implemented as a persistent vector - a 32 way trie of values plus a tail array. Rather than
+ * modifying self, addF(), setF() and popF() return a new version that shares all untouched structure with this one, copying only
+ * the O(log32 n) arrays on the path to the changed index. Readers of a version never see later changes and need no locking.
+ *
+ * Values keep their insertion order and duplicates are allowed. removeF() and removeAllF() must rebuild the vector and are O(n).
+ * The mutators of List are not supported.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the type of value found in the collection.
+ */
+public final class PersistentFunctionalVector<V> extends AbstractList<V> implements FunctionalCollection<V> {
+
+    /**
+     * Bits of the index consumed per level.
+     */
+    static final int BITS = 5;
+
+    /**
+     * Width of each array in the trie.
+     */
+    static final int WIDTH = 1 << BITS;
+
+    /**
+     * Mask for one level's bits of the index.
+     */
+    static final int MASK = WIDTH - 1;
+
+    /**
+     * An empty trie node.
+     */
+    static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    /**
+     * The empty vector.
+     */
+    private static final PersistentFunctionalVector<?> EMPTY = new PersistentFunctionalVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    /**
+     * Our number of values.
+     */
+    private final int size;
+
+    /**
+     * Bits of the index consumed above the leaves.
+     */
+    private final int shift;
+
+    /**
+     * Our trie - holds every value before our tail.
+     */
+    private final Object[] root;
+
+    /**
+     * Our last values, up to WIDTH of them.
+     */
+    private final Object[] tail;
+
+    /**
+     * Sets our state.
+     *
+     * @param size the number of values.
+     * @param shift bits of the index consumed above the leaves.
+     * @param root the trie.
+     * @param tail the last values.
+     */
+    private PersistentFunctionalVector(final int size, final int shift, final Object[] root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Return the empty vector.
+     *
+     * @param <V> the type of value found in the collection.
+     *
+     * @return the empty vector.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentFunctionalVector<V> empty() {
+        return (PersistentFunctionalVector<V>) EMPTY;
+    }
+
+    /**
+     * Return a vector containing the values of <code>collection</code>, in iteration order.
+     *
+     * @param <V> the type of value found in the collection.
+     *
+     * @param collection the values to contain.
+     *
+     * @return a vector containing the values of <code>collection</code>.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public static <V> PersistentFunctionalVector<V> of(final Collection<? extends V> collection) {
+        return PersistentFunctionalVector.<V>empty().addAllF(collection);
+    }
+
+    /**
+     * Return the index of our first value in the tail.
+     *
+     * @return the index of our first value in the tail.
+     */
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Return the array holding <code>index</code>.
+     *
+     * @param index a valid index.
+     *
+     * @return the array holding <code>index</code>.
+     */
+    private Object[] arrayFor(final int index) {
+        if (index >= tailOffset()) {
+            return tail;
+        }
+
+        Object[] node = root;
+
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+
+        return node;
+    }
+
+    /**
+     * Ensure <code>index</code> is one of ours.
+     *
+     * @param index the index.
+     *
+     * @return <code>index</code>.
+     *
+     * @throws IndexOutOfBoundsException if <code>index</code> is out of range.
+     */
+    private int ensureIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index [" + index + "] for size [" + size + "]");
+        }
+
+        return index;
+    }
+
+    /**
+     * Return a path of single child arrays down to <code>node</code>.
+     *
+     * @param level bits of the index consumed above <code>node</code>.
+     * @param node the leaf array.
+     *
+     * @return the path.
+     */
+    static Object[] newPath(final int level, final Object[] node) {
+        if (level == 0) {
+            return node;
+        }
+
+        final Object[] retVal = new Object[WIDTH];
+
+        retVal[0] = newPath(level - BITS, node);
+
+        return retVal;
+    }
+
+    /**
+     * Return a copy of <code>parent</code> with our full tail pushed into it.
+     *
+     * @param level bits of the index consumed above <code>parent</code>'s children.
+     * @param parent the node to copy.
+     * @param tailNode our full tail.
+     *
+     * @return the copy.
+     */
+    private Object[] pushTail(final int level, final Object[] parent, final Object[] tailNode) {
+        final int slot = ((size - 1) >>> level) & MASK;
+        final Object[] retVal = parent.clone();
+
+        if (level == BITS) {
+            retVal[slot] = tailNode;
+        } else {
+            final Object[] child = (Object[]) parent[slot];
+
+            retVal[slot] = null == child ? newPath(level - BITS, tailNode) : pushTail(level - BITS, child, tailNode);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return a copy of <code>node</code> without the leaf array holding our second to last value.
+     *
+     * @param level bits of the index consumed above <code>node</code>'s children.
+     * @param node the node to copy.
+     *
+     * @return the copy or null if it would be empty.
+     */
+    private Object[] popTail(final int level, final Object[] node) {
+        final int slot = ((size - 2) >>> level) & MASK;
+
+        if (level > BITS) {
+            final Object[] child = popTail(level - BITS, (Object[]) node[slot]);
+
+            if (null == child && slot == 0) {
+                return null;
+            }
+
+            final Object[] retVal = node.clone();
+
+            retVal[slot] = child;
+
+            return retVal;
+        }
+
+        if (slot == 0) {
+            return null;
+        }
+
+        final Object[] retVal = node.clone();
+
+        retVal[slot] = null;
+
+        return retVal;
+    }
+
+    /**
+     * Return a copy of <code>node</code> with <code>value</code> at <code>index</code>.
+     *
+     * @param level bits of the index consumed above <code>node</code>'s children.
+     * @param node the node to copy.
+     * @param index the index.
+     * @param value the value.
+     *
+     * @return the copy.
+     */
+    static Object[] assoc(final int level, final Object[] node, final int index, final Object value) {
+        final Object[] retVal = node.clone();
+
+        if (level == 0) {
+            retVal[index & MASK] = value;
+        } else {
+            final int slot = (index >>> level) & MASK;
+
+            retVal[slot] = assoc(level - BITS, (Object[]) node[slot], index, value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return our depth - present for testing.
+     *
+     * @return the number of trie levels above the leaves.
+     */
+    int depth() {
+        return shift / BITS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final int index) {
+        return (V) arrayFor(ensureIndex(index))[index & MASK];
+    }
+
+    /**
+     * Return a version of self with <code>value</code> appended. Self is unchanged.
+     *
+     * @param value to be added.
+     *
+     * @return the new version.
+     */
+    @Override
+    public PersistentFunctionalVector<V> addF(final V value) {
+        if (size - tailOffset() < WIDTH) {
+            final Object[] newTail = new Object[tail.length + 1];
+
+            System.arraycopy(tail, 0, newTail, 0, tail.length);
+            newTail[tail.length] = value;
+
+            return new PersistentFunctionalVector<>(size + 1, shift, root, newTail);
+        }
+
+        if ((size >>> BITS) > (1 << shift)) {
+            final Object[] newRoot = new Object[WIDTH];
+
+            newRoot[0] = root;
+            newRoot[1] = newPath(shift, tail);
+
+            return new PersistentFunctionalVector<>(size + 1, shift + BITS, newRoot, new Object[]{value});
+        }
+
+        return new PersistentFunctionalVector<>(size + 1, shift, pushTail(shift, root, tail), new Object[]{value});
+    }
+
+    /**
+     * Return a version of self with <code>value</code> at <code>index</code>. Self is unchanged.
+     *
+     * @param index the index to set.
+     * @param value the value.
+     *
+     * @return the new version.
+     *
+     * @throws IndexOutOfBoundsException if <code>index</code> is out of range.
+     */
+    public PersistentFunctionalVector<V> setF(final int index, final V value) {
+        if (ensureIndex(index) >= tailOffset()) {
+            final Object[] newTail = tail.clone();
+
+            newTail[index & MASK] = value;
+
+            return new PersistentFunctionalVector<>(size, shift, root, newTail);
+        }
+
+        return new PersistentFunctionalVector<>(size, shift, assoc(shift, root, index, value), tail);
+    }
+
+    /**
+     * Return a version of self without our last value. Self is unchanged.
+     *
+     * @return the new version.
+     *
+     * @throws IllegalStateException if empty.
+     */
+    public PersistentFunctionalVector<V> popF() {
+        if (size == 0) {
+            throw new IllegalStateException("Cannot pop an empty vector");
+        }
+
+        if (size == 1) {
+            return empty();
+        }
+
+        if (size - tailOffset() > 1) {
+            final Object[] newTail = new Object[tail.length - 1];
+
+            System.arraycopy(tail, 0, newTail, 0, newTail.length);
+
+            return new PersistentFunctionalVector<>(size - 1, shift, root, newTail);
+        }
+
+        final Object[] newTail = arrayFor(size - 2);
+
+        Object[] newRoot = popTail(shift, root);
+        int newShift = shift;
+
+        if (null == newRoot) {
+            newRoot = EMPTY_NODE;
+        }
+
+        if (shift > BITS && null == newRoot[1]) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+
+        return new PersistentFunctionalVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Return a version of self without the first occurrence of <code>value</code>. Self is unchanged. O(n) unless
+     * <code>value</code> is our last value.
+     *
+     * @param value to remove.
+     *
+     * @return the new version, or self if <code>value</code> is not present.
+     */
+    @Override
+    public PersistentFunctionalVector<V> removeF(final V value) {
+        final int index = indexOf(value);
+
+        if (index < 0) {
+            return this;
+        }
+
+        if (index == size - 1) {
+            return popF();
+        }
+
+        PersistentFunctionalVector<V> retVal = empty();
+        int current = 0;
+
+        for (final V toAdd : this) {
+            if (current++ != index) {
+                retVal = retVal.addF(toAdd);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return a version of self with all values of <code>collection</code> appended. Self is unchanged.
+     *
+     * @param collection the values to add.
+     *
+     * @return the new version.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    @Override
+    public PersistentFunctionalVector<V> addAllF(final Collection<? extends V> collection) {
+        PersistentFunctionalVector<V> retVal = this;
+
+        for (final V value : CollectionUtils.ensureCollection(collection, 0, "Collection cannot be null!")) {
+            retVal = retVal.addF(value);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return a version of self without any value found in <code>collection</code>. Self is unchanged. O(n).
+     *
+     * @param collection the values to remove.
+     *
+     * @return the new version, or self if nothing was removed.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    @Override
+    public PersistentFunctionalVector<V> removeAllF(final Collection<?> collection) {
+        CollectionUtils.ensureCollection(collection, 0, "Collection cannot be null!");
+
+        PersistentFunctionalVector<V> retVal = empty();
+
+        for (final V value : this) {
+            if (!collection.contains(value)) {
+                retVal = retVal.addF(value);
+            }
+        }
+
+        return retVal.size() == size ? this : retVal;
+    }
+
+    /**
+     * {@inheritDoc} Walks each leaf array in turn rather than descending the trie per value.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+            int index;
+            int base = -WIDTH;
+            Object[] array;
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+
+                if (index - base >= WIDTH) {
+                    array = arrayFor(index);
+                    base = index;
+                }
+
+                return (V) array[index++ & MASK];
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Persistent vector - use removeF()");
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object value) {
+        for (final V toCompare : this) {
+            if (Objects.equals(toCompare, value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -107,7 +107,7 @@ public abstract class AbstractFunctionalMap<K, V> extends AbstractCommonBase imp
      */
     @Override
     public boolean containsValue(final Object o) {
-        return logAndReturn(Level.FINEST, "Map contains value result [{0}] for value [{1}]", getMap().containsValue(o), 0);
+        return logAndReturn(Level.FINEST, "Map contains value result [{0}] for value [{1}]", getMap().containsValue(o), o);
     }
 
     /**
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads values for a LoadingFunctionalMap - for example by calling a SOAP port.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public abstract class CacheLoader<K, V> {
+
+    /**
+     * Default constructor.
+     */
+    protected CacheLoader() {
+    }
+
+    /**
+     * Load the value for <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return the value or null if there is none.
+     *
+     * @throws Exception if any problems arise.
+     */
+    public abstract V load(K key) throws Exception;
+
+    /**
+     * Load the values for <code>keys</code> in one call. By default, calls load() for each key - override when the backend
+     * supports bulk lookups.
+     *
+     * @param keys the keys.
+     *
+     * @return the values found - keys without values may be omitted.
+     *
+     * @throws Exception if any problems arise.
+     */
+    public Map<K, V> loadAll(final Collection<? extends K> keys) throws Exception {
+        final Map<K, V> retVal = new HashMap<>();
+
+        for (final K key : keys) {
+            retVal.put(key, load(key));
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Load a new value for <code>key</code> when refreshing. By default, calls load().
+     *
+     * @param key the key.
+     * @param oldValue the current value.
+     *
+     * @return the new value or null if there is none.
+     *
+     * @throws Exception if any problems arise.
+     */
+    public V reload(final K key, final V oldValue) throws Exception {
+        return load(key);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * A snapshot of a CachingFunctionalMap's statistics.
+ *
+ * @author Scot P. Floess
+ */
+public final class CacheStats {
+
+    /**
+     * Lookups that found a value.
+     */
+    private final long hitCount;
+
+    /**
+     * Lookups that found no value.
+     */
+    private final long missCount;
+
+    /**
+     * Entries evicted to stay within the maximum weight.
+     */
+    private final long evictionCount;
+
+    /**
+     * Entries removed because they expired.
+     */
+    private final long expirationCount;
+
+    /**
+     * Sets the statistics.
+     *
+     * @param hitCount lookups that found a value.
+     * @param missCount lookups that found no value.
+     * @param evictionCount entries evicted to stay within the maximum weight.
+     * @param expirationCount entries removed because they expired.
+     */
+    public CacheStats(final long hitCount, final long missCount, final long evictionCount, final long expirationCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+    }
+
+    /**
+     * Return the lookups that found a value.
+     *
+     * @return the hit count.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Return the lookups that found no value.
+     *
+     * @return the miss count.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Return the total lookups.
+     *
+     * @return the request count.
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Return the fraction of lookups that found a value - 1 if there were no lookups.
+     *
+     * @return the hit rate.
+     */
+    public double getHitRate() {
+        final long requestCount = getRequestCount();
+
+        return 0 == requestCount ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Return the fraction of lookups that found no value - 0 if there were no lookups.
+     *
+     * @return the miss rate.
+     */
+    public double getMissRate() {
+        final long requestCount = getRequestCount();
+
+        return 0 == requestCount ? 0.0 : (double) missCount / requestCount;
+    }
+
+    /**
+     * Return the entries evicted to stay within the maximum weight.
+     *
+     * @return the eviction count.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Return the entries removed because they expired.
+     *
+     * @return the expiration count.
+     */
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CacheStats{hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + getHitRate() + ", evictionCount=" + evictionCount + ", expirationCount=" + expirationCount + "}";
+    }
+}
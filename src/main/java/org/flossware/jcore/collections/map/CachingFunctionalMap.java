@@ -0,0 +1,913 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.concurrent.TimingWheel;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A functional map bounded by a maximum total weight - by default the number of entries - that evicts entries as chosen by its
+ * EvictionPolicy. Entries may also expire a fixed time after they were written and/or last read; expired entries are never
+ * returned, and are removed in the background by a TimingWheel, so no thread is needed per entry. Hit, miss, eviction and
+ * expiration counts are available from stats().
+ *
+ * Thread safe: every operation holds the map's lock. keySet(), values() and entrySet() return unmodifiable snapshots.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class CachingFunctionalMap<K, V> implements FunctionalMap<K, V> {
+
+    /**
+     * The fraction of the maximum weight given to the W-TinyLFU admission window.
+     */
+    public static final double WINDOW_FRACTION = 0.01;
+
+    /**
+     * The fraction of the W-TinyLFU main area given to entries read since admission.
+     */
+    public static final double PROTECTED_FRACTION = 0.8;
+
+    /**
+     * The number of least recently used entries LFU chooses a victim from.
+     */
+    public static final int LFU_SAMPLE_SIZE = 8;
+
+    /**
+     * The most entries the frequency sketch is initially sized for. The sketch grows with the number of entries rather than being
+     * sized from the maximum weight up front, so a cache bounded by a large weight (bytes, say) starts small.
+     */
+    static final int INITIAL_SKETCH_SIZE = 1024;
+
+    /**
+     * Weighs every entry as 1, bounding the number of entries.
+     */
+    static final Weigher<Object, Object> SINGLETON_WEIGHER = new Weigher<Object, Object>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int weigh(final Object key, final Object value) {
+            return 1;
+        }
+    };
+
+    /**
+     * Queue for new W-TinyLFU entries.
+     */
+    static final int WINDOW = 0;
+
+    /**
+     * Queue for admitted W-TinyLFU entries not read since, and for all LRU and LFU entries.
+     */
+    static final int PROBATION = 1;
+
+    /**
+     * Queue for admitted W-TinyLFU entries read since.
+     */
+    static final int PROTECTED = 2;
+
+    /**
+     * A cache entry, linked into one of our queues.
+     */
+    static final class Node<K, V> {
+
+        K key;
+        V value;
+        int weight;
+        int hash;
+        int queue;
+        long writeTime;
+        long accessTime;
+        Node<K, V> previous;
+        Node<K, V> next;
+        TimingWheel.Timeout timeout;
+    }
+
+    /**
+     * A doubly linked list of nodes, least recently used first, tracking its total weight.
+     */
+    static final class NodeQueue<K, V> {
+
+        final Node<K, V> head;
+        long weight;
+
+        /**
+         * Default constructor.
+         */
+        NodeQueue() {
+            head = new Node<>();
+            head.previous = head;
+            head.next = head;
+        }
+
+        /**
+         * Return the least recently used node.
+         *
+         * @return the least recently used node or null if empty.
+         */
+        Node<K, V> first() {
+            return head.next == head ? null : head.next;
+        }
+
+        /**
+         * Return the most recently used node.
+         *
+         * @return the most recently used node or null if empty.
+         */
+        Node<K, V> last() {
+            return head.previous == head ? null : head.previous;
+        }
+
+        /**
+         * Add <code>node</code> as the most recently used.
+         *
+         * @param node the node to add.
+         */
+        void addLast(final Node<K, V> node) {
+            node.previous = head.previous;
+            node.next = head;
+            head.previous.next = node;
+            head.previous = node;
+            weight += node.weight;
+        }
+
+        /**
+         * Remove <code>node</code>.
+         *
+         * @param node the node to remove.
+         */
+        void remove(final Node<K, V> node) {
+            node.previous.next = node.next;
+            node.next.previous = node.previous;
+            node.previous = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        /**
+         * Make <code>node</code> the most recently used.
+         *
+         * @param node the node to move.
+         */
+        void moveToBack(final Node<K, V> node) {
+            remove(node);
+            addLast(node);
+        }
+
+        /**
+         * Empty the queue.
+         */
+        void clear() {
+            head.previous = head;
+            head.next = head;
+            weight = 0;
+        }
+    }
+
+    /**
+     * Our entries.
+     */
+    private final Map<K, Node<K, V>> map;
+
+    /**
+     * How we evict.
+     */
+    private final EvictionPolicy evictionPolicy;
+
+    /**
+     * Weighs entries.
+     */
+    private final Weigher<? super K, ? super V> weigher;
+
+    /**
+     * The maximum total weight.
+     */
+    private final long maximumWeight;
+
+    /**
+     * The maximum weight of the W-TinyLFU window.
+     */
+    private final long windowMaximumWeight;
+
+    /**
+     * The maximum weight of the W-TinyLFU protected queue.
+     */
+    private final long protectedMaximumWeight;
+
+    /**
+     * Nanoseconds after writing an entry expires, or 0 for never.
+     */
+    private final long expireAfterWriteNanos;
+
+    /**
+     * Nanoseconds after reading an entry expires, or 0 for never.
+     */
+    private final long expireAfterAccessNanos;
+
+    /**
+     * Removes expired entries.
+     */
+    private final TimingWheel timingWheel;
+
+    /**
+     * Estimates access frequencies - null for LRU.
+     */
+    private final FrequencySketch sketch;
+
+    /**
+     * Our queues, indexed by WINDOW, PROBATION and PROTECTED.
+     */
+    private final NodeQueue<K, V>[] queues;
+
+    /**
+     * The total weight of our entries.
+     */
+    private long weight;
+
+    /**
+     * Lookups that found a value.
+     */
+    private long hitCount;
+
+    /**
+     * Lookups that found no value.
+     */
+    private long missCount;
+
+    /**
+     * Entries evicted.
+     */
+    private long evictionCount;
+
+    /**
+     * Entries expired.
+     */
+    private long expirationCount;
+
+    /**
+     * This constructor sets all options.
+     *
+     * @param maximumWeight the maximum total weight.
+     * @param weigher weighs entries.
+     * @param evictionPolicy how to choose entries to evict.
+     * @param expireAfterWrite how long after writing entries expire, or 0 for never.
+     * @param expireAfterAccess how long after reading entries expire, or 0 for never.
+     * @param unit the unit of <code>expireAfterWrite</code> and <code>expireAfterAccess</code>.
+     * @param timingWheel removes expired entries.
+     *
+     * @throws IllegalArgumentException if <code>maximumWeight</code> is less than 1, either expiration is negative or any object is
+     * null.
+     */
+    public CachingFunctionalMap(final long maximumWeight, final Weigher<? super K, ? super V> weigher, final EvictionPolicy evictionPolicy, final long expireAfterWrite, final long expireAfterAccess, final TimeUnit unit, final TimingWheel timingWheel) {
+        @SuppressWarnings("unchecked")
+        final NodeQueue<K, V>[] newQueues = (NodeQueue<K, V>[]) new NodeQueue<?, ?>[]{new NodeQueue<K, V>(), new NodeQueue<K, V>(), new NodeQueue<K, V>()};
+
+        this.maximumWeight = LongUtils.ensureMinLong(maximumWeight, 1, "Maximum weight must be positive");
+        this.weigher = ObjectUtils.ensureObject(weigher, "Must have a weigher");
+        this.evictionPolicy = ObjectUtils.ensureObject(evictionPolicy, "Must have an eviction policy");
+        this.expireAfterWriteNanos = ObjectUtils.ensureObject(unit, "Must have a unit").toNanos(LongUtils.ensureMinLong(expireAfterWrite, 0, "Expire after write cannot be negative"));
+        this.expireAfterAccessNanos = unit.toNanos(LongUtils.ensureMinLong(expireAfterAccess, 0, "Expire after access cannot be negative"));
+        this.timingWheel = ObjectUtils.ensureObject(timingWheel, "Must have a timing wheel");
+        this.map = new HashMap<>();
+        this.queues = newQueues;
+        this.sketch = EvictionPolicy.LRU == evictionPolicy ? null : new FrequencySketch(Math.min(maximumWeight, INITIAL_SKETCH_SIZE));
+        this.windowMaximumWeight = EvictionPolicy.W_TINY_LFU == evictionPolicy ? Math.max(1, (long) (maximumWeight * WINDOW_FRACTION)) : 0;
+        this.protectedMaximumWeight = (long) ((maximumWeight - windowMaximumWeight) * PROTECTED_FRACTION);
+    }
+
+    /**
+     * This constructor sets the maximum number of entries, eviction policy and expiration, using the shared timing wheel.
+     *
+     * @param maximumSize the maximum number of entries.
+     * @param evictionPolicy how to choose entries to evict.
+     * @param expireAfterWrite how long after writing entries expire, or 0 for never.
+     * @param expireAfterAccess how long after reading entries expire, or 0 for never.
+     * @param unit the unit of <code>expireAfterWrite</code> and <code>expireAfterAccess</code>.
+     *
+     * @throws IllegalArgumentException if <code>maximumSize</code> is less than 1, either expiration is negative or any object is
+     * null.
+     */
+    public CachingFunctionalMap(final long maximumSize, final EvictionPolicy evictionPolicy, final long expireAfterWrite, final long expireAfterAccess, final TimeUnit unit) {
+        this(maximumSize, SINGLETON_WEIGHER, evictionPolicy, expireAfterWrite, expireAfterAccess, unit, TimingWheel.getDefault());
+    }
+
+    /**
+     * This constructor sets the maximum total weight, how entries are weighed and the eviction policy.
+     *
+     * @param maximumWeight the maximum total weight.
+     * @param weigher weighs entries.
+     * @param evictionPolicy how to choose entries to evict.
+     *
+     * @throws IllegalArgumentException if <code>maximumWeight</code> is less than 1 or any object is null.
+     */
+    public CachingFunctionalMap(final long maximumWeight, final Weigher<? super K, ? super V> weigher, final EvictionPolicy evictionPolicy) {
+        this(maximumWeight, weigher, evictionPolicy, 0, 0, TimeUnit.NANOSECONDS, TimingWheel.getDefault());
+    }
+
+    /**
+     * This constructor sets the maximum number of entries and eviction policy.
+     *
+     * @param maximumSize the maximum number of entries.
+     * @param evictionPolicy how to choose entries to evict.
+     *
+     * @throws IllegalArgumentException if <code>maximumSize</code> is less than 1 or <code>evictionPolicy</code> is null.
+     */
+    public CachingFunctionalMap(final long maximumSize, final EvictionPolicy evictionPolicy) {
+        this(maximumSize, SINGLETON_WEIGHER, evictionPolicy);
+    }
+
+    /**
+     * This constructor sets the maximum number of entries - evicting using W-TinyLFU.
+     *
+     * @param maximumSize the maximum number of entries.
+     *
+     * @throws IllegalArgumentException if <code>maximumSize</code> is less than 1.
+     */
+    public CachingFunctionalMap(final long maximumSize) {
+        this(maximumSize, EvictionPolicy.W_TINY_LFU);
+    }
+
+    /**
+     * Return the number of longs in our frequency sketch.
+     *
+     * @return the number of longs in our frequency sketch, or 0 for LRU.
+     */
+    synchronized int getSketchCapacity() {
+        return null == sketch ? 0 : sketch.capacity();
+    }
+
+    /**
+     * Return the current time in nanoseconds. Present so tests can control time.
+     *
+     * @return the current time in nanoseconds.
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Return the queue <code>node</code> is in.
+     *
+     * @param node the node.
+     *
+     * @return the queue.
+     */
+    private NodeQueue<K, V> queueOf(final Node<K, V> node) {
+        return queues[node.queue];
+    }
+
+    /**
+     * Record an access of the key with <code>hash</code> in our sketch.
+     *
+     * @param hash the key's hash.
+     */
+    private void recordFrequency(final int hash) {
+        if (null != sketch) {
+            sketch.increment(hash);
+        }
+    }
+
+    /**
+     * Return true if <code>node</code> has expired by <code>now</code>.
+     *
+     * @param node the node.
+     * @param now the current time.
+     *
+     * @return true if expired or false if not.
+     */
+    private boolean isExpired(final Node<K, V> node, final long now) {
+        return (expireAfterWriteNanos > 0 && now - node.writeTime >= expireAfterWriteNanos) || (expireAfterAccessNanos > 0 && now - node.accessTime >= expireAfterAccessNanos);
+    }
+
+    /**
+     * Schedule removal of <code>node</code> when it will expire, if entries expire.
+     *
+     * @param node the node.
+     * @param now the current time.
+     */
+    private void scheduleExpiration(final Node<K, V> node, final long now) {
+        if (0 == expireAfterWriteNanos && 0 == expireAfterAccessNanos) {
+            return;
+        }
+
+        long delay = Long.MAX_VALUE;
+
+        if (expireAfterWriteNanos > 0) {
+            delay = Math.min(delay, node.writeTime + expireAfterWriteNanos - now);
+        }
+
+        if (expireAfterAccessNanos > 0) {
+            delay = Math.min(delay, node.accessTime + expireAfterAccessNanos - now);
+        }
+
+        node.timeout = timingWheel.schedule(new Runnable() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void run() {
+                expire(node);
+            }
+        }, Math.max(0, delay), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Called by the timing wheel: remove <code>node</code> if expired, otherwise - it was read or rewritten since scheduled -
+     * schedule again.
+     *
+     * @param node the node.
+     */
+    synchronized void expire(final Node<K, V> node) {
+        if (map.get(node.key) != node) {
+            return;
+        }
+
+        final long now = nanoTime();
+
+        if (isExpired(node, now)) {
+            removeNode(node);
+            expirationCount++;
+        } else {
+            scheduleExpiration(node, now);
+        }
+    }
+
+    /**
+     * Remove <code>node</code> entirely.
+     *
+     * @param node the node.
+     */
+    private void removeNode(final Node<K, V> node) {
+        map.remove(node.key);
+        queueOf(node).remove(node);
+        weight -= node.weight;
+
+        if (null != node.timeout) {
+            node.timeout.cancel();
+        }
+    }
+
+    /**
+     * Return the live node for <code>key</code>, removing it if expired.
+     *
+     * @param key the key.
+     * @param now the current time.
+     *
+     * @return the node or null if absent or expired.
+     */
+    private Node<K, V> getLiveNode(final Object key, final long now) {
+        final Node<K, V> retVal = map.get(key);
+
+        if (null != retVal && isExpired(retVal, now)) {
+            removeNode(retVal);
+            expirationCount++;
+
+            return null;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Update our queues for a read or rewrite of <code>node</code>.
+     *
+     * @param node the node.
+     */
+    private void onAccess(final Node<K, V> node) {
+        if (EvictionPolicy.W_TINY_LFU != evictionPolicy || PROBATION != node.queue) {
+            queueOf(node).moveToBack(node);
+
+            return;
+        }
+
+        queues[PROBATION].remove(node);
+        node.queue = PROTECTED;
+        queues[PROTECTED].addLast(node);
+
+        while (queues[PROTECTED].weight > protectedMaximumWeight) {
+            final Node<K, V> demoted = queues[PROTECTED].first();
+
+            queues[PROTECTED].remove(demoted);
+            demoted.queue = PROBATION;
+            queues[PROBATION].addLast(demoted);
+        }
+    }
+
+    /**
+     * Evict <code>node</code>.
+     *
+     * @param node the node.
+     */
+    private void evict(final Node<K, V> node) {
+        removeNode(node);
+        evictionCount++;
+    }
+
+    /**
+     * Return the LFU victim: the least frequently used of the LFU_SAMPLE_SIZE least recently used nodes.
+     *
+     * @return the victim.
+     */
+    private Node<K, V> findLfuVictim() {
+        Node<K, V> retVal = queues[PROBATION].first();
+
+        int frequency = sketch.frequency(retVal.hash);
+
+        Node<K, V> node = retVal.next;
+
+        for (int count = 1; count < LFU_SAMPLE_SIZE && node != queues[PROBATION].head; count++, node = node.next) {
+            final int nodeFrequency = sketch.frequency(node.hash);
+
+            if (nodeFrequency < frequency) {
+                retVal = node;
+                frequency = nodeFrequency;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Evict until within our maximum weight. For W-TinyLFU, entries overflowing the window become candidates at the back of
+     * probation, each either admitted - displacing the least recently used probation entry - or evicted, whichever is used less.
+     */
+    private void evictIfNeeded() {
+        if (EvictionPolicy.W_TINY_LFU != evictionPolicy) {
+            while (weight > maximumWeight) {
+                evict(EvictionPolicy.LRU == evictionPolicy ? queues[PROBATION].first() : findLfuVictim());
+            }
+
+            return;
+        }
+
+        int candidates = 0;
+
+        while (queues[WINDOW].weight > windowMaximumWeight) {
+            final Node<K, V> node = queues[WINDOW].first();
+
+            queues[WINDOW].remove(node);
+            node.queue = PROBATION;
+            queues[PROBATION].addLast(node);
+            candidates++;
+        }
+
+        while (weight > maximumWeight) {
+            Node<K, V> victim = queues[PROBATION].first();
+
+            if (null == victim) {
+                victim = null == queues[PROTECTED].first() ? queues[WINDOW].first() : queues[PROTECTED].first();
+            }
+
+            final Node<K, V> candidate = candidates > 0 ? queues[PROBATION].last() : null;
+
+            if (null == candidate || candidate == victim) {
+                evict(victim);
+            } else if (candidate.weight > maximumWeight || sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                evict(candidate);
+            } else {
+                evict(victim);
+
+                continue;
+            }
+
+            candidates = Math.max(0, candidates - 1);
+        }
+    }
+
+    /**
+     * Return the maximum total weight.
+     *
+     * @return the maximum total weight.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Return the eviction policy.
+     *
+     * @return the eviction policy.
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Return the total weight of our entries.
+     *
+     * @return the total weight.
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Return our statistics.
+     *
+     * @return a snapshot of our statistics.
+     */
+    public synchronized CacheStats stats() {
+        return new CacheStats(hitCount, missCount, evictionCount, expirationCount);
+    }
+
+    /**
+     * Remove all expired entries now rather than waiting for the timing wheel.
+     */
+    public synchronized void cleanUp() {
+        final long now = nanoTime();
+
+        for (final Node<K, V> node : new ArrayList<>(map.values())) {
+            if (isExpired(node, now)) {
+                removeNode(node);
+                expirationCount++;
+            }
+        }
+    }
+
+    /**
+     * Return a copy of our live entries, least recently used first within each queue.
+     *
+     * @return a copy of our entries.
+     */
+    synchronized Map<K, V> snapshot() {
+        final long now = nanoTime();
+        final Map<K, V> retVal = new LinkedHashMap<>();
+
+        for (final NodeQueue<K, V> queue : queues) {
+            for (Node<K, V> node = queue.head.next; node != queue.head; node = node.next) {
+                if (!isExpired(node, now)) {
+                    retVal.put(node.key, node.value);
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc} Does not count as a read.
+     */
+    @Override
+    public synchronized boolean containsKey(final Object key) {
+        return null != getLiveNode(key, nanoTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(final Object value) {
+        return snapshot().containsValue(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V get(final Object key) {
+        recordFrequency(Objects.hashCode(key));
+
+        final long now = nanoTime();
+        final Node<K, V> node = getLiveNode(key, now);
+
+        if (null == node) {
+            missCount++;
+
+            return null;
+        }
+
+        hitCount++;
+        node.accessTime = now;
+        onAccess(node);
+
+        return node.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the weigher returns a negative weight.
+     */
+    @Override
+    public synchronized V put(final K key, final V value) {
+        final int nodeWeight = weigher.weigh(key, value);
+
+        if (nodeWeight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+
+        final int hash = Objects.hashCode(key);
+        final long now = nanoTime();
+
+        recordFrequency(hash);
+
+        Node<K, V> node = getLiveNode(key, now);
+
+        final V retVal;
+
+        if (null == node) {
+            retVal = null;
+
+            node = new Node<>();
+            node.key = key;
+            node.hash = hash;
+            node.weight = nodeWeight;
+            node.queue = EvictionPolicy.W_TINY_LFU == evictionPolicy ? WINDOW : PROBATION;
+
+            map.put(key, node);
+            queueOf(node).addLast(node);
+            weight += nodeWeight;
+
+            if (null != sketch) {
+                sketch.ensureCapacity(map.size());
+            }
+        } else {
+            retVal = node.value;
+
+            queueOf(node).weight += nodeWeight - node.weight;
+            weight += nodeWeight - node.weight;
+            node.weight = nodeWeight;
+
+            onAccess(node);
+        }
+
+        node.value = value;
+        node.writeTime = now;
+        node.accessTime = now;
+
+        if (null == node.timeout || node.timeout.isExpired() || node.timeout.isCancelled()) {
+            scheduleExpiration(node, now);
+        }
+
+        evictIfNeeded();
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized V remove(final Object key) {
+        final Node<K, V> node = getLiveNode(key, nanoTime());
+
+        if (null == node) {
+            return null;
+        }
+
+        removeNode(node);
+
+        return node.value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void putAll(final Map<? extends K, ? extends V> toPut) {
+        for (final Entry<? extends K, ? extends V> entry : toPut.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc} Statistics are kept.
+     */
+    @Override
+    public synchronized void clear() {
+        for (final Node<K, V> node : map.values()) {
+            if (null != node.timeout) {
+                node.timeout.cancel();
+            }
+        }
+
+        map.clear();
+
+        for (final NodeQueue<K, V> queue : queues) {
+            queue.clear();
+        }
+
+        weight = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putF(final K key, final V value) {
+        put(key, value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putAllF(final Map<? extends K, ? extends V> toPut) {
+        putAll(toPut);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> removeF(final K key) {
+        remove(key);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(snapshot().keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<V> values() {
+        return Collections.unmodifiableCollection(snapshot().values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return Collections.unmodifiableSet(snapshot().entrySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object object) {
+        return this == object || snapshot().equals(object);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return snapshot().hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.flossware.jcore.BiFunction;
+import org.flossware.jcore.Function;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A thread safe functional map over a ConcurrentMap - by default a ConcurrentHashMap, whose reads take no locks and whose writes
+ * lock only one of its segments. Adds atomic putIfAbsentF() and replaceF(), which return self, and getOrCompute() and
+ * mergeValue(), which return the resulting value. Like ConcurrentHashMap, null keys and values are not permitted.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class ConcurrentFunctionalMap<K, V> extends FastFunctionalMap<K, V> implements ConcurrentMap<K, V> {
+
+    /**
+     * The default number of segments - enough that writers on every processor rarely contend.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = Math.max(16, Runtime.getRuntime().availableProcessors() * 2);
+
+    /**
+     * Our map.
+     */
+    private final ConcurrentMap<K, V> concurrentMap;
+
+    /**
+     * This sets the map to be used.
+     *
+     * @param map the map to use.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    public ConcurrentFunctionalMap(final ConcurrentMap<K, V> map) {
+        super(map);
+
+        this.concurrentMap = map;
+    }
+
+    /**
+     * This constructor sets the number of writers expected to update concurrently.
+     *
+     * @param concurrencyLevel the number of concurrent writers.
+     *
+     * @throws IllegalArgumentException if <code>concurrencyLevel</code> is less than 1.
+     */
+    public ConcurrentFunctionalMap(final int concurrencyLevel) {
+        this(new ConcurrentHashMap<K, V>(16, 0.75f, IntUtils.ensureMinInt(concurrencyLevel, 1, "Concurrency level must be positive")));
+    }
+
+    /**
+     * Default constructor.
+     */
+    public ConcurrentFunctionalMap() {
+        this(DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ConcurrentMap<K, V> getMap() {
+        return concurrentMap;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        return concurrentMap.putIfAbsent(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        return concurrentMap.remove(key, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        return concurrentMap.replace(key, oldValue, newValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V replace(final K key, final V value) {
+        return concurrentMap.replace(key, value);
+    }
+
+    /**
+     * Atomically map <code>key</code> to <code>value</code> if <code>key</code> is absent.
+     *
+     * @param key the key.
+     * @param value the value.
+     *
+     * @return self.
+     */
+    public ConcurrentFunctionalMap<K, V> putIfAbsentF(final K key, final V value) {
+        concurrentMap.putIfAbsent(key, value);
+
+        return this;
+    }
+
+    /**
+     * Atomically map <code>key</code> to <code>value</code> if <code>key</code> is present.
+     *
+     * @param key the key.
+     * @param value the value.
+     *
+     * @return self.
+     */
+    public ConcurrentFunctionalMap<K, V> replaceF(final K key, final V value) {
+        concurrentMap.replace(key, value);
+
+        return this;
+    }
+
+    /**
+     * Return the value for <code>key</code>, computing and storing it if absent. This takes no lock, so <code>function</code> is
+     * <em>not</em> guaranteed to run at most once per key: threads racing on an absent key may each call it. Only one result is
+     * ever stored and every caller receives that stored result - <code>function</code> should therefore be free of side effects
+     * and cheap enough to discard.
+     *
+     * @param key the key.
+     * @param function computes the value - if it returns null nothing is stored.
+     *
+     * @return the current or computed value, or null if <code>function</code> returned null.
+     *
+     * @throws IllegalArgumentException if <code>function</code> is null.
+     */
+    public V getOrCompute(final K key, final Function<? super K, ? extends V> function) {
+        ObjectUtils.ensureObject(function, "Must have a function");
+
+        final V value = concurrentMap.get(key);
+
+        if (null != value) {
+            return value;
+        }
+
+        final V computed = function.apply(key);
+
+        if (null == computed) {
+            return null;
+        }
+
+        final V previous = concurrentMap.putIfAbsent(key, computed);
+
+        return null == previous ? computed : previous;
+    }
+
+    /**
+     * Atomically map <code>key</code> to <code>value</code> if absent, otherwise to the result of applying <code>function</code> to
+     * the current value and <code>value</code>. Retries if another thread changes the value first, so <code>function</code> may
+     * be called more than once and must have no side effects.
+     *
+     * @param key the key.
+     * @param value the value if absent, and the second argument to <code>function</code> if not.
+     * @param function combines the current value with <code>value</code> - if it returns null <code>key</code> is removed.
+     *
+     * @return the new value or null if removed.
+     *
+     * @throws IllegalArgumentException if <code>value</code> or <code>function</code> is null.
+     */
+    public V mergeValue(final K key, final V value, final BiFunction<? super V, ? super V, ? extends V> function) {
+        ObjectUtils.ensureObject(value, "Must have a value");
+        ObjectUtils.ensureObject(function, "Must have a function");
+
+        while (true) {
+            final V current = concurrentMap.get(key);
+
+            if (null == current) {
+                if (null == concurrentMap.putIfAbsent(key, value)) {
+                    return value;
+                }
+            } else {
+                final V merged = function.apply(current, value);
+
+                if (null == merged) {
+                    if (concurrentMap.remove(key, current)) {
+                        return null;
+                    }
+                } else if (concurrentMap.replace(key, current, merged)) {
+                    return merged;
+                }
+            }
+        }
+    }
+}
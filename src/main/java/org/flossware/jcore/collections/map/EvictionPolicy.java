@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * How a CachingFunctionalMap chooses entries to evict when full.
+ *
+ * @author Scot P. Floess
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Evict the least recently used entry.
+     */
+    LRU,
+
+    /**
+     * Evict the least frequently used of the least recently used entries. Frequencies are estimated and periodically halved so
+     * that formerly popular entries age out.
+     */
+    LFU,
+
+    /**
+     * New entries enter a small LRU window. Entries leaving the window are admitted to the main LRU area only if used more
+     * frequently than the entry they would displace. Resists scans and one hit wonders while adapting to recency.
+     */
+    W_TINY_LFU
+}
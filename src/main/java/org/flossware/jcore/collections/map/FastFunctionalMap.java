@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import org.flossware.jcore.utils.collections.MapUtils;
+
+/**
+ * A functional map that delegates directly to its map without any logging. Use on hot paths where the per call log checks of
+ * DefaultFunctionalMap are not wanted.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class FastFunctionalMap<K, V> implements FunctionalMap<K, V> {
+
+    /**
+     * Our map.
+     */
+    private final Map<K, V> map;
+
+    /**
+     * This sets the map to be used.
+     *
+     * @param map the map to use.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    public FastFunctionalMap(final Map<K, V> map) {
+        this.map = MapUtils.ensureMap(map, 0, "Map cannot be null!");
+    }
+
+    /**
+     * Return the map we use.
+     *
+     * @return the map to be used.
+     */
+    protected Map<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putF(final K key, final V value) {
+        map.put(key, value);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putAllF(final Map<? extends K, ? extends V> map) {
+        this.map.putAll(map);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> removeF(final K key) {
+        map.remove(key);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object o) {
+        return map.containsKey(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsValue(final Object o) {
+        return map.containsValue(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object o) {
+        return map.get(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(final K k, final V v) {
+        return map.put(k, v);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(final Object o) {
+        return map.remove(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        this.map.putAll(map);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<K> keySet() {
+        return map.keySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<V> values() {
+        return map.values();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return map.entrySet();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return map.toString();
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import org.flossware.jcore.utils.collections.HashUtils;
+
+/**
+ * Estimates how often items were seen using a count-min sketch of 4 bit counters - 16 per long. Once as many increments as ten
+ * times the expected number of items have been recorded, every counter is halved so that the estimates favor recent history.
+ * The table can be grown with ensureCapacity() as more items are expected - growing starts the counts afresh. Not thread safe.
+ *
+ * @author Scot P. Floess
+ */
+final class FrequencySketch {
+
+    /**
+     * The largest counter value.
+     */
+    static final int MAX_FREQUENCY = 15;
+
+    /**
+     * The number of counters consulted per item.
+     */
+    static final int DEPTH = 4;
+
+    /**
+     * Seeds for each counter consulted.
+     */
+    static final int[] SEEDS = {0x97cb3127, 0xe9bf5f1b, 0x4c3e8d97, 0x2b7c4a31};
+
+    /**
+     * Masks off the high bit of each counter when halving.
+     */
+    static final long HALVING_MASK = 0x7777777777777777L;
+
+    /**
+     * Our counters.
+     */
+    private long[] table;
+
+    /**
+     * Increments recorded before halving.
+     */
+    private int sampleSize;
+
+    /**
+     * Increments recorded since the last halving.
+     */
+    private int size;
+
+    /**
+     * This constructor sets the expected number of items.
+     *
+     * @param expectedItems the number of distinct items expected.
+     */
+    FrequencySketch(final long expectedItems) {
+        final int items = computeItems(expectedItems);
+
+        this.table = new long[computeTableLength(items)];
+        this.sampleSize = computeSampleSize(items);
+    }
+
+    /**
+     * Return <code>expectedItems</code> bounded to what a table can hold.
+     *
+     * @param expectedItems the number of distinct items expected.
+     *
+     * @return the bounded number of items.
+     */
+    static int computeItems(final long expectedItems) {
+        return (int) Math.max(1, Math.min(expectedItems, HashUtils.MAX_CAPACITY));
+    }
+
+    /**
+     * Return the number of longs in a table for <code>items</code>.
+     *
+     * @param items the number of distinct items expected.
+     *
+     * @return the table length - a power of two.
+     */
+    static int computeTableLength(final int items) {
+        return Math.max(8, Integer.highestOneBit(items * 2 - 1));
+    }
+
+    /**
+     * Return the increments recorded before halving for <code>items</code>.
+     *
+     * @param items the number of distinct items expected.
+     *
+     * @return the sample size.
+     */
+    static int computeSampleSize(final int items) {
+        return (int) Math.min(Integer.MAX_VALUE, 10L * items);
+    }
+
+    /**
+     * Grow our table if it is too small for <code>expectedItems</code>. Counts cannot be rehashed, so growing forgets them.
+     *
+     * @param expectedItems the number of distinct items now expected.
+     */
+    void ensureCapacity(final long expectedItems) {
+        final int items = computeItems(expectedItems);
+        final int tableLength = computeTableLength(items);
+
+        if (tableLength <= table.length) {
+            return;
+        }
+
+        table = new long[tableLength];
+        sampleSize = computeSampleSize(items);
+        size = 0;
+    }
+
+    /**
+     * Return the number of longs in our table.
+     *
+     * @return the number of longs in our table.
+     */
+    int capacity() {
+        return table.length;
+    }
+
+    /**
+     * Return the position of the counter for <code>hash</code> at <code>depth</code>: the low 4 bits select the counter within a
+     * long, the rest the long.
+     *
+     * @param hash the item's hash.
+     * @param depth which counter.
+     *
+     * @return the position.
+     */
+    private int computePosition(final int hash, final int depth) {
+        return HashUtils.mix(hash ^ SEEDS[depth]);
+    }
+
+    /**
+     * Return the counter at <code>position</code>.
+     *
+     * @param position the position.
+     *
+     * @return the counter.
+     */
+    private int getCounter(final int position) {
+        return (int) ((table[(position >>> 4) & (table.length - 1)] >>> ((position & 15) << 2)) & 0xf);
+    }
+
+    /**
+     * Return the estimated frequency of the item with <code>hash</code>.
+     *
+     * @param hash the item's hash.
+     *
+     * @return the estimated frequency, 0 to MAX_FREQUENCY.
+     */
+    int frequency(final int hash) {
+        int retVal = MAX_FREQUENCY;
+
+        for (int depth = 0; depth < DEPTH; depth++) {
+            retVal = Math.min(retVal, getCounter(computePosition(hash, depth)));
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Record an occurrence of the item with <code>hash</code>.
+     *
+     * @param hash the item's hash.
+     */
+    void increment(final int hash) {
+        boolean isIncremented = false;
+
+        for (int depth = 0; depth < DEPTH; depth++) {
+            final int position = computePosition(hash, depth);
+
+            if (getCounter(position) < MAX_FREQUENCY) {
+                table[(position >>> 4) & (table.length - 1)] += 1L << ((position & 15) << 2);
+                isIncremented = true;
+            }
+        }
+
+        if (isIncremented && ++size >= sampleSize) {
+            halve();
+        }
+    }
+
+    /**
+     * Halve every counter.
+     */
+    void halve() {
+        for (int index = 0; index < table.length; index++) {
+            table[index] = (table[index] >>> 1) & HALVING_MASK;
+        }
+
+        size /= 2;
+    }
+
+    /**
+     * Forget everything.
+     */
+    void clear() {
+        Arrays.fill(table, 0);
+        size = 0;
+    }
+}
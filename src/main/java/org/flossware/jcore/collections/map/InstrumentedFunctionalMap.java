@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.flossware.jcore.metrics.Counter;
+import org.flossware.jcore.metrics.HighWaterMark;
+import org.flossware.jcore.metrics.Meter;
+import org.flossware.jcore.metrics.MetricRegistry;
+import org.flossware.jcore.metrics.Timer;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.StringUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+
+/**
+ * A functional map that records metrics about its use: hits and misses for get() and containsKey(), put and remove rates, the
+ * highest size reached and the latency of 1 in sampleRate lookups, puts and removes. Recording takes no locks, so it is as safe
+ * for concurrent use as the map it wraps. A null value retrieved by get() counts as a miss.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class InstrumentedFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
+
+    /**
+     * By default, 1 in this many operations is timed.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+
+    /**
+     * Our map.
+     */
+    private final Map<K, V> map;
+
+    /**
+     * 1 in this many operations is timed.
+     */
+    private final int sampleRate;
+
+    /**
+     * Lookups that found a value.
+     */
+    private final Counter hits;
+
+    /**
+     * Lookups that did not find a value.
+     */
+    private final Counter misses;
+
+    /**
+     * Rate of puts.
+     */
+    private final Meter puts;
+
+    /**
+     * Rate of removes.
+     */
+    private final Meter removes;
+
+    /**
+     * The largest size reached.
+     */
+    private final HighWaterMark sizeHighWaterMark;
+
+    /**
+     * Sampled get() and containsKey() latency.
+     */
+    private final Timer lookupTimer;
+
+    /**
+     * Sampled put() latency.
+     */
+    private final Timer putTimer;
+
+    /**
+     * Sampled remove() latency.
+     */
+    private final Timer removeTimer;
+
+    /**
+     * This constructor sets the map to instrument and how often to time operations.
+     *
+     * @param map the map to instrument.
+     * @param sampleRate 1 in this many operations is timed.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null or <code>sampleRate</code> is less than 1.
+     */
+    public InstrumentedFunctionalMap(final Map<K, V> map, final int sampleRate) {
+        this.map = MapUtils.ensureMap(map, 0, "Map cannot be null!");
+        this.sampleRate = IntUtils.ensureMinInt(sampleRate, 1, "Must have a sample rate of at least one");
+        this.hits = new Counter();
+        this.misses = new Counter();
+        this.puts = new Meter();
+        this.removes = new Meter();
+        this.sizeHighWaterMark = new HighWaterMark();
+        this.lookupTimer = new Timer();
+        this.putTimer = new Timer();
+        this.removeTimer = new Timer();
+
+        sizeHighWaterMark.update(map.size());
+    }
+
+    /**
+     * This constructor sets the map to instrument, timing 1 in DEFAULT_SAMPLE_RATE operations.
+     *
+     * @param map the map to instrument.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    public InstrumentedFunctionalMap(final Map<K, V> map) {
+        this(map, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * Return true if the current operation should be timed.
+     *
+     * @return true if the current operation should be timed.
+     */
+    boolean isSampled() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Record a lookup.
+     *
+     * @param isHit true if the lookup was a hit.
+     * @param start when the lookup started or -1 if not timed.
+     */
+    void recordLookup(final boolean isHit, final long start) {
+        if (start != -1) {
+            lookupTimer.stop(start);
+        }
+
+        (isHit ? hits : misses).inc();
+    }
+
+    /**
+     * Register our metrics in <code>metricRegistry</code>, named <code>prefix</code> followed by ".hits", ".misses", ".puts",
+     * ".removes", ".size.max", ".lookup", ".put" and ".remove".
+     *
+     * @param metricRegistry the registry to register in.
+     * @param prefix the prefix of our metric names.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>prefix</code> is blank or any of the names are already registered.
+     */
+    public InstrumentedFunctionalMap<K, V> register(final MetricRegistry metricRegistry, final String prefix) {
+        StringUtils.ensureString(prefix, "Must have a prefix");
+
+        metricRegistry.register(prefix + ".hits", hits);
+        metricRegistry.register(prefix + ".misses", misses);
+        metricRegistry.register(prefix + ".puts", puts);
+        metricRegistry.register(prefix + ".removes", removes);
+        metricRegistry.register(prefix + ".size.max", sizeHighWaterMark);
+        metricRegistry.register(prefix + ".lookup", lookupTimer);
+        metricRegistry.register(prefix + ".put", putTimer);
+        metricRegistry.register(prefix + ".remove", removeTimer);
+
+        return this;
+    }
+
+    /**
+     * Return 1 in this many operations are timed.
+     *
+     * @return the sample rate.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Return the lookups that found a value.
+     *
+     * @return the hits.
+     */
+    public Counter getHits() {
+        return hits;
+    }
+
+    /**
+     * Return the lookups that did not find a value.
+     *
+     * @return the misses.
+     */
+    public Counter getMisses() {
+        return misses;
+    }
+
+    /**
+     * Return the fraction of lookups that were hits.
+     *
+     * @return the hit ratio or 0 if there have been no lookups.
+     */
+    public double getHitRatio() {
+        final long hitCount = hits.getCount();
+        final long total = hitCount + misses.getCount();
+
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Return the rate of puts.
+     *
+     * @return the rate of puts.
+     */
+    public Meter getPuts() {
+        return puts;
+    }
+
+    /**
+     * Return the rate of removes.
+     *
+     * @return the rate of removes.
+     */
+    public Meter getRemoves() {
+        return removes;
+    }
+
+    /**
+     * Return the largest size reached.
+     *
+     * @return the largest size reached.
+     */
+    public HighWaterMark getSizeHighWaterMark() {
+        return sizeHighWaterMark;
+    }
+
+    /**
+     * Return the sampled get() and containsKey() latency.
+     *
+     * @return the lookup timer.
+     */
+    public Timer getLookupTimer() {
+        return lookupTimer;
+    }
+
+    /**
+     * Return the sampled put() latency.
+     *
+     * @return the put timer.
+     */
+    public Timer getPutTimer() {
+        return putTimer;
+    }
+
+    /**
+     * Return the sampled remove() latency.
+     *
+     * @return the remove timer.
+     */
+    public Timer getRemoveTimer() {
+        return removeTimer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object o) {
+        final long start = isSampled() ? lookupTimer.start() : -1;
+        final V retVal = super.get(o);
+
+        recordLookup(null != retVal, start);
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object o) {
+        final long start = isSampled() ? lookupTimer.start() : -1;
+        final boolean retVal = super.containsKey(o);
+
+        recordLookup(retVal, start);
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(final K k, final V v) {
+        final long start = isSampled() ? putTimer.start() : -1;
+        final V retVal = super.put(k, v);
+
+        if (start != -1) {
+            putTimer.stop(start);
+        }
+
+        puts.mark();
+
+        if (null == retVal) {
+            sizeHighWaterMark.update(getMap().size());
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        super.putAll(map);
+
+        puts.mark(map.size());
+        sizeHighWaterMark.update(getMap().size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(final Object o) {
+        final long start = isSampled() ? removeTimer.start() : -1;
+        final V retVal = super.remove(o);
+
+        if (start != -1) {
+            removeTimer.stop(start);
+        }
+
+        removes.mark();
+
+        return retVal;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Receives the entries of an IntObjectHashMap without boxing.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the value.
+ */
+public interface IntObjectConsumer<V> {
+
+    /**
+     * Receive an entry.
+     *
+     * @param key the key.
+     * @param value the value.
+     */
+    void accept(int key, V value);
+}
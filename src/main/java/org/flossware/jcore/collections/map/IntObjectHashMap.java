@@ -0,0 +1,592 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import org.flossware.jcore.collections.IntIterator;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.HashUtils;
+
+/**
+ * A map of int keys to Object values, stored unboxed in parallel arrays forming an open addressing hash table with linear probing.
+ * Removal shifts entries back rather than leaving tombstones. Put calls can be chained, as with the functional maps:
+ * map.putF(1, a).putF(2, b). This is deliberately not a java.util.Map nor a FunctionalMap - those would box every key. Not thread
+ * safe, and iterators are undefined if the map is modified while iterating.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <V> the value.
+ */
+public class IntObjectHashMap<V> {
+
+    /**
+     * Marks a free slot in our table - the key itself is tracked by hasFreeKey.
+     */
+    static final int FREE = 0;
+
+    /**
+     * Our keys.
+     */
+    private int[] keys;
+
+    /**
+     * Our values, parallel to keys.
+     */
+    private V[] values;
+
+    /**
+     * Mask to compute a slot from a hash.
+     */
+    private int mask;
+
+    /**
+     * The number of keys in our table - excludes FREE.
+     */
+    private int assigned;
+
+    /**
+     * When assigned exceeds this, our table grows.
+     */
+    private int threshold;
+
+    /**
+     * True if we contain FREE as a key.
+     */
+    private boolean hasFreeKey;
+
+    /**
+     * The value for FREE if hasFreeKey.
+     */
+    private V freeValue;
+
+    /**
+     * Our load factor.
+     */
+    private final float loadFactor;
+
+    /**
+     * This constructor sets the expected size and load factor.
+     *
+     * @param expectedSize the number of entries expected - the table will not grow until exceeded.
+     * @param loadFactor how full our table may be before growing.
+     *
+     * @throws IllegalArgumentException if <code>expectedSize</code> is negative or <code>loadFactor</code> is not between 0 and 1.
+     */
+    public IntObjectHashMap(final int expectedSize, final float loadFactor) {
+        this.loadFactor = HashUtils.ensureLoadFactor(loadFactor);
+
+        allocate(HashUtils.computeCapacity(expectedSize, loadFactor));
+    }
+
+    /**
+     * This constructor sets the expected size.
+     *
+     * @param expectedSize the number of entries expected - the table will not grow until exceeded.
+     *
+     * @throws IllegalArgumentException if <code>expectedSize</code> is negative.
+     */
+    public IntObjectHashMap(final int expectedSize) {
+        this(expectedSize, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public IntObjectHashMap() {
+        this(HashUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Allocate a table of <code>capacity</code>.
+     *
+     * @param capacity the capacity of the table.
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        threshold = HashUtils.computeThreshold(capacity, loadFactor);
+    }
+
+    /**
+     * Return the slot <code>key</code> hashes to.
+     *
+     * @param key the key.
+     *
+     * @return the slot.
+     */
+    private int computeSlot(final int key) {
+        return HashUtils.mix(key) & mask;
+    }
+
+    /**
+     * Return the slot holding <code>key</code>.
+     *
+     * @param key a key other than FREE.
+     *
+     * @return the slot holding <code>key</code> or -1 if not found.
+     */
+    private int findSlot(final int key) {
+        for (int slot = computeSlot(key);; slot = (slot + 1) & mask) {
+            final int current = keys[slot];
+
+            if (current == key) {
+                return slot;
+            } else if (current == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Grow our table, reinserting all entries.
+     */
+    private void grow() {
+        final int[] oldKeys = keys;
+        final V[] oldValues = values;
+
+        allocate(HashUtils.computeGrownCapacity(oldKeys.length));
+
+        for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+            final int key = oldKeys[oldSlot];
+
+            if (key != FREE) {
+                int slot = computeSlot(key);
+
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot] = key;
+                values[slot] = oldValues[oldSlot];
+            }
+        }
+    }
+
+    /**
+     * Remove the entry at <code>slot</code>, shifting back any entries that probed past it.
+     *
+     * @param slot the slot to empty.
+     */
+    private void shiftBack(final int slot) {
+        int free = slot;
+
+        for (int current = (free + 1) & mask;; current = (current + 1) & mask) {
+            final int key = keys[current];
+
+            if (key == FREE) {
+                keys[free] = FREE;
+                values[free] = null;
+
+                return;
+            }
+
+            final int home = computeSlot(key);
+
+            if (free <= current ? (free >= home || home > current) : (free >= home && home > current)) {
+                keys[free] = key;
+                values[free] = values[current];
+                free = current;
+            }
+        }
+    }
+
+    /**
+     * Return the capacity of our table. Present for testing.
+     *
+     * @return the capacity of our table.
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Return the value for <code>key</code>.
+     *
+     * @param key the key.
+     * @param defaultValue returned if <code>key</code> is absent.
+     *
+     * @return the value for <code>key</code> or <code>defaultValue</code> if absent.
+     */
+    public V get(final int key, final V defaultValue) {
+        if (key == FREE) {
+            return hasFreeKey ? freeValue : defaultValue;
+        }
+
+        final int slot = findSlot(key);
+
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * Return the value for <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return the value for <code>key</code> or null if absent.
+     */
+    public V get(final int key) {
+        return get(key, null);
+    }
+
+    /**
+     * Return true if <code>key</code> is present.
+     *
+     * @param key the key.
+     *
+     * @return true if present or false if not.
+     */
+    public boolean containsKey(final int key) {
+        return key == FREE ? hasFreeKey : findSlot(key) >= 0;
+    }
+
+    /**
+     * Map <code>key</code> to <code>value</code>.
+     *
+     * @param key the key.
+     * @param value the value.
+     *
+     * @return the previous value or null if <code>key</code> was absent.
+     */
+    public V put(final int key, final V value) {
+        if (key == FREE) {
+            final V retVal = hasFreeKey ? freeValue : null;
+
+            hasFreeKey = true;
+            freeValue = value;
+
+            return retVal;
+        }
+
+        int slot = computeSlot(key);
+
+        for (int current = keys[slot]; current != FREE; current = keys[slot]) {
+            if (current == key) {
+                final V retVal = values[slot];
+
+                values[slot] = value;
+
+                return retVal;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++assigned > threshold) {
+            grow();
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return the removed value or null if <code>key</code> was absent.
+     */
+    public V remove(final int key) {
+        if (key == FREE) {
+            final V retVal = hasFreeKey ? freeValue : null;
+
+            hasFreeKey = false;
+            freeValue = null;
+
+            return retVal;
+        }
+
+        final int slot = findSlot(key);
+
+        if (slot < 0) {
+            return null;
+        }
+
+        final V retVal = values[slot];
+
+        shiftBack(slot);
+        assigned--;
+
+        return retVal;
+    }
+
+    /**
+     * Return the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return hasFreeKey ? assigned + 1 : assigned;
+    }
+
+    /**
+     * Return true if there are no entries.
+     *
+     * @return true if there are no entries or false if not.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove all entries, keeping our capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        Arrays.fill(values, null);
+
+        assigned = 0;
+        hasFreeKey = false;
+        freeValue = null;
+    }
+
+    /**
+     * Map <code>key</code> to <code>value</code>.
+     *
+     * @param key the key.
+     * @param value the value.
+     *
+     * @return self.
+     */
+    public IntObjectHashMap<V> putF(final int key, final V value) {
+        put(key, value);
+
+        return this;
+    }
+
+    /**
+     * Put all entries of <code>map</code>.
+     *
+     * @param map the entries to put.
+     *
+     * @return self.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    public IntObjectHashMap<V> putAllF(final IntObjectHashMap<? extends V> map) {
+        ObjectUtils.ensureObject(map, "Must have a map").forEach(new IntObjectConsumer<V>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void accept(final int key, final V value) {
+                put(key, value);
+            }
+        });
+
+        return this;
+    }
+
+    /**
+     * Remove <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return self.
+     */
+    public IntObjectHashMap<V> removeF(final int key) {
+        remove(key);
+
+        return this;
+    }
+
+    /**
+     * Pass every entry to <code>consumer</code>, in no particular order, without allocating.
+     *
+     * @param consumer receives each entry.
+     *
+     * @throws IllegalArgumentException if <code>consumer</code> is null.
+     */
+    public void forEach(final IntObjectConsumer<? super V> consumer) {
+        ObjectUtils.ensureObject(consumer, "Must have a consumer");
+
+        if (hasFreeKey) {
+            consumer.accept(FREE, freeValue);
+        }
+
+        final int[] currentKeys = keys;
+        final V[] currentValues = values;
+
+        for (int slot = 0; slot < currentKeys.length; slot++) {
+            if (currentKeys[slot] != FREE) {
+                consumer.accept(currentKeys[slot], currentValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Return an iterator over our keys, in no particular order.
+     *
+     * @return an iterator over our keys.
+     */
+    public IntIterator keyIterator() {
+        return new IntIterator() {
+            /**
+             * True until FREE has been returned, if we contain it.
+             */
+            private boolean isFreeKeyPending = hasFreeKey;
+
+            /**
+             * The next slot to examine.
+             */
+            private int slot = advance(0);
+
+            /**
+             * Return the first slot at or after <code>start</code> holding a key.
+             */
+            private int advance(final int start) {
+                int retVal = start;
+
+                while (retVal < keys.length && keys[retVal] == FREE) {
+                    retVal++;
+                }
+
+                return retVal;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public boolean hasNext() {
+                return isFreeKeyPending || slot < keys.length;
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int nextInt() {
+                if (isFreeKeyPending) {
+                    isFreeKeyPending = false;
+
+                    return FREE;
+                }
+
+                if (slot >= keys.length) {
+                    throw new NoSuchElementException();
+                }
+
+                final int retVal = keys[slot];
+
+                slot = advance(slot + 1);
+
+                return retVal;
+            }
+        };
+    }
+
+    /**
+     * Return our keys as an array, in no particular order.
+     *
+     * @return our keys.
+     */
+    public int[] keys() {
+        final int[] retVal = new int[size()];
+
+        int index = 0;
+
+        for (final IntIterator iter = keyIterator(); iter.hasNext();) {
+            retVal[index++] = iter.nextInt();
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return the hash code of a key - the same as Integer.hashCode() so our hash code matches a Map of Integer.
+     *
+     * @param key the key.
+     *
+     * @return the hash code.
+     */
+    static int hashCode(final int key) {
+        return key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int retVal = hasFreeKey ? Objects.hashCode(freeValue) : 0;
+
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != FREE) {
+                retVal += hashCode(keys[slot]) ^ Objects.hashCode(values[slot]);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(final Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (!(object instanceof IntObjectHashMap)) {
+            return false;
+        }
+
+        final IntObjectHashMap<?> other = (IntObjectHashMap<?>) object;
+
+        if (other.size() != size()) {
+            return false;
+        }
+
+        for (final IntIterator iter = other.keyIterator(); iter.hasNext();) {
+            final int key = iter.nextInt();
+
+            if (!containsKey(key) || !Objects.equals(get(key), other.get(key))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+
+        for (final IntIterator iter = keyIterator(); iter.hasNext();) {
+            final int key = iter.nextInt();
+
+            sb.append(key).append('=').append(get(key));
+
+            if (iter.hasNext()) {
+                sb.append(", ");
+            }
+        }
+
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+/**
+ * Raised if a LoadingFunctionalMap cannot load a value.
+ *
+ * @author Scot P. Floess
+ */
+public class LoadingException extends RuntimeException {
+
+    /**
+     * Default constructor.
+     */
+    public LoadingException() {
+
+    }
+
+    /**
+     * Sets the message.
+     *
+     * @param message detail message.
+     */
+    public LoadingException(final String message) {
+        super(message);
+    }
+
+    /**
+     * Sets the cause of why self is being raised.
+     *
+     * @param cause the cause of why self is being raised.
+     */
+    public LoadingException(final Throwable cause) {
+        super(cause);
+    }
+
+    /**
+     * Sets the cause of why self is raised and a message about it.
+     *
+     * @param message detail message.
+     * @param cause   the cause of why self is being raised.
+     */
+    public LoadingException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
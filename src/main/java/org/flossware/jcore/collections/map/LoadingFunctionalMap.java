@@ -0,0 +1,568 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+
+/**
+ * A functional map that loads missing values with a CacheLoader when get() is called. Concurrent misses of the same key share a
+ * single load: the first caller loads while the rest wait for its result (or failure). getAll() loads every missing key in one
+ * loadAll() call. Optionally, reads of values loaded more than a refresh interval ago trigger a background reload while the
+ * current value continues to be returned, so popular entries are renewed before they expire.
+ *
+ * Values are stored in the map given at construction - use a CachingFunctionalMap to bound and expire them, or a
+ * ConcurrentFunctionalMap. Thread safe if that map is.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class LoadingFunctionalMap<K, V> extends AbstractFunctionalMap<K, V> {
+
+    /**
+     * Runs background refreshes by default - created when first used.
+     */
+    private static final class DefaultExecutorHolder {
+
+        static final ExecutorService DEFAULT = Executors.newCachedThreadPool(new ThreadFactory() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread retVal = new Thread(runnable, "LoadingFunctionalMap-refresh");
+
+                retVal.setDaemon(true);
+
+                return retVal;
+            }
+        });
+    }
+
+    /**
+     * A load in progress that other callers may wait on.
+     */
+    static final class Flight<V> {
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        V value;
+        Throwable failure;
+
+        /**
+         * Complete with <code>loaded</code>.
+         *
+         * @param loaded the loaded value.
+         */
+        void complete(final V loaded) {
+            value = loaded;
+            latch.countDown();
+        }
+
+        /**
+         * Complete with <code>thrown</code>.
+         *
+         * @param thrown why the load failed.
+         */
+        void fail(final Throwable thrown) {
+            failure = thrown;
+            latch.countDown();
+        }
+
+        /**
+         * Wait for completion, uninterruptibly.
+         *
+         * @return the loaded value.
+         *
+         * @throws LoadingException if the load failed.
+         */
+        V await() {
+            boolean isInterrupted = false;
+
+            while (true) {
+                try {
+                    latch.await();
+
+                    break;
+                } catch (final InterruptedException interruptedException) {
+                    isInterrupted = true;
+                }
+            }
+
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            if (null != failure) {
+                throw new LoadingException("Load failed", failure);
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Our values.
+     */
+    private final Map<K, V> map;
+
+    /**
+     * Loads values.
+     */
+    private final CacheLoader<K, V> loader;
+
+    /**
+     * Nanoseconds after loading a read triggers a refresh, or 0 for never.
+     */
+    private final long refreshAfterWriteNanos;
+
+    /**
+     * Runs refreshes.
+     */
+    private final Executor executor;
+
+    /**
+     * Loads in progress.
+     */
+    private final ConcurrentMap<K, Flight<V>> flights;
+
+    /**
+     * When each value was loaded or put - only kept if refreshing.
+     */
+    private final ConcurrentMap<K, Long> writeTimes;
+
+    /**
+     * This constructor sets the map, loader and refresh options.
+     *
+     * @param map stores our values.
+     * @param loader loads values.
+     * @param refreshAfterWrite how long after loading a read triggers a refresh, or 0 for never.
+     * @param unit the unit of <code>refreshAfterWrite</code>.
+     * @param executor runs refreshes.
+     *
+     * @throws IllegalArgumentException if any object is null or <code>refreshAfterWrite</code> is negative.
+     */
+    public LoadingFunctionalMap(final Map<K, V> map, final CacheLoader<K, V> loader, final long refreshAfterWrite, final TimeUnit unit, final Executor executor) {
+        this.map = MapUtils.ensureMap(map, 0, "Map cannot be null!");
+        this.loader = ObjectUtils.ensureObject(loader, "Must have a loader");
+        this.refreshAfterWriteNanos = ObjectUtils.ensureObject(unit, "Must have a unit").toNanos(LongUtils.ensureMinLong(refreshAfterWrite, 0, "Refresh after write cannot be negative"));
+        this.executor = ObjectUtils.ensureObject(executor, "Must have an executor");
+        this.flights = new ConcurrentHashMap<>();
+        this.writeTimes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * This constructor sets the map, loader and refresh interval - refreshing on a shared pool of daemon threads.
+     *
+     * @param map stores our values.
+     * @param loader loads values.
+     * @param refreshAfterWrite how long after loading a read triggers a refresh, or 0 for never.
+     * @param unit the unit of <code>refreshAfterWrite</code>.
+     *
+     * @throws IllegalArgumentException if any object is null or <code>refreshAfterWrite</code> is negative.
+     */
+    public LoadingFunctionalMap(final Map<K, V> map, final CacheLoader<K, V> loader, final long refreshAfterWrite, final TimeUnit unit) {
+        this(map, loader, refreshAfterWrite, unit, DefaultExecutorHolder.DEFAULT);
+    }
+
+    /**
+     * This constructor sets the map and loader - values are never refreshed.
+     *
+     * @param map stores our values.
+     * @param loader loads values.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public LoadingFunctionalMap(final Map<K, V> map, final CacheLoader<K, V> loader) {
+        this(map, loader, 0, TimeUnit.NANOSECONDS, DefaultExecutorHolder.DEFAULT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Map<K, V> getMap() {
+        return map;
+    }
+
+    /**
+     * Return the current time in nanoseconds. Present so tests can control time.
+     *
+     * @return the current time in nanoseconds.
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Return the number of loads in progress. Present for testing.
+     *
+     * @return the number of loads in progress.
+     */
+    int getFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Return true if values are refreshed.
+     *
+     * @return true if values are refreshed or false if not.
+     */
+    public boolean isRefreshing() {
+        return refreshAfterWriteNanos > 0;
+    }
+
+    /**
+     * Record that <code>key</code> was just written, if refreshing. Write times of keys no longer in our map are pruned once they
+     * outnumber our map's entries.
+     *
+     * @param key the key.
+     */
+    private void recordWrite(final K key) {
+        if (!isRefreshing()) {
+            return;
+        }
+
+        writeTimes.put(key, nanoTime());
+
+        if (writeTimes.size() > 2 * map.size() + 16) {
+            for (final Iterator<K> iter = writeTimes.keySet().iterator(); iter.hasNext();) {
+                if (!map.containsKey(iter.next())) {
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Store <code>value</code> for <code>key</code>.
+     *
+     * @param key the key.
+     * @param value the value - if null nothing is stored.
+     */
+    private void store(final K key, final V value) {
+        if (null != value) {
+            map.put(key, value);
+            recordWrite(key);
+        }
+    }
+
+    /**
+     * Refresh <code>key</code> if its value is older than our refresh interval.
+     *
+     * @param key the key.
+     */
+    private void refreshIfStale(final K key) {
+        if (!isRefreshing()) {
+            return;
+        }
+
+        final Long writeTime = writeTimes.get(key);
+
+        if (null == writeTime) {
+            writeTimes.putIfAbsent(key, nanoTime());
+        } else if (nanoTime() - writeTime >= refreshAfterWriteNanos) {
+            refresh(key);
+        }
+    }
+
+    /**
+     * Convert <code>thrown</code> to a LoadingException, or rethrow if an Error.
+     *
+     * @param thrown what was thrown.
+     * @param key the key being loaded.
+     *
+     * @return the LoadingException.
+     */
+    static LoadingException toLoadingException(final Throwable thrown, final Object key) {
+        if (thrown instanceof Error) {
+            throw (Error) thrown;
+        }
+
+        return thrown instanceof LoadingException ? (LoadingException) thrown : new LoadingException("Cannot load [" + key + "]", thrown);
+    }
+
+    /**
+     * Load <code>key</code>, or wait for a load already in progress.
+     *
+     * @param key the key.
+     *
+     * @return the value or null if none.
+     *
+     * @throws LoadingException if the load failed.
+     */
+    V load(final K key) {
+        final Flight<V> flight = new Flight<>();
+        final Flight<V> existing = flights.putIfAbsent(key, flight);
+
+        if (null != existing) {
+            return existing.await();
+        }
+
+        try {
+            V retVal = map.get(key);
+
+            if (null == retVal) {
+                retVal = loader.load(key);
+
+                store(key, retVal);
+            }
+
+            flight.complete(retVal);
+
+            return retVal;
+        } catch (final Throwable thrown) {
+            flight.fail(thrown);
+
+            throw toLoadingException(thrown, key);
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Reload <code>key</code> in the background, unless a load is already in progress. The current value is returned until the
+     * reload completes. A failed reload is logged and the current value kept.
+     *
+     * @param key the key.
+     */
+    public void refresh(final K key) {
+        final Flight<V> flight = new Flight<>();
+
+        if (null != flights.putIfAbsent(key, flight)) {
+            return;
+        }
+
+        if (isRefreshing()) {
+            writeTimes.put(key, nanoTime());
+        }
+
+        try {
+            executor.execute(new Runnable() {
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void run() {
+                    try {
+                        final V oldValue = map.get(key);
+                        final V newValue = null == oldValue ? loader.load(key) : loader.reload(key, oldValue);
+
+                        if (null == newValue) {
+                            map.remove(key);
+                        } else {
+                            store(key, newValue);
+                        }
+
+                        flight.complete(newValue);
+                    } catch (final Throwable thrown) {
+                        log(Level.WARNING, "Refresh failed for [{0}]: {1}", key, thrown);
+
+                        flight.fail(thrown);
+                    } finally {
+                        flights.remove(key, flight);
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException rejectedExecutionException) {
+            flights.remove(key, flight);
+            flight.fail(rejectedExecutionException);
+        }
+    }
+
+    /**
+     * Return the value for <code>key</code> without loading.
+     *
+     * @param key the key.
+     *
+     * @return the value or null if not present.
+     */
+    public V getIfPresent(final Object key) {
+        return super.get(key);
+    }
+
+    /**
+     * {@inheritDoc} Loads the value if absent.
+     *
+     * @throws LoadingException if the load failed.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final V retVal = map.get(key);
+
+        if (null != retVal) {
+            refreshIfStale((K) key);
+
+            return retVal;
+        }
+
+        return load((K) key);
+    }
+
+    /**
+     * Return the values for <code>keys</code>, loading all missing values with one call to the loader. Keys being loaded by other
+     * callers are waited for rather than loaded again.
+     *
+     * @param keys the keys.
+     *
+     * @return the values, in the order of <code>keys</code> - keys without values are omitted.
+     *
+     * @throws IllegalArgumentException if <code>keys</code> is null.
+     * @throws LoadingException if any load failed.
+     */
+    public Map<K, V> getAll(final Iterable<? extends K> keys) {
+        ObjectUtils.ensureObject(keys, "Must have keys");
+
+        final Map<K, V> found = new HashMap<>();
+        final Map<K, Flight<V>> owned = new LinkedHashMap<>();
+        final Map<K, Flight<V>> waiting = new HashMap<>();
+        final List<K> ordered = new ArrayList<>();
+
+        for (final K key : keys) {
+            if (found.containsKey(key) || owned.containsKey(key) || waiting.containsKey(key)) {
+                continue;
+            }
+
+            ordered.add(key);
+
+            final V value = map.get(key);
+
+            if (null != value) {
+                found.put(key, value);
+                refreshIfStale(key);
+            } else {
+                final Flight<V> flight = new Flight<>();
+                final Flight<V> existing = flights.putIfAbsent(key, flight);
+
+                if (null == existing) {
+                    final V loaded = map.get(key);
+
+                    if (null == loaded) {
+                        owned.put(key, flight);
+                    } else {
+                        flight.complete(loaded);
+                        flights.remove(key, flight);
+                        found.put(key, loaded);
+                    }
+                } else {
+                    waiting.put(key, existing);
+                }
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            try {
+                final Map<K, V> loaded = loader.loadAll(Collections.unmodifiableSet(owned.keySet()));
+
+                for (final Map.Entry<K, Flight<V>> entry : owned.entrySet()) {
+                    final V value = null == loaded ? null : loaded.get(entry.getKey());
+
+                    store(entry.getKey(), value);
+                    found.put(entry.getKey(), value);
+                    entry.getValue().complete(value);
+                }
+            } catch (final Throwable thrown) {
+                for (final Flight<V> flight : owned.values()) {
+                    flight.fail(thrown);
+                }
+
+                throw toLoadingException(thrown, owned.keySet());
+            } finally {
+                for (final Map.Entry<K, Flight<V>> entry : owned.entrySet()) {
+                    flights.remove(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        for (final Map.Entry<K, Flight<V>> entry : waiting.entrySet()) {
+            found.put(entry.getKey(), entry.getValue().await());
+        }
+
+        final Map<K, V> retVal = new LinkedHashMap<>();
+
+        for (final K key : ordered) {
+            final V value = found.get(key);
+
+            if (null != value) {
+                retVal.put(key, value);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V put(final K key, final V value) {
+        final V retVal = super.put(key, value);
+
+        recordWrite(key);
+
+        return retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> toPut) {
+        for (final Map.Entry<? extends K, ? extends V> entry : toPut.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V remove(final Object key) {
+        writeTimes.remove(key);
+
+        return super.remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        writeTimes.clear();
+    }
+}
@@ -0,0 +1,1310 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.io.Closeable;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.flossware.jcore.io.ByteBufferCodec;
+import org.flossware.jcore.io.DirectSegmentAllocator;
+import org.flossware.jcore.io.SegmentAllocator;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.collections.HashUtils;
+
+/**
+ * A functional map that stores its keys and values, encoded by ByteBufferCodec's, outside of the Java heap in segments obtained
+ * from a SegmentAllocator - direct or memory mapped ByteBuffer's. The hash index is off heap too, so the garbage collector sees
+ * only a handful of objects however large the map grows.
+ *
+ * Entries are appended to the current segment. Replacing or removing an entry leaves its bytes behind as garbage (see
+ * getGarbageBytes()). Once garbage fills at least one segment and more than half of all segment bytes, the segment holding the
+ * most garbage is evacuated a few records at a time on each put and remove - live records are copied to the current segment and
+ * the evacuated segment freed once empty, so no write copies more than a few records or needs more than one extra segment.
+ * compact() reclaims all garbage at once on demand. When the index fills, a table twice the size is allocated and entries migrate
+ * to it a few slots at a time on each put and remove, rather than all at once. Call close() to free all memory immediately.
+ *
+ * Null keys and values are not permitted. Not thread safe. Iterators are fail fast: once the map is modified they throw
+ * ConcurrentModificationException, or IllegalStateException once closed, rather than read memory that may have been freed.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public class OffHeapFunctionalMap<K, V> extends AbstractMap<K, V> implements FunctionalMap<K, V>, Closeable {
+
+    /**
+     * The default segment size.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1 << 24;
+
+    /**
+     * The smallest segment size.
+     */
+    public static final int MIN_SEGMENT_SIZE = 64;
+
+    /**
+     * The largest index capacity - each slot is 16 bytes and must fit in one buffer.
+     */
+    public static final int MAX_INDEX_CAPACITY = 1 << 26;
+
+    /**
+     * The size of an index slot: an 8 byte address and 4 byte hash, padded.
+     */
+    static final int SLOT_SIZE = 16;
+
+    /**
+     * The size of a record header: 4 byte key length and 4 byte value length.
+     */
+    static final int RECORD_HEADER_SIZE = 8;
+
+    /**
+     * Index slots migrated to a grown index on each put or remove.
+     */
+    static final int MIGRATION_SLOTS_PER_WRITE = 4;
+
+    /**
+     * Records evacuated from the segment being compacted on each put or remove.
+     */
+    static final int EVACUATION_RECORDS_PER_WRITE = 8;
+
+    /**
+     * The address of a free index slot.
+     */
+    static final long FREE = 0;
+
+    /**
+     * The address of a slot whose entry has moved to the grown index - lookups probe past it.
+     */
+    static final long MOVED = -1;
+
+    /**
+     * The initial size of our encoding buffers.
+     */
+    static final int INITIAL_ENCODING_SIZE = 64;
+
+    /**
+     * An open addressing hash index held in a single buffer. Each slot holds the address of a record and its key's hash.
+     */
+    static final class Index {
+
+        final ByteBuffer table;
+        final int capacity;
+        final int mask;
+        final int threshold;
+        int assigned;
+
+        /**
+         * Allocate an index of <code>capacity</code> slots.
+         *
+         * @param allocator allocates our table.
+         * @param capacity a power of two number of slots.
+         */
+        Index(final SegmentAllocator allocator, final int capacity) {
+            if (capacity > MAX_INDEX_CAPACITY) {
+                throw new IllegalStateException("Cannot grow beyond [" + MAX_INDEX_CAPACITY + "] index slots");
+            }
+
+            this.table = allocator.allocate(capacity * SLOT_SIZE);
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            this.threshold = HashUtils.computeThreshold(capacity, HashUtils.DEFAULT_LOAD_FACTOR);
+        }
+
+        /**
+         * Return the address in <code>slot</code>.
+         *
+         * @param slot the slot.
+         *
+         * @return the address.
+         */
+        long getAddress(final int slot) {
+            return table.getLong(slot * SLOT_SIZE);
+        }
+
+        /**
+         * Return the hash in <code>slot</code>.
+         *
+         * @param slot the slot.
+         *
+         * @return the hash.
+         */
+        int getHash(final int slot) {
+            return table.getInt(slot * SLOT_SIZE + 8);
+        }
+
+        /**
+         * Set the address and hash in <code>slot</code>.
+         *
+         * @param slot the slot.
+         * @param address the address.
+         * @param hash the hash.
+         */
+        void set(final int slot, final long address, final int hash) {
+            table.putLong(slot * SLOT_SIZE, address);
+            table.putInt(slot * SLOT_SIZE + 8, hash);
+        }
+
+        /**
+         * Set the address in <code>slot</code>.
+         *
+         * @param slot the slot.
+         * @param address the address.
+         */
+        void setAddress(final int slot, final long address) {
+            table.putLong(slot * SLOT_SIZE, address);
+        }
+
+        /**
+         * Return the slot after <code>slot</code>, wrapping around.
+         *
+         * @param slot the slot.
+         *
+         * @return the next slot.
+         */
+        int next(final int slot) {
+            return (slot + 1) & mask;
+        }
+
+        /**
+         * Place <code>address</code> in the first free slot for <code>hash</code>.
+         *
+         * @param address the record's address.
+         * @param hash the record's key hash.
+         */
+        void insert(final long address, final int hash) {
+            int slot = hash & mask;
+
+            while (getAddress(slot) != FREE) {
+                slot = next(slot);
+            }
+
+            set(slot, address, hash);
+            assigned++;
+        }
+
+        /**
+         * Empty <code>slot</code>, shifting back any entries that probed past it.
+         *
+         * @param slot the slot to empty.
+         */
+        void shiftBack(final int slot) {
+            int free = slot;
+
+            for (int current = next(free);; current = next(current)) {
+                final long address = getAddress(current);
+
+                if (address == FREE) {
+                    setAddress(free, FREE);
+                    assigned--;
+
+                    return;
+                }
+
+                final int home = getHash(current) & mask;
+
+                if (free <= current ? (free >= home || home > current) : (free >= home && home > current)) {
+                    set(free, address, getHash(current));
+                    free = current;
+                }
+            }
+        }
+    }
+
+    /**
+     * A segment of records.
+     */
+    static final class Segment {
+
+        /**
+         * Holds the records.
+         */
+        final ByteBuffer buffer;
+
+        /**
+         * The bytes written.
+         */
+        int position;
+
+        /**
+         * Bytes held by replaced or removed records.
+         */
+        int garbage;
+
+        /**
+         * This constructor sets the buffer.
+         *
+         * @param buffer holds the records.
+         */
+        Segment(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+
+    /**
+     * Encodes keys.
+     */
+    private final ByteBufferCodec<K> keyCodec;
+
+    /**
+     * Encodes values.
+     */
+    private final ByteBufferCodec<V> valueCodec;
+
+    /**
+     * Allocates our memory.
+     */
+    private final SegmentAllocator allocator;
+
+    /**
+     * The size of each segment.
+     */
+    private final int segmentSize;
+
+    /**
+     * Where our records live - null where a segment was freed by compaction.
+     */
+    private final List<Segment> segments;
+
+    /**
+     * The number of segments allocated.
+     */
+    private int segmentCount;
+
+    /**
+     * The index in segments records are appended to, or -1 if none.
+     */
+    private int currentSegment = -1;
+
+    /**
+     * The index in segments being evacuated, or -1 if not compacting.
+     */
+    private int evacuationSegment = -1;
+
+    /**
+     * The offset of the next record to evacuate.
+     */
+    private int evacuationPosition;
+
+    /**
+     * The index new entries go in.
+     */
+    private Index index;
+
+    /**
+     * The index being migrated into index, or null if not resizing.
+     */
+    private Index oldIndex;
+
+    /**
+     * The next slot of oldIndex to migrate.
+     */
+    private int migrationSlot;
+
+    /**
+     * The number of entries.
+     */
+    private int size;
+
+    /**
+     * Bytes held by replaced or removed records.
+     */
+    private long garbageBytes;
+
+    /**
+     * Holds an encoded key.
+     */
+    private ByteBuffer keyBuffer;
+
+    /**
+     * Holds an encoded value.
+     */
+    private ByteBuffer valueBuffer;
+
+    /**
+     * True once closed.
+     */
+    private boolean isClosed;
+
+    /**
+     * Incremented on every modification - lets iterators detect the buffers they read may have changed or been freed.
+     */
+    private int modCount;
+
+    /**
+     * Our entry set.
+     */
+    private final Set<Entry<K, V>> entrySet;
+
+    /**
+     * This constructor sets the codecs, where memory comes from and how it is divided.
+     *
+     * @param keyCodec encodes keys.
+     * @param valueCodec encodes values.
+     * @param allocator allocates segments and the index.
+     * @param segmentSize the size in bytes of each segment - no entry may be larger.
+     * @param expectedSize the number of entries expected - the index will not grow until exceeded.
+     *
+     * @throws IllegalArgumentException if any parameter is null, <code>segmentSize</code> is less than MIN_SEGMENT_SIZE or
+     * <code>expectedSize</code> is negative.
+     */
+    public OffHeapFunctionalMap(final ByteBufferCodec<K> keyCodec, final ByteBufferCodec<V> valueCodec, final SegmentAllocator allocator, final int segmentSize, final int expectedSize) {
+        this.keyCodec = ObjectUtils.ensureObject(keyCodec, "Must have a key codec");
+        this.valueCodec = ObjectUtils.ensureObject(valueCodec, "Must have a value codec");
+        this.allocator = ObjectUtils.ensureObject(allocator, "Must have an allocator");
+        this.segmentSize = IntUtils.ensureMinInt(segmentSize, MIN_SEGMENT_SIZE, "Segment size too small");
+        this.segments = new ArrayList<>();
+        this.keyBuffer = ByteBuffer.allocate(INITIAL_ENCODING_SIZE);
+        this.valueBuffer = ByteBuffer.allocate(INITIAL_ENCODING_SIZE);
+        this.entrySet = new EntrySet();
+        this.index = new Index(allocator, HashUtils.computeCapacity(expectedSize, HashUtils.DEFAULT_LOAD_FACTOR));
+    }
+
+    /**
+     * This constructor sets the codecs - memory is allocated in direct buffers.
+     *
+     * @param keyCodec encodes keys.
+     * @param valueCodec encodes values.
+     *
+     * @throws IllegalArgumentException if any parameter is null.
+     */
+    public OffHeapFunctionalMap(final ByteBufferCodec<K> keyCodec, final ByteBufferCodec<V> valueCodec) {
+        this(keyCodec, valueCodec, new DirectSegmentAllocator(), DEFAULT_SEGMENT_SIZE, HashUtils.DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Ensure we are not closed.
+     *
+     * @throws IllegalStateException if closed.
+     */
+    private void ensureOpen() {
+        if (isClosed) {
+            throw new IllegalStateException("Map is closed");
+        }
+    }
+
+    /**
+     * Encode <code>value</code> into <code>buffer</code>, or a larger buffer if needed.
+     *
+     * @param codec the codec to use.
+     * @param value the value to encode.
+     * @param buffer the buffer to encode into.
+     * @param <T> the type of value.
+     *
+     * @return the flipped buffer holding the encoded value - possibly not <code>buffer</code>.
+     */
+    static <T> ByteBuffer encode(final ByteBufferCodec<T> codec, final T value, final ByteBuffer buffer) {
+        ByteBuffer retVal = buffer;
+
+        while (true) {
+            retVal.clear();
+
+            try {
+                codec.encode(value, retVal);
+                retVal.flip();
+
+                return retVal;
+            } catch (final BufferOverflowException bufferOverflowException) {
+                retVal = ByteBuffer.allocate(retVal.capacity() * 2);
+            }
+        }
+    }
+
+    /**
+     * Encode <code>key</code> into keyBuffer.
+     *
+     * @param key the key to encode.
+     *
+     * @return the hash of the encoded key.
+     */
+    private int encodeKey(final K key) {
+        keyBuffer = encode(keyCodec, key, keyBuffer);
+
+        return computeHash(keyBuffer);
+    }
+
+    /**
+     * Compute the hash of the bytes between the position and limit of <code>buffer</code>.
+     *
+     * @param buffer holds the bytes.
+     *
+     * @return the hash.
+     */
+    static int computeHash(final ByteBuffer buffer) {
+        int retVal = 1;
+
+        for (int position = buffer.position(); position < buffer.limit(); position++) {
+            retVal = 31 * retVal + buffer.get(position);
+        }
+
+        return HashUtils.mix(retVal);
+    }
+
+    /**
+     * Compute an address.
+     *
+     * @param segment the segment index.
+     * @param offset the offset in the segment.
+     *
+     * @return the address.
+     */
+    static long computeAddress(final int segment, final int offset) {
+        return ((long) (segment + 1) << 32) | offset;
+    }
+
+    /**
+     * Return the segment holding <code>address</code>.
+     *
+     * @param address the address.
+     *
+     * @return the segment.
+     */
+    private ByteBuffer getSegment(final long address) {
+        return segments.get((int) (address >>> 32) - 1).buffer;
+    }
+
+    /**
+     * Count the record at <code>address</code> as garbage.
+     *
+     * @param address the address.
+     */
+    private void discardRecord(final long address) {
+        final int recordSize = getRecordSize(address);
+
+        segments.get((int) (address >>> 32) - 1).garbage += recordSize;
+        garbageBytes += recordSize;
+    }
+
+    /**
+     * Reserve <code>recordSize</code> bytes in the current segment, allocating a new one if it lacks room.
+     *
+     * @param recordSize the size of the record.
+     *
+     * @return the address reserved.
+     */
+    private long reserve(final int recordSize) {
+        if (currentSegment < 0 || segments.get(currentSegment).position + recordSize > segmentSize) {
+            final Segment segment = new Segment(allocator.allocate(segmentSize));
+
+            currentSegment = segments.indexOf(null);
+
+            if (currentSegment < 0) {
+                currentSegment = segments.size();
+                segments.add(segment);
+            } else {
+                segments.set(currentSegment, segment);
+            }
+
+            segmentCount++;
+        }
+
+        final Segment segment = segments.get(currentSegment);
+        final long retVal = computeAddress(currentSegment, segment.position);
+
+        segment.position += recordSize;
+
+        return retVal;
+    }
+
+    /**
+     * Return the size of the record at <code>address</code>.
+     *
+     * @param address the address.
+     *
+     * @return the size in bytes.
+     */
+    private int getRecordSize(final long address) {
+        final ByteBuffer segment = getSegment(address);
+        final int offset = (int) address;
+
+        return RECORD_HEADER_SIZE + segment.getInt(offset) + segment.getInt(offset + 4);
+    }
+
+    /**
+     * Return true if the record at <code>address</code> has the key in keyBuffer.
+     *
+     * @param address the address.
+     *
+     * @return true if the keys are equal or false if not.
+     */
+    private boolean isKeyEqual(final long address) {
+        final ByteBuffer segment = getSegment(address);
+        final int offset = (int) address;
+        final int length = keyBuffer.limit();
+
+        if (segment.getInt(offset) != length) {
+            return false;
+        }
+
+        final int keyOffset = offset + RECORD_HEADER_SIZE;
+
+        int position = 0;
+
+        for (; position + 8 <= length; position += 8) {
+            if (segment.getLong(keyOffset + position) != keyBuffer.getLong(position)) {
+                return false;
+            }
+        }
+
+        for (; position < length; position++) {
+            if (segment.get(keyOffset + position) != keyBuffer.get(position)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Decode the key of the record at <code>address</code>.
+     *
+     * @param address the address.
+     *
+     * @return the key.
+     */
+    K decodeKey(final long address) {
+        final ByteBuffer segment = getSegment(address).duplicate();
+        final int offset = (int) address + RECORD_HEADER_SIZE;
+
+        segment.limit(offset + segment.getInt((int) address)).position(offset);
+
+        return keyCodec.decode(segment);
+    }
+
+    /**
+     * Decode the value of the record at <code>address</code>.
+     *
+     * @param address the address.
+     *
+     * @return the value.
+     */
+    V decodeValue(final long address) {
+        final ByteBuffer segment = getSegment(address).duplicate();
+        final int offset = (int) address + RECORD_HEADER_SIZE + segment.getInt((int) address);
+
+        segment.limit(offset + segment.getInt((int) address + 4)).position(offset);
+
+        return valueCodec.decode(segment);
+    }
+
+    /**
+     * Find the slot in <code>toSearch</code> of the key in keyBuffer.
+     *
+     * @param toSearch the index to search.
+     * @param hash the key's hash.
+     *
+     * @return the slot or -1 if not found.
+     */
+    private int findSlot(final Index toSearch, final int hash) {
+        for (int slot = hash & toSearch.mask;; slot = toSearch.next(slot)) {
+            final long address = toSearch.getAddress(slot);
+
+            if (address == FREE) {
+                return -1;
+            } else if (address != MOVED && toSearch.getHash(slot) == hash && isKeyEqual(address)) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Append a record for the key in keyBuffer and the value in valueBuffer.
+     *
+     * @return the record's address.
+     *
+     * @throws IllegalArgumentException if the record is larger than a segment.
+     */
+    private long appendRecord() {
+        final int recordSize = RECORD_HEADER_SIZE + keyBuffer.remaining() + valueBuffer.remaining();
+
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Entry of [" + recordSize + "] bytes exceeds segment size [" + segmentSize + "]");
+        }
+
+        final long retVal = reserve(recordSize);
+        final ByteBuffer segment = getSegment(retVal);
+
+        segment.position((int) retVal);
+        segment.putInt(keyBuffer.remaining()).putInt(valueBuffer.remaining()).put(keyBuffer).put(valueBuffer);
+
+        keyBuffer.rewind();
+
+        return retVal;
+    }
+
+    /**
+     * Migrate up to <code>slots</code> slots from oldIndex, freeing it when done.
+     *
+     * @param slots the number of slots to migrate.
+     */
+    private void migrate(final int slots) {
+        if (null == oldIndex) {
+            return;
+        }
+
+        modCount++;
+
+        final int end = (int) Math.min((long) migrationSlot + slots, oldIndex.capacity);
+
+        for (; migrationSlot < end; migrationSlot++) {
+            final long address = oldIndex.getAddress(migrationSlot);
+
+            if (address != FREE && address != MOVED) {
+                index.insert(address, oldIndex.getHash(migrationSlot));
+                oldIndex.setAddress(migrationSlot, MOVED);
+            }
+        }
+
+        if (migrationSlot == oldIndex.capacity) {
+            allocator.free(oldIndex.table);
+            oldIndex = null;
+        }
+    }
+
+    /**
+     * Copy the record at <code>address</code> in <code>fromSegments</code> to the end of our segments.
+     *
+     * @param fromSegments the segments holding the record.
+     * @param address the record's address.
+     *
+     * @return the copy's address.
+     */
+    private long copyRecord(final List<Segment> fromSegments, final long address) {
+        final ByteBuffer source = fromSegments.get((int) (address >>> 32) - 1).buffer.duplicate();
+        final int offset = (int) address;
+        final int recordSize = RECORD_HEADER_SIZE + source.getInt(offset) + source.getInt(offset + 4);
+        final long retVal = reserve(recordSize);
+        final ByteBuffer segment = getSegment(retVal);
+
+        source.limit(offset + recordSize).position(offset);
+        segment.position((int) retVal);
+        segment.put(source);
+
+        return retVal;
+    }
+
+    /**
+     * Copy every live entry into fresh segments and free the old ones, reclaiming all garbage. Any migration to a grown index is
+     * completed first, as is any evacuation. Needs memory for the live entries in addition to the current segments while copying -
+     * puts and removes reclaim garbage incrementally without it.
+     *
+     * @return self.
+     *
+     * @throws IllegalStateException if closed.
+     */
+    public OffHeapFunctionalMap<K, V> compact() {
+        ensureOpen();
+
+        migrate(Integer.MAX_VALUE);
+
+        modCount++;
+
+        final List<Segment> oldSegments = new ArrayList<>(segments);
+
+        segments.clear();
+        segmentCount = 0;
+        currentSegment = -1;
+        evacuationSegment = -1;
+
+        for (int slot = 0; slot < index.capacity; slot++) {
+            final long address = index.getAddress(slot);
+
+            if (address != FREE) {
+                index.setAddress(slot, copyRecord(oldSegments, address));
+            }
+        }
+
+        for (final Segment segment : oldSegments) {
+            if (null != segment) {
+                allocator.free(segment.buffer);
+            }
+        }
+
+        garbageBytes = 0;
+
+        return this;
+    }
+
+    /**
+     * Return the index in segments, other than the current segment, holding the most garbage.
+     *
+     * @return the index or -1 if no other segment holds garbage.
+     */
+    private int findMostGarbage() {
+        int retVal = -1;
+        int garbage = 0;
+
+        for (int segment = 0; segment < segments.size(); segment++) {
+            if (segment != currentSegment && null != segments.get(segment) && segments.get(segment).garbage > garbage) {
+                retVal = segment;
+                garbage = segments.get(segment).garbage;
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Copy the record at <code>address</code> to the current segment if an index still refers to it.
+     *
+     * @param address the address.
+     */
+    private void relocate(final long address) {
+        final ByteBuffer key = getSegment(address).duplicate();
+        final int offset = (int) address + RECORD_HEADER_SIZE;
+
+        key.limit(offset + key.getInt((int) address)).position(offset);
+
+        final int hash = computeHash(key);
+        final Index[] toSearch = {index, oldIndex};
+
+        for (final Index current : toSearch) {
+            if (null == current) {
+                continue;
+            }
+
+            for (int slot = hash & current.mask; current.getAddress(slot) != FREE; slot = current.next(slot)) {
+                if (current.getAddress(slot) == address) {
+                    current.setAddress(slot, copyRecord(segments, address));
+
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evacuate up to <code>records</code> records from the segment being compacted, freeing it once empty. When not compacting,
+     * begins with the segment holding the most garbage if garbage fills at least one segment and is more than half of all segment
+     * bytes - so copying is amortized over at least as many bytes of garbage as are copied.
+     *
+     * @param records the number of records to evacuate.
+     */
+    private void evacuate(final int records) {
+        if (evacuationSegment < 0) {
+            if (garbageBytes < segmentSize || garbageBytes * 2 <= (long) segmentCount * segmentSize) {
+                return;
+            }
+
+            evacuationSegment = findMostGarbage();
+            evacuationPosition = 0;
+
+            if (evacuationSegment < 0) {
+                return;
+            }
+        }
+
+        modCount++;
+
+        final Segment segment = segments.get(evacuationSegment);
+
+        for (int count = 0; count < records && evacuationPosition < segment.position; count++) {
+            final long address = computeAddress(evacuationSegment, evacuationPosition);
+
+            evacuationPosition += getRecordSize(address);
+            relocate(address);
+        }
+
+        if (evacuationPosition == segment.position) {
+            allocator.free(segment.buffer);
+            segments.set(evacuationSegment, null);
+            segmentCount--;
+            garbageBytes -= segment.garbage;
+            evacuationSegment = -1;
+        }
+    }
+
+    /**
+     * Begin migrating to an index twice the size, completing any migration in progress first.
+     */
+    private void grow() {
+        migrate(Integer.MAX_VALUE);
+
+        oldIndex = index;
+        index = new Index(allocator, HashUtils.computeGrownCapacity(oldIndex.capacity));
+        migrationSlot = 0;
+    }
+
+    /**
+     * Remove the key in keyBuffer.
+     *
+     * @param hash the key's hash.
+     * @param isDecoding if true decode and return the removed value.
+     *
+     * @return the removed value or null if not found or not decoding.
+     */
+    private V removeEncoded(final int hash, final boolean isDecoding) {
+        final Index[] toSearch = {index, oldIndex};
+
+        for (final Index current : toSearch) {
+            if (null == current) {
+                continue;
+            }
+
+            final int slot = findSlot(current, hash);
+
+            if (slot >= 0) {
+                final long address = current.getAddress(slot);
+                final V retVal = isDecoding ? decodeValue(address) : null;
+
+                discardRecord(address);
+                size--;
+                modCount++;
+
+                if (current == index) {
+                    index.shiftBack(slot);
+                } else {
+                    current.setAddress(slot, MOVED);
+                }
+
+                return retVal;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Put <code>key</code> and <code>value</code>.
+     *
+     * @param key the key.
+     * @param value the value.
+     * @param isDecoding if true decode and return any previous value.
+     *
+     * @return the previous value or null if none or not decoding.
+     */
+    private V put(final K key, final V value, final boolean isDecoding) {
+        ensureOpen();
+        ObjectUtils.ensureObject(key, "Must have a key");
+        ObjectUtils.ensureObject(value, "Must have a value");
+
+        migrate(MIGRATION_SLOTS_PER_WRITE);
+        evacuate(EVACUATION_RECORDS_PER_WRITE);
+
+        modCount++;
+
+        final int hash = encodeKey(key);
+
+        valueBuffer = encode(valueCodec, value, valueBuffer);
+
+        final int slot = findSlot(index, hash);
+
+        if (slot >= 0) {
+            final long address = index.getAddress(slot);
+            final V retVal = isDecoding ? decodeValue(address) : null;
+
+            discardRecord(address);
+            index.setAddress(slot, appendRecord());
+
+            return retVal;
+        }
+
+        final V retVal = null == oldIndex ? null : removeEncoded(hash, isDecoding);
+
+        index.insert(appendRecord(), hash);
+        size++;
+
+        if (index.assigned > index.threshold) {
+            grow();
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return the address of <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return the address or FREE if not found.
+     */
+    @SuppressWarnings("unchecked")
+    private long findAddress(final Object key) {
+        ensureOpen();
+
+        if (null == key) {
+            return FREE;
+        }
+
+        final int hash = encodeKey((K) key);
+
+        int slot = findSlot(index, hash);
+
+        if (slot >= 0) {
+            return index.getAddress(slot);
+        }
+
+        if (null != oldIndex) {
+            slot = findSlot(oldIndex, hash);
+
+            if (slot >= 0) {
+                return oldIndex.getAddress(slot);
+            }
+        }
+
+        return FREE;
+    }
+
+    /**
+     * Return the capacity of our index. Present for testing.
+     *
+     * @return the capacity of our index.
+     */
+    int capacity() {
+        return index.capacity;
+    }
+
+    /**
+     * Return true if migrating to a grown index. Present for testing.
+     *
+     * @return true if resizing or false if not.
+     */
+    boolean isResizing() {
+        return null != oldIndex;
+    }
+
+    /**
+     * Return the number of segments allocated.
+     *
+     * @return the number of segments.
+     */
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    /**
+     * Return the size in bytes of each segment.
+     *
+     * @return the segment size.
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Return the bytes held by replaced or removed entries - reclaimed when compacted or cleared.
+     *
+     * @return the garbage bytes.
+     */
+    public long getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    /**
+     * Return true if closed.
+     *
+     * @return true if closed or false if not.
+     */
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return findAddress(key) != FREE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object key) {
+        final long address = findAddress(key);
+
+        return address == FREE ? null : decodeValue(address);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if <code>key</code> or <code>value</code> is null or too large for a segment.
+     * @throws IllegalStateException if closed.
+     */
+    @Override
+    public V put(final K key, final V value) {
+        return put(key, value, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(final Object key) {
+        ensureOpen();
+
+        if (null == key) {
+            return null;
+        }
+
+        migrate(MIGRATION_SLOTS_PER_WRITE);
+        evacuate(EVACUATION_RECORDS_PER_WRITE);
+
+        return removeEncoded(encodeKey((K) key), true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putF(final K key, final V value) {
+        put(key, value, false);
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> putAllF(final Map<? extends K, ? extends V> map) {
+        for (final Entry<? extends K, ? extends V> entry : ObjectUtils.ensureObject(map, "Must have a map").entrySet()) {
+            put(entry.getKey(), entry.getValue(), false);
+        }
+
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FunctionalMap<K, V> removeF(final K key) {
+        ensureOpen();
+
+        if (null != key) {
+            migrate(MIGRATION_SLOTS_PER_WRITE);
+            evacuate(EVACUATION_RECORDS_PER_WRITE);
+            removeEncoded(encodeKey(key), false);
+        }
+
+        return this;
+    }
+
+    /**
+     * Free all segments.
+     */
+    private void freeSegments() {
+        for (final Segment segment : segments) {
+            if (null != segment) {
+                allocator.free(segment.buffer);
+            }
+        }
+
+        segments.clear();
+        segmentCount = 0;
+        currentSegment = -1;
+        evacuationSegment = -1;
+    }
+
+    /**
+     * {@inheritDoc} All segments are freed.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+
+        modCount++;
+
+        freeSegments();
+
+        if (null != oldIndex) {
+            allocator.free(oldIndex.table);
+            oldIndex = null;
+        }
+
+        for (int slot = 0; slot < index.capacity; slot++) {
+            index.setAddress(slot, FREE);
+        }
+
+        index.assigned = 0;
+        size = 0;
+        garbageBytes = 0;
+    }
+
+    /**
+     * Free all memory. The map may not be used afterwards. Closing again has no effect.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+        modCount++;
+
+        freeSegments();
+
+        if (null != oldIndex) {
+            allocator.free(oldIndex.table);
+            oldIndex = null;
+        }
+
+        allocator.free(index.table);
+        size = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * Our entries - decoded as iterated. Removal through iterators is not supported.
+     */
+    final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return OffHeapFunctionalMap.this.size();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void clear() {
+            OffHeapFunctionalMap.this.clear();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            ensureOpen();
+
+            return new Iterator<Entry<K, V>>() {
+                /**
+                 * The modification count we were created at.
+                 */
+                private final int expectedModCount = modCount;
+
+                /**
+                 * The indexes to iterate.
+                 */
+                private final Index[] indexes = {index, oldIndex};
+
+                /**
+                 * The current index in indexes.
+                 */
+                private int current;
+
+                /**
+                 * The current slot.
+                 */
+                private int slot = -1;
+
+                /**
+                 * The next address or FREE if none.
+                 */
+                private long address = advance();
+
+                /**
+                 * Find the next address.
+                 */
+                private long advance() {
+                    for (; current < indexes.length; current++, slot = -1) {
+                        final Index toSearch = indexes[current];
+
+                        if (null == toSearch) {
+                            continue;
+                        }
+
+                        while (++slot < toSearch.capacity) {
+                            final long retVal = toSearch.getAddress(slot);
+
+                            if (retVal != FREE && retVal != MOVED) {
+                                return retVal;
+                            }
+                        }
+                    }
+
+                    return FREE;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public boolean hasNext() {
+                    return address != FREE;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public Entry<K, V> next() {
+                    if (isClosed) {
+                        throw new IllegalStateException("Map is closed");
+                    }
+
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final Entry<K, V> retVal = new SimpleImmutableEntry<>(decodeKey(address), decodeValue(address));
+
+                    address = advance();
+
+                    return retVal;
+                }
+
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException("Remove not supported");
+                }
+            };
+        }
+    }
+}
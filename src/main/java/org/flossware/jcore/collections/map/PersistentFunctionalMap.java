@@ -0,0 +1,749 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import org.flossware.jcore.utils.collections.HashUtils;
+import org.flossware.jcore.utils.collections.MapUtils;
+
+/**
+ * An immutable functional map implemented as a hash array mapped trie (HAMT). Rather than modifying self, putF(), putAllF() and
+ * removeF() return a new version that shares all untouched structure with this one, so each change copies only the O(log32 n)
+ * nodes on the path to the key. Readers of a version never see later changes and need no locking - publish new versions through a
+ * volatile field or AtomicReference.
+ *
+ * The mutators of Map (put(), remove(), putAll() and clear()) are not supported. Null keys and values are allowed.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <K> the key.
+ * @param <V> the value.
+ */
+public final class PersistentFunctionalMap<K, V> extends AbstractMap<K, V> implements FunctionalMap<K, V> {
+
+    /**
+     * Bits of the hash consumed per level.
+     */
+    static final int BITS = 5;
+
+    /**
+     * Mask for one level's bits of the hash.
+     */
+    static final int MASK = (1 << BITS) - 1;
+
+    /**
+     * Maximum depth of the trie - seven bitmap levels cover 32 bits of hash, plus one collision level.
+     */
+    static final int MAX_DEPTH = 8;
+
+    /**
+     * The empty map.
+     */
+    private static final PersistentFunctionalMap<?, ?> EMPTY = new PersistentFunctionalMap<>(null, 0);
+
+    /**
+     * A key/value pair and its hash.
+     */
+    static final class Leaf<K, V> extends AbstractMap.SimpleImmutableEntry<K, V> {
+
+        final int hash;
+
+        /**
+         * Sets the hash, key and value.
+         *
+         * @param hash the spread hash of <code>key</code>.
+         * @param key the key.
+         * @param value the value.
+         */
+        Leaf(final int hash, final K key, final V value) {
+            super(key, value);
+
+            this.hash = hash;
+        }
+
+        /**
+         * Return true if we are for <code>key</code>.
+         *
+         * @param keyHash the spread hash of <code>key</code>.
+         * @param key the key.
+         *
+         * @return true if we are for <code>key</code> or false if not.
+         */
+        boolean isKey(final int keyHash, final Object key) {
+            return hash == keyHash && Objects.equals(getKey(), key);
+        }
+    }
+
+    /**
+     * A node of the trie - its children are Leaf or Node objects.
+     */
+    abstract static class Node {
+
+        /**
+         * Return our children.
+         *
+         * @return our children.
+         */
+        abstract Object[] children();
+
+        /**
+         * Return the leaf for <code>key</code>.
+         *
+         * @param shift the bits of hash consumed above us.
+         * @param hash the spread hash of <code>key</code>.
+         * @param key the key.
+         *
+         * @return the leaf or null if not found.
+         */
+        abstract Leaf<?, ?> find(int shift, int hash, Object key);
+
+        /**
+         * Return a version containing <code>leaf</code>.
+         *
+         * @param shift the bits of hash consumed above us.
+         * @param leaf the key and value to put.
+         * @param added set to true if the key was not present.
+         *
+         * @return the new version, or self if unchanged.
+         */
+        abstract Node put(int shift, Leaf<?, ?> leaf, boolean[] added);
+
+        /**
+         * Return a version without <code>key</code>.
+         *
+         * @param shift the bits of hash consumed above us.
+         * @param hash the spread hash of <code>key</code>.
+         * @param key the key.
+         *
+         * @return the new version, self if unchanged, or null if now empty.
+         */
+        abstract Node remove(int shift, int hash, Object key);
+
+        /**
+         * Return our only child if it is a leaf, so parents can inline it.
+         *
+         * @return our only leaf or null if we have more than one child or a node child.
+         */
+        Leaf<?, ?> singleLeaf() {
+            final Object[] children = children();
+
+            return children.length == 1 && children[0] instanceof Leaf ? (Leaf<?, ?>) children[0] : null;
+        }
+    }
+
+    /**
+     * Return a copy of <code>array</code> with <code>value</code> inserted at <code>index</code>.
+     *
+     * @param array the array to copy.
+     * @param index where to insert.
+     * @param value the value to insert.
+     *
+     * @return the copy.
+     */
+    static Object[] insert(final Object[] array, final int index, final Object value) {
+        final Object[] retVal = new Object[array.length + 1];
+
+        System.arraycopy(array, 0, retVal, 0, index);
+        retVal[index] = value;
+        System.arraycopy(array, index, retVal, index + 1, array.length - index);
+
+        return retVal;
+    }
+
+    /**
+     * Return a copy of <code>array</code> with <code>value</code> at <code>index</code>.
+     *
+     * @param array the array to copy.
+     * @param index where to replace.
+     * @param value the replacement.
+     *
+     * @return the copy.
+     */
+    static Object[] replace(final Object[] array, final int index, final Object value) {
+        final Object[] retVal = array.clone();
+
+        retVal[index] = value;
+
+        return retVal;
+    }
+
+    /**
+     * Return a copy of <code>array</code> without <code>index</code>.
+     *
+     * @param array the array to copy.
+     * @param index the index to omit.
+     *
+     * @return the copy.
+     */
+    static Object[] delete(final Object[] array, final int index) {
+        final Object[] retVal = new Object[array.length - 1];
+
+        System.arraycopy(array, 0, retVal, 0, index);
+        System.arraycopy(array, index + 1, retVal, index, retVal.length - index);
+
+        return retVal;
+    }
+
+    /**
+     * Return the bitmap bit for <code>hash</code> at <code>shift</code>.
+     *
+     * @param hash the spread hash.
+     * @param shift the bits of hash consumed above.
+     *
+     * @return the bit.
+     */
+    static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    /**
+     * Return a node containing two leaves with different keys.
+     *
+     * @param shift the bits of hash consumed above the new node.
+     * @param first a leaf.
+     * @param second another leaf.
+     *
+     * @return a node containing both.
+     */
+    static Node merge(final int shift, final Leaf<?, ?> first, final Leaf<?, ?> second) {
+        if (first.hash == second.hash) {
+            return new CollisionNode(first.hash, new Object[]{first, second});
+        }
+
+        final int firstSlot = (first.hash >>> shift) & MASK;
+        final int secondSlot = (second.hash >>> shift) & MASK;
+
+        if (firstSlot == secondSlot) {
+            return new BitmapNode(1 << firstSlot, new Object[]{merge(shift + BITS, first, second)});
+        }
+
+        return new BitmapNode((1 << firstSlot) | (1 << secondSlot), firstSlot < secondSlot ? new Object[]{first, second} : new Object[]{second, first});
+    }
+
+    /**
+     * A node whose bitmap records which of its 32 slots are in use - children are stored compactly in slot order.
+     */
+    static final class BitmapNode extends Node {
+
+        final int bitmap;
+        final Object[] children;
+
+        BitmapNode(final int bitmap, final Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object[] children() {
+            return children;
+        }
+
+        @Override
+        Leaf<?, ?> find(final int shift, final int hash, final Object key) {
+            final int bit = bit(hash, shift);
+
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final Object child = children[index(bit)];
+
+            if (child instanceof Leaf) {
+                return ((Leaf<?, ?>) child).isKey(hash, key) ? (Leaf<?, ?>) child : null;
+            }
+
+            return ((Node) child).find(shift + BITS, hash, key);
+        }
+
+        @Override
+        Node put(final int shift, final Leaf<?, ?> leaf, final boolean[] added) {
+            final int bit = bit(leaf.hash, shift);
+            final int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+
+                return new BitmapNode(bitmap | bit, insert(children, index, leaf));
+            }
+
+            final Object child = children[index];
+
+            if (child instanceof Node) {
+                final Node newChild = ((Node) child).put(shift + BITS, leaf, added);
+
+                return newChild == child ? this : new BitmapNode(bitmap, replace(children, index, newChild));
+            }
+
+            final Leaf<?, ?> existing = (Leaf<?, ?>) child;
+
+            if (existing.isKey(leaf.hash, leaf.getKey())) {
+                return existing.getValue() == leaf.getValue() ? this : new BitmapNode(bitmap, replace(children, index, leaf));
+            }
+
+            added[0] = true;
+
+            return new BitmapNode(bitmap, replace(children, index, merge(shift + BITS, existing, leaf)));
+        }
+
+        @Override
+        Node remove(final int shift, final int hash, final Object key) {
+            final int bit = bit(hash, shift);
+
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int index = index(bit);
+            final Object child = children[index];
+
+            if (child instanceof Leaf) {
+                if (!((Leaf<?, ?>) child).isKey(hash, key)) {
+                    return this;
+                }
+
+                return bitmap == bit ? null : new BitmapNode(bitmap & ~bit, delete(children, index));
+            }
+
+            final Node newChild = ((Node) child).remove(shift + BITS, hash, key);
+
+            if (newChild == child) {
+                return this;
+            }
+
+            if (null == newChild) {
+                return bitmap == bit ? null : new BitmapNode(bitmap & ~bit, delete(children, index));
+            }
+
+            final Leaf<?, ?> onlyLeaf = newChild.singleLeaf();
+
+            return new BitmapNode(bitmap, replace(children, index, null == onlyLeaf ? newChild : onlyLeaf));
+        }
+    }
+
+    /**
+     * A node holding leaves whose keys have the same hash.
+     */
+    static final class CollisionNode extends Node {
+
+        final int hash;
+        final Object[] leaves;
+
+        CollisionNode(final int hash, final Object[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        int indexOf(final Object key) {
+            for (int index = 0; index < leaves.length; index++) {
+                if (Objects.equals(((Leaf<?, ?>) leaves[index]).getKey(), key)) {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        Object[] children() {
+            return leaves;
+        }
+
+        @Override
+        Leaf<?, ?> find(final int shift, final int keyHash, final Object key) {
+            if (keyHash != hash) {
+                return null;
+            }
+
+            final int index = indexOf(key);
+
+            return index < 0 ? null : (Leaf<?, ?>) leaves[index];
+        }
+
+        @Override
+        Node put(final int shift, final Leaf<?, ?> leaf, final boolean[] added) {
+            if (leaf.hash != hash) {
+                return new BitmapNode(bit(hash, shift), new Object[]{this}).put(shift, leaf, added);
+            }
+
+            final int index = indexOf(leaf.getKey());
+
+            if (index < 0) {
+                added[0] = true;
+
+                return new CollisionNode(hash, insert(leaves, leaves.length, leaf));
+            }
+
+            return ((Leaf<?, ?>) leaves[index]).getValue() == leaf.getValue() ? this : new CollisionNode(hash, replace(leaves, index, leaf));
+        }
+
+        @Override
+        Node remove(final int shift, final int keyHash, final Object key) {
+            if (keyHash != hash) {
+                return this;
+            }
+
+            final int index = indexOf(key);
+
+            if (index < 0) {
+                return this;
+            }
+
+            return leaves.length == 1 ? null : new CollisionNode(hash, delete(leaves, index));
+        }
+    }
+
+    /**
+     * Walks the trie depth first, returning leaves.
+     */
+    static final class LeafIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+        final Object[][] stack = new Object[MAX_DEPTH][];
+        final int[] positions = new int[MAX_DEPTH];
+        int depth;
+        Leaf<K, V> next;
+
+        LeafIterator(final Node root) {
+            if (null == root) {
+                depth = -1;
+            } else {
+                stack[0] = root.children();
+            }
+
+            advance();
+        }
+
+        /**
+         * Find our next leaf.
+         */
+        void advance() {
+            next = null;
+
+            while (depth >= 0) {
+                if (positions[depth] >= stack[depth].length) {
+                    depth--;
+
+                    continue;
+                }
+
+                final Object child = stack[depth][positions[depth]++];
+
+                if (child instanceof Leaf) {
+                    @SuppressWarnings("unchecked")
+                    final Leaf<K, V> leaf = (Leaf<K, V>) child;
+
+                    next = leaf;
+
+                    return;
+                }
+
+                depth++;
+                stack[depth] = ((Node) child).children();
+                positions[depth] = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return null != next;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (null == next) {
+                throw new NoSuchElementException();
+            }
+
+            final Leaf<K, V> retVal = next;
+
+            advance();
+
+            return retVal;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Persistent map - use removeF()");
+        }
+    }
+
+    /**
+     * Our root or null if empty.
+     */
+    private final Node root;
+
+    /**
+     * Our number of entries.
+     */
+    private final int size;
+
+    /**
+     * Sets the root and size.
+     *
+     * @param root the root or null if empty.
+     * @param size the number of entries.
+     */
+    private PersistentFunctionalMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Return the empty map.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @return the empty map.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentFunctionalMap<K, V> empty() {
+        return (PersistentFunctionalMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Return a map containing the entries of <code>map</code>.
+     *
+     * @param <K> the key.
+     * @param <V> the value.
+     *
+     * @param map the entries to contain.
+     *
+     * @return a map containing the entries of <code>map</code>.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    public static <K, V> PersistentFunctionalMap<K, V> of(final Map<? extends K, ? extends V> map) {
+        return PersistentFunctionalMap.<K, V>empty().putAllF(map);
+    }
+
+    /**
+     * Return the spread hash of <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return the spread hash.
+     */
+    static int hash(final Object key) {
+        return HashUtils.mix(Objects.hashCode(key));
+    }
+
+    /**
+     * Return our depth - present for testing.
+     *
+     * @return the number of levels below the root, 0 if empty.
+     */
+    int depth() {
+        return depth(root);
+    }
+
+    /**
+     * Return the depth below <code>node</code>.
+     *
+     * @param node a Node or Leaf.
+     *
+     * @return the number of levels below <code>node</code>.
+     */
+    static int depth(final Object node) {
+        if (!(node instanceof Node)) {
+            return 0;
+        }
+
+        int retVal = 0;
+
+        for (final Object child : ((Node) node).children()) {
+            retVal = Math.max(retVal, depth(child));
+        }
+
+        return retVal + 1;
+    }
+
+    /**
+     * Return the leaf for <code>key</code>.
+     *
+     * @param key the key.
+     *
+     * @return the leaf or null if not found.
+     */
+    @SuppressWarnings("unchecked")
+    private Leaf<K, V> find(final Object key) {
+        return null == root ? null : (Leaf<K, V>) root.find(0, hash(key), key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != find(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(final Object key) {
+        final Leaf<K, V> leaf = find(key);
+
+        return null == leaf ? null : leaf.getValue();
+    }
+
+    /**
+     * Return a version of self with <code>key</code> mapped to <code>value</code>. Self is unchanged.
+     *
+     * @param key the key associated with the value.
+     * @param value the value for the key.
+     *
+     * @return the new version, or self if <code>key</code> is already mapped to <code>value</code>.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> putF(final K key, final V value) {
+        final Leaf<K, V> leaf = new Leaf<>(hash(key), key, value);
+
+        if (null == root) {
+            return new PersistentFunctionalMap<>(new BitmapNode(bit(leaf.hash, 0), new Object[]{leaf}), 1);
+        }
+
+        final boolean[] added = new boolean[1];
+        final Node newRoot = root.put(0, leaf, added);
+
+        return newRoot == root ? this : new PersistentFunctionalMap<K, V>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Return a version of self containing all the mappings of <code>map</code>. Self is unchanged.
+     *
+     * @param map the map to copy.
+     *
+     * @return the new version.
+     *
+     * @throws IllegalArgumentException if <code>map</code> is null.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> putAllF(final Map<? extends K, ? extends V> map) {
+        PersistentFunctionalMap<K, V> retVal = this;
+
+        for (final Map.Entry<? extends K, ? extends V> entry : MapUtils.ensureMap(map, 0, "Map cannot be null!").entrySet()) {
+            retVal = retVal.putF(entry.getKey(), entry.getValue());
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return a version of self without <code>key</code>. Self is unchanged.
+     *
+     * @param key the key to remove.
+     *
+     * @return the new version, or self if <code>key</code> is not present.
+     */
+    @Override
+    public PersistentFunctionalMap<K, V> removeF(final K key) {
+        if (null == root) {
+            return this;
+        }
+
+        final Node newRoot = root.remove(0, hash(key), key);
+
+        if (newRoot == root) {
+            return this;
+        }
+
+        return null == newRoot ? PersistentFunctionalMap.<K, V>empty() : new PersistentFunctionalMap<K, V>(newRoot, size - 1);
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always - use putF().
+     */
+    @Override
+    public V put(final K key, final V value) {
+        throw new UnsupportedOperationException("Persistent map - use putF()");
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always - use putAllF().
+     */
+    @Override
+    public void putAll(final Map<? extends K, ? extends V> map) {
+        throw new UnsupportedOperationException("Persistent map - use putAllF()");
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always - use removeF().
+     */
+    @Override
+    public V remove(final Object key) {
+        throw new UnsupportedOperationException("Persistent map - use removeF()");
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always - use empty().
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Persistent map - use empty()");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new LeafIterator<>(root);
+            }
+
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.concurrent;
+
+import java.io.Closeable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import org.flossware.jcore.AbstractCommonBase;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.LongUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A hashed timing wheel: one daemon thread runs any number of delayed tasks, with a precision of one tick. Scheduling and
+ * cancelling are O(1) and never block, so it suits timeouts that are usually cancelled or rescheduled - for example cache
+ * expiration - far better than a thread or ScheduledExecutorService entry per timeout.
+ *
+ * Tasks run on the wheel's thread and must be short. Thread safe.
+ *
+ * @author Scot P. Floess
+ */
+public class TimingWheel extends AbstractCommonBase implements Closeable {
+
+    /**
+     * The default tick duration in milliseconds.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 100;
+
+    /**
+     * The default number of buckets.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * Our shared wheel - created when first used.
+     */
+    private static final class DefaultHolder {
+
+        static final TimingWheel DEFAULT = new TimingWheel();
+    }
+
+    /**
+     * A scheduled task.
+     */
+    public static final class Timeout {
+
+        /**
+         * The task to run.
+         */
+        private final Runnable task;
+
+        /**
+         * The tick to run on.
+         */
+        private final long deadlineTick;
+
+        /**
+         * True once cancelled.
+         */
+        private volatile boolean isCancelled;
+
+        /**
+         * True once run.
+         */
+        private volatile boolean isExpired;
+
+        /**
+         * The previous timeout in our bucket - only touched by the thread expiring timeouts.
+         */
+        private Timeout prev;
+
+        /**
+         * The next timeout in our bucket - only touched by the thread expiring timeouts.
+         */
+        private Timeout next;
+
+        /**
+         * Sets the task and when to run it.
+         *
+         * @param task the task.
+         * @param deadlineTick the tick to run on.
+         */
+        Timeout(final Runnable task, final long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Return the tick to run on.
+         *
+         * @return the tick to run on.
+         */
+        long getDeadlineTick() {
+            return deadlineTick;
+        }
+
+        /**
+         * Cancel, so the task will not run if it has not already. Never blocks - the wheel unlinks cancelled timeouts when it
+         * reaches their bucket.
+         */
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        /**
+         * Return true if cancelled.
+         *
+         * @return true if cancelled or false if not.
+         */
+        public boolean isCancelled() {
+            return isCancelled;
+        }
+
+        /**
+         * Return true if the task has run.
+         *
+         * @return true if the task has run or false if not.
+         */
+        public boolean isExpired() {
+            return isExpired;
+        }
+    }
+
+    /**
+     * Timeouts due in the ticks that map to one slot of the wheel, as an intrusive doubly linked list so each is unlinked in O(1).
+     */
+    static final class Bucket {
+
+        /**
+         * Our first timeout.
+         */
+        private Timeout head;
+
+        /**
+         * Our last timeout.
+         */
+        private Timeout tail;
+
+        /**
+         * Link <code>timeout</code> at our end.
+         *
+         * @param timeout the timeout.
+         */
+        void add(final Timeout timeout) {
+            timeout.prev = tail;
+            timeout.next = null;
+
+            if (null == tail) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+
+            tail = timeout;
+        }
+
+        /**
+         * Unlink <code>timeout</code>.
+         *
+         * @param timeout a timeout in this bucket.
+         */
+        void remove(final Timeout timeout) {
+            if (null == timeout.prev) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+
+            if (null == timeout.next) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        /**
+         * Return true if we hold no timeouts.
+         *
+         * @return true if we hold no timeouts or false if not.
+         */
+        boolean isEmpty() {
+            return null == head;
+        }
+    }
+
+    /**
+     * The duration of a tick in nanoseconds.
+     */
+    private final long tickNanos;
+
+    /**
+     * Our buckets - only touched by the thread expiring timeouts.
+     */
+    private final Bucket[] buckets;
+
+    /**
+     * Mask to compute a bucket from a tick.
+     */
+    private final int mask;
+
+    /**
+     * Timeouts scheduled but not yet placed in a bucket.
+     */
+    private final ConcurrentLinkedQueue<Timeout> pending;
+
+    /**
+     * When tick 0 began.
+     */
+    private final long startTime;
+
+    /**
+     * True once our thread has started.
+     */
+    private final AtomicBoolean isStarted;
+
+    /**
+     * The last tick processed.
+     */
+    private long tick;
+
+    /**
+     * True once closed.
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * This constructor sets the tick duration and number of buckets.
+     *
+     * @param tickDuration the duration of a tick - timeouts run no earlier than scheduled, and no more than a tick later.
+     * @param unit the unit of <code>tickDuration</code>.
+     * @param wheelSize the number of buckets - rounded up to a power of two.
+     *
+     * @throws IllegalArgumentException if <code>tickDuration</code> or <code>wheelSize</code> is less than 1 or <code>unit</code> is
+     * null.
+     */
+    public TimingWheel(final long tickDuration, final TimeUnit unit, final int wheelSize) {
+        LongUtils.ensureMinLong(tickDuration, 1, "Tick duration must be positive");
+
+        final int size = Integer.highestOneBit(IntUtils.ensureMinInt(wheelSize, 1, "Wheel size must be positive") * 2 - 1);
+
+        this.tickNanos = Math.max(1, ObjectUtils.ensureObject(unit, "Must have a unit").toNanos(tickDuration));
+        this.buckets = new Bucket[size];
+        this.mask = size - 1;
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.startTime = nanoTime();
+        this.isStarted = new AtomicBoolean();
+
+        for (int index = 0; index < size; index++) {
+            buckets[index] = new Bucket();
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    public TimingWheel() {
+        this(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Return the shared timing wheel.
+     *
+     * @return the shared timing wheel.
+     */
+    public static TimingWheel getDefault() {
+        return DefaultHolder.DEFAULT;
+    }
+
+    /**
+     * Return the current time in nanoseconds. Present so tests can control time.
+     *
+     * @return the current time in nanoseconds.
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Start our thread. Present so tests can expire timeouts themselves.
+     */
+    void startWorker() {
+        final Thread worker = new Thread("TimingWheel") {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void run() {
+                while (!isClosed) {
+                    final long sleepNanos = startTime + (tick + 1) * tickNanos - nanoTime();
+
+                    if (sleepNanos > 0) {
+                        try {
+                            TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                        } catch (final InterruptedException interruptedException) {
+                            return;
+                        }
+                    }
+
+                    expireTimeouts();
+                }
+            }
+        };
+
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Return the duration of a tick in nanoseconds.
+     *
+     * @return the duration of a tick in nanoseconds.
+     */
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * Return true if closed.
+     *
+     * @return true if closed or false if not.
+     */
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Run <code>task</code> after <code>delay</code>.
+     *
+     * @param task the task to run.
+     * @param delay how long to wait - values less than a tick run on the next tick.
+     * @param unit the unit of <code>delay</code>.
+     *
+     * @return the timeout, which may be cancelled.
+     *
+     * @throws IllegalArgumentException if <code>task</code> or <code>unit</code> is null.
+     * @throws IllegalStateException if closed.
+     */
+    public Timeout schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        ObjectUtils.ensureObject(task, "Must have a task");
+        ObjectUtils.ensureObject(unit, "Must have a unit");
+
+        if (isClosed) {
+            throw new IllegalStateException("Timing wheel is closed");
+        }
+
+        if (isStarted.compareAndSet(false, true)) {
+            startWorker();
+        }
+
+        final long elapsed = nanoTime() - startTime + Math.max(0, unit.toNanos(delay));
+        final Timeout retVal = new Timeout(task, (elapsed + tickNanos - 1) / tickNanos);
+
+        pending.add(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Run all timeouts due by now. Called by our thread.
+     *
+     * @return the number of tasks run.
+     */
+    synchronized int expireTimeouts() {
+        final long currentTick = (nanoTime() - startTime) / tickNanos;
+
+        int retVal = 0;
+
+        for (Timeout timeout = pending.poll(); null != timeout; timeout = pending.poll()) {
+            if (!timeout.isCancelled()) {
+                buckets[(int) (Math.max(timeout.getDeadlineTick(), tick + 1) & mask)].add(timeout);
+            }
+        }
+
+        for (; tick < currentTick && !isClosed; tick++) {
+            final long expiringTick = tick + 1;
+
+            final Bucket bucket = buckets[(int) (expiringTick & mask)];
+
+            for (Timeout timeout = bucket.head, next; null != timeout; timeout = next) {
+                next = timeout.next;
+
+                if (timeout.isCancelled()) {
+                    bucket.remove(timeout);
+                } else if (timeout.getDeadlineTick() <= expiringTick) {
+                    bucket.remove(timeout);
+
+                    timeout.isExpired = true;
+
+                    try {
+                        timeout.task.run();
+                    } catch (final RuntimeException runtimeException) {
+                        getLogger().log(Level.WARNING, "Timeout task failed", runtimeException);
+                    }
+
+                    retVal++;
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Stop - pending timeouts never run. The shared wheel should never be closed.
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        pending.clear();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Defines the API to convert values to and from bytes held in ByteBuffer's. Equal values must always encode to the same bytes,
+ * as encoded keys are compared byte by byte.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <T> the type of value.
+ */
+public interface ByteBufferCodec<T> {
+
+    /**
+     * Encode <code>value</code>, writing from the position of <code>buffer</code>.
+     *
+     * @param value the value to encode - never null.
+     * @param buffer the buffer to write to.
+     *
+     * @throws BufferOverflowException if <code>buffer</code> is too small - callers retry with a larger buffer.
+     */
+    void encode(T value, ByteBuffer buffer);
+
+    /**
+     * Decode a value from the bytes between the position and limit of <code>buffer</code>.
+     *
+     * @param buffer contains an encoded value.
+     *
+     * @return the decoded value.
+     */
+    T decode(ByteBuffer buffer);
+}
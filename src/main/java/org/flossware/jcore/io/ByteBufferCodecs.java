@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * ByteBufferCodec's for common types.
+ *
+ * @author Scot P. Floess
+ */
+public final class ByteBufferCodecs {
+
+    /**
+     * The charset used for strings.
+     */
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Encodes integers as 4 bytes.
+     */
+    public static final ByteBufferCodec<Integer> INTEGER = new ByteBufferCodec<Integer>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void encode(final Integer value, final ByteBuffer buffer) {
+            buffer.putInt(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Integer decode(final ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Encodes longs as 8 bytes.
+     */
+    public static final ByteBufferCodec<Long> LONG = new ByteBufferCodec<Long>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void encode(final Long value, final ByteBuffer buffer) {
+            buffer.putLong(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Long decode(final ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Encodes byte arrays as is.
+     */
+    public static final ByteBufferCodec<byte[]> BYTES = new ByteBufferCodec<byte[]>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void encode(final byte[] value, final ByteBuffer buffer) {
+            buffer.put(value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public byte[] decode(final ByteBuffer buffer) {
+            final byte[] retVal = new byte[buffer.remaining()];
+
+            buffer.get(retVal);
+
+            return retVal;
+        }
+    };
+
+    /**
+     * Encodes strings as UTF-8.
+     */
+    public static final ByteBufferCodec<String> STRING = new ByteBufferCodec<String>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void encode(final String value, final ByteBuffer buffer) {
+            buffer.put(value.getBytes(UTF_8));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String decode(final ByteBuffer buffer) {
+            return new String(BYTES.decode(buffer), UTF_8);
+        }
+    };
+
+    /**
+     * Default constructor not allowed.
+     */
+    private ByteBufferCodecs() {
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.io.ByteBufferUtils;
+
+/**
+ * SegmentAllocator that allocates direct ByteBuffer's. Their memory counts against -XX:MaxDirectMemorySize.
+ *
+ * @author Scot P. Floess
+ */
+public class DirectSegmentAllocator implements SegmentAllocator {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ByteBuffer allocate(final int capacity) {
+        try {
+            return ByteBuffer.allocateDirect(IntUtils.ensureMinInt(capacity, 1, "Capacity must be positive"));
+        } catch (final OutOfMemoryError outOfMemoryError) {
+            throw new IoException("Cannot allocate [" + capacity + "] direct bytes", outOfMemoryError);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void free(final ByteBuffer buffer) {
+        ByteBufferUtils.free(buffer);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.io.ByteBufferUtils;
+
+/**
+ * SegmentAllocator that memory maps temporary files, letting the operating system page segments in and out. Each segment is its
+ * own file, deleted when the segment is freed. Thread safe.
+ *
+ * @author Scot P. Floess
+ */
+public class MappedSegmentAllocator implements SegmentAllocator {
+
+    /**
+     * Prefix of our files.
+     */
+    static final String FILE_PREFIX = "segment-";
+
+    /**
+     * Suffix of our files.
+     */
+    static final String FILE_SUFFIX = ".dat";
+
+    /**
+     * Where our files live.
+     */
+    private final File directory;
+
+    /**
+     * The file behind each allocated buffer.
+     */
+    private final Map<ByteBuffer, File> files;
+
+    /**
+     * This constructor sets the directory files are created in.
+     *
+     * @param directory the directory files are created in.
+     *
+     * @throws IllegalArgumentException if <code>directory</code> is null.
+     */
+    public MappedSegmentAllocator(final File directory) {
+        this.directory = ObjectUtils.ensureObject(directory, "Must have a directory");
+        this.files = new IdentityHashMap<>();
+    }
+
+    /**
+     * Default constructor - files are created in java.io.tmpdir.
+     */
+    public MappedSegmentAllocator() {
+        this(new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Return the directory files are created in.
+     *
+     * @return the directory files are created in.
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Return the number of files in use. Present for testing.
+     *
+     * @return the number of files in use.
+     */
+    synchronized int getFileCount() {
+        return files.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ByteBuffer allocate(final int capacity) {
+        IntUtils.ensureMinInt(capacity, 1, "Capacity must be positive");
+
+        File file = null;
+
+        try {
+            file = File.createTempFile(FILE_PREFIX, FILE_SUFFIX, getDirectory());
+
+            final ByteBuffer retVal;
+
+            try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(capacity);
+
+                retVal = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+
+            synchronized (this) {
+                files.put(retVal, file);
+            }
+
+            return retVal;
+        } catch (final IOException ioException) {
+            if (null != file) {
+                file.delete();
+            }
+
+            throw new IoException("Cannot map [" + capacity + "] bytes in [" + getDirectory() + "]", ioException);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void free(final ByteBuffer buffer) {
+        final File file;
+
+        synchronized (this) {
+            file = files.remove(buffer);
+        }
+
+        ByteBufferUtils.free(buffer);
+
+        if (null != file) {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Defines the API to allocate and explicitly free large ByteBuffer's held outside of the Java heap.
+ *
+ * @author Scot P. Floess
+ */
+public interface SegmentAllocator {
+
+    /**
+     * Allocate a zero filled buffer.
+     *
+     * @param capacity the size of the buffer in bytes.
+     *
+     * @return the buffer.
+     *
+     * @throws IoException if the buffer cannot be allocated.
+     */
+    ByteBuffer allocate(int capacity);
+
+    /**
+     * Free a buffer returned from allocate() - it must never be used again.
+     *
+     * @param buffer the buffer to free.
+     */
+    void free(ByteBuffer buffer);
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.IntUtils;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Publishes log records asynchronously. Callers enqueue records into a bounded lock-free ring buffer and a single background
+ * thread drains the buffer into the real java.util.logging handlers of each record's logger. When the ring buffer is full, the
+ * configured OverflowPolicy decides what happens to the record.
+ *
+ * Records are created on the calling thread, but formatted by the handlers on the background thread. Parameters should therefore
+ * be immutable (or at least not changed after logging). Since the background thread cannot infer the caller, the source class of
+ * each record is its logger's name.
+ *
+ * This class deliberately does not extend AbstractCommonBase: it cannot log through itself.
+ *
+ * @author Scot P. Floess
+ */
+public class AsyncLogPublisher {
+
+    /**
+     * Default number of records that can be enqueued.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * Default sample rate - when sampling, 1 in this many overflowing records is kept.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    /**
+     * Name of the background thread.
+     */
+    public static final String THREAD_NAME = "jCore-async-log-publisher";
+
+    /**
+     * How long the background thread sleeps when there is nothing to publish.
+     */
+    static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * How long a blocked caller sleeps before trying to enqueue again.
+     */
+    static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * What is enqueued: the logger to publish to and the record to publish.
+     */
+    static final class Entry {
+
+        final Logger logger;
+        final LogRecord record;
+
+        Entry(final Logger logger, final LogRecord record) {
+            this.logger = logger;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Drains the ring buffer.
+     */
+    final class Drainer implements Runnable {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            while (isRunning() || !getRingBuffer().isEmpty()) {
+                if (!drain()) {
+                    idle = true;
+
+                    if (isRunning() && getRingBuffer().isEmpty()) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+
+                    idle = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Our enqueued records.
+     */
+    private final RingBuffer<Entry> ringBuffer;
+
+    /**
+     * What to do when the ring buffer is full.
+     */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * When sampling, 1 in this many overflowing records is kept.
+     */
+    private final int sampleRate;
+
+    /**
+     * Total records enqueued.
+     */
+    private final AtomicLong enqueuedCount;
+
+    /**
+     * Total records published to handlers.
+     */
+    private final AtomicLong publishedCount;
+
+    /**
+     * Total records dropped.
+     */
+    private final AtomicLong droppedCount;
+
+    /**
+     * Total times a record found the ring buffer full.
+     */
+    private final AtomicLong overflowCount;
+
+    /**
+     * Our background thread.
+     */
+    private final Thread thread;
+
+    /**
+     * True while we accept records.
+     */
+    private volatile boolean running;
+
+    /**
+     * True when the background thread is, or is about to be, sleeping.
+     */
+    private volatile boolean idle;
+
+    /**
+     * Return the ring buffer.
+     *
+     * @return the ring buffer.
+     */
+    RingBuffer<Entry> getRingBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * Return the background thread.
+     *
+     * @return the background thread.
+     */
+    Thread getThread() {
+        return thread;
+    }
+
+    /**
+     * Publish one enqueued record, if any.
+     *
+     * @return true if a record was removed from the ring buffer or false if it was empty.
+     */
+    boolean drain() {
+        final Entry entry = getRingBuffer().poll();
+
+        if (null == entry) {
+            return false;
+        }
+
+        try {
+            publishSynchronously(entry.logger, entry.record);
+        } catch (final RuntimeException runtimeException) {
+            droppedCount.incrementAndGet();
+        }
+
+        return true;
+    }
+
+    /**
+     * Publish <code>logRecord</code> to the handlers of <code>logger</code> on the calling thread.
+     *
+     * @param logger the logger whose handlers will publish the record.
+     * @param logRecord the record to publish.
+     */
+    void publishSynchronously(final Logger logger, final LogRecord logRecord) {
+        logger.log(logRecord);
+        publishedCount.incrementAndGet();
+    }
+
+    /**
+     * Wake up the background thread if its sleeping.
+     */
+    void signal() {
+        if (idle) {
+            LockSupport.unpark(getThread());
+        }
+    }
+
+    /**
+     * Make room by dropping the oldest record and then enqueue <code>entry</code>.
+     *
+     * @param entry the entry to enqueue.
+     */
+    void enqueueDroppingOldest(final Entry entry) {
+        while (!getRingBuffer().offer(entry)) {
+            if (null != getRingBuffer().poll()) {
+                droppedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Wait for room to enqueue <code>entry</code>.
+     *
+     * @param entry the entry to enqueue.
+     *
+     * @return true if enqueued or false if we stopped running while waiting.
+     */
+    boolean enqueueBlocking(final Entry entry) {
+        while (!getRingBuffer().offer(entry)) {
+            if (!isRunning()) {
+                return false;
+            }
+
+            LockSupport.unpark(getThread());
+            LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+        }
+
+        return true;
+    }
+
+    /**
+     * Enqueue <code>entry</code> honoring our overflow policy.
+     *
+     * @param entry the entry to enqueue.
+     *
+     * @return true if enqueued or false if dropped (or, when blocking, we stopped running while waiting).
+     */
+    boolean enqueue(final Entry entry) {
+        if (getRingBuffer().offer(entry)) {
+            return true;
+        }
+
+        final long overflows = overflowCount.incrementAndGet();
+
+        switch (getOverflowPolicy()) {
+            case BLOCK:
+                return enqueueBlocking(entry);
+
+            case DROP_OLDEST:
+                enqueueDroppingOldest(entry);
+
+                return true;
+
+            case SAMPLE:
+                if (overflows % getSampleRate() == 0) {
+                    enqueueDroppingOldest(entry);
+
+                    return true;
+                }
+
+                droppedCount.incrementAndGet();
+
+                return false;
+
+            default:
+                droppedCount.incrementAndGet();
+
+                return false;
+        }
+    }
+
+    /**
+     * Sets the capacity, overflow policy and sample rate.
+     *
+     * @param capacity the number of records that can be enqueued - will be rounded up to a power of two.
+     * @param overflowPolicy what to do when the ring buffer is full.
+     * @param sampleRate when sampling, 1 in this many overflowing records is kept.
+     *
+     * @throws IllegalArgumentException if <code>capacity</code> or <code>sampleRate</code> is less than 1 or
+     * <code>overflowPolicy</code> is null.
+     */
+    public AsyncLogPublisher(final int capacity, final OverflowPolicy overflowPolicy, final int sampleRate) {
+        this.ringBuffer = new RingBuffer<>(capacity);
+        this.overflowPolicy = ObjectUtils.ensureObject(overflowPolicy, "Must have an overflow policy");
+        this.sampleRate = IntUtils.ensureMinInt(sampleRate, 1, "Sample rate must be at least 1");
+        this.enqueuedCount = new AtomicLong();
+        this.publishedCount = new AtomicLong();
+        this.droppedCount = new AtomicLong();
+        this.overflowCount = new AtomicLong();
+        this.thread = new Thread(new Drainer(), THREAD_NAME);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Sets the capacity and overflow policy.
+     *
+     * @param capacity the number of records that can be enqueued - will be rounded up to a power of two.
+     * @param overflowPolicy what to do when the ring buffer is full.
+     *
+     * @throws IllegalArgumentException if <code>capacity</code> is less than 1 or <code>overflowPolicy</code> is null.
+     */
+    public AsyncLogPublisher(final int capacity, final OverflowPolicy overflowPolicy) {
+        this(capacity, overflowPolicy, DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Default constructor - uses DEFAULT_CAPACITY and drops the newest record on overflow.
+     */
+    public AsyncLogPublisher() {
+        this(DEFAULT_CAPACITY, OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Start the background thread.
+     *
+     * @return self.
+     */
+    public synchronized AsyncLogPublisher start() {
+        if (!running && !getThread().isAlive()) {
+            running = true;
+            getThread().start();
+        }
+
+        return this;
+    }
+
+    /**
+     * Stop accepting records, publish any still enqueued and wait for the background thread to finish. Records published after
+     * closing are published synchronously.
+     */
+    public synchronized void close() {
+        running = false;
+
+        LockSupport.unpark(getThread());
+
+        try {
+            if (getThread().isAlive()) {
+                getThread().join();
+            }
+        } catch (final InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+        }
+
+        while (drain()) {
+        }
+    }
+
+    /**
+     * Return true if we are accepting records.
+     *
+     * @return true if we are accepting records or false if not.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Return the overflow policy.
+     *
+     * @return the overflow policy.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Return the sample rate.
+     *
+     * @return the sample rate.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Return the number of records that can be enqueued.
+     *
+     * @return the number of records that can be enqueued.
+     */
+    public int getCapacity() {
+        return getRingBuffer().capacity();
+    }
+
+    /**
+     * Return the number of records currently enqueued.
+     *
+     * @return the number of records currently enqueued.
+     */
+    public int getPendingCount() {
+        return getRingBuffer().size();
+    }
+
+    /**
+     * Return the total number of records enqueued.
+     *
+     * @return the total number of records enqueued.
+     */
+    public long getEnqueuedCount() {
+        return enqueuedCount.get();
+    }
+
+    /**
+     * Return the total number of records published to handlers.
+     *
+     * @return the total number of records published to handlers.
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Return the total number of records dropped.
+     *
+     * @return the total number of records dropped.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Return the total number of times a record found the ring buffer full.
+     *
+     * @return the total number of times a record found the ring buffer full.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
+    /**
+     * Create a record to publish.
+     *
+     * @param logger the logger whose handlers will publish the record.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param params the parameters, may be null.
+     *
+     * @return a record to publish.
+     */
+    static LogRecord createLogRecord(final Logger logger, final Level level, final String str, final Object[] params) {
+        final LogRecord retVal = new LogRecord(level, str);
+
+        retVal.setLoggerName(logger.getName());
+        retVal.setResourceBundle(logger.getResourceBundle());
+        retVal.setResourceBundleName(logger.getResourceBundleName());
+        retVal.setSourceClassName(logger.getName());
+        retVal.setSourceMethodName(null);
+        retVal.setParameters(params);
+
+        return retVal;
+    }
+
+    /**
+     * Publish a log. If not running, or if called from the background thread itself, the log is published synchronously. If we
+     * are closed while the log is being enqueued, the caller publishes whatever is still enqueued so nothing is left behind.
+     *
+     * @param logger the logger whose handlers will publish the record.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param params the parameters, may be null.
+     *
+     * @return true if enqueued or published or false if dropped.
+     */
+    public boolean publish(final Logger logger, final Level level, final String str, final Object[] params) {
+        if (!logger.isLoggable(level)) {
+            return false;
+        }
+
+        final LogRecord logRecord = createLogRecord(logger, level, str, params);
+
+        if (!isRunning() || Thread.currentThread() == getThread()) {
+            publishSynchronously(logger, logRecord);
+
+            return true;
+        }
+
+        if (enqueue(new Entry(logger, logRecord))) {
+            enqueuedCount.incrementAndGet();
+
+            if (isRunning()) {
+                signal();
+            } else {
+                while (drain()) {
+                }
+            }
+
+            return true;
+        }
+
+        if (OverflowPolicy.BLOCK == getOverflowPolicy()) {
+            publishSynchronously(logger, logRecord);
+
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides whether a log from a call site should be published, counting those it suppresses. Intended to be held per call site
+ * (for example in a field) to keep error storms from overwhelming the logging system. Thread safe and lock free.
+ *
+ * @author Scot P. Floess
+ */
+public abstract class LogThrottle {
+
+    /**
+     * Returned from acquire() when a log should be suppressed.
+     */
+    public static final long SUPPRESSED = -1;
+
+    /**
+     * Number of logs suppressed since the last one permitted.
+     */
+    private final AtomicLong suppressedCount;
+
+    /**
+     * Total number of logs ever suppressed.
+     */
+    private final AtomicLong totalSuppressedCount;
+
+    /**
+     * Default constructor.
+     */
+    protected LogThrottle() {
+        this.suppressedCount = new AtomicLong();
+        this.totalSuppressedCount = new AtomicLong();
+    }
+
+    /**
+     * Return true if a log should be published now.
+     *
+     * @return true if a log should be published or false if it should be suppressed.
+     */
+    protected abstract boolean isPermitted();
+
+    /**
+     * Attempt to acquire permission to log. When permitted, the number of logs suppressed since the last permitted one is
+     * returned (and reset) so callers can publish a summary.
+     *
+     * @return the number of logs suppressed since the last permitted or SUPPRESSED if this log should be suppressed.
+     */
+    public long acquire() {
+        if (isPermitted()) {
+            return suppressedCount.getAndSet(0);
+        }
+
+        suppressedCount.incrementAndGet();
+        totalSuppressedCount.incrementAndGet();
+
+        return SUPPRESSED;
+    }
+
+    /**
+     * Return the number of logs suppressed since the last one permitted.
+     *
+     * @return the number of logs suppressed since the last one permitted.
+     */
+    public long getSuppressedCount() {
+        return suppressedCount.get();
+    }
+
+    /**
+     * Return the total number of logs ever suppressed.
+     *
+     * @return the total number of logs ever suppressed.
+     */
+    public long getTotalSuppressedCount() {
+        return totalSuppressedCount.get();
+    }
+}
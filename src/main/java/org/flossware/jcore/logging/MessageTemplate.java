@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * A MessageFormat style pattern (for example "Retrieved value [{0}] for key [{1}]") parsed once into literal and argument
+ * segments. Rendering appends straight into a StringBuilder and produces output identical to MessageFormat.format(). Patterns
+ * containing anything other than simple "{n}" arguments (for example "{0,number,#}") cannot be compiled - those are rendered by
+ * MessageFormat itself.
+ *
+ * Instances are immutable and thread safe.
+ *
+ * @author Scot P. Floess
+ */
+public final class MessageTemplate {
+
+    /**
+     * Per thread formats for numbers and dates - NumberFormat and DateFormat are not thread safe and expensive to create.
+     */
+    static final class Formats {
+
+        Locale locale;
+        NumberFormat numberFormat;
+        DateFormat dateFormat;
+
+        /**
+         * Ensure our formats are for <code>currentLocale</code>.
+         *
+         * @param currentLocale the locale to format with.
+         *
+         * @return self.
+         */
+        Formats ensureLocale(final Locale currentLocale) {
+            if (!currentLocale.equals(locale)) {
+                locale = currentLocale;
+                numberFormat = null;
+                dateFormat = null;
+            }
+
+            return this;
+        }
+
+        /**
+         * Return the number format.
+         *
+         * @return the number format.
+         */
+        NumberFormat getNumberFormat() {
+            if (null == numberFormat) {
+                numberFormat = NumberFormat.getInstance(locale);
+            }
+
+            return numberFormat;
+        }
+
+        /**
+         * Return the date format.
+         *
+         * @return the date format.
+         */
+        DateFormat getDateFormat() {
+            if (null == dateFormat) {
+                dateFormat = DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale);
+            }
+
+            return dateFormat;
+        }
+    }
+
+    /**
+     * Our per thread formats.
+     */
+    private static final ThreadLocal<Formats> FORMATS = new ThreadLocal<Formats>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Formats initialValue() {
+            return new Formats();
+        }
+    };
+
+    /**
+     * The original pattern.
+     */
+    private final String pattern;
+
+    /**
+     * Literal segments - there is always one more literal than arguments.
+     */
+    private final String[] literals;
+
+    /**
+     * Argument indexes, in the order they appear in the pattern.
+     */
+    private final int[] argumentIndexes;
+
+    /**
+     * True if we could not compile the pattern and use MessageFormat instead.
+     */
+    private final boolean isMessageFormat;
+
+    /**
+     * Sets the pattern and its segments.
+     *
+     * @param pattern the original pattern.
+     * @param literals the literal segments or null if using MessageFormat.
+     * @param argumentIndexes the argument indexes or null if using MessageFormat.
+     */
+    private MessageTemplate(final String pattern, final String[] literals, final int[] argumentIndexes) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        this.isMessageFormat = null == literals;
+    }
+
+    /**
+     * Parse the argument index found between braces.
+     *
+     * @param index the text found between braces.
+     *
+     * @return the argument index or -1 if not a simple argument index.
+     */
+    static int parseArgumentIndex(final CharSequence index) {
+        if (index.length() == 0 || index.length() > 9) {
+            return -1;
+        }
+
+        int retVal = 0;
+
+        for (int position = 0; position < index.length(); position++) {
+            final char ch = index.charAt(position);
+
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+
+            retVal = retVal * 10 + (ch - '0');
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Compile <code>pattern</code>, following the same quoting rules as MessageFormat. Any pattern we cannot handle exactly as
+     * MessageFormat does is left for MessageFormat.
+     *
+     * @param pattern the pattern to compile.
+     *
+     * @return the compiled template.
+     *
+     * @throws IllegalArgumentException if <code>pattern</code> is null.
+     */
+    public static MessageTemplate compile(final String pattern) {
+        ObjectUtils.ensureObject(pattern, "Must have a pattern");
+
+        final List<String> literalList = new ArrayList<>();
+        final List<Integer> indexList = new ArrayList<>();
+
+        final StringBuilder literal = new StringBuilder();
+        final StringBuilder argument = new StringBuilder();
+
+        boolean inQuote = false;
+        boolean inArgument = false;
+
+        for (int position = 0; position < pattern.length(); position++) {
+            final char ch = pattern.charAt(position);
+
+            if (inArgument) {
+                if (ch == '}') {
+                    final int index = parseArgumentIndex(argument);
+
+                    if (index < 0) {
+                        return new MessageTemplate(pattern, null, null);
+                    }
+
+                    literalList.add(literal.toString());
+                    indexList.add(index);
+
+                    literal.setLength(0);
+                    argument.setLength(0);
+
+                    inArgument = false;
+                } else {
+                    argument.append(ch);
+                }
+            } else if (ch == '\'') {
+                if (position + 1 < pattern.length() && pattern.charAt(position + 1) == '\'') {
+                    literal.append(ch);
+                    position++;
+                } else {
+                    inQuote = !inQuote;
+                }
+            } else if (ch == '{' && !inQuote) {
+                inArgument = true;
+            } else {
+                literal.append(ch);
+            }
+        }
+
+        if (inArgument) {
+            return new MessageTemplate(pattern, null, null);
+        }
+
+        literalList.add(literal.toString());
+
+        final int[] argumentIndexes = new int[indexList.size()];
+
+        for (int index = 0; index < argumentIndexes.length; index++) {
+            argumentIndexes[index] = indexList.get(index);
+        }
+
+        return new MessageTemplate(pattern, literalList.toArray(new String[literalList.size()]), argumentIndexes);
+    }
+
+    /**
+     * Append <code>argument</code> exactly as MessageFormat would for a simple argument.
+     *
+     * @param sb the string builder to append to.
+     * @param argument the argument to append.
+     * @param formats the formats to use for numbers and dates.
+     */
+    static void appendArgument(final StringBuilder sb, final Object argument, final Formats formats) {
+        if (null == argument) {
+            sb.append("null");
+        } else if (argument instanceof String) {
+            sb.append((String) argument);
+        } else if (argument instanceof Number) {
+            sb.append(formats.getNumberFormat().format(argument));
+        } else if (argument instanceof Date) {
+            sb.append(formats.getDateFormat().format(argument));
+        } else {
+            final String str = argument.toString();
+
+            sb.append(null == str ? "null" : str);
+        }
+    }
+
+    /**
+     * Return the original pattern.
+     *
+     * @return the original pattern.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Return true if the pattern could not be compiled and MessageFormat is used to render it.
+     *
+     * @return true if MessageFormat is used to render or false if not.
+     */
+    public boolean isMessageFormat() {
+        return isMessageFormat;
+    }
+
+    /**
+     * Render using <code>arguments</code>, appending to <code>sb</code>. Arguments missing from <code>arguments</code> are
+     * rendered as "{n}", as MessageFormat does.
+     *
+     * @param sb the string builder to append to.
+     * @param arguments the arguments, may be null.
+     *
+     * @return <code>sb</code>.
+     *
+     * @throws IllegalArgumentException if MessageFormat is used and considers the pattern or arguments invalid.
+     */
+    public StringBuilder render(final StringBuilder sb, final Object... arguments) {
+        if (isMessageFormat()) {
+            return sb.append(MessageFormat.format(getPattern(), arguments));
+        }
+
+        final Formats formats = FORMATS.get().ensureLocale(Locale.getDefault(Locale.Category.FORMAT));
+
+        for (int index = 0; index < argumentIndexes.length; index++) {
+            sb.append(literals[index]);
+
+            final int argumentIndex = argumentIndexes[index];
+
+            if (null == arguments || argumentIndex >= arguments.length) {
+                sb.append('{').append(argumentIndex).append('}');
+            } else {
+                appendArgument(sb, arguments[argumentIndex], formats);
+            }
+        }
+
+        return sb.append(literals[argumentIndexes.length]);
+    }
+
+    /**
+     * Render using <code>arguments</code>.
+     *
+     * @param arguments the arguments, may be null.
+     *
+     * @return the rendered string.
+     *
+     * @throws IllegalArgumentException if MessageFormat is used and considers the pattern or arguments invalid.
+     */
+    public String render(final Object... arguments) {
+        return render(new StringBuilder(), arguments).toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return getPattern();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+/**
+ * Denotes what to do when a log record is published asynchronously but there is no room left to enqueue it.
+ *
+ * @author Scot P. Floess
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The caller waits until there is room.
+     */
+    BLOCK,
+
+    /**
+     * The oldest enqueued record is dropped to make room.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The record being published is dropped.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Only one in every N overflowing records is kept (by dropping the oldest enqueued record), the rest are dropped.
+     */
+    SAMPLE
+}
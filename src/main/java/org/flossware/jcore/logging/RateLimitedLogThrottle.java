@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.flossware.jcore.utils.IntUtils;
+
+/**
+ * A token bucket log throttle: permits a sustained number of logs per second with bursts up to a maximum. The bucket is kept as
+ * a single "theoretical arrival time" (the generic cell rate algorithm) so acquiring is one compare and set.
+ *
+ * @author Scot P. Floess
+ */
+public class RateLimitedLogThrottle extends LogThrottle {
+
+    /**
+     * Nanoseconds between tokens being added to the bucket.
+     */
+    private final long interval;
+
+    /**
+     * How far ahead of now the theoretical arrival time may run - this is the burst.
+     */
+    private final long tolerance;
+
+    /**
+     * The theoretical arrival time of the next log when the bucket is full.
+     */
+    private final AtomicLong arrivalTime;
+
+    /**
+     * This constructor sets the sustained rate and burst.
+     *
+     * @param permitsPerSecond the sustained number of logs per second.
+     * @param burst the most logs allowed at once.
+     *
+     * @throws IllegalArgumentException if <code>permitsPerSecond</code> or <code>burst</code> are less than 1.
+     */
+    public RateLimitedLogThrottle(final int permitsPerSecond, final int burst) {
+        this.interval = TimeUnit.SECONDS.toNanos(1) / IntUtils.ensureMinInt(permitsPerSecond, 1, "Must have at least one permit per second");
+        this.tolerance = interval * (IntUtils.ensureMinInt(burst, 1, "Must have a burst of at least one") - 1);
+        this.arrivalTime = new AtomicLong(nanoTime() - interval - tolerance);
+    }
+
+    /**
+     * This constructor sets the sustained rate, allowing bursts of the same amount.
+     *
+     * @param permitsPerSecond the sustained number of logs per second.
+     *
+     * @throws IllegalArgumentException if <code>permitsPerSecond</code> is less than 1.
+     */
+    public RateLimitedLogThrottle(final int permitsPerSecond) {
+        this(permitsPerSecond, permitsPerSecond);
+    }
+
+    /**
+     * Return the current time in nanoseconds. Present for testing.
+     *
+     * @return the current time in nanoseconds.
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isPermitted() {
+        final long now = nanoTime();
+
+        while (true) {
+            final long current = arrivalTime.get();
+            final long start = current - now < 0 ? now : current;
+
+            if (start - now > tolerance) {
+                return false;
+            }
+
+            if (arrivalTime.compareAndSet(current, start + interval)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.flossware.jcore.utils.IntUtils;
+
+/**
+ * A bounded, lock-free, multi producer and multi consumer ring buffer. Each slot carries a sequence number that tells producers
+ * and consumers whether the slot is free to write or ready to read, so neither side ever takes a lock. The capacity is rounded up
+ * to a power of two.
+ *
+ * @author Scot P. Floess
+ *
+ * @param <E> the type of element held.
+ */
+final class RingBuffer<E> {
+
+    /**
+     * The largest capacity allowed.
+     */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * Used to compute a slot from a position.
+     */
+    private final int mask;
+
+    /**
+     * The elements.
+     */
+    private final AtomicReferenceArray<E> elements;
+
+    /**
+     * Per slot sequence numbers.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Next position to read.
+     */
+    private final AtomicLong head;
+
+    /**
+     * Next position to write.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * Compute the power of two greater than or equal to <code>capacity</code>.
+     *
+     * @param capacity the desired capacity.
+     *
+     * @return the power of two greater than or equal to <code>capacity</code>.
+     */
+    static int computeCapacity(final int capacity) {
+        IntUtils.ensureMaxInt(IntUtils.ensureMinInt(capacity, 1, "Capacity must be at least 1"), MAX_CAPACITY, "Capacity too large");
+
+        return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+    /**
+     * Sets the capacity.
+     *
+     * @param capacity the minimum number of elements that can be held - will be rounded up to a power of two.
+     *
+     * @throws IllegalArgumentException if <code>capacity</code> is less than 1 or larger than MAX_CAPACITY.
+     */
+    RingBuffer(final int capacity) {
+        final int actualCapacity = computeCapacity(capacity);
+
+        this.mask = actualCapacity - 1;
+        this.elements = new AtomicReferenceArray<>(actualCapacity);
+        this.sequences = new AtomicLongArray(actualCapacity);
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+
+        for (int index = 0; index < actualCapacity; index++) {
+            sequences.set(index, index);
+        }
+    }
+
+    /**
+     * Return the number of elements that can be held.
+     *
+     * @return the number of elements that can be held.
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Return an estimate of the number of elements held.
+     *
+     * @return an estimate of the number of elements held.
+     */
+    int size() {
+        final long size = tail.get() - head.get();
+
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Return true if no elements are held.
+     *
+     * @return true if no elements are held or false if not.
+     */
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+
+    /**
+     * Attempt to add <code>element</code>.
+     *
+     * @param element the element to add.
+     *
+     * @return true if added or false if full.
+     */
+    boolean offer(final E element) {
+        long position = tail.get();
+
+        while (true) {
+            final int slot = (int) (position & mask);
+            final long difference = sequences.get(slot) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.lazySet(slot, position + 1);
+
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+
+            position = tail.get();
+        }
+    }
+
+    /**
+     * Remove and return the oldest element.
+     *
+     * @return the oldest element or null if empty.
+     */
+    E poll() {
+        long position = head.get();
+
+        while (true) {
+            final int slot = (int) (position & mask);
+            final long difference = sequences.get(slot) - (position + 1);
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final E retVal = elements.get(slot);
+
+                    elements.lazySet(slot, null);
+                    sequences.lazySet(slot, position + mask + 1);
+
+                    return retVal;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+
+            position = head.get();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.flossware.jcore.utils.IntUtils;
+
+/**
+ * A log throttle permitting 1 in every N logs, starting with the first.
+ *
+ * @author Scot P. Floess
+ */
+public class SampledLogThrottle extends LogThrottle {
+
+    /**
+     * 1 in this many logs is permitted.
+     */
+    private final int sampleRate;
+
+    /**
+     * Number of logs attempted.
+     */
+    private final AtomicLong count;
+
+    /**
+     * This constructor sets the sample rate.
+     *
+     * @param sampleRate 1 in this many logs is permitted.
+     *
+     * @throws IllegalArgumentException if <code>sampleRate</code> is less than 1.
+     */
+    public SampledLogThrottle(final int sampleRate) {
+        this.sampleRate = IntUtils.ensureMinInt(sampleRate, 1, "Must have a sample rate of at least one");
+        this.count = new AtomicLong();
+    }
+
+    /**
+     * Return the sample rate.
+     *
+     * @return 1 in this many logs is permitted.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean isPermitted() {
+        return count.getAndIncrement() % sampleRate == 0;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import org.flossware.jcore.utils.LoggerUtils;
+
+/**
+ * A SimpleFormatter that renders log messages through the pre-compiled message templates cached by LoggerUtils instead of
+ * re-parsing them with MessageFormat for every record. Output is identical to SimpleFormatter. To use, configure a handler's
+ * formatter, for example:
+ *
+ * <code>
+ * java.util.logging.ConsoleHandler.formatter=org.flossware.jcore.logging.TemplateFormatter
+ * </code>
+ *
+ * @author Scot P. Floess
+ */
+public class TemplateFormatter extends SimpleFormatter {
+
+    /**
+     * Return true if <code>format</code> is considered a MessageFormat pattern - the same test java.util.logging.Formatter uses.
+     *
+     * @param format the format to examine.
+     *
+     * @return true if <code>format</code> is a MessageFormat pattern or false if not.
+     */
+    static boolean isMessageFormat(final String format) {
+        return format.contains("{0") || format.contains("{1") || format.contains("{2") || format.contains("{3");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String formatMessage(final LogRecord record) {
+        final Object[] parameters = record.getParameters();
+        final String format = record.getMessage();
+
+        if (null != record.getResourceBundle() || null == format || null == parameters || parameters.length == 0) {
+            return super.formatMessage(record);
+        }
+
+        if (!isMessageFormat(format)) {
+            return format;
+        }
+
+        try {
+            return LoggerUtils.format(format, parameters);
+        } catch (final RuntimeException runtimeException) {
+            return format;
+        }
+    }
+}
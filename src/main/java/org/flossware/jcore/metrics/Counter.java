@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+/**
+ * A lock free counter that scales under contention.
+ *
+ * @author Scot P. Floess
+ */
+public class Counter implements Metric, CounterMBean {
+
+    /**
+     * Our count.
+     */
+    private final StripedLongAdder count;
+
+    /**
+     * Default constructor.
+     */
+    public Counter() {
+        this.count = new StripedLongAdder();
+    }
+
+    /**
+     * Increment by one.
+     */
+    public void inc() {
+        count.increment();
+    }
+
+    /**
+     * Increment by <code>value</code>.
+     *
+     * @param value the amount to increment.
+     */
+    public void inc(final long value) {
+        count.add(value);
+    }
+
+    /**
+     * Decrement by one.
+     */
+    public void dec() {
+        count.decrement();
+    }
+
+    /**
+     * Decrement by <code>value</code>.
+     *
+     * @param value the amount to decrement.
+     */
+    public void dec(final long value) {
+        count.add(-value);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        count.reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Counter[count=" + getCount() + "]";
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An exponentially weighted moving average of a rate, in events per second, updated at a fixed tick interval. Only one thread
+ * may tick at a time (Meter ensures this) while any thread may read the rate.
+ *
+ * @author Scot P. Floess
+ */
+final class Ewma {
+
+    /**
+     * Seconds between ticks.
+     */
+    static final int TICK_SECONDS = 5;
+
+    /**
+     * Nanoseconds between ticks.
+     */
+    static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(TICK_SECONDS);
+
+    /**
+     * The weight given the newest rate.
+     */
+    private final double alpha;
+
+    /**
+     * The current rate per second.
+     */
+    private volatile double rate;
+
+    /**
+     * True once the first tick has happened.
+     */
+    private volatile boolean initialized;
+
+    /**
+     * Compute alpha for averaging over <code>minutes</code>.
+     *
+     * @param minutes the number of minutes to average over.
+     *
+     * @return alpha.
+     */
+    static double computeAlpha(final int minutes) {
+        return 1 - Math.exp(-TICK_SECONDS / 60.0 / minutes);
+    }
+
+    /**
+     * This constructor sets the number of minutes to average over.
+     *
+     * @param minutes the number of minutes to average over.
+     */
+    Ewma(final int minutes) {
+        this.alpha = computeAlpha(minutes);
+    }
+
+    /**
+     * Fold in <code>count</code> events that happened during the last tick.
+     *
+     * @param count the events during the last tick.
+     */
+    void tick(final long count) {
+        final double instantRate = (double) count / TICK_SECONDS;
+
+        if (initialized) {
+            rate += alpha * (instantRate - rate);
+        } else {
+            rate = instantRate;
+            initialized = true;
+        }
+    }
+
+    /**
+     * Return the rate per second.
+     *
+     * @return the rate per second.
+     */
+    double getRate() {
+        return rate;
+    }
+}
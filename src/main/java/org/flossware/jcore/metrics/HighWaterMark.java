@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the highest value seen - for example the largest size a collection has grown to. Updates that do not raise the mark
+ * are a single volatile read.
+ *
+ * @author Scot P. Floess
+ */
+public class HighWaterMark implements Metric, HighWaterMarkMBean {
+
+    /**
+     * The highest value seen.
+     */
+    private final AtomicLong value;
+
+    /**
+     * Default constructor.
+     */
+    public HighWaterMark() {
+        this.value = new AtomicLong();
+    }
+
+    /**
+     * Raise the mark to <code>candidate</code> if higher.
+     *
+     * @param candidate the value to consider.
+     */
+    public void update(final long candidate) {
+        long current = value.get();
+
+        while (candidate > current && !value.compareAndSet(current, candidate)) {
+            current = value.get();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getValue() {
+        return value.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        value.set(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "HighWaterMark[value=" + getValue() + "]";
+    }
+}
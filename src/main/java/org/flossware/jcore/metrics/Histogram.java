@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free log-linear histogram of non negative values (for example latencies in nanoseconds). Each power of two range is
+ * split into 2^SUB_BUCKET_BITS linear sub buckets, so recording is a couple of shifts and one atomic increment, memory is fixed
+ * and percentiles are accurate to within 1 / 2^SUB_BUCKET_BITS (about 3%). Values above HIGHEST_TRACKABLE_VALUE are recorded as
+ * HIGHEST_TRACKABLE_VALUE; negative values as zero.
+ *
+ * @author Scot P. Floess
+ */
+public class Histogram implements Metric, HistogramMBean {
+
+    /**
+     * The number of bits of precision kept for each power of two.
+     */
+    public static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * The number of sub buckets for each power of two.
+     */
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Mask to compute a sub bucket.
+     */
+    static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+
+    /**
+     * The highest bit that can be set in a recorded value.
+     */
+    static final int HIGHEST_BIT = 44;
+
+    /**
+     * The highest value we track - in nanoseconds, a little under 10 hours.
+     */
+    public static final long HIGHEST_TRACKABLE_VALUE = (1L << (HIGHEST_BIT + 1)) - 1;
+
+    /**
+     * The number of buckets.
+     */
+    static final int BUCKET_COUNT = (HIGHEST_BIT - SUB_BUCKET_BITS + 2) << SUB_BUCKET_BITS;
+
+    /**
+     * Our buckets.
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * The number of values recorded.
+     */
+    private final StripedLongAdder count;
+
+    /**
+     * The sum of values recorded.
+     */
+    private final StripedLongAdder sum;
+
+    /**
+     * The smallest value recorded.
+     */
+    private final AtomicLong min;
+
+    /**
+     * The largest value recorded.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Return the bucket for <code>value</code>.
+     *
+     * @param value a value between 0 and HIGHEST_TRACKABLE_VALUE.
+     *
+     * @return the bucket for <code>value</code>.
+     */
+    static int computeBucket(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        final int shift = highestBit - SUB_BUCKET_BITS;
+
+        return ((shift + 1) << SUB_BUCKET_BITS) | (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    /**
+     * Return the smallest value that is recorded in <code>bucket</code>.
+     *
+     * @param bucket the bucket.
+     *
+     * @return the smallest value recorded in <code>bucket</code>.
+     */
+    static long computeLowestValue(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        return ((long) (SUB_BUCKET_COUNT + (bucket & SUB_BUCKET_MASK))) << ((bucket >>> SUB_BUCKET_BITS) - 1);
+    }
+
+    /**
+     * Return the largest value that is recorded in <code>bucket</code>.
+     *
+     * @param bucket the bucket.
+     *
+     * @return the largest value recorded in <code>bucket</code>.
+     */
+    static long computeHighestValue(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        return computeLowestValue(bucket) + (1L << ((bucket >>> SUB_BUCKET_BITS) - 1)) - 1;
+    }
+
+    /**
+     * Clamp <code>value</code> to what we can track.
+     *
+     * @param value the value to clamp.
+     *
+     * @return a value between 0 and HIGHEST_TRACKABLE_VALUE.
+     */
+    static long clamp(final long value) {
+        return value < 0 ? 0 : Math.min(value, HIGHEST_TRACKABLE_VALUE);
+    }
+
+    /**
+     * Default constructor.
+     */
+    public Histogram() {
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+        this.count = new StripedLongAdder();
+        this.sum = new StripedLongAdder();
+        this.min = new AtomicLong(Long.MAX_VALUE);
+        this.max = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Record <code>value</code>.
+     *
+     * @param value the value to record.
+     */
+    public void update(final long value) {
+        final long toRecord = clamp(value);
+
+        buckets.getAndIncrement(computeBucket(toRecord));
+        count.increment();
+        sum.add(toRecord);
+
+        long current = min.get();
+
+        while (toRecord < current && !min.compareAndSet(current, toRecord)) {
+            current = min.get();
+        }
+
+        current = max.get();
+
+        while (toRecord > current && !max.compareAndSet(current, toRecord)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Return the value at <code>percentile</code> - the largest value that would be recorded in its bucket, but no larger than
+     * the maximum recorded.
+     *
+     * @param percentile a percentile between 0 and 100.
+     *
+     * @return the value at <code>percentile</code> or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        long total = 0;
+
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            total += buckets.get(bucket);
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+
+        long cumulative = 0;
+
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            cumulative += buckets.get(bucket);
+
+            if (cumulative >= target) {
+                return Math.min(computeHighestValue(bucket), getMax());
+            }
+        }
+
+        return getMax();
+    }
+
+    /**
+     * Return the sum of values recorded.
+     *
+     * @return the sum of values recorded.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMin() {
+        final long retVal = min.get();
+
+        return retVal == Long.MAX_VALUE ? 0 : retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMax() {
+        final long retVal = max.get();
+
+        return retVal == Long.MIN_VALUE ? 0 : retVal;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMean() {
+        final long total = getCount();
+
+        return total == 0 ? 0 : (double) getSum() / total;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long get50thPercentile() {
+        return getValueAtPercentile(50);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long get90thPercentile() {
+        return getValueAtPercentile(90);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long get99thPercentile() {
+        return getValueAtPercentile(99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long get999thPercentile() {
+        return getValueAtPercentile(99.9);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            buckets.set(bucket, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Histogram[count=" + getCount() + ", min=" + getMin() + ", max=" + getMax() + ", mean=" + getMean() + ", p50=" + get50thPercentile() + ", p99=" + get99thPercentile() + "]";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+/**
+ * JMX view of a Histogram.
+ *
+ * @author Scot P. Floess
+ */
+public interface HistogramMBean {
+
+    /**
+     * Return the number of values recorded.
+     *
+     * @return the number of values recorded.
+     */
+    long getCount();
+
+    /**
+     * Return the smallest value recorded.
+     *
+     * @return the smallest value recorded or 0 if none.
+     */
+    long getMin();
+
+    /**
+     * Return the largest value recorded.
+     *
+     * @return the largest value recorded or 0 if none.
+     */
+    long getMax();
+
+    /**
+     * Return the mean of the values recorded.
+     *
+     * @return the mean or 0 if none.
+     */
+    double getMean();
+
+    /**
+     * Return the median.
+     *
+     * @return the median.
+     */
+    long get50thPercentile();
+
+    /**
+     * Return the 90th percentile.
+     *
+     * @return the 90th percentile.
+     */
+    long get90thPercentile();
+
+    /**
+     * Return the 99th percentile.
+     *
+     * @return the 99th percentile.
+     */
+    long get99thPercentile();
+
+    /**
+     * Return the 99.9th percentile.
+     *
+     * @return the 99.9th percentile.
+     */
+    long get999thPercentile();
+
+    /**
+     * Clear all recorded values.
+     */
+    void reset();
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the rate of events: mean rate plus one, five and fifteen minute moving averages. There is no background thread -
+ * averages are brought up to date by whichever thread marks or reads after a tick interval has passed, the winner chosen by
+ * compare and set, so marking is lock free.
+ *
+ * @author Scot P. Floess
+ */
+public class Meter implements Metric, MeterMBean {
+
+    /**
+     * The number of events.
+     */
+    private final StripedLongAdder count;
+
+    /**
+     * When we were created.
+     */
+    private final long startTime;
+
+    /**
+     * When we last ticked.
+     */
+    private final AtomicLong lastTick;
+
+    /**
+     * The count at the last tick.
+     */
+    private volatile long lastTickCount;
+
+    /**
+     * One minute moving average.
+     */
+    private final Ewma oneMinuteRate;
+
+    /**
+     * Five minute moving average.
+     */
+    private final Ewma fiveMinuteRate;
+
+    /**
+     * Fifteen minute moving average.
+     */
+    private final Ewma fifteenMinuteRate;
+
+    /**
+     * Default constructor.
+     */
+    public Meter() {
+        this.count = new StripedLongAdder();
+        this.startTime = nanoTime();
+        this.lastTick = new AtomicLong(startTime);
+        this.oneMinuteRate = new Ewma(1);
+        this.fiveMinuteRate = new Ewma(5);
+        this.fifteenMinuteRate = new Ewma(15);
+    }
+
+    /**
+     * Return the current time in nanoseconds. Present for testing.
+     *
+     * @return the current time in nanoseconds.
+     */
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Bring the moving averages up to date if one or more tick intervals have passed.
+     */
+    void tickIfNecessary() {
+        final long oldTick = lastTick.get();
+        final long age = nanoTime() - oldTick;
+
+        if (age < Ewma.TICK_NANOS || !lastTick.compareAndSet(oldTick, oldTick + age - age % Ewma.TICK_NANOS)) {
+            return;
+        }
+
+        final long currentCount = count.sum();
+
+        tick(currentCount - lastTickCount);
+
+        lastTickCount = currentCount;
+
+        for (long ticks = age / Ewma.TICK_NANOS; ticks > 1; ticks--) {
+            tick(0);
+        }
+    }
+
+    /**
+     * Fold <code>events</code> into each moving average.
+     *
+     * @param events the events during the tick.
+     */
+    void tick(final long events) {
+        oneMinuteRate.tick(events);
+        fiveMinuteRate.tick(events);
+        fifteenMinuteRate.tick(events);
+    }
+
+    /**
+     * Mark one event.
+     */
+    public void mark() {
+        mark(1);
+    }
+
+    /**
+     * Mark <code>events</code> events.
+     *
+     * @param events the number of events.
+     */
+    public void mark(final long events) {
+        tickIfNecessary();
+        count.add(events);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMeanRate() {
+        final long elapsed = nanoTime() - startTime;
+
+        return elapsed <= 0 ? 0 : getCount() / ((double) elapsed / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getOneMinuteRate() {
+        tickIfNecessary();
+
+        return oneMinuteRate.getRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFiveMinuteRate() {
+        tickIfNecessary();
+
+        return fiveMinuteRate.getRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getFifteenMinuteRate() {
+        tickIfNecessary();
+
+        return fifteenMinuteRate.getRate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Meter[count=" + getCount() + ", meanRate=" + getMeanRate() + ", oneMinuteRate=" + getOneMinuteRate() + "]";
+    }
+}
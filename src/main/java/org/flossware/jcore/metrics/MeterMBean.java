@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+/**
+ * JMX view of a Meter. Rates are events per second.
+ *
+ * @author Scot P. Floess
+ */
+public interface MeterMBean {
+
+    /**
+     * Return the number of events.
+     *
+     * @return the number of events.
+     */
+    long getCount();
+
+    /**
+     * Return the mean rate since creation.
+     *
+     * @return the mean rate.
+     */
+    double getMeanRate();
+
+    /**
+     * Return the one minute moving average rate.
+     *
+     * @return the one minute rate.
+     */
+    double getOneMinuteRate();
+
+    /**
+     * Return the five minute moving average rate.
+     *
+     * @return the five minute rate.
+     */
+    double getFiveMinuteRate();
+
+    /**
+     * Return the fifteen minute moving average rate.
+     *
+     * @return the fifteen minute rate.
+     */
+    double getFifteenMinuteRate();
+}
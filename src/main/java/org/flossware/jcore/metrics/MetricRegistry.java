@@ -0,0 +1,491 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import org.flossware.jcore.AbstractCommonBase;
+import org.flossware.jcore.utils.ObjectUtils;
+import org.flossware.jcore.utils.StringUtils;
+
+/**
+ * A registry of named metrics. Retrieving or creating a metric is lock free, so metrics may be looked up on hot paths, though
+ * holding on to them is cheaper still. Once exported to JMX, all metrics in the registry - including those created later - are
+ * registered as MBeans named "domain:type=Counter|Histogram|Timer|Meter|HighWaterMark,name=..." and unregistered when removed.
+ *
+ * @author Scot P. Floess
+ */
+public class MetricRegistry extends AbstractCommonBase {
+
+    /**
+     * The default JMX domain.
+     */
+    public static final String DEFAULT_DOMAIN = "org.flossware.jcore.metrics";
+
+    /**
+     * The shared registry.
+     */
+    private static final MetricRegistry DEFAULT_REGISTRY = new MetricRegistry();
+
+    /**
+     * Where metrics are exported in JMX.
+     */
+    static final class JmxExport {
+
+        /**
+         * The MBean server to register in.
+         */
+        final MBeanServer mbeanServer;
+
+        /**
+         * The JMX domain to use.
+         */
+        final String domain;
+
+        /**
+         * This constructor sets the MBean server and domain.
+         *
+         * @param mbeanServer the MBean server to register in.
+         * @param domain the JMX domain to use.
+         */
+        JmxExport(final MBeanServer mbeanServer, final String domain) {
+            this.mbeanServer = mbeanServer;
+            this.domain = domain;
+        }
+    }
+
+    /**
+     * Our metrics.
+     */
+    private final ConcurrentMap<String, Metric> metrics;
+
+    /**
+     * When not null, where we export to JMX.
+     */
+    private volatile JmxExport jmxExport;
+
+    /**
+     * Return the shared registry.
+     *
+     * @return the shared registry.
+     */
+    public static MetricRegistry getDefault() {
+        return DEFAULT_REGISTRY;
+    }
+
+    /**
+     * Return the JMX type of <code>metric</code>.
+     *
+     * @param metric the metric.
+     *
+     * @return the JMX type or null if <code>metric</code> cannot be exported.
+     */
+    static String computeType(final Metric metric) {
+        if (metric instanceof TimerMBean) {
+            return "Timer";
+        } else if (metric instanceof HistogramMBean) {
+            return "Histogram";
+        } else if (metric instanceof CounterMBean) {
+            return "Counter";
+        } else if (metric instanceof MeterMBean) {
+            return "Meter";
+        } else if (metric instanceof HighWaterMarkMBean) {
+            return "HighWaterMark";
+        }
+
+        return null;
+    }
+
+    /**
+     * Return the MBean interface of <code>metric</code>.
+     *
+     * @param metric the metric.
+     *
+     * @return the MBean interface.
+     */
+    static Class<?> computeMBeanInterface(final Metric metric) {
+        if (metric instanceof TimerMBean) {
+            return TimerMBean.class;
+        } else if (metric instanceof HistogramMBean) {
+            return HistogramMBean.class;
+        } else if (metric instanceof MeterMBean) {
+            return MeterMBean.class;
+        } else if (metric instanceof HighWaterMarkMBean) {
+            return HighWaterMarkMBean.class;
+        }
+
+        return CounterMBean.class;
+    }
+
+    /**
+     * Return a standard MBean exposing <code>metric</code> through <code>mbeanInterface</code>.
+     *
+     * @param <T> the MBean interface type.
+     * @param metric the metric - must implement <code>mbeanInterface</code>.
+     * @param mbeanInterface the MBean interface.
+     *
+     * @return the standard MBean.
+     *
+     * @throws JMException if <code>metric</code> is not a compliant MBean.
+     */
+    static <T> StandardMBean createStandardMBean(final Metric metric, final Class<T> mbeanInterface) throws JMException {
+        return new StandardMBean(mbeanInterface.cast(metric), mbeanInterface);
+    }
+
+    /**
+     * Return the JMX object name for a metric.
+     *
+     * @param domain the JMX domain.
+     * @param type the type of metric.
+     * @param name the name of the metric.
+     *
+     * @return the object name.
+     *
+     * @throws MetricsException if the object name is invalid.
+     */
+    static ObjectName createObjectName(final String domain, final String type, final String name) {
+        try {
+            return new ObjectName(domain + ":type=" + type + ",name=" + ObjectName.quote(name));
+        } catch (final JMException jmException) {
+            throw new MetricsException("Invalid object name for metric [" + name + "]", jmException);
+        }
+    }
+
+    /**
+     * Default constructor.
+     */
+    public MetricRegistry() {
+        this.metrics = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Register <code>metric</code> as an MBean.
+     *
+     * @param export where to export.
+     * @param name the name of the metric.
+     * @param metric the metric.
+     *
+     * @throws MetricsException if any problems arise registering.
+     */
+    void registerMBean(final JmxExport export, final String name, final Metric metric) {
+        final String type = computeType(metric);
+
+        if (null == type) {
+            log(Level.FINE, "Not exporting metric [{0}] - not a known MBean type", name);
+
+            return;
+        }
+
+        final ObjectName objectName = createObjectName(export.domain, type, name);
+
+        try {
+            if (!export.mbeanServer.isRegistered(objectName)) {
+                export.mbeanServer.registerMBean(createStandardMBean(metric, computeMBeanInterface(metric)), objectName);
+            }
+        } catch (final InstanceAlreadyExistsException instanceAlreadyExistsException) {
+            log(Level.FINE, "Metric [{0}] concurrently registered as {1}", name, objectName);
+        } catch (final JMException jmException) {
+            throw new MetricsException("Could not register metric [" + name + "]", jmException);
+        }
+    }
+
+    /**
+     * Unregister <code>metric</code> as an MBean.
+     *
+     * @param export where exported.
+     * @param name the name of the metric.
+     * @param metric the metric.
+     *
+     * @throws MetricsException if any problems arise unregistering.
+     */
+    void unregisterMBean(final JmxExport export, final String name, final Metric metric) {
+        final String type = computeType(metric);
+
+        if (null == type) {
+            return;
+        }
+
+        final ObjectName objectName = createObjectName(export.domain, type, name);
+
+        try {
+            if (export.mbeanServer.isRegistered(objectName)) {
+                export.mbeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException jmException) {
+            throw new MetricsException("Could not unregister metric [" + name + "]", jmException);
+        }
+    }
+
+    /**
+     * Return the metric named <code>name</code> if it is of <code>type</code>.
+     *
+     * @param <M> the type of metric.
+     * @param name the name of the metric.
+     * @param type the type of metric.
+     *
+     * @return the metric or null if not found.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank or a metric of a different type is registered for it.
+     */
+    <M extends Metric> M get(final String name, final Class<M> type) {
+        final Metric retVal = metrics.get(StringUtils.ensureString(name, "Must have a metric name"));
+
+        if (null != retVal && !type.isInstance(retVal)) {
+            throw new IllegalArgumentException("Metric [" + name + "] is a " + retVal.getClass().getName() + " not a " + type.getName());
+        }
+
+        return type.cast(retVal);
+    }
+
+    /**
+     * Register <code>metric</code> unless one is already registered for <code>name</code>.
+     *
+     * @param <M> the type of metric.
+     * @param name the name of the metric.
+     * @param metric the metric to register.
+     * @param type the type of metric.
+     *
+     * @return the metric registered for <code>name</code>.
+     *
+     * @throws IllegalArgumentException if a metric of a different type is registered for <code>name</code>.
+     */
+    <M extends Metric> M putIfAbsent(final String name, final M metric, final Class<M> type) {
+        final Metric existing = metrics.putIfAbsent(name, metric);
+
+        if (null != existing) {
+            return get(name, type);
+        }
+
+        log(Level.FINE, "Registered metric [{0}] -> {1}", name, metric);
+
+        final JmxExport export = jmxExport;
+
+        if (null != export) {
+            registerMBean(export, name, metric);
+        }
+
+        return metric;
+    }
+
+    /**
+     * Register <code>metric</code> as <code>name</code>.
+     *
+     * @param <M> the type of metric.
+     * @param name the name of the metric.
+     * @param metric the metric.
+     *
+     * @return <code>metric</code>.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank, <code>metric</code> is null or a metric is already
+     * registered for <code>name</code>.
+     */
+    public <M extends Metric> M register(final String name, final M metric) {
+        StringUtils.ensureString(name, "Must have a metric name");
+        ObjectUtils.ensureObject(metric, "Must have a metric");
+
+        if (putIfAbsent(name, metric, Metric.class) != metric) {
+            throw new IllegalArgumentException("Metric [" + name + "] already registered");
+        }
+
+        return metric;
+    }
+
+    /**
+     * Return the counter named <code>name</code>, creating it if needed.
+     *
+     * @param name the name of the counter.
+     *
+     * @return the counter.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank or is registered to a metric that is not a counter.
+     */
+    public Counter counter(final String name) {
+        final Counter retVal = get(name, Counter.class);
+
+        return null != retVal ? retVal : putIfAbsent(name, new Counter(), Counter.class);
+    }
+
+    /**
+     * Return the histogram named <code>name</code>, creating it if needed.
+     *
+     * @param name the name of the histogram.
+     *
+     * @return the histogram.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank or is registered to a metric that is not a histogram.
+     */
+    public Histogram histogram(final String name) {
+        final Histogram retVal = get(name, Histogram.class);
+
+        return null != retVal ? retVal : putIfAbsent(name, new Histogram(), Histogram.class);
+    }
+
+    /**
+     * Return the timer named <code>name</code>, creating it if needed.
+     *
+     * @param name the name of the timer.
+     *
+     * @return the timer.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank or is registered to a metric that is not a timer.
+     */
+    public Timer timer(final String name) {
+        final Timer retVal = get(name, Timer.class);
+
+        return null != retVal ? retVal : putIfAbsent(name, new Timer(), Timer.class);
+    }
+
+    /**
+     * Return the meter named <code>name</code>, creating it if needed.
+     *
+     * @param name the name of the meter.
+     *
+     * @return the meter.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank or is registered to a metric that is not a meter.
+     */
+    public Meter meter(final String name) {
+        final Meter retVal = get(name, Meter.class);
+
+        return null != retVal ? retVal : putIfAbsent(name, new Meter(), Meter.class);
+    }
+
+    /**
+     * Return the high water mark named <code>name</code>, creating it if needed.
+     *
+     * @param name the name of the high water mark.
+     *
+     * @return the high water mark.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank or is registered to a metric that is not a high water mark.
+     */
+    public HighWaterMark highWaterMark(final String name) {
+        final HighWaterMark retVal = get(name, HighWaterMark.class);
+
+        return null != retVal ? retVal : putIfAbsent(name, new HighWaterMark(), HighWaterMark.class);
+    }
+
+    /**
+     * Return the metric named <code>name</code>.
+     *
+     * @param name the name of the metric.
+     *
+     * @return the metric or null if not registered.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank.
+     */
+    public Metric getMetric(final String name) {
+        return get(name, Metric.class);
+    }
+
+    /**
+     * Return an unmodifiable view of all metrics, keyed by name.
+     *
+     * @return all metrics.
+     */
+    public Map<String, Metric> getMetrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Remove the metric named <code>name</code>, unregistering it from JMX if exported.
+     *
+     * @param name the name of the metric.
+     *
+     * @return the metric removed or null if not registered.
+     *
+     * @throws IllegalArgumentException if <code>name</code> is blank.
+     */
+    public Metric remove(final String name) {
+        final Metric retVal = metrics.remove(StringUtils.ensureString(name, "Must have a metric name"));
+
+        final JmxExport export = jmxExport;
+
+        if (null != retVal && null != export) {
+            unregisterMBean(export, name, retVal);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Export all metrics, present and future, as MBeans. If already exported, the previous export is removed first.
+     *
+     * @param mbeanServer the MBean server to register in.
+     * @param domain the JMX domain to use.
+     *
+     * @throws IllegalArgumentException if <code>mbeanServer</code> is null or <code>domain</code> is blank.
+     * @throws MetricsException if any problems arise registering.
+     */
+    public synchronized void exportToJmx(final MBeanServer mbeanServer, final String domain) {
+        final JmxExport export = new JmxExport(ObjectUtils.ensureObject(mbeanServer, "Must have an MBean server"), StringUtils.ensureString(domain, "Must have a domain"));
+
+        unexportFromJmx();
+
+        jmxExport = export;
+
+        for (final Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            registerMBean(export, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Export all metrics, present and future, as MBeans to the platform MBean server in DEFAULT_DOMAIN.
+     *
+     * @throws MetricsException if any problems arise registering.
+     */
+    public void exportToJmx() {
+        exportToJmx(ManagementFactory.getPlatformMBeanServer(), DEFAULT_DOMAIN);
+    }
+
+    /**
+     * Unregister all metrics exported as MBeans and stop exporting.
+     *
+     * @throws MetricsException if any problems arise unregistering.
+     */
+    public synchronized void unexportFromJmx() {
+        final JmxExport export = jmxExport;
+
+        if (null == export) {
+            return;
+        }
+
+        jmxExport = null;
+
+        for (final Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            unregisterMBean(export, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Return true if exported to JMX.
+     *
+     * @return true if exported to JMX or false if not.
+     */
+    public boolean isExportedToJmx() {
+        return null != jmxExport;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock free sum that scales under contention in the manner of Java 8's LongAdder, which is not available to us. Uncontended
+ * adds go to a single base value; once two threads collide, adds are spread across cache line padded stripes selected by thread.
+ * Reading the sum is not atomic with respect to concurrent adds.
+ *
+ * @author Scot P. Floess
+ */
+public final class StripedLongAdder {
+
+    /**
+     * Longs per stripe - keeps stripes on separate cache lines (including adjacent line prefetch).
+     */
+    static final int PADDING = 16;
+
+    /**
+     * The number of stripes, a power of two at least twice the number of processors.
+     */
+    static final int STRIPES = computeStripes(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Used when there is no contention.
+     */
+    private final AtomicLong base;
+
+    /**
+     * Created on first contention.
+     */
+    private final AtomicReference<AtomicLongArray> stripes;
+
+    /**
+     * Compute the number of stripes for <code>processors</code>.
+     *
+     * @param processors the number of processors.
+     *
+     * @return the number of stripes.
+     */
+    static int computeStripes(final int processors) {
+        return Math.min(64, Integer.highestOneBit(Math.max(1, processors) * 2 - 1) << 1);
+    }
+
+    /**
+     * Return the stripe offset for the current thread.
+     *
+     * @return the offset into our stripes for the current thread.
+     */
+    static int stripeOffset() {
+        final long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+
+        return ((int) (id >>> 32) & (STRIPES - 1)) * PADDING;
+    }
+
+    /**
+     * Default constructor.
+     */
+    public StripedLongAdder() {
+        this.base = new AtomicLong();
+        this.stripes = new AtomicReference<>();
+    }
+
+    /**
+     * Return our stripes, creating them if needed.
+     *
+     * @return our stripes.
+     */
+    AtomicLongArray ensureStripes() {
+        final AtomicLongArray retVal = stripes.get();
+
+        if (null != retVal) {
+            return retVal;
+        }
+
+        stripes.compareAndSet(null, new AtomicLongArray(STRIPES * PADDING));
+
+        return stripes.get();
+    }
+
+    /**
+     * Return true if striping has started.
+     *
+     * @return true if striping has started or false if not.
+     */
+    boolean isStriped() {
+        return null != stripes.get();
+    }
+
+    /**
+     * Add <code>value</code>.
+     *
+     * @param value the value to add.
+     */
+    public void add(final long value) {
+        AtomicLongArray current = stripes.get();
+
+        if (null == current) {
+            final long expected = base.get();
+
+            if (base.compareAndSet(expected, expected + value)) {
+                return;
+            }
+
+            current = ensureStripes();
+        }
+
+        current.getAndAdd(stripeOffset(), value);
+    }
+
+    /**
+     * Add one.
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Subtract one.
+     */
+    public void decrement() {
+        add(-1);
+    }
+
+    /**
+     * Return the current sum.
+     *
+     * @return the current sum.
+     */
+    public long sum() {
+        long retVal = base.get();
+
+        final AtomicLongArray current = stripes.get();
+
+        if (null != current) {
+            for (int index = 0; index < current.length(); index += PADDING) {
+                retVal += current.get(index);
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Reset the sum to zero. Adds concurrent with a reset may or may not be kept.
+     */
+    public void reset() {
+        base.set(0);
+
+        final AtomicLongArray current = stripes.get();
+
+        if (null != current) {
+            for (int index = 0; index < current.length(); index += PADDING) {
+                current.set(index, 0);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
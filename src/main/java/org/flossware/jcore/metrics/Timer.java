@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * Times operations, recording durations in nanoseconds into a Histogram. Use start() and stop() on hot paths, they allocate
+ * nothing, or time() with try-with-resources where convenient:
+ *
+ * <code>
+ * try (final Timer.Context context = timer.time()) {
+ *     ...
+ * }
+ * </code>
+ *
+ * @author Scot P. Floess
+ */
+public class Timer implements Metric, TimerMBean {
+
+    /**
+     * The default unit durations are reported in.
+     */
+    public static final TimeUnit DEFAULT_DURATION_UNIT = TimeUnit.MICROSECONDS;
+
+    /**
+     * Times a single operation.
+     */
+    public static final class Context implements AutoCloseable {
+
+        /**
+         * The timer to record to.
+         */
+        private final Timer timer;
+
+        /**
+         * When we started.
+         */
+        private final long start;
+
+        /**
+         * This constructor sets the timer and starts timing.
+         *
+         * @param timer the timer to record to.
+         */
+        Context(final Timer timer) {
+            this.timer = timer;
+            this.start = timer.start();
+        }
+
+        /**
+         * Stop timing and record the duration.
+         *
+         * @return the duration in nanoseconds.
+         */
+        public long stop() {
+            return timer.stop(start);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+
+    /**
+     * Where durations are recorded.
+     */
+    private final Histogram histogram;
+
+    /**
+     * The unit durations are reported in.
+     */
+    private final TimeUnit durationUnit;
+
+    /**
+     * Nanoseconds in one duration unit.
+     */
+    private final double nanosPerUnit;
+
+    /**
+     * This constructor sets the unit durations are reported in.
+     *
+     * @param durationUnit the unit durations are reported in.
+     *
+     * @throws IllegalArgumentException if <code>durationUnit</code> is null.
+     */
+    public Timer(final TimeUnit durationUnit) {
+        this.histogram = new Histogram();
+        this.durationUnit = ObjectUtils.ensureObject(durationUnit, "Must have a duration unit");
+        this.nanosPerUnit = durationUnit.toNanos(1);
+    }
+
+    /**
+     * Default constructor - durations are reported in DEFAULT_DURATION_UNIT.
+     */
+    public Timer() {
+        this(DEFAULT_DURATION_UNIT);
+    }
+
+    /**
+     * Convert nanoseconds to our duration unit.
+     *
+     * @param nanos the nanoseconds to convert.
+     *
+     * @return the duration in our duration unit.
+     */
+    double convert(final double nanos) {
+        return nanos / nanosPerUnit;
+    }
+
+    /**
+     * Return the histogram of durations in nanoseconds.
+     *
+     * @return the histogram of durations in nanoseconds.
+     */
+    public Histogram getHistogram() {
+        return histogram;
+    }
+
+    /**
+     * Return a start time to later hand to stop().
+     *
+     * @return a start time.
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the duration since <code>start</code>.
+     *
+     * @param start a value returned from start().
+     *
+     * @return the duration in nanoseconds.
+     */
+    public long stop(final long start) {
+        final long retVal = System.nanoTime() - start;
+
+        histogram.update(retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Start timing an operation.
+     *
+     * @return the context to stop or close when the operation completes.
+     */
+    public Context time() {
+        return new Context(this);
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param duration the duration.
+     * @param unit the unit of <code>duration</code>.
+     */
+    public void update(final long duration, final TimeUnit unit) {
+        histogram.update(unit.toNanos(duration));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getDurationUnit() {
+        return durationUnit.name();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMin() {
+        return convert(histogram.getMin());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMax() {
+        return convert(histogram.getMax());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double getMean() {
+        return convert(histogram.getMean());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get50thPercentile() {
+        return convert(histogram.get50thPercentile());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get90thPercentile() {
+        return convert(histogram.get90thPercentile());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get99thPercentile() {
+        return convert(histogram.get99thPercentile());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double get999thPercentile() {
+        return convert(histogram.get999thPercentile());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        histogram.reset();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Timer[count=" + getCount() + ", mean=" + getMean() + ", p99=" + get99thPercentile() + " " + getDurationUnit() + "]";
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+/**
+ * JMX view of a Timer. Durations are expressed in the timer's duration unit.
+ *
+ * @author Scot P. Floess
+ */
+public interface TimerMBean {
+
+    /**
+     * Return the unit durations are expressed in.
+     *
+     * @return the unit durations are expressed in.
+     */
+    String getDurationUnit();
+
+    /**
+     * Return the number of durations recorded.
+     *
+     * @return the number of durations recorded.
+     */
+    long getCount();
+
+    /**
+     * Return the shortest duration recorded.
+     *
+     * @return the shortest duration.
+     */
+    double getMin();
+
+    /**
+     * Return the longest duration recorded.
+     *
+     * @return the longest duration.
+     */
+    double getMax();
+
+    /**
+     * Return the mean duration.
+     *
+     * @return the mean duration.
+     */
+    double getMean();
+
+    /**
+     * Return the median duration.
+     *
+     * @return the median duration.
+     */
+    double get50thPercentile();
+
+    /**
+     * Return the 90th percentile duration.
+     *
+     * @return the 90th percentile duration.
+     */
+    double get90thPercentile();
+
+    /**
+     * Return the 99th percentile duration.
+     *
+     * @return the 99th percentile duration.
+     */
+    double get99thPercentile();
+
+    /**
+     * Return the 99.9th percentile duration.
+     *
+     * @return the 99.9th percentile duration.
+     */
+    double get999thPercentile();
+
+    /**
+     * Clear all recorded durations.
+     */
+    void reset();
+}
@@ -23,20 +23,98 @@ import javax.xml.ws.handler.MessageContext;
 import javax.xml.ws.handler.soap.SOAPHandler;
 import javax.xml.ws.handler.soap.SOAPMessageContext;
 import org.flossware.jcore.AbstractCommonBase;
+import org.flossware.jcore.logging.LogThrottle;
+import org.flossware.jcore.logging.RateLimitedLogThrottle;
+import org.flossware.jcore.logging.SampledLogThrottle;
+import org.flossware.jcore.utils.LoggerUtils;
+import org.flossware.jcore.utils.ObjectUtils;
 import org.flossware.jcore.utils.soap.SoapUtils;
 
 /**
  * Abstract base class and partial implementation for SOAPHandler. Acts as a template to allow subclasses to implement the
  * request or response on handleMessage().
  *
+ * Failures and faults serialize the whole SOAP message to the log, so those logs are throttled - by default to
+ * DEFAULT_FAILURE_LOGS_PER_SECOND. The stack traces of failures are sampled, by default 1 in DEFAULT_FAILURE_SAMPLE_RATE.
+ * Suppressed logs are summarized when logging resumes.
+ *
  * @author sfloess
  */
 public abstract class AbstractSoapHandler extends AbstractCommonBase implements SOAPHandler<SOAPMessageContext> {
 
     /**
-     * Default constructor.
+     * The default number of failure or fault logs per second.
+     */
+    public static final int DEFAULT_FAILURE_LOGS_PER_SECOND = 10;
+
+    /**
+     * The default sample rate for logging failure stack traces.
+     */
+    public static final int DEFAULT_FAILURE_SAMPLE_RATE = 100;
+
+    /**
+     * Throttles logging of failures.
+     */
+    private final LogThrottle failureLogThrottle;
+
+    /**
+     * Throttles logging of faults.
+     */
+    private final LogThrottle faultLogThrottle;
+
+    /**
+     * Throttles logging of failure stack traces in processFailure().
+     */
+    private final LogThrottle exceptionLogThrottle;
+
+    /**
+     * This constructor sets the throttles for logging failures and faults.
+     *
+     * @param failureLogThrottle throttles logging when handleMessage() fails.
+     * @param faultLogThrottle throttles logging in handleFault().
+     * @param exceptionLogThrottle throttles logging the failure's stack trace in processFailure().
+     *
+     * @throws IllegalArgumentException if any of the throttles are null.
+     */
+    protected AbstractSoapHandler(final LogThrottle failureLogThrottle, final LogThrottle faultLogThrottle, final LogThrottle exceptionLogThrottle) {
+        this.failureLogThrottle = ObjectUtils.ensureObject(failureLogThrottle, "Must have a failure log throttle");
+        this.faultLogThrottle = ObjectUtils.ensureObject(faultLogThrottle, "Must have a fault log throttle");
+        this.exceptionLogThrottle = ObjectUtils.ensureObject(exceptionLogThrottle, "Must have an exception log throttle");
+    }
+
+    /**
+     * Default constructor - failures and faults are each rate limited to DEFAULT_FAILURE_LOGS_PER_SECOND and failure stack traces
+     * sampled 1 in DEFAULT_FAILURE_SAMPLE_RATE.
      */
     protected AbstractSoapHandler() {
+        this(new RateLimitedLogThrottle(DEFAULT_FAILURE_LOGS_PER_SECOND), new RateLimitedLogThrottle(DEFAULT_FAILURE_LOGS_PER_SECOND), new SampledLogThrottle(DEFAULT_FAILURE_SAMPLE_RATE));
+    }
+
+    /**
+     * Return the throttle for logging failures.
+     *
+     * @return the throttle for logging failures.
+     */
+    protected LogThrottle getFailureLogThrottle() {
+        return failureLogThrottle;
+    }
+
+    /**
+     * Return the throttle for logging failure stack traces.
+     *
+     * @return the throttle for logging failure stack traces.
+     */
+    protected LogThrottle getExceptionLogThrottle() {
+        return exceptionLogThrottle;
+    }
+
+    /**
+     * Return the throttle for logging faults.
+     *
+     * @return the throttle for logging faults.
+     */
+    protected LogThrottle getFaultLogThrottle() {
+        return faultLogThrottle;
     }
 
     /**
@@ -67,7 +145,7 @@ public abstract class AbstractSoapHandler extends AbstractCommonBase implements
      * @param soapException the failure that arose when handling our message.
      */
     protected void processFailure(final SOAPException soapException) {
-        getLogger().log(Level.SEVERE, "Problem handling msg", soapException);
+        LoggerUtils.logThrottled(getExceptionLogThrottle(), getLogger(), Level.SEVERE, "Problem handling msg", soapException);
     }
 
     /**
@@ -96,7 +174,7 @@ public abstract class AbstractSoapHandler extends AbstractCommonBase implements
 
             return retVal;
         } catch (final SOAPException soapException) {
-            SoapUtils.logSoapMessageContext(getLogger(), Level.SEVERE, "Failed to process", msgContext);
+            SoapUtils.logSoapMessageContext(getFailureLogThrottle(), getLogger(), Level.SEVERE, "Failed to process", msgContext);
             processFailure(soapException);
         }
 
@@ -108,7 +186,7 @@ public abstract class AbstractSoapHandler extends AbstractCommonBase implements
      */
     @Override
     public boolean handleFault(final SOAPMessageContext msgContext) {
-        SoapUtils.logSoapMessageContext(getLogger(), Level.SEVERE, "Received a SOAP fault for SOAPMessageContext", msgContext);
+        SoapUtils.logSoapMessageContext(getFaultLogThrottle(), getLogger(), Level.SEVERE, "Received a SOAP fault for SOAPMessageContext", msgContext);
 
         return true;
     }
@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.flossware.jcore.CompiledFilter;
+import org.flossware.jcore.Filter;
+
+/**
+ * Filter utilities - combinators that compile nested filters into a single flat, self ordering {@link CompiledFilter}.
+ *
+ * @author Scot P. Floess
+ */
+public final class FilterUtils {
+
+    /**
+     * Error message when a filter is null.
+     */
+    public static final String FILTER_ERROR_MSG = "Must have a filter";
+
+    /**
+     * Negates a filter.
+     */
+    static final class NotFilter<T, V> implements Filter<T, V> {
+
+        final Filter<? super T, ? super V> filter;
+
+        NotFilter(final Filter<? super T, ? super V> filter) {
+            this.filter = filter;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean accept(final T toFilter, final V value) {
+            return !filter.accept(toFilter, value);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "NOT[" + filter + "]";
+        }
+    }
+
+    /**
+     * Add <code>filter</code> to <code>clauses</code> - if it is itself compiled with <code>mode</code> its own clauses are added
+     * instead.
+     *
+     * @param clauses the clauses to add to.
+     * @param mode how results are combined.
+     * @param filter the filter to add.
+     */
+    @SuppressWarnings("unchecked")
+    static <T, V> void flatten(final List<Filter<? super T, ? super V>> clauses, final CompiledFilter.Mode mode, final Filter<? super T, ? super V> filter) {
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+
+        if (filter instanceof CompiledFilter && ((CompiledFilter<?, ?>) filter).getMode() == mode) {
+            for (final Object clause : ((CompiledFilter<?, ?>) filter).getFilters()) {
+                clauses.add((Filter<? super T, ? super V>) clause);
+            }
+        } else {
+            clauses.add(filter);
+        }
+    }
+
+    /**
+     * Compile <code>filters</code>, flattening any already compiled with <code>mode</code>.
+     *
+     * @param mode how results are combined.
+     * @param filters the filters to compile.
+     *
+     * @return the compiled filter.
+     */
+    static <T, V> CompiledFilter<T, V> compile(final CompiledFilter.Mode mode, final Iterable<? extends Filter<? super T, ? super V>> filters) {
+        ObjectUtils.ensureObject(filters, "Must have filters");
+
+        final List<Filter<? super T, ? super V>> clauses = new ArrayList<>();
+
+        for (final Filter<? super T, ? super V> filter : filters) {
+            flatten(clauses, mode, filter);
+        }
+
+        return new CompiledFilter<>(mode, clauses);
+    }
+
+    /**
+     * Return a filter accepting when every one of <code>filters</code> does.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param filters the filters, in their initial evaluation order.
+     *
+     * @return the compiled filter - accepts everything if <code>filters</code> is empty.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is or contains null.
+     */
+    public static <T, V> CompiledFilter<T, V> all(final Iterable<? extends Filter<? super T, ? super V>> filters) {
+        return compile(CompiledFilter.Mode.ALL, filters);
+    }
+
+    /**
+     * Return a filter accepting when every one of <code>filters</code> does.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param filters the filters, in their initial evaluation order.
+     *
+     * @return the compiled filter - accepts everything if <code>filters</code> is empty.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is or contains null.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T, V> CompiledFilter<T, V> all(final Filter<? super T, ? super V>... filters) {
+        return all(Arrays.asList(ObjectUtils.ensureObject(filters, "Must have filters")));
+    }
+
+    /**
+     * Return a filter accepting when any one of <code>filters</code> does.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param filters the filters, in their initial evaluation order.
+     *
+     * @return the compiled filter - accepts nothing if <code>filters</code> is empty.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is or contains null.
+     */
+    public static <T, V> CompiledFilter<T, V> any(final Iterable<? extends Filter<? super T, ? super V>> filters) {
+        return compile(CompiledFilter.Mode.ANY, filters);
+    }
+
+    /**
+     * Return a filter accepting when any one of <code>filters</code> does.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param filters the filters, in their initial evaluation order.
+     *
+     * @return the compiled filter - accepts nothing if <code>filters</code> is empty.
+     *
+     * @throws IllegalArgumentException if <code>filters</code> is or contains null.
+     */
+    @SafeVarargs
+    @SuppressWarnings("varargs")
+    public static <T, V> CompiledFilter<T, V> any(final Filter<? super T, ? super V>... filters) {
+        return any(Arrays.asList(ObjectUtils.ensureObject(filters, "Must have filters")));
+    }
+
+    /**
+     * Return a filter accepting when both <code>first</code> and <code>second</code> do.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param first the first filter.
+     * @param second the second filter.
+     *
+     * @return the compiled filter.
+     *
+     * @throws IllegalArgumentException if <code>first</code> or <code>second</code> is null.
+     */
+    public static <T, V> CompiledFilter<T, V> and(final Filter<? super T, ? super V> first, final Filter<? super T, ? super V> second) {
+        final List<Filter<? super T, ? super V>> filters = new ArrayList<>(2);
+
+        filters.add(first);
+        filters.add(second);
+
+        return all(filters);
+    }
+
+    /**
+     * Return a filter accepting when either <code>first</code> or <code>second</code> does.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param first the first filter.
+     * @param second the second filter.
+     *
+     * @return the compiled filter.
+     *
+     * @throws IllegalArgumentException if <code>first</code> or <code>second</code> is null.
+     */
+    public static <T, V> CompiledFilter<T, V> or(final Filter<? super T, ? super V> first, final Filter<? super T, ? super V> second) {
+        final List<Filter<? super T, ? super V>> filters = new ArrayList<>(2);
+
+        filters.add(first);
+        filters.add(second);
+
+        return any(filters);
+    }
+
+    /**
+     * Return a filter accepting when <code>filter</code> does not. Negating a negation returns the original filter.
+     *
+     * @param <T> the type being filtered.
+     * @param <V> the value applied when filtering.
+     *
+     * @param filter the filter to negate.
+     *
+     * @return the negated filter.
+     *
+     * @throws IllegalArgumentException if <code>filter</code> is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V> Filter<T, V> not(final Filter<? super T, ? super V> filter) {
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+
+        if (filter instanceof NotFilter) {
+            return (Filter<T, V>) ((NotFilter) filter).filter;
+        }
+
+        return new NotFilter<>(filter);
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private FilterUtils() {
+    }
+}
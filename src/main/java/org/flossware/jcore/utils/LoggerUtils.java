@@ -16,8 +16,15 @@
  */
 package org.flossware.jcore.utils;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.flossware.jcore.Supplier;
+import org.flossware.jcore.logging.AsyncLogPublisher;
+import org.flossware.jcore.logging.LogThrottle;
+import org.flossware.jcore.logging.MessageTemplate;
+import org.flossware.jcore.logging.OverflowPolicy;
 
 /**
  * A logger utility class that adds the ability to log and return values as well as present a var args array to log vs creating an
@@ -66,12 +73,532 @@ import java.util.logging.Logger;
  * }
  * </code>
  *
+ * All methods first check the logger is loggable at the desired level before doing any work. The fixed arity, primitive and
+ * {@link Supplier} variants go one step further: when the level is disabled they allocate nothing - no var args array is created,
+ * no primitive is boxed and no supplier is evaluated. Prefer those variants on hot paths:
+ *
+ * <code>
+ * public int size() {
+ *     LoggerUtils.log(logger, Level.FINEST, "Size [{0}]", size);
+ *
+ *     return size;
+ * }
+ * </code>
+ *
+ * Log patterns are MessageFormat style. format() renders them through a cache of pre-compiled MessageTemplates, producing the
+ * same output as MessageFormat without re-parsing the pattern each time - see TemplateFormatter to have handlers do the same.
+ *
+ * To survive error storms, logs can be throttled per call site using a LogThrottle (rate limited or sampled). When a throttled
+ * log is permitted after others were suppressed, a summary record stating the suppressed count is published just before it.
+ *
+ * Logging can optionally be made asynchronous by calling enableAsync(). Records are then enqueued into a bounded lock-free ring
+ * buffer and published to the real handlers by a background thread - see AsyncLogPublisher. Since records are formatted on the
+ * background thread, parameters should not be changed once logged.
+ *
  * @author Scot P. Floess
  */
 public class LoggerUtils {
 
     /**
-     * Performs a log using the var args <code>objs</code> as an array that can be presented to the logger.
+     * Per class logger cache. Avoids the synchronized LogManager lookup, and computing the class name, each time a logger is
+     * needed for a class.
+     */
+    private static final ClassValue<Logger> LOGGERS = new ClassValue<Logger>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected Logger computeValue(final Class<?> klass) {
+            return Logger.getLogger(klass.getName());
+        }
+    };
+
+    /**
+     * The most message templates we will cache. Patterns are expected to be constants, but should they be computed we will not
+     * grow without bound.
+     */
+    public static final int MAX_CACHED_TEMPLATES = 4096;
+
+    /**
+     * Largest string builder capacity we keep around per thread when formatting.
+     */
+    static final int MAX_REUSABLE_CAPACITY = 8192;
+
+    /**
+     * Our compiled message templates, keyed by pattern.
+     */
+    private static final ConcurrentMap<String, MessageTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * A string builder reused when formatting, and whether it is currently being formatted into. A parameter's toString() may
+     * itself call format() - that nested call must not clobber the outer message.
+     */
+    static final class FormatBuffer {
+
+        StringBuilder sb = new StringBuilder();
+        boolean isInUse;
+    }
+
+    /**
+     * Per thread format buffer.
+     */
+    private static final ThreadLocal<FormatBuffer> FORMAT_BUFFER = new ThreadLocal<FormatBuffer>() {
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected FormatBuffer initialValue() {
+            return new FormatBuffer();
+        }
+    };
+
+    /**
+     * When not null, all logs are published asynchronously through it.
+     */
+    private static volatile AsyncLogPublisher asyncLogPublisher;
+
+    /**
+     * Return the logger named after <code>klass</code>. The logger is looked up once per class and cached - subsequent calls cost
+     * no more than a field read. Cached loggers are strongly referenced for as long as <code>klass</code> is loaded, so their
+     * configuration cannot be lost to garbage collection.
+     *
+     * @param klass the class for whom we desire a logger.
+     *
+     * @return the logger named after <code>klass</code>.
+     *
+     * @throws IllegalArgumentException if <code>klass</code> is null.
+     */
+    public static Logger getLogger(final Class<?> klass) {
+        return LOGGERS.get(ObjectUtils.ensureObject(klass, "Must have a class"));
+    }
+
+    /**
+     * Return the compiled template for <code>pattern</code>. Patterns are compiled once and cached.
+     *
+     * @param pattern a MessageFormat style pattern.
+     *
+     * @return the compiled template for <code>pattern</code>.
+     *
+     * @throws IllegalArgumentException if <code>pattern</code> is null.
+     */
+    public static MessageTemplate getMessageTemplate(final String pattern) {
+        final MessageTemplate retVal = TEMPLATES.get(ObjectUtils.ensureObject(pattern, "Must have a pattern"));
+
+        if (null != retVal) {
+            return retVal;
+        }
+
+        final MessageTemplate template = MessageTemplate.compile(pattern);
+
+        if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+            return template;
+        }
+
+        final MessageTemplate existing = TEMPLATES.putIfAbsent(pattern, template);
+
+        return null == existing ? template : existing;
+    }
+
+    /**
+     * Render <code>pattern</code> using <code>params</code>, appending to <code>sb</code>. Output is identical to MessageFormat.
+     *
+     * @param sb the string builder to append to.
+     * @param pattern a MessageFormat style pattern.
+     * @param params the parameters.
+     *
+     * @return <code>sb</code>.
+     *
+     * @throws IllegalArgumentException if <code>pattern</code> is null or invalid.
+     */
+    public static StringBuilder formatTo(final StringBuilder sb, final String pattern, final Object... params) {
+        return getMessageTemplate(pattern).render(sb, params);
+    }
+
+    /**
+     * Render <code>pattern</code> using <code>params</code>. Output is identical to MessageFormat.format(), but the pattern is only
+     * parsed once and rendered into a per thread reusable string builder. Re-entrant calls (for example from a parameter's
+     * toString()) render into a fresh string builder instead.
+     *
+     * @param pattern a MessageFormat style pattern.
+     * @param params the parameters.
+     *
+     * @return the rendered string.
+     *
+     * @throws IllegalArgumentException if <code>pattern</code> is null or invalid.
+     */
+    public static String format(final String pattern, final Object... params) {
+        final FormatBuffer buffer = FORMAT_BUFFER.get();
+
+        if (buffer.isInUse) {
+            return formatTo(new StringBuilder(), pattern, params).toString();
+        }
+
+        if (buffer.sb.capacity() > MAX_REUSABLE_CAPACITY) {
+            buffer.sb = new StringBuilder();
+        }
+
+        buffer.sb.setLength(0);
+        buffer.isInUse = true;
+
+        try {
+            return formatTo(buffer.sb, pattern, params).toString();
+        } finally {
+            buffer.isInUse = false;
+        }
+    }
+
+    /**
+     * Publish a log either synchronously or, if enabled, asynchronously. Callers are expected to have already checked the level.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param params the parameters - may be null.
+     */
+    static void publish(final Logger logger, final Level level, final String str, final Object[] params) {
+        final AsyncLogPublisher publisher = asyncLogPublisher;
+
+        if (null != publisher) {
+            publisher.publish(logger, level, str, params);
+        } else if (null == params) {
+            logger.log(level, str);
+        } else {
+            logger.log(level, str, params);
+        }
+    }
+
+    /**
+     * The format of the summary record published, ahead of the next permitted log, after suppressed logs.
+     */
+    public static final String SUPPRESSED_SUMMARY = "Suppressed [{0}] logs since the last like [{1}]";
+
+    /**
+     * Acquire permission to log from <code>logThrottle</code> if <code>level</code> is enabled. If permitted and prior logs were
+     * suppressed, a summary record is published - callers then publish the permitted log, so the summary precedes it.
+     *
+     * @param logThrottle decides if the log is permitted.
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     *
+     * @return true if the log should be published or false if not.
+     */
+    static boolean acquire(final LogThrottle logThrottle, final Logger logger, final Level level, final String str) {
+        if (!isLoggable(logger, level)) {
+            return false;
+        }
+
+        final long suppressed = logThrottle.acquire();
+
+        if (suppressed > 0) {
+            publish(logger, level, SUPPRESSED_SUMMARY, new Object[]{suppressed, str});
+        }
+
+        return suppressed != LogThrottle.SUPPRESSED;
+    }
+
+    /**
+     * Performs a throttled log - only published if <code>level</code> is enabled and <code>logThrottle</code> permits.
+     *
+     * @param logThrottle decides if the log is permitted - typically one per call site.
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param objs the parameters.
+     *
+     * @return true if the log was published or false if not.
+     */
+    public static boolean logThrottled(final LogThrottle logThrottle, final Logger logger, final Level level, final String str, final Object... objs) {
+        if (!acquire(logThrottle, logger, level, str)) {
+            return false;
+        }
+
+        publish(logger, level, str, objs);
+
+        return true;
+    }
+
+    /**
+     * Performs a throttled log of a lazily computed value. The supplier is only called if the log is published, making this the
+     * one to use when the parameter is expensive to compute.
+     *
+     * @param logThrottle decides if the log is permitted - typically one per call site.
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param supplier0 supplies the 0th parameter.
+     *
+     * @return true if the log was published or false if not.
+     */
+    public static boolean logThrottled(final LogThrottle logThrottle, final Logger logger, final Level level, final String str, final Supplier<?> supplier0) {
+        if (!acquire(logThrottle, logger, level, str)) {
+            return false;
+        }
+
+        publish(logger, level, str, new Object[]{supplier0.get()});
+
+        return true;
+    }
+
+    /**
+     * Performs a throttled log of <code>thrown</code> - only published if <code>level</code> is enabled and
+     * <code>logThrottle</code> permits. Logs with a throwable are always published synchronously.
+     *
+     * @param logThrottle decides if the log is permitted - typically one per call site.
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the message.
+     * @param thrown the throwable to log.
+     *
+     * @return true if the log was published or false if not.
+     */
+    public static boolean logThrottled(final LogThrottle logThrottle, final Logger logger, final Level level, final String str, final Throwable thrown) {
+        if (!acquire(logThrottle, logger, level, str)) {
+            return false;
+        }
+
+        logger.log(level, str, thrown);
+
+        return true;
+    }
+
+    /**
+     * Start publishing logs asynchronously. If already asynchronous, the current publisher is closed and replaced.
+     *
+     * @param capacity the number of records that can be enqueued - will be rounded up to a power of two.
+     * @param overflowPolicy what to do when there is no more room to enqueue records.
+     * @param sampleRate when overflowPolicy is SAMPLE, 1 in this many overflowing records is kept.
+     *
+     * @return the publisher now in use - useful for examining dropped counts.
+     *
+     * @throws IllegalArgumentException if <code>capacity</code> or <code>sampleRate</code> is less than 1 or
+     * <code>overflowPolicy</code> is null.
+     */
+    public static synchronized AsyncLogPublisher enableAsync(final int capacity, final OverflowPolicy overflowPolicy, final int sampleRate) {
+        final AsyncLogPublisher retVal = new AsyncLogPublisher(capacity, overflowPolicy, sampleRate);
+
+        disableAsync();
+
+        asyncLogPublisher = retVal.start();
+
+        return retVal;
+    }
+
+    /**
+     * Start publishing logs asynchronously. If already asynchronous, the current publisher is closed and replaced.
+     *
+     * @param capacity the number of records that can be enqueued - will be rounded up to a power of two.
+     * @param overflowPolicy what to do when there is no more room to enqueue records.
+     *
+     * @return the publisher now in use - useful for examining dropped counts.
+     *
+     * @throws IllegalArgumentException if <code>capacity</code> is less than 1 or <code>overflowPolicy</code> is null.
+     */
+    public static AsyncLogPublisher enableAsync(final int capacity, final OverflowPolicy overflowPolicy) {
+        return enableAsync(capacity, overflowPolicy, AsyncLogPublisher.DEFAULT_SAMPLE_RATE);
+    }
+
+    /**
+     * Start publishing logs asynchronously using the default capacity, dropping the newest record on overflow.
+     *
+     * @return the publisher now in use - useful for examining dropped counts.
+     */
+    public static AsyncLogPublisher enableAsync() {
+        return enableAsync(AsyncLogPublisher.DEFAULT_CAPACITY, OverflowPolicy.DROP_NEWEST);
+    }
+
+    /**
+     * Stop publishing logs asynchronously. Any records still enqueued are published before returning.
+     */
+    public static synchronized void disableAsync() {
+        final AsyncLogPublisher publisher = asyncLogPublisher;
+
+        asyncLogPublisher = null;
+
+        if (null != publisher) {
+            publisher.close();
+        }
+    }
+
+    /**
+     * Return the asynchronous publisher in use.
+     *
+     * @return the asynchronous publisher in use or null if logging is synchronous.
+     */
+    public static AsyncLogPublisher getAsyncLogPublisher() {
+        return asyncLogPublisher;
+    }
+
+    /**
+     * Return true if logs are published asynchronously.
+     *
+     * @return true if logs are published asynchronously or false if not.
+     */
+    public static boolean isAsync() {
+        return null != asyncLogPublisher;
+    }
+
+    /**
+     * Return true if <code>logger</code> will log at <code>level</code>.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     *
+     * @return true if <code>logger</code> will log at <code>level</code> or false if not.
+     */
+    public static boolean isLoggable(final Logger logger, final Level level) {
+        return logger.isLoggable(level);
+    }
+
+    /**
+     * Performs a log of <code>str</code>.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the string to log.
+     */
+    public static void log(final Logger logger, final Level level, final String str) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, null);
+        }
+    }
+
+    /**
+     * Performs a log of one object.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{obj0});
+        }
+    }
+
+    /**
+     * Performs a log of two objects. The object array presented to the logger is only created if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     * @param obj1 the 1st parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0, final Object obj1) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{obj0, obj1});
+        }
+    }
+
+    /**
+     * Performs a log of three objects. The object array presented to the logger is only created if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0, final Object obj1, final Object obj2) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{obj0, obj1, obj2});
+        }
+    }
+
+    /**
+     * Performs a log of four objects. The object array presented to the logger is only created if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param obj0 the 0th parameter.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     * @param obj3 the 3rd parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Object obj0, final Object obj1, final Object obj2, final Object obj3) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{obj0, obj1, obj2, obj3});
+        }
+    }
+
+    /**
+     * Performs a log of a boolean. The boolean is only boxed if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param value the 0th parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final boolean value) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{value});
+        }
+    }
+
+    /**
+     * Performs a log of an int. The int is only boxed if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param value the 0th parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final int value) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{value});
+        }
+    }
+
+    /**
+     * Performs a log of a long. The long is only boxed if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param value the 0th parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final long value) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{value});
+        }
+    }
+
+    /**
+     * Performs a log of a lazily computed value. The supplier is only called if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param supplier0 supplies the 0th parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Supplier<?> supplier0) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{supplier0.get()});
+        }
+    }
+
+    /**
+     * Performs a log of two lazily computed values. The suppliers are only called if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level of the log.
+     * @param str the format string.
+     * @param supplier0 supplies the 0th parameter.
+     * @param supplier1 supplies the 1st parameter.
+     */
+    public static void log(final Logger logger, final Level level, final String str, final Supplier<?> supplier0, final Supplier<?> supplier1) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{supplier0.get(), supplier1.get()});
+        }
+    }
+
+    /**
+     * Performs a log using the var args <code>objs</code> as an array that can be presented to the logger. Please note, the var args
+     * array is created by the caller regardless of level - prefer the fixed arity versions on hot paths.
      *
      * @param logger the logger to use.
      * @param level the level of the log.
@@ -79,7 +606,9 @@ public class LoggerUtils {
      * @param objs a var arg thats converted to an object array for logging.
      */
     public static void log(final Logger logger, final Level level, final String str, final Object... objs) {
-        logger.log(level, str, objs);
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, objs);
+        }
     }
 
     /**
@@ -95,7 +624,177 @@ public class LoggerUtils {
      * @return the object logged.
      */
     public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal) {
-        logger.log(level, str, retVal);
+        log(logger, level, str, (Object) retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the value. The value is logged as the 0th parameter and <code>obj1</code> as the 1st parameter.
+     *
+     * @param <V> the type of data to return.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the object logged.
+     */
+    public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal, final Object obj1) {
+        log(logger, level, str, retVal, obj1);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the value. The value is logged as the 0th parameter, <code>obj1</code> as the 1st parameter and
+     * <code>obj2</code> as the 2nd parameter.
+     *
+     * @param <V> the type of data to return.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     *
+     * @return the object logged.
+     */
+    public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal, final Object obj1, final Object obj2) {
+        log(logger, level, str, retVal, obj1, obj2);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return the value. The value is logged as the 0th parameter, <code>obj1</code> as the 1st parameter,
+     * <code>obj2</code> as the 2nd parameter and <code>obj3</code> as the 3rd parameter.
+     *
+     * @param <V> the type of data to return.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     * @param obj2 the 2nd parameter.
+     * @param obj3 the 3rd parameter.
+     *
+     * @return the object logged.
+     */
+    public static <V> V logAndReturn(final Logger logger, final Level level, final String str, final V retVal, final Object obj1, final Object obj2, final Object obj3) {
+        log(logger, level, str, retVal, obj1, obj2, obj3);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return a boolean value. The value is only boxed if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     *
+     * @return the value logged.
+     */
+    public static boolean logAndReturn(final Logger logger, final Level level, final String str, final boolean retVal) {
+        log(logger, level, str, retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return a boolean value, logging <code>obj1</code> as the 1st parameter. The value is only boxed if the log
+     * level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the value logged.
+     */
+    public static boolean logAndReturn(final Logger logger, final Level level, final String str, final boolean retVal, final Object obj1) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{retVal, obj1});
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return an int value. The value is only boxed if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     *
+     * @return the value logged.
+     */
+    public static int logAndReturn(final Logger logger, final Level level, final String str, final int retVal) {
+        log(logger, level, str, retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return an int value, logging <code>obj1</code> as the 1st parameter. The value is only boxed if the log
+     * level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the value logged.
+     */
+    public static int logAndReturn(final Logger logger, final Level level, final String str, final int retVal, final Object obj1) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{retVal, obj1});
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Log and return a long value. The value is only boxed if the log level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     *
+     * @return the value logged.
+     */
+    public static long logAndReturn(final Logger logger, final Level level, final String str, final long retVal) {
+        log(logger, level, str, retVal);
+
+        return retVal;
+    }
+
+    /**
+     * Log and return a long value, logging <code>obj1</code> as the 1st parameter. The value is only boxed if the log
+     * level is enabled.
+     *
+     * @param logger the logger to use.
+     * @param level the level to log at.
+     * @param str the log string.
+     * @param retVal the value to return.
+     * @param obj1 the 1st parameter.
+     *
+     * @return the value logged.
+     */
+    public static long logAndReturn(final Logger logger, final Level level, final String str, final long retVal, final Object obj1) {
+        if (isLoggable(logger, level)) {
+            publish(logger, level, str, new Object[]{retVal, obj1});
+        }
 
         return retVal;
     }
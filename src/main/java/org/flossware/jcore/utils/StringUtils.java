@@ -96,7 +96,13 @@ public class StringUtils {
      * @return true if we can append a separator or false if not.
      */
     static boolean isSeparatorAppendable(final String separator, final int index, final Object... objs) {
-        return LoggerUtils.logAndReturn(getLogger(), Level.FINEST, "Is the separator appendable [{0}] for index [{1}]", null != objs && index <= (objs.length - 2) && !objs[index].toString().endsWith(separator), index);
+        final boolean retVal = null != objs && index <= (objs.length - 2) && !objs[index].toString().endsWith(separator);
+
+        if (LoggerUtils.isLoggable(getLogger(), Level.FINEST)) {
+            LoggerUtils.log(getLogger(), Level.FINEST, "Is the separator appendable [{0}] for index [{1}]", retVal, index);
+        }
+
+        return retVal;
     }
 
     /**
@@ -19,14 +19,32 @@ package org.flossware.jcore.utils.collections;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.flossware.jcore.BiFunction;
 import org.flossware.jcore.Filter;
+import org.flossware.jcore.Function;
+import org.flossware.jcore.ToDoubleFunction;
+import org.flossware.jcore.ToIntFunction;
+import org.flossware.jcore.ToLongFunction;
+import org.flossware.jcore.collections.ArraySplitter;
+import org.flossware.jcore.collections.TopKCollector;
+import org.flossware.jcore.utils.IntUtils;
 import org.flossware.jcore.utils.ObjectUtils;
 
 /**
@@ -72,6 +90,11 @@ public class CollectionUtils {
      */
     public static final String FILTER_ERROR_MSG = "Must have a filter";
 
+    /**
+     * Default number of values at or below which parallel operations work sequentially.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+
     /**
      * Ensures collection is not empty or null.
      *
@@ -246,6 +269,393 @@ public class CollectionUtils {
         return retVal;
     }
 
+    /**
+     * Ensure the collection and mode for a conversion.
+     *
+     * @param collection the collection to convert.
+     * @param mode how to convert.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> or <code>mode</code> are null.
+     */
+    static void ensureConversion(final Collection<?> collection, final CopyMode mode) {
+        ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(mode, "Must have a copy mode");
+    }
+
+    /**
+     * Turns collection into a list: an ArrayList copy sized exactly, or for VIEW an unmodifiable view if collection is a list.
+     *
+     * @param <V> the type of data to convert.
+     *
+     * @param collection the collection to convert.
+     * @param mode how to convert.
+     *
+     * @return the list.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> or <code>mode</code> are null.
+     */
+    public static <V> List<V> toList(final Collection<V> collection, final CopyMode mode) {
+        ensureConversion(collection, mode);
+
+        if (CopyMode.VIEW == mode && collection instanceof List) {
+            return Collections.unmodifiableList((List<V>) collection);
+        }
+
+        return new ArrayList<>(collection);
+    }
+
+    /**
+     * Turns collection into a new ArrayList sized exactly.
+     *
+     * @param <V> the type of data to copy.
+     *
+     * @param collection the collection to copy.
+     *
+     * @return a new list.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public static <V> List<V> toList(final Collection<V> collection) {
+        return toList(collection, CopyMode.COPY);
+    }
+
+    /**
+     * Turns collection into a set: a HashSet copy presized so it never rehashes, or for VIEW an unmodifiable view if collection is
+     * a set. Unlike asSet(), values need not be Comparable.
+     *
+     * @param <V> the type of data to convert.
+     *
+     * @param collection the collection to convert.
+     * @param mode how to convert.
+     *
+     * @return the set.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> or <code>mode</code> are null.
+     */
+    public static <V> Set<V> toSet(final Collection<V> collection, final CopyMode mode) {
+        ensureConversion(collection, mode);
+
+        if (CopyMode.VIEW == mode && collection instanceof Set) {
+            return Collections.unmodifiableSet((Set<V>) collection);
+        }
+
+        final Set<V> retVal = new HashSet<>(HashUtils.computeCapacity(collection.size(), HashUtils.DEFAULT_LOAD_FACTOR));
+
+        retVal.addAll(collection);
+
+        return retVal;
+    }
+
+    /**
+     * Turns collection into a new HashSet presized so it never rehashes.
+     *
+     * @param <V> the type of data to copy.
+     *
+     * @param collection the collection to copy.
+     *
+     * @return a new set.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public static <V> Set<V> toSet(final Collection<V> collection) {
+        return toSet(collection, CopyMode.COPY);
+    }
+
+    /**
+     * Turns collection into a sorted set: a TreeSet copy, or for VIEW an unmodifiable view if collection is a sorted set ordered
+     * by <code>comparator</code>. A SortedSet source with the same comparator is copied in linear time.
+     *
+     * @param <V> the type of data to convert.
+     *
+     * @param collection the collection to convert.
+     * @param comparator the sort order, or null for natural ordering.
+     * @param mode how to convert.
+     *
+     * @return the sorted set.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> or <code>mode</code> are null.
+     */
+    public static <V> SortedSet<V> toSortedSet(final Collection<V> collection, final Comparator<? super V> comparator, final CopyMode mode) {
+        ensureConversion(collection, mode);
+
+        if (collection instanceof SortedSet && Objects.equals(comparator, ((SortedSet<V>) collection).comparator())) {
+            return CopyMode.VIEW == mode ? Collections.unmodifiableSortedSet((SortedSet<V>) collection) : new TreeSet<>((SortedSet<V>) collection);
+        }
+
+        final SortedSet<V> retVal = new TreeSet<>(comparator);
+
+        retVal.addAll(collection);
+
+        return retVal;
+    }
+
+    /**
+     * Turns collection into a new TreeSet.
+     *
+     * @param <V> the type of data to copy.
+     *
+     * @param collection the collection to copy.
+     * @param comparator the sort order, or null for natural ordering.
+     *
+     * @return a new sorted set.
+     *
+     * @throws IllegalArgumentException if <code>collection</code> is null.
+     */
+    public static <V> SortedSet<V> toSortedSet(final Collection<V> collection, final Comparator<? super V> comparator) {
+        return toSortedSet(collection, comparator, CopyMode.COPY);
+    }
+
+    /**
+     * Take a collection and sort it, returning a new list of the sort. Copies once into an array, sorts the array (stable, like
+     * sort()) and returns a fixed size list backed by it.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param comparator will perform comparisons for sort order.
+     *
+     * @return a newly sorted, fixed size list.
+     *
+     * @throws IllegalArgumentException if <code>toSort</code> or <code>comparator</code> are null.
+     */
+    public static <V> List<V> toSortedList(final Collection<V> toSort, final Comparator<? super V> comparator) {
+        ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(comparator, COMPARATOR_ERROR_MSG);
+
+        @SuppressWarnings("unchecked")
+        final V[] retVal = (V[]) toSort.toArray();
+
+        Arrays.sort(retVal, comparator);
+
+        return Arrays.asList(retVal);
+    }
+
+    /**
+     * Return <code>values</code> rearranged into <code>order</code>, as a fixed size list.
+     *
+     * @param <V> the type sorted.
+     *
+     * @param values the values.
+     * @param order position i holds the index in <code>values</code> of the i'th value.
+     *
+     * @return a fixed size list backed by a new array.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> List<V> permute(final Object[] values, final int[] order) {
+        final Object[] retVal = new Object[values.length];
+
+        for (int index = 0; index < order.length; index++) {
+            retVal[index] = values[order[index]];
+        }
+
+        return (List<V>) Arrays.asList(retVal);
+    }
+
+    /**
+     * Take a collection and sort it by an int key, returning a new list of the sort. Each key is computed once into an array and
+     * the keys are radix sorted, so no comparisons or unboxing are done. Stable, like sort().
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param keyFunction computes the key of each value.
+     *
+     * @return a newly sorted, fixed size list in ascending key order.
+     *
+     * @throws IllegalArgumentException if <code>toSort</code> or <code>keyFunction</code> are null.
+     */
+    public static <V> List<V> sortByIntKey(final Collection<V> toSort, final ToIntFunction<? super V> keyFunction) {
+        ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(keyFunction, "Must have a key function");
+
+        final Object[] values = toSort.toArray();
+        final int[] keys = new int[values.length];
+
+        for (int index = 0; index < values.length; index++) {
+            @SuppressWarnings("unchecked")
+            final V value = (V) values[index];
+
+            keys[index] = RadixSort.toUnsigned(keyFunction.applyAsInt(value));
+        }
+
+        return permute(values, RadixSort.sort(keys));
+    }
+
+    /**
+     * Take a collection and sort it by a long key, returning a new list of the sort. Each key is computed once into an array and
+     * the keys are radix sorted, so no comparisons or unboxing are done. Stable, like sort().
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param keyFunction computes the key of each value.
+     *
+     * @return a newly sorted, fixed size list in ascending key order.
+     *
+     * @throws IllegalArgumentException if <code>toSort</code> or <code>keyFunction</code> are null.
+     */
+    public static <V> List<V> sortByLongKey(final Collection<V> toSort, final ToLongFunction<? super V> keyFunction) {
+        ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(keyFunction, "Must have a key function");
+
+        final Object[] values = toSort.toArray();
+        final long[] keys = new long[values.length];
+
+        for (int index = 0; index < values.length; index++) {
+            @SuppressWarnings("unchecked")
+            final V value = (V) values[index];
+
+            keys[index] = RadixSort.toUnsigned(keyFunction.applyAsLong(value));
+        }
+
+        return permute(values, RadixSort.sort(keys));
+    }
+
+    /**
+     * Take a collection and sort it by a double key, returning a new list of the sort. Each key is computed once into an array and
+     * the keys are radix sorted, so no comparisons or unboxing are done. Keys are ordered as Double.compare() orders them: -0.0
+     * before 0.0 and NaN last. Stable, like sort().
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param keyFunction computes the key of each value.
+     *
+     * @return a newly sorted, fixed size list in ascending key order.
+     *
+     * @throws IllegalArgumentException if <code>toSort</code> or <code>keyFunction</code> are null.
+     */
+    public static <V> List<V> sortByDoubleKey(final Collection<V> toSort, final ToDoubleFunction<? super V> keyFunction) {
+        ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(keyFunction, "Must have a key function");
+
+        final Object[] values = toSort.toArray();
+        final long[] keys = new long[values.length];
+
+        for (int index = 0; index < values.length; index++) {
+            @SuppressWarnings("unchecked")
+            final V value = (V) values[index];
+
+            keys[index] = RadixSort.toUnsigned(keyFunction.applyAsDouble(value));
+        }
+
+        return permute(values, RadixSort.sort(keys));
+    }
+
+    /**
+     * Return the first <code>k</code> values, in sort order, of <code>values</code> - exactly what sort() followed by taking the
+     * first <code>k</code> would return, but in O(n log k) time and O(k) memory. Works over any Iterable without materializing it.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param values the values to choose from - will not be affected.
+     * @param k the maximum number of values to return.
+     * @param comparator will perform comparisons for sort order.
+     *
+     * @return a new list of at most <code>k</code> values.
+     *
+     * @throws IllegalArgumentException if <code>values</code> or <code>comparator</code> are null or <code>k</code> is negative.
+     */
+    public static <V> List<V> topK(final Iterable<? extends V> values, final int k, final Comparator<? super V> comparator) {
+        return new TopKCollector<V>(k, comparator).addAll(values).toList();
+    }
+
+    /**
+     * Swap two array elements.
+     *
+     * @param values the array.
+     * @param first an index.
+     * @param second another index.
+     */
+    static void swap(final Object[] values, final int first, final int second) {
+        final Object value = values[first];
+
+        values[first] = values[second];
+        values[second] = value;
+    }
+
+    /**
+     * Rearrange <code>values</code> so its first <code>k</code> elements are the smallest, in sort order, using a quickselect with
+     * three way partitioning and random pivots, then sorting just those <code>k</code>. Expected O(n + k log k) time. Not stable.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param values the array to rearrange.
+     * @param k the number of elements to sort.
+     * @param comparator will perform comparisons for sort order.
+     */
+    static <V> void partialSortArray(final V[] values, final int k, final Comparator<? super V> comparator) {
+        final int target = Math.min(k, values.length) - 1;
+
+        int low = 0;
+        int high = values.length - 1;
+
+        while (target >= 0 && target < high && low < high) {
+            final V pivot = values[low + ThreadLocalRandom.current().nextInt(high - low + 1)];
+
+            int lessThan = low;
+            int greaterThan = high;
+            int index = low;
+
+            while (index <= greaterThan) {
+                final int result = comparator.compare(values[index], pivot);
+
+                if (result < 0) {
+                    swap(values, lessThan++, index++);
+                } else if (result > 0) {
+                    swap(values, index, greaterThan--);
+                } else {
+                    index++;
+                }
+            }
+
+            if (target < lessThan) {
+                high = lessThan - 1;
+            } else if (target > greaterThan) {
+                low = greaterThan + 1;
+            } else {
+                break;
+            }
+        }
+
+        Arrays.sort(values, 0, target + 1, comparator);
+    }
+
+    /**
+     * Rearrange <code>list</code> in place so its first <code>k</code> elements are its smallest, in sort order - the rest are left
+     * in no particular order. Expected O(n + k log k) time. Not stable.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param list the list to rearrange.
+     * @param k the number of elements to sort - may exceed the size of <code>list</code>.
+     * @param comparator will perform comparisons for sort order.
+     *
+     * @return <code>list</code>.
+     *
+     * @throws IllegalArgumentException if <code>list</code> or <code>comparator</code> are null or <code>k</code> is negative.
+     * @throws UnsupportedOperationException if <code>list</code> cannot be set.
+     */
+    public static <V> List<V> partialSort(final List<V> list, final int k, final Comparator<? super V> comparator) {
+        ObjectUtils.ensureObject(list, "Must have a list");
+        IntUtils.ensureMinInt(k, 0, "K cannot be negative");
+        ObjectUtils.ensureObject(comparator, COMPARATOR_ERROR_MSG);
+
+        @SuppressWarnings("unchecked")
+        final V[] values = (V[]) list.toArray();
+
+        partialSortArray(values, k, comparator);
+
+        final ListIterator<V> iter = list.listIterator();
+
+        for (final V value : values) {
+            iter.next();
+            iter.set(value);
+        }
+
+        return list;
+    }
+
     /**
      * Filter a collection.
      *
@@ -263,10 +673,12 @@ public class CollectionUtils {
         ensureCollection(collection, 0, COLLECTION_ERROR_MSG);
         ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
 
-        final List<T> retVal = new ArrayList(collection.size());
+        final List<T> retVal = new ArrayList<>(collection.size());
 
         for (final T toFilter : collection) {
-            addValue(retVal, toFilter, filter.accept(toFilter, value));
+            if (filter.accept(toFilter, value)) {
+                retVal.add(toFilter);
+            }
         }
 
         getLogger().log(Level.FINE, "Filtered {0}", retVal);
@@ -274,6 +686,379 @@ public class CollectionUtils {
         return retVal;
     }
 
+    /**
+     * Return the pool parallel operations use by default - shared, with one thread per processor.
+     *
+     * @return the default pool.
+     */
+    public static ForkJoinPool getDefaultForkJoinPool() {
+        return ForkJoinTasks.getDefaultPool();
+    }
+
+    /**
+     * Ensure the pool and threshold for a parallel operation.
+     *
+     * @param pool the pool.
+     * @param threshold the threshold.
+     *
+     * @throws IllegalArgumentException if <code>pool</code> is null or <code>threshold</code> is less than 1.
+     */
+    static void ensureParallel(final ForkJoinPool pool, final int threshold) {
+        ObjectUtils.ensureObject(pool, "Must have a pool");
+        IntUtils.ensureMinInt(threshold, 1, "Threshold must be at least 1");
+    }
+
+    /**
+     * Return a list to hold the result of each chunk a parallel operation splits <code>size</code> values into.
+     *
+     * @param <R> the type of result.
+     *
+     * @param size the number of values.
+     * @param threshold the maximum chunk size.
+     *
+     * @return a list of nulls, one per chunk.
+     */
+    static <R> List<R> createChunks(final int size, final int threshold) {
+        return new ArrayList<>(Collections.<R>nCopies(ForkJoinTasks.computeChunkCount(size, threshold), null));
+    }
+
+    /**
+     * Filter a collection in parallel, splitting it into chunks of at most <code>threshold</code> values. The result is identical
+     * to that of filter(): those items that satisfy the filter, in iteration order.
+     *
+     * @param <T> the type to filter upon.
+     * @param <V> the value to find.
+     *
+     * @param collection is the collection to filter.
+     * @param filter is the filter to apply - must be thread safe.
+     * @param value the value to search for.
+     * @param pool the pool to filter in.
+     * @param threshold the maximum number of values filtered sequentially.
+     *
+     * @return a list of those items in the collection that satisfy the filter.
+     *
+     * @throws IllegalArgumentException if any object is null or <code>threshold</code> is less than 1.
+     */
+    public static <T, V> List<T> parallelFilter(final Collection<T> collection, final Filter<T, V> filter, final V value, final ForkJoinPool pool, final int threshold) {
+        ObjectUtils.ensureObject(collection, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+        ensureParallel(pool, threshold);
+
+        final ArraySplitter<T> values = ArraySplitter.of(collection);
+        final int total = values.getExactSize();
+        final List<List<T>> chunks = createChunks(total, threshold);
+
+        ForkJoinTasks.forEachChunk(pool, values, threshold, new ForkJoinTasks.ChunkHandler<T>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void handle(final int chunk, final ArraySplitter<T> chunkValues) {
+                final List<T> accepted = new ArrayList<>(chunkValues.getExactSize());
+
+                while (chunkValues.hasNext()) {
+                    final T toFilter = chunkValues.next();
+
+                    if (filter.accept(toFilter, value)) {
+                        accepted.add(toFilter);
+                    }
+                }
+
+                chunks.set(chunk, accepted);
+            }
+        });
+
+        int size = 0;
+
+        for (final List<T> chunk : chunks) {
+            size += chunk.size();
+        }
+
+        final List<T> retVal = new ArrayList<>(size);
+
+        for (final List<T> chunk : chunks) {
+            retVal.addAll(chunk);
+        }
+
+        getLogger().log(Level.FINE, "Parallel filtered [{0}] of [{1}] values", new Object[]{size, total});
+
+        return retVal;
+    }
+
+    /**
+     * Filter a collection in parallel using the default pool and threshold.
+     *
+     * @param <T> the type to filter upon.
+     * @param <V> the value to find.
+     *
+     * @param collection is the collection to filter.
+     * @param filter is the filter to apply - must be thread safe.
+     * @param value the value to search for.
+     *
+     * @return a list of those items in the collection that satisfy the filter.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public static <T, V> List<T> parallelFilter(final Collection<T> collection, final Filter<T, V> filter, final V value) {
+        return parallelFilter(collection, filter, value, getDefaultForkJoinPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Sort a collection in parallel with a merge sort whose ranges of at most <code>threshold</code> values are sorted
+     * sequentially. Stable, so the result is identical to that of sort().
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param comparator will perform comparisons for sort order - must be thread safe.
+     * @param pool the pool to sort in.
+     * @param threshold the maximum number of values sorted sequentially.
+     *
+     * @return a newly sorted list.
+     *
+     * @throws IllegalArgumentException if any object is null or <code>threshold</code> is less than 1.
+     */
+    public static <V> List<V> parallelSort(final Collection<V> toSort, final Comparator<V> comparator, final ForkJoinPool pool, final int threshold) {
+        ObjectUtils.ensureObject(toSort, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(comparator, COMPARATOR_ERROR_MSG);
+        ensureParallel(pool, threshold);
+
+        @SuppressWarnings("unchecked")
+        final V[] values = (V[]) toSort.toArray();
+
+        ForkJoinTasks.sort(pool, values, comparator, threshold);
+
+        return Arrays.asList(values);
+    }
+
+    /**
+     * Sort a collection in parallel using the default pool and threshold.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param toSort the collection to sort - will not be affected.
+     * @param comparator will perform comparisons for sort order - must be thread safe.
+     *
+     * @return a newly sorted list.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public static <V> List<V> parallelSort(final Collection<V> toSort, final Comparator<V> comparator) {
+        return parallelSort(toSort, comparator, getDefaultForkJoinPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * See, in parallel, if any value of a collection meets a filter. Chunks of at most <code>threshold</code> values are searched
+     * in parallel, and all stop once any finds a match.
+     *
+     * @param <T> the type within the collection to search.
+     * @param <V> the value to search for within the collection.
+     *
+     * @param toSearch the collection to see if it contains a value.
+     * @param filter the filter to apply to each object - must be thread safe.
+     * @param value using filter, determining if it is contained in <code>toSearch</code>.
+     * @param pool the pool to search in.
+     * @param threshold the maximum number of values searched sequentially.
+     *
+     * @return true if the collection meets the filter or false if not.
+     *
+     * @throws IllegalArgumentException if any object is null or <code>threshold</code> is less than 1.
+     */
+    public static <T, V> boolean parallelContains(final Collection<T> toSearch, final Filter<T, V> filter, final V value, final ForkJoinPool pool, final int threshold) {
+        ObjectUtils.ensureObject(toSearch, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(filter, FILTER_ERROR_MSG);
+        ensureParallel(pool, threshold);
+
+        final AtomicBoolean isFound = new AtomicBoolean();
+
+        ForkJoinTasks.forEachChunk(pool, ArraySplitter.of(toSearch), threshold, new ForkJoinTasks.ChunkHandler<T>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void handle(final int chunk, final ArraySplitter<T> chunkValues) {
+                while (chunkValues.hasNext() && !isFound.get()) {
+                    if (filter.accept(chunkValues.next(), value)) {
+                        isFound.set(true);
+                    }
+                }
+            }
+        });
+
+        return isFound.get();
+    }
+
+    /**
+     * See, in parallel, if any value of a collection meets a filter using the default pool and threshold.
+     *
+     * @param <T> the type within the collection to search.
+     * @param <V> the value to search for within the collection.
+     *
+     * @param toSearch the collection to see if it contains a value.
+     * @param filter the filter to apply to each object - must be thread safe.
+     * @param value using filter, determining if it is contained in <code>toSearch</code>.
+     *
+     * @return true if the collection meets the filter or false if not.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public static <T, V> boolean parallelContains(final Collection<T> toSearch, final Filter<T, V> filter, final V value) {
+        return parallelContains(toSearch, filter, value, getDefaultForkJoinPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Reduce a collection in parallel: chunks of at most <code>threshold</code> values are each folded starting from
+     * <code>identity</code>, then the chunk results are folded in order. Identical to a sequential left fold when
+     * <code>operator</code> is associative and <code>identity</code> is its identity.
+     *
+     * @param <V> the type to reduce.
+     *
+     * @param toReduce the collection to reduce.
+     * @param identity the identity of <code>operator</code>.
+     * @param operator combines two values - must be associative and thread safe.
+     * @param pool the pool to reduce in.
+     * @param threshold the maximum number of values reduced sequentially.
+     *
+     * @return the reduction, or <code>identity</code> if empty.
+     *
+     * @throws IllegalArgumentException if any object other than <code>identity</code> is null or <code>threshold</code> is less
+     * than 1.
+     */
+    public static <V> V parallelReduce(final Collection<V> toReduce, final V identity, final BiFunction<V, V, V> operator, final ForkJoinPool pool, final int threshold) {
+        ObjectUtils.ensureObject(toReduce, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(operator, "Must have an operator");
+        ensureParallel(pool, threshold);
+
+        final ArraySplitter<V> values = ArraySplitter.of(toReduce);
+        final List<V> partials = createChunks(values.getExactSize(), threshold);
+
+        ForkJoinTasks.forEachChunk(pool, values, threshold, new ForkJoinTasks.ChunkHandler<V>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void handle(final int chunk, final ArraySplitter<V> chunkValues) {
+                V partial = identity;
+
+                while (chunkValues.hasNext()) {
+                    partial = operator.apply(partial, chunkValues.next());
+                }
+
+                partials.set(chunk, partial);
+            }
+        });
+
+        V retVal = identity;
+
+        for (final V partial : partials) {
+            retVal = operator.apply(retVal, partial);
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Reduce a collection in parallel using the default pool and threshold.
+     *
+     * @param <V> the type to reduce.
+     *
+     * @param toReduce the collection to reduce.
+     * @param identity the identity of <code>operator</code>.
+     * @param operator combines two values - must be associative and thread safe.
+     *
+     * @return the reduction, or <code>identity</code> if empty.
+     *
+     * @throws IllegalArgumentException if any object other than <code>identity</code> is null.
+     */
+    public static <V> V parallelReduce(final Collection<V> toReduce, final V identity, final BiFunction<V, V, V> operator) {
+        return parallelReduce(toReduce, identity, operator, getDefaultForkJoinPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Group a collection by key in parallel: chunks of at most <code>threshold</code> values are each grouped, then the groups are
+     * merged in order. Keys appear in the order first encountered and each group keeps iteration order, exactly as a sequential
+     * grouping would.
+     *
+     * @param <K> the key.
+     * @param <V> the type to group.
+     *
+     * @param toGroup the collection to group.
+     * @param keyFunction returns the key of each value - must be thread safe.
+     * @param pool the pool to group in.
+     * @param threshold the maximum number of values grouped sequentially.
+     *
+     * @return the groups.
+     *
+     * @throws IllegalArgumentException if any object is null or <code>threshold</code> is less than 1.
+     */
+    public static <K, V> Map<K, List<V>> parallelGroupBy(final Collection<V> toGroup, final Function<? super V, ? extends K> keyFunction, final ForkJoinPool pool, final int threshold) {
+        ObjectUtils.ensureObject(toGroup, COLLECTION_ERROR_MSG);
+        ObjectUtils.ensureObject(keyFunction, "Must have a key function");
+        ensureParallel(pool, threshold);
+
+        final ArraySplitter<V> values = ArraySplitter.of(toGroup);
+        final List<Map<K, List<V>>> chunks = createChunks(values.getExactSize(), threshold);
+
+        ForkJoinTasks.forEachChunk(pool, values, threshold, new ForkJoinTasks.ChunkHandler<V>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void handle(final int chunk, final ArraySplitter<V> chunkValues) {
+                final Map<K, List<V>> groups = new LinkedHashMap<>();
+
+                while (chunkValues.hasNext()) {
+                    final V toAdd = chunkValues.next();
+                    final K key = keyFunction.apply(toAdd);
+
+                    List<V> group = groups.get(key);
+
+                    if (null == group) {
+                        group = new ArrayList<>();
+                        groups.put(key, group);
+                    }
+
+                    group.add(toAdd);
+                }
+
+                chunks.set(chunk, groups);
+            }
+        });
+
+        final Map<K, List<V>> retVal = chunks.get(0);
+
+        for (int chunk = 1; chunk < chunks.size(); chunk++) {
+            for (final Map.Entry<K, List<V>> entry : chunks.get(chunk).entrySet()) {
+                final List<V> group = retVal.get(entry.getKey());
+
+                if (null == group) {
+                    retVal.put(entry.getKey(), entry.getValue());
+                } else {
+                    group.addAll(entry.getValue());
+                }
+            }
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Group a collection by key in parallel using the default pool and threshold.
+     *
+     * @param <K> the key.
+     * @param <V> the type to group.
+     *
+     * @param toGroup the collection to group.
+     * @param keyFunction returns the key of each value - must be thread safe.
+     *
+     * @return the groups.
+     *
+     * @throws IllegalArgumentException if any object is null.
+     */
+    public static <K, V> Map<K, List<V>> parallelGroupBy(final Collection<V> toGroup, final Function<? super V, ? extends K> keyFunction) {
+        return parallelGroupBy(toGroup, keyFunction, getDefaultForkJoinPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
     /**
      * Default constructor not allowed.
      */
@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.flossware.jcore.collections.ArraySplitter;
+
+/**
+ * Fork/join tasks behind the parallel operations of CollectionUtils.
+ *
+ * @author Scot P. Floess
+ */
+final class ForkJoinTasks {
+
+    /**
+     * Handles one chunk of values.
+     */
+    interface ChunkHandler<V> {
+
+        /**
+         * Handle a chunk.
+         *
+         * @param chunk the index of the chunk - chunks are numbered in the order of their values.
+         * @param values the values of the chunk.
+         */
+        void handle(int chunk, ArraySplitter<V> values);
+    }
+
+    /**
+     * Splits its values in half until at most a threshold remain, then hands them to a ChunkHandler. Halving keeps every chunk
+     * between half the threshold and the threshold, so no chunk is left a sliver.
+     */
+    static final class ChunkTask<V> extends RecursiveAction {
+
+        final ChunkHandler<V> handler;
+        final ArraySplitter<V> values;
+        final int threshold;
+        final int chunk;
+
+        ChunkTask(final ChunkHandler<V> handler, final ArraySplitter<V> values, final int threshold, final int chunk) {
+            this.handler = handler;
+            this.values = values;
+            this.threshold = threshold;
+            this.chunk = chunk;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (values.getExactSize() <= threshold) {
+                handler.handle(chunk, values);
+
+                return;
+            }
+
+            final ArraySplitter<V> first = values.trySplit();
+
+            invokeAll(new ChunkTask<>(handler, first, threshold, chunk), new ChunkTask<>(handler, values, threshold, chunk + computeChunkCount(first.getExactSize(), threshold)));
+        }
+    }
+
+    /**
+     * Sorts a range of an array by sorting each half in parallel and merging - stable, like Arrays.sort().
+     */
+    static final class MergeSortTask<V> extends RecursiveAction {
+
+        final V[] values;
+        final V[] buffer;
+        final int from;
+        final int to;
+        final Comparator<? super V> comparator;
+        final int threshold;
+
+        MergeSortTask(final V[] values, final V[] buffer, final int from, final int to, final Comparator<? super V> comparator, final int threshold) {
+            this.values = values;
+            this.buffer = buffer;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                Arrays.sort(values, from, to, comparator);
+
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            invokeAll(new MergeSortTask<>(values, buffer, from, middle, comparator, threshold), new MergeSortTask<>(values, buffer, middle, to, comparator, threshold));
+
+            if (comparator.compare(values[middle - 1], values[middle]) <= 0) {
+                return;
+            }
+
+            int left = from;
+            int right = middle;
+            int index = from;
+
+            while (left < middle && right < to) {
+                buffer[index++] = comparator.compare(values[left], values[right]) <= 0 ? values[left++] : values[right++];
+            }
+
+            System.arraycopy(values, left, buffer, index, middle - left);
+            System.arraycopy(values, right, buffer, index + middle - left, to - right);
+            System.arraycopy(buffer, from, values, from, to - from);
+        }
+    }
+
+    /**
+     * Our shared pool - created when first used.
+     */
+    private static final class DefaultPoolHolder {
+
+        static final ForkJoinPool DEFAULT = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Return the shared pool - Java 7 has no common pool.
+     *
+     * @return the shared pool.
+     */
+    static ForkJoinPool getDefaultPool() {
+        return DefaultPoolHolder.DEFAULT;
+    }
+
+    /**
+     * Return the number of chunks ChunkTask splits <code>size</code> values into.
+     *
+     * @param size the number of values.
+     * @param threshold the maximum chunk size.
+     *
+     * @return the number of chunks - one if <code>size</code> is at most <code>threshold</code>.
+     */
+    static int computeChunkCount(final int size, final int threshold) {
+        if (size <= threshold) {
+            return 1;
+        }
+
+        final int half = size >>> 1;
+
+        return computeChunkCount(half, threshold) + computeChunkCount(size - half, threshold);
+    }
+
+    /**
+     * Hand each chunk of <code>values</code> to <code>handler</code>, in parallel when there is more than one chunk. There is
+     * always at least one chunk, even if empty.
+     *
+     * @param <V> the type of value.
+     *
+     * @param pool the pool to run in.
+     * @param values the values to split into chunks.
+     * @param threshold the maximum chunk size.
+     * @param handler handles each chunk.
+     */
+    static <V> void forEachChunk(final ForkJoinPool pool, final ArraySplitter<V> values, final int threshold, final ChunkHandler<V> handler) {
+        if (values.getExactSize() <= threshold) {
+            handler.handle(0, values);
+        } else {
+            pool.invoke(new ChunkTask<>(handler, values, threshold, 0));
+        }
+    }
+
+    /**
+     * Sort <code>values</code> in parallel.
+     *
+     * @param <V> the type to sort.
+     *
+     * @param pool the pool to run in.
+     * @param values the values to sort.
+     * @param comparator will perform comparisons for sort order.
+     * @param threshold ranges at most this size are sorted sequentially.
+     */
+    static <V> void sort(final ForkJoinPool pool, final V[] values, final Comparator<? super V> comparator, final int threshold) {
+        if (values.length <= threshold) {
+            Arrays.sort(values, comparator);
+        } else {
+            pool.invoke(new MergeSortTask<>(values, values.clone(), 0, values.length, comparator, threshold));
+        }
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private ForkJoinTasks() {
+    }
+}
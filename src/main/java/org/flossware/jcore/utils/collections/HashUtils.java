@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import org.flossware.jcore.utils.IntUtils;
+
+/**
+ * Hashing utility class for open addressing hash tables.
+ *
+ * @author Scot P. Floess
+ */
+public class HashUtils {
+
+    /**
+     * The largest table capacity.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * The smallest table capacity.
+     */
+    public static final int MIN_CAPACITY = 4;
+
+    /**
+     * The default load factor.
+     */
+    public static final float DEFAULT_LOAD_FACTOR = 0.75f;
+
+    /**
+     * The default expected size.
+     */
+    public static final int DEFAULT_EXPECTED_SIZE = 16;
+
+    /**
+     * Scramble the bits of <code>value</code> so that consecutive or patterned values spread across a power of two table - the
+     * murmur3 finalizer.
+     *
+     * @param value the value to mix.
+     *
+     * @return the mixed value.
+     */
+    public static int mix(final int value) {
+        int retVal = value;
+
+        retVal ^= retVal >>> 16;
+        retVal *= 0x85ebca6b;
+        retVal ^= retVal >>> 13;
+        retVal *= 0xc2b2ae35;
+        retVal ^= retVal >>> 16;
+
+        return retVal;
+    }
+
+    /**
+     * Scramble the bits of <code>value</code> so that consecutive or patterned values spread across a power of two table - the
+     * murmur3 64 bit finalizer, folded to an int.
+     *
+     * @param value the value to mix.
+     *
+     * @return the mixed value.
+     */
+    public static int mix(final long value) {
+        long retVal = value;
+
+        retVal ^= retVal >>> 33;
+        retVal *= 0xff51afd7ed558ccdL;
+        retVal ^= retVal >>> 33;
+        retVal *= 0xc4ceb9fe1a85ec53L;
+        retVal ^= retVal >>> 33;
+
+        return (int) retVal;
+    }
+
+    /**
+     * Ensure <code>loadFactor</code> is greater than 0 and less than 1.
+     *
+     * @param loadFactor the load factor.
+     *
+     * @return <code>loadFactor</code>.
+     *
+     * @throws IllegalArgumentException if <code>loadFactor</code> is not greater than 0 and less than 1.
+     */
+    public static float ensureLoadFactor(final float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be greater than 0 and less than 1");
+        }
+
+        return loadFactor;
+    }
+
+    /**
+     * Compute the power of two capacity needed to hold <code>expectedSize</code> entries without exceeding
+     * <code>loadFactor</code>.
+     *
+     * @param expectedSize the number of entries expected.
+     * @param loadFactor the load factor.
+     *
+     * @return the capacity.
+     *
+     * @throws IllegalArgumentException if <code>expectedSize</code> is negative, <code>loadFactor</code> is not between 0 and 1
+     * or the capacity would exceed MAX_CAPACITY.
+     */
+    public static int computeCapacity(final int expectedSize, final float loadFactor) {
+        IntUtils.ensureMinInt(expectedSize, 0, "Expected size cannot be negative");
+        ensureLoadFactor(loadFactor);
+
+        final long needed = (long) Math.ceil(expectedSize / (double) loadFactor);
+
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Too many entries [" + expectedSize + "] for load factor [" + loadFactor + "]");
+        }
+
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) Math.max(1, needed) * 2 - 1));
+    }
+
+    /**
+     * Compute the number of entries a table of <code>capacity</code> may hold before it must grow.
+     *
+     * @param capacity the capacity of the table.
+     * @param loadFactor the load factor.
+     *
+     * @return the number of entries the table may hold - always less than <code>capacity</code>.
+     */
+    public static int computeThreshold(final int capacity, final float loadFactor) {
+        return Math.min(capacity - 1, (int) Math.ceil(capacity * loadFactor));
+    }
+
+    /**
+     * Return the capacity a full table of <code>capacity</code> should grow to.
+     *
+     * @param capacity the current capacity.
+     *
+     * @return the new capacity.
+     *
+     * @throws IllegalStateException if the table cannot grow.
+     */
+    public static int computeGrownCapacity(final int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Cannot grow beyond capacity [" + MAX_CAPACITY + "]");
+        }
+
+        return capacity << 1;
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private HashUtils() {
+    }
+}
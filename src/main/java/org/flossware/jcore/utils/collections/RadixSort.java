@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.Arrays;
+
+/**
+ * Stable least significant digit radix sorts of primitive keys, producing the order of the keys rather than moving values. Keys
+ * are sorted as unsigned - see the toUnsigned methods for mapping signed and floating point keys. Digits are 8 bits, and passes
+ * where every key has the same digit are skipped.
+ *
+ * @author Scot P. Floess
+ */
+final class RadixSort {
+
+    /**
+     * Bits per digit.
+     */
+    static final int DIGIT_BITS = 8;
+
+    /**
+     * Number of distinct digits.
+     */
+    static final int RADIX = 1 << DIGIT_BITS;
+
+    /**
+     * Mask for a digit.
+     */
+    static final int DIGIT_MASK = RADIX - 1;
+
+    /**
+     * Return <code>key</code> mapped so unsigned order matches signed order.
+     *
+     * @param key the key.
+     *
+     * @return the mapped key.
+     */
+    static int toUnsigned(final int key) {
+        return key ^ Integer.MIN_VALUE;
+    }
+
+    /**
+     * Return <code>key</code> mapped so unsigned order matches signed order.
+     *
+     * @param key the key.
+     *
+     * @return the mapped key.
+     */
+    static long toUnsigned(final long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Return <code>key</code> mapped so unsigned order matches Double.compare() - including -0.0 before 0.0, and NaN last.
+     *
+     * @param key the key.
+     *
+     * @return the mapped key.
+     */
+    static long toUnsigned(final double key) {
+        final long bits = Double.doubleToLongBits(key);
+
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Return the identity order 0 .. size - 1.
+     *
+     * @param size the size.
+     *
+     * @return the order.
+     */
+    static int[] identity(final int size) {
+        final int[] retVal = new int[size];
+
+        for (int index = 0; index < size; index++) {
+            retVal[index] = index;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Return the order that sorts <code>keys</code> as unsigned - position i holds the index of the i'th smallest key. Equal keys
+     * keep their relative order. <code>keys</code> is reordered too.
+     *
+     * @param keys the keys.
+     *
+     * @return the order.
+     */
+    static int[] sort(final int[] keys) {
+        int[] order = identity(keys.length);
+        int[] keySource = keys;
+        int[] keyTarget = new int[keys.length];
+        int[] orderTarget = new int[keys.length];
+
+        final int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+
+            for (final int key : keySource) {
+                counts[(key >>> shift) & DIGIT_MASK]++;
+            }
+
+            if (counts[(keySource.length == 0 ? 0 : keySource[0] >>> shift) & DIGIT_MASK] == keySource.length) {
+                continue;
+            }
+
+            for (int digit = 0, total = 0; digit < RADIX; digit++) {
+                final int count = counts[digit];
+
+                counts[digit] = total;
+                total += count;
+            }
+
+            for (int index = 0; index < keySource.length; index++) {
+                final int position = counts[(keySource[index] >>> shift) & DIGIT_MASK]++;
+
+                keyTarget[position] = keySource[index];
+                orderTarget[position] = order[index];
+            }
+
+            final int[] keySwap = keySource;
+            final int[] orderSwap = order;
+
+            keySource = keyTarget;
+            order = orderTarget;
+            keyTarget = keySwap;
+            orderTarget = orderSwap;
+        }
+
+        if (keySource != keys) {
+            System.arraycopy(keySource, 0, keys, 0, keys.length);
+        }
+
+        return order;
+    }
+
+    /**
+     * Return the order that sorts <code>keys</code> as unsigned - position i holds the index of the i'th smallest key. Equal keys
+     * keep their relative order. <code>keys</code> is reordered too.
+     *
+     * @param keys the keys.
+     *
+     * @return the order.
+     */
+    static int[] sort(final long[] keys) {
+        int[] order = identity(keys.length);
+        long[] keySource = keys;
+        long[] keyTarget = new long[keys.length];
+        int[] orderTarget = new int[keys.length];
+
+        final int[] counts = new int[RADIX];
+
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+
+            for (final long key : keySource) {
+                counts[(int) (key >>> shift) & DIGIT_MASK]++;
+            }
+
+            if (counts[(int) (keySource.length == 0 ? 0 : keySource[0] >>> shift) & DIGIT_MASK] == keySource.length) {
+                continue;
+            }
+
+            for (int digit = 0, total = 0; digit < RADIX; digit++) {
+                final int count = counts[digit];
+
+                counts[digit] = total;
+                total += count;
+            }
+
+            for (int index = 0; index < keySource.length; index++) {
+                final int position = counts[(int) (keySource[index] >>> shift) & DIGIT_MASK]++;
+
+                keyTarget[position] = keySource[index];
+                orderTarget[position] = order[index];
+            }
+
+            final long[] keySwap = keySource;
+            final int[] orderSwap = order;
+
+            keySource = keyTarget;
+            order = orderTarget;
+            keyTarget = keySwap;
+            orderTarget = orderSwap;
+        }
+
+        if (keySource != keys) {
+            System.arraycopy(keySource, 0, keys, 0, keys.length);
+        }
+
+        return order;
+    }
+
+    /**
+     * Default constructor not allowed.
+     */
+    private RadixSort() {
+    }
+}
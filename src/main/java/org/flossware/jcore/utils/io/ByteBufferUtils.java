@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.io;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.flossware.jcore.utils.ObjectUtils;
+
+/**
+ * ByteBuffer utility class.
+ *
+ * @author Scot P. Floess
+ */
+public class ByteBufferUtils {
+
+    /**
+     * Our logger.
+     */
+    private static final Logger logger = Logger.getLogger(ByteBufferUtils.class.getName());
+
+    /**
+     * Releases the memory of a direct buffer - found once, as the means differ between JVMs.
+     */
+    private interface Deallocator {
+
+        /**
+         * Release the memory of <code>buffer</code>.
+         *
+         * @param buffer a direct buffer.
+         *
+         * @throws Exception if any problems arise.
+         */
+        void free(ByteBuffer buffer) throws Exception;
+    }
+
+    /**
+     * How we release memory or null if we cannot.
+     */
+    private static final Deallocator DEALLOCATOR = createDeallocator();
+
+    /**
+     * Default constructor not allowed.
+     */
+    private ByteBufferUtils() {
+    }
+
+    /**
+     * Return the logger.
+     *
+     * @return the logger.
+     */
+    protected static Logger getLogger() {
+        return logger;
+    }
+
+    /**
+     * Find how this JVM releases direct buffer memory: Unsafe.invokeCleaner() on Java 9 and later, the buffer's cleaner before.
+     *
+     * @return the deallocator or null if none could be found.
+     */
+    static Deallocator createDeallocator() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+
+            theUnsafe.setAccessible(true);
+
+            final Object unsafe = theUnsafe.get(null);
+
+            return new Deallocator() {
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void free(final ByteBuffer buffer) throws Exception {
+                    invokeCleaner.invoke(unsafe, buffer);
+                }
+            };
+        } catch (final Exception exception) {
+            getLogger().log(Level.FINEST, "Unsafe.invokeCleaner() not present, will use cleaner()", exception);
+        }
+
+        try {
+            final Method cleanerMethod = ByteBuffer.allocateDirect(1).getClass().getMethod("cleaner");
+
+            cleanerMethod.setAccessible(true);
+
+            final Method cleanMethod = cleanerMethod.getReturnType().getMethod("clean");
+
+            cleanMethod.setAccessible(true);
+
+            return new Deallocator() {
+                /**
+                 * {@inheritDoc}
+                 */
+                @Override
+                public void free(final ByteBuffer buffer) throws Exception {
+                    final Object cleaner = cleanerMethod.invoke(buffer);
+
+                    if (null != cleaner) {
+                        cleanMethod.invoke(cleaner);
+                    }
+                }
+            };
+        } catch (final Exception exception) {
+            getLogger().log(Level.WARNING, "Cannot free direct buffers, their memory will be released by the garbage collector", exception);
+        }
+
+        return null;
+    }
+
+    /**
+     * Return true if direct buffers can be explicitly freed.
+     *
+     * @return true if direct buffers can be freed or false if not.
+     */
+    public static boolean isFreeSupported() {
+        return null != DEALLOCATOR;
+    }
+
+    /**
+     * Release the memory of <code>buffer</code> now rather than when it is garbage collected. Only a buffer returned from
+     * ByteBuffer.allocateDirect() or FileChannel.map() may be freed - never a slice or duplicate - and the buffer, its slices and
+     * duplicates must never be used again: doing so may crash the JVM.
+     *
+     * @param buffer the buffer to free.
+     *
+     * @return true if freed or false if <code>buffer</code> is not direct or could not be freed.
+     *
+     * @throws IllegalArgumentException if <code>buffer</code> is null.
+     */
+    public static boolean free(final ByteBuffer buffer) {
+        if (!ObjectUtils.ensureObject(buffer, "Must have a buffer").isDirect() || !isFreeSupported()) {
+            return false;
+        }
+
+        try {
+            DEALLOCATOR.free(buffer);
+
+            return true;
+        } catch (final Exception exception) {
+            getLogger().log(Level.FINE, "Could not free buffer", exception);
+
+            return false;
+        }
+    }
+}
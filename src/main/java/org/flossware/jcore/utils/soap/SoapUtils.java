@@ -30,8 +30,10 @@ import javax.xml.ws.BindingProvider;
 import javax.xml.ws.handler.Handler;
 import javax.xml.ws.handler.MessageContext;
 import javax.xml.ws.handler.soap.SOAPMessageContext;
+import org.flossware.jcore.Supplier;
 import org.flossware.jcore.io.ByteArrayOutputStreamFactory;
 import org.flossware.jcore.io.OutputStreamFactory;
+import org.flossware.jcore.logging.LogThrottle;
 import org.flossware.jcore.soap.SoapException;
 import org.flossware.jcore.utils.LoggerUtils;
 import org.flossware.jcore.utils.ObjectUtils;
@@ -71,11 +73,7 @@ public class SoapUtils {
      * @return false if val is null or the boolean representation of val.
      */
     public static boolean isRequest(final Object val) {
-        final boolean retVal = val != null && (Boolean) val;
-
-        LoggerUtils.log(getLogger(), Level.FINEST, "Is request [{0}] for val [{1}]", retVal, val);
-
-        return retVal;
+        return LoggerUtils.logAndReturn(getLogger(), Level.FINEST, "Is request [{0}] for val [{1}]", val != null && (Boolean) val, val);
     }
 
     /**
@@ -260,6 +258,30 @@ public class SoapUtils {
         logSoapMessage(logger, level, message, msgContext.getMessage());
     }
 
+    /**
+     * Log the <code>msgContext</code> if <code>logThrottle</code> permits. The SOAP message is only converted to a string when
+     * the log is published.
+     *
+     * @param logThrottle decides if the log is permitted.
+     * @param logger     for logging.
+     * @param level      the log level.
+     * @param message    the message to include in the log.
+     * @param msgContext the SOAP message context to log.
+     *
+     * @return true if logged or false if not.
+     */
+    public static boolean logSoapMessageContext(final LogThrottle logThrottle, final Logger logger, final Level level, final String message, final SOAPMessageContext msgContext) {
+        return LoggerUtils.logThrottled(logThrottle, logger, level, message, new Supplier<String>() {
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public String get() {
+                return convertToString(msgContext);
+            }
+        });
+    }
+
     /**
      * Log the <code>soapMessage</code> if the logger level is <code>level</code>.
      *
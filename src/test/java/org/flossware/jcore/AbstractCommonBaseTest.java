@@ -43,6 +43,17 @@ public class AbstractCommonBaseTest {
         Assert.assertNotNull("Should have a logger", new Stub().getLogger());
     }
 
+    /**
+     * Ensure instances of the same class share the logger named for their class.
+     */
+    @Test
+    public void test_getLogger_shared() {
+        final Stub stub = new Stub();
+
+        Assert.assertEquals("Should be named for the class", Stub.class.getName(), stub.getLogger().getName());
+        Assert.assertSame("Should share the logger", stub.getLogger(), new Stub().getLogger());
+    }
+
     /**
      * Doesn't really test anything - just ensures we can log.
      */
@@ -86,4 +97,68 @@ public class AbstractCommonBaseTest {
 
         Assert.assertSame("Should have gotten correct return value", str0, new Stub().logAndReturn(Level.SEVERE, "This is it {0} {1} {2} {3}", str0, str1, str2, str3));
     }
+
+    /**
+     * Tests we log and return the correct value from the fixed arity versions.
+     */
+    @Test
+    public void test_logAndReturn_fixedArity() {
+        final String str0 = TestUtils.generateUniqueStr("0");
+        final String str1 = TestUtils.generateUniqueStr("1");
+        final String str2 = TestUtils.generateUniqueStr("2");
+        final String str3 = TestUtils.generateUniqueStr("3");
+
+        final Stub stub = new Stub();
+
+        Assert.assertSame("Should have gotten correct return value", str0, stub.logAndReturn(Level.SEVERE, "This is it {0} {1}", str0, str1));
+        Assert.assertSame("Should have gotten correct return value", str0, stub.logAndReturn(Level.SEVERE, "This is it {0} {1} {2}", str0, str1, str2));
+        Assert.assertSame("Should have gotten correct return value", str0, stub.logAndReturn(Level.SEVERE, "This is it {0} {1} {2} {3}", str0, str1, str2, str3));
+    }
+
+    /**
+     * Tests we log and return the correct primitive values.
+     */
+    @Test
+    public void test_logAndReturn_primitives() {
+        final Stub stub = new Stub();
+
+        Assert.assertTrue("Should have gotten correct return value", stub.logAndReturn(Level.SEVERE, "This is it {0}", true));
+        Assert.assertFalse("Should have gotten correct return value", stub.logAndReturn(Level.SEVERE, "This is it {0} {1}", false, "1"));
+        Assert.assertEquals("Should have gotten correct return value", 5, stub.logAndReturn(Level.SEVERE, "This is it {0}", 5));
+        Assert.assertEquals("Should have gotten correct return value", 6, stub.logAndReturn(Level.SEVERE, "This is it {0} {1}", 6, "1"));
+        Assert.assertEquals("Should have gotten correct return value", 7L, stub.logAndReturn(Level.SEVERE, "This is it {0}", 7L));
+        Assert.assertEquals("Should have gotten correct return value", 8L, stub.logAndReturn(Level.SEVERE, "This is it {0} {1}", 8L, "1"));
+    }
+
+    /**
+     * Tests a supplier is only called if the level is loggable.
+     */
+    @Test
+    public void test_log_supplier() {
+        final Stub stub = new Stub();
+        final int[] count = new int[1];
+
+        final Supplier<String> supplier = new Supplier<String>() {
+            @Override
+            public String get() {
+                count[0]++;
+
+                return "supplied";
+            }
+        };
+
+        stub.getLogger().setLevel(Level.INFO);
+
+        try {
+            Assert.assertFalse("Should not be loggable", stub.isLoggable(Level.FINEST));
+
+            stub.log(Level.FINEST, "This is it {0}", supplier);
+            Assert.assertEquals("Should not have been called", 0, count[0]);
+
+            stub.log(Level.SEVERE, "This is it {0} {1}", supplier, supplier);
+            Assert.assertEquals("Should have been called", 2, count[0]);
+        } finally {
+            stub.getLogger().setLevel(null);
+        }
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the CompiledFilter class.
+ *
+ * @author Scot P. Floess
+ */
+public class CompiledFilterTest {
+
+    /**
+     * Accepts values divisible by its divisor, counting each evaluation.
+     */
+    static final class DivisibleBy implements Filter<Integer, Object> {
+
+        final int divisor;
+        int count;
+
+        DivisibleBy(final int divisor) {
+            this.divisor = divisor;
+        }
+
+        @Override
+        public boolean accept(final Integer toFilter, final Object value) {
+            count++;
+
+            return toFilter % divisor == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "DivisibleBy" + divisor;
+        }
+    }
+
+    static List<DivisibleBy> divisibleBy(final int... divisors) {
+        final List<DivisibleBy> retVal = new ArrayList<>();
+
+        for (final int divisor : divisors) {
+            retVal.add(new DivisibleBy(divisor));
+        }
+
+        return retVal;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_nullMode() {
+        new CompiledFilter<>(null, divisibleBy(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_nullFilters() {
+        new CompiledFilter<Integer, Object>(CompiledFilter.Mode.ALL, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_nullFilter() {
+        new CompiledFilter<Integer, Object>(CompiledFilter.Mode.ALL, Arrays.asList(new DivisibleBy(2), null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_construct_badInterval() {
+        new CompiledFilter<>(CompiledFilter.Mode.ALL, divisibleBy(2), 0);
+    }
+
+    @Test
+    public void test_construct() {
+        final List<DivisibleBy> filters = divisibleBy(2, 3);
+        final CompiledFilter<Integer, Object> filter = new CompiledFilter<>(CompiledFilter.Mode.ANY, filters);
+
+        Assert.assertEquals("Should be correct mode", CompiledFilter.Mode.ANY, filter.getMode());
+        Assert.assertEquals("Should be default interval", CompiledFilter.DEFAULT_REORDER_INTERVAL, filter.getReorderInterval());
+        Assert.assertEquals("Should be correct filters", filters, filter.getFilters());
+        Assert.assertEquals("Should be correct string", "ANY[DivisibleBy2, DivisibleBy3]", filter.toString());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_getFilters_unmodifiable() {
+        new CompiledFilter<>(CompiledFilter.Mode.ALL, divisibleBy(2)).getFilters().clear();
+    }
+
+    @Test
+    public void test_accept_empty() {
+        final List<DivisibleBy> none = Collections.emptyList();
+
+        Assert.assertTrue("Should accept", new CompiledFilter<>(CompiledFilter.Mode.ALL, none).accept(1, null));
+        Assert.assertFalse("Should not accept", new CompiledFilter<>(CompiledFilter.Mode.ANY, none).accept(1, null));
+    }
+
+    @Test
+    public void test_accept_all() {
+        final CompiledFilter<Integer, Object> filter = new CompiledFilter<>(CompiledFilter.Mode.ALL, divisibleBy(2, 3, 5), 16);
+
+        for (int value = 0; value < 10000; value++) {
+            Assert.assertEquals("Should be correct result", value % 30 == 0, filter.accept(value, null));
+        }
+    }
+
+    @Test
+    public void test_accept_any() {
+        final CompiledFilter<Integer, Object> filter = new CompiledFilter<>(CompiledFilter.Mode.ANY, divisibleBy(2, 3, 5), 16);
+
+        for (int value = 0; value < 10000; value++) {
+            Assert.assertEquals("Should be correct result", value % 2 == 0 || value % 3 == 0 || value % 5 == 0, filter.accept(value, null));
+        }
+    }
+
+    @Test
+    public void test_reorder_all() {
+        final List<DivisibleBy> filters = divisibleBy(1, 2, 97);
+        final CompiledFilter<Integer, Object> filter = new CompiledFilter<>(CompiledFilter.Mode.ALL, filters, 100);
+
+        for (int value = 1; value <= 100; value++) {
+            filter.accept(value, null);
+        }
+
+        Assert.assertEquals("Should be reordered", Arrays.asList(filters.get(2), filters.get(1), filters.get(0)), filter.getFilters());
+
+        final int before = filters.get(0).count;
+
+        for (int value = 1; value <= 100; value++) {
+            filter.accept(value * 101, null);
+        }
+
+        Assert.assertTrue("Should rarely evaluate the clause that always accepts", filters.get(0).count - before < 5);
+    }
+
+    @Test
+    public void test_reorder_any() {
+        final List<DivisibleBy> filters = divisibleBy(97, 7, 1);
+        final CompiledFilter<Integer, Object> filter = new CompiledFilter<>(CompiledFilter.Mode.ANY, filters, 64);
+
+        for (int value = 1; value <= 640; value++) {
+            filter.accept(value, null);
+        }
+
+        Assert.assertEquals("Should try the clause that always accepts first", filters.get(2), filter.getFilters().get(0));
+    }
+
+    @Test
+    public void test_reorder_keepsOrderWithoutStatistics() {
+        final List<DivisibleBy> filters = divisibleBy(2, 3, 5);
+        final CompiledFilter<Integer, Object> filter = new CompiledFilter<>(CompiledFilter.Mode.ALL, filters);
+
+        filter.reorder();
+
+        Assert.assertEquals("Should keep order", filters, filter.getFilters());
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the KeyFilter class.
+ *
+ * @author Scot P. Floess
+ */
+public class KeyFilterTest {
+
+    /**
+     * Keys strings by their length, or null for the empty string.
+     */
+    static final KeyFilter<String, Integer> LENGTH = new KeyFilter<String, Integer>() {
+        @Override
+        public Integer getKey(final String toFilter) {
+            return toFilter.isEmpty() ? null : toFilter.length();
+        }
+    };
+
+    @Test
+    public void test_accept() {
+        Assert.assertTrue("Should accept", LENGTH.accept("abc", 3));
+        Assert.assertFalse("Should not accept", LENGTH.accept("abc", 2));
+        Assert.assertFalse("Should not accept", LENGTH.accept("abc", null));
+    }
+
+    @Test
+    public void test_accept_nullKey() {
+        Assert.assertTrue("Should accept", LENGTH.accept("", null));
+        Assert.assertFalse("Should not accept", LENGTH.accept("", 0));
+    }
+}
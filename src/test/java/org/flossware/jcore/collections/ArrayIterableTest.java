@@ -60,4 +60,18 @@ public class ArrayIterableTest {
         Assert.assertTrue("Should be no more elements", set.isEmpty());
         Assert.assertEquals("Shouldbe the same number removed as in set", count, removed);
     }
+
+    /**
+     * Tests splitting.
+     */
+    @Test
+    public void test_splitter() {
+        final ArrayIterable<String> iterable = new ArrayIterable<>(new String[]{"a", "b", "c"});
+        final ArraySplitter<String> splitter = iterable.splitter();
+
+        Assert.assertEquals("Should have exact size", 3, splitter.getExactSize());
+        Assert.assertEquals("Should split off first value", "a", splitter.trySplit().next());
+        Assert.assertNotSame("Should return new splitter", splitter, iterable.splitter());
+        Assert.assertEquals("Should have exact size", 3, iterable.splitter().getExactSize());
+    }
 }
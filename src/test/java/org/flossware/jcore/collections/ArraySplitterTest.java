@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ArraySplitter class.
+ *
+ * @author Scot P. Floess
+ */
+public class ArraySplitterTest {
+
+    /**
+     * Sums values by splitting until small, as a fork/join user would.
+     */
+    static final class SumTask extends RecursiveTask<Long> {
+
+        final ArraySplitter<Integer> splitter;
+
+        SumTask(final ArraySplitter<Integer> splitter) {
+            this.splitter = splitter;
+        }
+
+        @Override
+        protected Long compute() {
+            if (splitter.getExactSize() > 100) {
+                final SumTask prefix = new SumTask(splitter.trySplit());
+
+                prefix.fork();
+
+                final long suffix = compute();
+
+                return suffix + prefix.join();
+            }
+
+            long retVal = 0;
+
+            while (splitter.hasNext()) {
+                retVal += splitter.next();
+            }
+
+            return retVal;
+        }
+    }
+
+    static <T> List<T> toList(final ArraySplitter<T> splitter) {
+        final List<T> retVal = new ArrayList<>();
+
+        while (splitter.hasNext()) {
+            retVal.add(splitter.next());
+        }
+
+        return retVal;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new ArraySplitter<>((String[]) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeFrom() {
+        new ArraySplitter<>(new String[2], -1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_toBeforeFrom() {
+        new ArraySplitter<>(new String[2], 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_toPastEnd() {
+        new ArraySplitter<>(new String[2], 0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_of_null() {
+        ArraySplitter.of(null);
+    }
+
+    @Test
+    public void test_iterate() {
+        final ArraySplitter<String> splitter = new ArraySplitter<>(new String[]{"a", "b", "c", "d"}, 1, 3);
+
+        Assert.assertEquals("Should have exact size", 2, splitter.getExactSize());
+        Assert.assertEquals("Should iterate range", Arrays.asList("b", "c"), toList(splitter));
+        Assert.assertEquals("Should have no size", 0, splitter.getExactSize());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_next_pastEnd() {
+        new ArraySplitter<>(new String[0]).next();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_remove() {
+        new ArraySplitter<>(new String[]{"a"}).remove();
+    }
+
+    @Test
+    public void test_trySplit() {
+        final ArraySplitter<Integer> splitter = new ArraySplitter<>(new Integer[]{0, 1, 2, 3, 4});
+
+        splitter.next();
+
+        final ArraySplitter<Integer> prefix = splitter.trySplit();
+
+        Assert.assertEquals("Should split off half", 2, prefix.getExactSize());
+        Assert.assertEquals("Should keep half", 2, splitter.getExactSize());
+        Assert.assertEquals("Should have first half", Arrays.asList(1, 2), toList(prefix));
+        Assert.assertEquals("Should have second half", Arrays.asList(3, 4), toList(splitter));
+        Assert.assertNull("Should not split empty", splitter.trySplit());
+        Assert.assertNull("Should not split one value", new ArraySplitter<>(new Integer[]{1}).trySplit());
+    }
+
+    @Test
+    public void test_of() {
+        final List<String> values = new ArrayList<>(Arrays.asList("a", "b"));
+        final ArraySplitter<String> splitter = ArraySplitter.of(values);
+
+        values.add("c");
+
+        Assert.assertEquals("Should iterate snapshot", Arrays.asList("a", "b"), toList(splitter));
+    }
+
+    @Test
+    public void test_forkJoin() {
+        final Integer[] values = new Integer[100000];
+
+        long expected = 0;
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = index;
+            expected += index;
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            Assert.assertEquals("Should sum all values", Long.valueOf(expected), pool.invoke(new SumTask(new ArraySplitter<>(values))));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
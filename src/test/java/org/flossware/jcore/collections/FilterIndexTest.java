@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.flossware.jcore.KeyFilter;
+import org.flossware.jcore.utils.collections.IterableUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the FilterIndex class.
+ *
+ * @author Scot P. Floess
+ */
+public class FilterIndexTest {
+
+    /**
+     * Keys integers by their value modulo 100.
+     */
+    static final KeyFilter<Integer, Integer> MOD_HUNDRED = new KeyFilter<Integer, Integer>() {
+        @Override
+        public Integer getKey(final Integer toFilter) {
+            return toFilter % 100;
+        }
+    };
+
+    /**
+     * Keys strings by their length.
+     */
+    static final KeyFilter<String, Integer> LENGTH = new KeyFilter<String, Integer>() {
+        @Override
+        public Integer getKey(final String toFilter) {
+            return toFilter.length();
+        }
+    };
+
+    /**
+     * Natural ordering of integers.
+     */
+    static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+        @Override
+        public int compare(final Integer o1, final Integer o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    static List<Integer> randomIntegers(final int size) {
+        final Random random = new Random(size);
+        final List<Integer> retVal = new ArrayList<>(size);
+
+        for (int index = 0; index < size; index++) {
+            retVal.add(random.nextInt(1000));
+        }
+
+        return retVal;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_hashed_nullValues() {
+        FilterIndex.hashed(null, MOD_HUNDRED);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_hashed_nullFilter() {
+        FilterIndex.hashed(new ArrayList<Integer>(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_sorted_nullComparator() {
+        FilterIndex.sorted(new ArrayList<Integer>(), MOD_HUNDRED, null);
+    }
+
+    @Test
+    public void test_hashed() {
+        final FilterIndex<String, Integer> index = FilterIndex.hashed(Arrays.asList("a", "bb", "cc", "ddd"), LENGTH);
+
+        Assert.assertFalse("Should not be sorted", index.isSorted());
+        Assert.assertSame("Should be correct filter", LENGTH, index.getFilter());
+        Assert.assertEquals("Should be correct size", 4, index.size());
+        Assert.assertTrue("Should contain", index.contains(2));
+        Assert.assertFalse("Should not contain", index.contains(4));
+        Assert.assertEquals("Should find first added", "bb", index.find(2));
+        Assert.assertNull("Should not find", index.find(4));
+        Assert.assertEquals("Should find all in order added", Arrays.asList("bb", "cc"), index.findAll(2));
+        Assert.assertTrue("Should find none", index.findAll(4).isEmpty());
+    }
+
+    @Test
+    public void test_matchesContains() {
+        final List<Integer> values = randomIntegers(2000);
+        final FilterIndex<Integer, Integer> hashed = FilterIndex.hashed(values, MOD_HUNDRED);
+        final FilterIndex<Integer, Integer> sorted = FilterIndex.sorted(values.subList(0, 50), MOD_HUNDRED, COMPARATOR);
+
+        for (int key = -1; key <= 100; key++) {
+            Assert.assertEquals("Should match contains()", IterableUtils.contains(values, MOD_HUNDRED, key), hashed.contains(key));
+            Assert.assertEquals("Should match contains()", IterableUtils.contains(values.subList(0, 50), MOD_HUNDRED, key), sorted.contains(key));
+        }
+    }
+
+    @Test
+    public void test_add_remove() {
+        final FilterIndex<String, Integer> index = FilterIndex.hashed(new ArrayList<String>(), LENGTH);
+
+        Assert.assertSame("Should return self", index, index.add("bb").add("cc").add("bb"));
+        Assert.assertEquals("Should be correct size", 3, index.size());
+
+        Assert.assertTrue("Should remove", index.remove("bb"));
+        Assert.assertEquals("Should remove only one", Arrays.asList("cc", "bb"), index.findAll(2));
+        Assert.assertFalse("Should not remove", index.remove("dd"));
+        Assert.assertFalse("Should not remove", index.remove("eee"));
+
+        Assert.assertTrue("Should remove", index.remove("cc"));
+        Assert.assertTrue("Should remove", index.remove("bb"));
+        Assert.assertFalse("Should not contain", index.contains(2));
+        Assert.assertEquals("Should be empty", 0, index.size());
+    }
+
+    @Test
+    public void test_refresh_clear() {
+        final FilterIndex<String, Integer> index = FilterIndex.hashed(Arrays.asList("a", "bb"), LENGTH);
+
+        index.refresh(Collections.singletonList("ccc"));
+
+        Assert.assertFalse("Should not contain", index.contains(1));
+        Assert.assertTrue("Should contain", index.contains(3));
+        Assert.assertEquals("Should be correct size", 1, index.size());
+
+        index.clear();
+
+        Assert.assertEquals("Should be empty", 0, index.size());
+        Assert.assertFalse("Should not contain", index.contains(3));
+    }
+
+    @Test
+    public void test_sorted_range() {
+        final List<Integer> values = randomIntegers(2000);
+        final FilterIndex<Integer, Integer> index = FilterIndex.sorted(values, MOD_HUNDRED, COMPARATOR);
+
+        Assert.assertTrue("Should be sorted", index.isSorted());
+
+        final List<Integer> found = index.findRange(10, 20);
+
+        int expected = 0;
+
+        for (final Integer value : values) {
+            if (value % 100 >= 10 && value % 100 < 20) {
+                expected++;
+            }
+        }
+
+        Assert.assertEquals("Should find every value in range", expected, found.size());
+
+        for (int position = 1; position < found.size(); position++) {
+            Assert.assertTrue("Should be in key order", found.get(position - 1) % 100 <= found.get(position) % 100);
+        }
+
+        Assert.assertTrue("Should contain range", index.containsRange(10, 20));
+        Assert.assertFalse("Should not contain empty range", index.containsRange(10, 10));
+        Assert.assertFalse("Should not contain range", index.containsRange(100, 200));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_hashed_range() {
+        FilterIndex.hashed(Arrays.asList(1, 2), MOD_HUNDRED).findRange(0, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_sorted_badRange() {
+        FilterIndex.sorted(Arrays.asList(1, 2), MOD_HUNDRED, COMPARATOR).containsRange(10, 0);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the TopKCollector class.
+ *
+ * @author Scot P. Floess
+ */
+public class TopKCollectorTest {
+
+    static final Comparator<Integer> NATURAL = new Comparator<Integer>() {
+        @Override
+        public int compare(final Integer first, final Integer second) {
+            return first.compareTo(second);
+        }
+    };
+
+    static final Comparator<String> BY_LENGTH = new Comparator<String>() {
+        @Override
+        public int compare(final String first, final String second) {
+            return Integer.compare(first.length(), second.length());
+        }
+    };
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeK() {
+        new TopKCollector<>(-1, NATURAL);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullComparator() {
+        new TopKCollector<Integer>(1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_addAll_null() {
+        new TopKCollector<>(1, NATURAL).addAll(null);
+    }
+
+    @Test
+    public void test_add() {
+        final TopKCollector<Integer> collector = new TopKCollector<>(3, NATURAL);
+
+        Assert.assertSame("Should return self", collector, collector.add(5).add(1).add(9).add(3).add(7));
+        Assert.assertEquals("Should keep smallest in order", Arrays.asList(1, 3, 5), collector.toList());
+        Assert.assertEquals("Should keep k values", 3, collector.size());
+        Assert.assertEquals("Should count all values", 5, collector.getCount());
+        Assert.assertEquals("Should have k", 3, collector.getK());
+
+        collector.add(0);
+
+        Assert.assertEquals("Should keep collecting after toList", Arrays.asList(0, 1, 3), collector.toList());
+    }
+
+    @Test
+    public void test_fewerThanK() {
+        Assert.assertEquals("Should keep all values", Arrays.asList(1, 2), new TopKCollector<>(5, NATURAL).add(2).add(1).toList());
+    }
+
+    @Test
+    public void test_zeroK() {
+        final TopKCollector<Integer> collector = new TopKCollector<>(0, NATURAL).add(1);
+
+        Assert.assertTrue("Should keep nothing", collector.toList().isEmpty());
+        Assert.assertEquals("Should count value", 1, collector.getCount());
+    }
+
+    @Test
+    public void test_stable() {
+        final List<String> values = Arrays.asList("bb", "a1", "c", "a2", "dd", "a3", "e");
+
+        Assert.assertEquals("Should keep first added of equal values", Arrays.asList("c", "e", "bb", "a1"), new TopKCollector<>(4, BY_LENGTH).addAll(values).toList());
+    }
+
+    @Test
+    public void test_random() {
+        final Random random = new Random(7);
+        final List<Integer> values = new ArrayList<>();
+
+        for (int count = 0; count < 10000; count++) {
+            values.add(random.nextInt(500));
+        }
+
+        final List<Integer> sorted = new ArrayList<>(values);
+
+        Collections.sort(sorted);
+
+        Assert.assertEquals("Should match sorted prefix", sorted.subList(0, 50), new TopKCollector<>(50, NATURAL).addAll(values).toList());
+    }
+
+    @Test
+    public void test_hugeK() {
+        final TopKCollector<Integer> collector = new TopKCollector<>(Integer.MAX_VALUE, NATURAL).add(3).add(1).add(2);
+
+        Assert.assertEquals("Should keep all values", Arrays.asList(1, 2, 3), collector.toList());
+        Assert.assertEquals("Should start small", TopKCollector.INITIAL_CAPACITY, collector.capacity());
+    }
+
+    @Test
+    public void test_capacity() {
+        final TopKCollector<Integer> collector = new TopKCollector<>(40, NATURAL);
+
+        for (int value = 0; value < 100; value++) {
+            collector.add(value);
+
+            Assert.assertTrue("Should hold every kept value", collector.capacity() >= collector.size());
+        }
+
+        Assert.assertEquals("Should grow no further than k", 40, collector.capacity());
+        Assert.assertEquals("Should start no larger than k", 3, new TopKCollector<>(3, NATURAL).capacity());
+    }
+
+    @Test
+    public void test_clear() {
+        final TopKCollector<Integer> collector = new TopKCollector<>(2, NATURAL).add(1).add(2);
+
+        collector.clear();
+
+        Assert.assertEquals("Should be empty", 0, collector.size());
+        Assert.assertEquals("Should reset count", 0, collector.getCount());
+        Assert.assertEquals("Should collect again", Arrays.asList(5), collector.add(5).toList());
+    }
+}
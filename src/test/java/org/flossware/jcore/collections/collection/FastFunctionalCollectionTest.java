@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.TreeSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the FastFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class FastFunctionalCollectionTest {
+
+    private FastFunctionalCollection<String> functionalCollection;
+
+    @Before
+    public void init() {
+        functionalCollection = new FastFunctionalCollection<>(new TreeSet<String>());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new FastFunctionalCollection<>(null);
+    }
+
+    @Test
+    public void test_addF() {
+        Assert.assertSame("Should return self", functionalCollection, functionalCollection.addF("9").addF("7").addF("6"));
+
+        Assert.assertEquals("Should have three elements", 3, functionalCollection.size());
+        Assert.assertTrue("Should have found the element", functionalCollection.remove("7"));
+        Assert.assertTrue("Should have found the element", functionalCollection.remove("9"));
+        Assert.assertTrue("Should have found the element", functionalCollection.remove("6"));
+        Assert.assertTrue("Should be no elements", functionalCollection.isEmpty());
+    }
+
+    @Test
+    public void test_removeF() {
+        functionalCollection.addF("9").addF("7").addF("6");
+
+        Assert.assertSame("Should return self", functionalCollection, functionalCollection.removeF("1").removeF("7").removeF("6").removeF("9"));
+        Assert.assertTrue("Should be no elements", functionalCollection.isEmpty());
+    }
+
+    @Test
+    public void test_addAllF_removeAllF() {
+        functionalCollection.addAllF(Arrays.asList("1", "2")).addAllF(Arrays.asList("3", "4"));
+        Assert.assertEquals("Should be elements", 4, functionalCollection.size());
+
+        functionalCollection.removeAllF(Arrays.asList("1", "2"));
+        Assert.assertEquals("Should be elements", 2, functionalCollection.size());
+
+        functionalCollection.removeAllF(Arrays.asList("3", "4"));
+        Assert.assertTrue("Should be no elements", functionalCollection.isEmpty());
+    }
+
+    @Test
+    public void test_delegation() {
+        functionalCollection.addF("1").addF("2").addF("3");
+
+        Assert.assertTrue("Should contain", functionalCollection.contains("2"));
+        Assert.assertFalse("Should not contain", functionalCollection.contains("4"));
+        Assert.assertTrue("Should contain all", functionalCollection.containsAll(Arrays.asList("1", "3")));
+        Assert.assertArrayEquals("Should be same array", new Object[]{"1", "2", "3"}, functionalCollection.toArray());
+        Assert.assertArrayEquals("Should be same array", new String[]{"1", "2", "3"}, functionalCollection.toArray(new String[0]));
+        Assert.assertEquals("Should be same string", "[1, 2, 3]", functionalCollection.toString());
+
+        final Iterator<String> iter = functionalCollection.iterator();
+        Assert.assertEquals("Should be first", "1", iter.next());
+
+        Assert.assertTrue("Should retain", functionalCollection.retainAll(Arrays.asList("1", "2")));
+        Assert.assertEquals("Should be retained", new ArrayList<>(Arrays.asList("1", "2")), new ArrayList<>(functionalCollection));
+        Assert.assertTrue("Should add all", functionalCollection.addAll(Arrays.asList("5")));
+        Assert.assertTrue("Should remove all", functionalCollection.removeAll(Arrays.asList("5")));
+
+        functionalCollection.clear();
+        Assert.assertTrue("Should be no elements", functionalCollection.isEmpty());
+    }
+}
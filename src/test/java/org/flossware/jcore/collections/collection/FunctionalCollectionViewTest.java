@@ -0,0 +1,266 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.flossware.jcore.Filter;
+import org.flossware.jcore.Function;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the FunctionalCollectionView class.
+ *
+ * @author Scot P. Floess
+ */
+public class FunctionalCollectionViewTest {
+
+    static final Function<Integer, Integer> SQUARE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer value) {
+            return value * value;
+        }
+    };
+
+    static final Filter<Integer, Integer> DIVISIBLE_BY = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer divisor) {
+            return toFilter % divisor == 0;
+        }
+    };
+
+    static final Function<Integer, List<Integer>> REPEAT = new Function<Integer, List<Integer>>() {
+        @Override
+        public List<Integer> apply(final Integer value) {
+            return 0 == value ? null : Collections.nCopies(value, value);
+        }
+    };
+
+    private FastFunctionalCollection<Integer> functionalCollection;
+
+    @Before
+    public void init() {
+        functionalCollection = new FastFunctionalCollection<>(new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5, 6)));
+    }
+
+    static <V> List<V> toList(final Iterable<V> iterable) {
+        final List<V> retVal = new ArrayList<>();
+
+        for (final V value : iterable) {
+            retVal.add(value);
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void test_map() {
+        final FunctionalCollection<Integer> view = FunctionalCollectionView.map(functionalCollection, SQUARE);
+
+        Assert.assertEquals("Should map values", Arrays.asList(1, 4, 9, 16, 25, 36), toList(view));
+        Assert.assertEquals("Should have source size", 6, view.size());
+    }
+
+    @Test
+    public void test_map_lazy() {
+        final AtomicInteger calls = new AtomicInteger();
+
+        final FunctionalCollection<Integer> view = FunctionalCollectionView.limit(FunctionalCollectionView.map(functionalCollection, new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(final Integer value) {
+                calls.incrementAndGet();
+
+                return value;
+            }
+        }), 2);
+
+        Assert.assertEquals("Should not call until iterated", 0, calls.get());
+        Assert.assertEquals("Should limit values", Arrays.asList(1, 2), toList(view));
+        Assert.assertEquals("Should only map values pulled", 2, calls.get());
+    }
+
+    @Test
+    public void test_filter() {
+        final FunctionalCollection<Integer> view = FunctionalCollectionView.filter(functionalCollection, DIVISIBLE_BY, 2);
+
+        Assert.assertEquals("Should filter values", Arrays.asList(2, 4, 6), toList(view));
+        Assert.assertEquals("Should count filtered values", 3, view.size());
+        Assert.assertTrue("Should contain value", view.contains(4));
+        Assert.assertFalse("Should not contain value", view.contains(3));
+        Assert.assertTrue("Should be empty", FunctionalCollectionView.filter(functionalCollection, DIVISIBLE_BY, 7).isEmpty());
+    }
+
+    @Test
+    public void test_live() {
+        final FunctionalCollection<Integer> view = FunctionalCollectionView.filter(functionalCollection, DIVISIBLE_BY, 2);
+
+        functionalCollection.addF(8);
+
+        Assert.assertEquals("Should reflect source", Arrays.asList(2, 4, 6, 8), toList(view));
+    }
+
+    @Test
+    public void test_limit() {
+        Assert.assertEquals("Should limit values", Arrays.asList(1, 2, 3), toList(FunctionalCollectionView.limit(functionalCollection, 3)));
+        Assert.assertEquals("Should limit size", 3, FunctionalCollectionView.limit(functionalCollection, 3).size());
+        Assert.assertEquals("Should allow larger limit", 6, FunctionalCollectionView.limit(functionalCollection, 100).size());
+        Assert.assertTrue("Should be empty", FunctionalCollectionView.limit(functionalCollection, 0).isEmpty());
+        Assert.assertEquals("Should count limited filter", 2, FunctionalCollectionView.limit(FunctionalCollectionView.filter(functionalCollection, DIVISIBLE_BY, 2), 2).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_limit_negative() {
+        FunctionalCollectionView.limit(functionalCollection, -1);
+    }
+
+    @Test
+    public void test_skip() {
+        Assert.assertEquals("Should skip values", Arrays.asList(5, 6), toList(FunctionalCollectionView.skip(functionalCollection, 4)));
+        Assert.assertEquals("Should skip size", 2, FunctionalCollectionView.skip(functionalCollection, 4).size());
+        Assert.assertTrue("Should be empty", FunctionalCollectionView.skip(functionalCollection, 10).isEmpty());
+        Assert.assertEquals("Should have no size", 0, FunctionalCollectionView.skip(functionalCollection, 10).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_skip_negative() {
+        FunctionalCollectionView.skip(functionalCollection, -1);
+    }
+
+    @Test
+    public void test_flatMap() {
+        final FastFunctionalCollection<Integer> source = new FastFunctionalCollection<>(new ArrayList<>(Arrays.asList(0, 2, 0, 0, 3, 0)));
+
+        Assert.assertEquals("Should flatten values", Arrays.asList(2, 2, 3, 3, 3), toList(FunctionalCollectionView.flatMap(source, REPEAT)));
+        Assert.assertTrue("Should be empty", FunctionalCollectionView.flatMap(Arrays.asList(0, 0), REPEAT).isEmpty());
+    }
+
+    @Test
+    public void test_concat() {
+        final FunctionalCollection<Integer> view = FunctionalCollectionView.concat(FunctionalCollectionView.limit(functionalCollection, 2), Arrays.asList(9, 10));
+
+        Assert.assertEquals("Should concatenate values", Arrays.asList(1, 2, 9, 10), toList(view));
+        Assert.assertEquals("Should sum sizes", 4, view.size());
+        Assert.assertEquals("Should concatenate empty", Arrays.asList(9), toList(FunctionalCollectionView.concat(FunctionalCollectionView.limit(functionalCollection, 0), Arrays.asList(9))));
+    }
+
+    @Test
+    public void test_chain() {
+        final FunctionalCollection<Integer> view = FunctionalCollectionView.limit(FunctionalCollectionView.concat(FunctionalCollectionView.map(FunctionalCollectionView.filter(FunctionalCollectionView.skip(functionalCollection, 1), DIVISIBLE_BY, 2), SQUARE), Arrays.asList(0)), 3);
+
+        Assert.assertEquals("Should apply each view", Arrays.asList(4, 16, 36), toList(view));
+    }
+
+    @Test
+    public void test_iterator() {
+        final Iterator<Integer> iter = FunctionalCollectionView.filter(functionalCollection, DIVISIBLE_BY, 6).iterator();
+
+        Assert.assertTrue("Should have value", iter.hasNext());
+        Assert.assertTrue("Should not advance on hasNext", iter.hasNext());
+        Assert.assertEquals("Should return value", Integer.valueOf(6), iter.next());
+        Assert.assertFalse("Should have no value", iter.hasNext());
+
+        try {
+            iter.next();
+
+            Assert.fail("Should have no value");
+        } catch (final NoSuchElementException noSuchElementException) {
+        }
+    }
+
+    @Test
+    public void test_nullValues() {
+        final FastFunctionalCollection<String> source = new FastFunctionalCollection<>(new ArrayList<String>());
+
+        source.addF("a").addF(null).addF("b");
+
+        Assert.assertEquals("Should keep nulls", Arrays.asList("a", null), toList(FunctionalCollectionView.limit(source, 2)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_iterator_remove() {
+        final Iterator<Integer> iter = FunctionalCollectionView.map(functionalCollection, SQUARE).iterator();
+
+        iter.next();
+        iter.remove();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_addF() {
+        FunctionalCollectionView.limit(functionalCollection, 1).addF(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_removeF() {
+        FunctionalCollectionView.limit(functionalCollection, 1).removeF(1);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_addAllF() {
+        FunctionalCollectionView.limit(functionalCollection, 1).addAllF(Arrays.asList(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_removeAllF() {
+        FunctionalCollectionView.limit(functionalCollection, 1).removeAllF(Arrays.asList(1));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_add() {
+        FunctionalCollectionView.limit(functionalCollection, 1).add(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_map_null() {
+        FunctionalCollectionView.map(functionalCollection, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_filter_null() {
+        FunctionalCollectionView.filter(functionalCollection, null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_flatMap_null() {
+        FunctionalCollectionView.flatMap(functionalCollection, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_concat_null() {
+        FunctionalCollectionView.concat(functionalCollection, null);
+    }
+
+    @Test
+    public void test_persistentVector() {
+        final PersistentFunctionalVector<Integer> vector = PersistentFunctionalVector.of(Arrays.asList(1, 2, 3));
+
+        Assert.assertEquals("Should view vector", Arrays.asList(1, 4, 9), toList(FunctionalCollectionView.map(vector, SQUARE)));
+    }
+
+    @Test
+    public void test_defaultFunctionalCollection() {
+        final DefaultFunctionalCollection<Integer> collection = new DefaultFunctionalCollection<>(new ArrayList<>(Arrays.asList(1, 2, 3)));
+
+        Assert.assertEquals("Should view collection", Arrays.asList(3), toList(FunctionalCollectionView.filter(collection, DIVISIBLE_BY, 3)));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import org.flossware.jcore.KeyFilter;
+import org.flossware.jcore.collections.FilterIndex;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the IndexedFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class IndexedFunctionalCollectionTest {
+
+    /**
+     * Keys strings by their length.
+     */
+    static final KeyFilter<String, Integer> LENGTH = new KeyFilter<String, Integer>() {
+        @Override
+        public Integer getKey(final String toFilter) {
+            return toFilter.length();
+        }
+    };
+
+    /**
+     * Keys strings by their first character.
+     */
+    static final KeyFilter<String, Character> FIRST = new KeyFilter<String, Character>() {
+        @Override
+        public Character getKey(final String toFilter) {
+            return toFilter.charAt(0);
+        }
+    };
+
+    /**
+     * Natural ordering of characters.
+     */
+    static final Comparator<Character> COMPARATOR = new Comparator<Character>() {
+        @Override
+        public int compare(final Character o1, final Character o2) {
+            return o1.compareTo(o2);
+        }
+    };
+
+    private IndexedFunctionalCollection<String> functionalCollection;
+
+    private FilterIndex<String, Integer> lengthIndex;
+
+    private FilterIndex<String, Character> firstIndex;
+
+    @Before
+    public void init() {
+        functionalCollection = new IndexedFunctionalCollection<>(new ArrayList<>(Arrays.asList("a", "bb")));
+        lengthIndex = functionalCollection.index(LENGTH);
+        firstIndex = functionalCollection.sortedIndex(FIRST, COMPARATOR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new IndexedFunctionalCollection<>(null);
+    }
+
+    @Test
+    public void test_index() {
+        Assert.assertFalse("Should be hashed", lengthIndex.isSorted());
+        Assert.assertTrue("Should be sorted", firstIndex.isSorted());
+        Assert.assertTrue("Should index existing values", lengthIndex.contains(2));
+        Assert.assertEquals("Should index existing values", "a", firstIndex.find('a'));
+    }
+
+    @Test
+    public void test_addF_removeF() {
+        functionalCollection.addF("ccc").addF("dd");
+
+        Assert.assertEquals("Should index added values", Arrays.asList("bb", "dd"), lengthIndex.findAll(2));
+        Assert.assertEquals("Should index added values", Arrays.asList("bb", "ccc"), firstIndex.findRange('b', 'd'));
+
+        functionalCollection.removeF("bb").removeF("zz");
+
+        Assert.assertEquals("Should unindex removed values", Arrays.asList("dd"), lengthIndex.findAll(2));
+        Assert.assertFalse("Should unindex removed values", firstIndex.contains('b'));
+        Assert.assertEquals("Should be correct size", 3, lengthIndex.size());
+    }
+
+    @Test
+    public void test_remove_notAValue() {
+        final Object equalToBb = new Object() {
+            @Override
+            public boolean equals(final Object o) {
+                return "bb".equals(o);
+            }
+
+            @Override
+            public int hashCode() {
+                return "bb".hashCode();
+            }
+        };
+
+        Assert.assertFalse("Should not remove", functionalCollection.remove(Integer.valueOf(2)));
+        Assert.assertTrue("Should remove the equal stored value", functionalCollection.remove(equalToBb));
+        Assert.assertEquals("Should remove from collection", Arrays.asList("a"), new ArrayList<>(functionalCollection));
+        Assert.assertFalse("Should unindex removed value", lengthIndex.contains(2));
+        Assert.assertFalse("Should unindex removed value", firstIndex.contains('b'));
+    }
+
+    @Test
+    public void test_remove_differentKey() {
+        final FilterIndex<String, Integer> identityIndex = functionalCollection.index(new KeyFilter<String, Integer>() {
+            @Override
+            public Integer getKey(final String toFilter) {
+                return System.identityHashCode(toFilter);
+            }
+        });
+
+        Assert.assertTrue("Should remove the equal stored value", functionalCollection.remove(new String("bb")));
+        Assert.assertEquals("Should unindex removed value", 1, identityIndex.size());
+        Assert.assertEquals("Should unindex removed value", "a", identityIndex.find(System.identityHashCode(functionalCollection.iterator().next())));
+        Assert.assertEquals("Should unindex removed value", 1, lengthIndex.size());
+    }
+
+    @Test
+    public void test_addAll() {
+        functionalCollection.addAllF(Arrays.asList("ccc", "dddd"));
+
+        Assert.assertTrue("Should index added values", lengthIndex.contains(4));
+        Assert.assertTrue("Should index added values", firstIndex.contains('c'));
+    }
+
+    @Test
+    public void test_removeAll_retainAll() {
+        functionalCollection.addAllF(Arrays.asList("ccc", "dddd"));
+        functionalCollection.removeAllF(Arrays.asList("a", "ccc"));
+
+        Assert.assertEquals("Should refresh", 2, lengthIndex.size());
+        Assert.assertFalse("Should refresh", lengthIndex.contains(1));
+
+        functionalCollection.retainAll(Arrays.asList("dddd"));
+
+        Assert.assertEquals("Should refresh", 1, firstIndex.size());
+        Assert.assertTrue("Should refresh", firstIndex.contains('d'));
+    }
+
+    @Test
+    public void test_iterator_remove() {
+        final Iterator<String> iterator = functionalCollection.iterator();
+
+        Assert.assertEquals("Should iterate", "a", iterator.next());
+
+        iterator.remove();
+
+        Assert.assertFalse("Should unindex removed value", lengthIndex.contains(1));
+        Assert.assertFalse("Should unindex removed value", firstIndex.contains('a'));
+        Assert.assertEquals("Should remove from collection", Arrays.asList("bb"), new ArrayList<>(functionalCollection));
+    }
+
+    @Test
+    public void test_clear() {
+        functionalCollection.clear();
+
+        Assert.assertEquals("Should clear index", 0, lengthIndex.size());
+        Assert.assertEquals("Should clear index", 0, firstIndex.size());
+    }
+
+    @Test
+    public void test_dropIndex_refresh() {
+        Assert.assertTrue("Should drop", functionalCollection.dropIndex(lengthIndex));
+        Assert.assertFalse("Should not drop", functionalCollection.dropIndex(lengthIndex));
+
+        functionalCollection.addF("ccc");
+
+        Assert.assertFalse("Should no longer be kept current", lengthIndex.contains(3));
+        Assert.assertTrue("Should be kept current", firstIndex.contains('c'));
+
+        functionalCollection.getCollection().add("eeeee");
+
+        Assert.assertFalse("Should not see direct changes", firstIndex.contains('e'));
+        Assert.assertSame("Should return self", functionalCollection, functionalCollection.refresh());
+        Assert.assertTrue("Should see direct changes after refresh", firstIndex.contains('e'));
+    }
+}
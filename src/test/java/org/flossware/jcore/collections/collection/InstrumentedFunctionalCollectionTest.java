@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.TreeSet;
+import org.flossware.jcore.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the InstrumentedFunctionalCollection class.
+ *
+ * @author Scot P. Floess
+ */
+public class InstrumentedFunctionalCollectionTest {
+
+    private InstrumentedFunctionalCollection<String> functionalCollection;
+
+    @Before
+    public void init() {
+        functionalCollection = new InstrumentedFunctionalCollection<>(new TreeSet<String>(), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new InstrumentedFunctionalCollection<>(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badSampleRate() {
+        new InstrumentedFunctionalCollection<>(new HashSet<String>(), 0);
+    }
+
+    @Test
+    public void test_constructor() {
+        final InstrumentedFunctionalCollection<String> instrumented = new InstrumentedFunctionalCollection<>(new ArrayList<>(Arrays.asList("1", "2")));
+
+        Assert.assertEquals("Should be default sample rate", InstrumentedFunctionalCollection.DEFAULT_SAMPLE_RATE, instrumented.getSampleRate());
+        Assert.assertEquals("Should start with existing size", 2, instrumented.getSizeHighWaterMark().getValue());
+    }
+
+    @Test
+    public void test_contains() {
+        functionalCollection.addF("1").addF("2");
+
+        Assert.assertTrue("Should contain", functionalCollection.contains("1"));
+        Assert.assertFalse("Should not contain", functionalCollection.contains("3"));
+        Assert.assertFalse("Should not contain", functionalCollection.contains("4"));
+
+        Assert.assertEquals("Should be correct hits", 1, functionalCollection.getHits().getCount());
+        Assert.assertEquals("Should be correct misses", 2, functionalCollection.getMisses().getCount());
+        Assert.assertEquals("Should be correct hit ratio", 1.0 / 3, functionalCollection.getHitRatio(), 0.0001);
+        Assert.assertEquals("Should have timed every lookup", 3, functionalCollection.getLookupTimer().getCount());
+    }
+
+    @Test
+    public void test_hitRatio_none() {
+        Assert.assertEquals("Should be no hit ratio", 0, functionalCollection.getHitRatio(), 0);
+    }
+
+    @Test
+    public void test_addsAndRemoves() {
+        functionalCollection.addF("1").addF("2").addF("1");
+        functionalCollection.addAllF(Arrays.asList("3", "4"));
+        functionalCollection.removeF("1").removeF("5");
+        functionalCollection.removeAllF(Arrays.asList("3", "4"));
+
+        Assert.assertEquals("Should be correct adds", 5, functionalCollection.getAdds().getCount());
+        Assert.assertEquals("Should be correct removes", 4, functionalCollection.getRemoves().getCount());
+        Assert.assertEquals("Should be largest size", 4, functionalCollection.getSizeHighWaterMark().getValue());
+        Assert.assertEquals("Should be current size", 1, functionalCollection.size());
+        Assert.assertEquals("Should have timed every add", 3, functionalCollection.getAddTimer().getCount());
+        Assert.assertEquals("Should have timed every remove", 2, functionalCollection.getRemoveTimer().getCount());
+    }
+
+    @Test
+    public void test_register() {
+        final MetricRegistry registry = new MetricRegistry();
+
+        Assert.assertSame("Should return self", functionalCollection, functionalCollection.register(registry, "test.collection"));
+
+        functionalCollection.addF("1").contains("1");
+
+        Assert.assertEquals("Should be registered", 1, registry.counter("test.collection.hits").getCount());
+        Assert.assertEquals("Should be registered", 1, registry.meter("test.collection.adds").getCount());
+        Assert.assertSame("Should be registered", functionalCollection.getAddTimer(), registry.timer("test.collection.add"));
+        Assert.assertEquals("Should be all metrics", 8, registry.getMetrics().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_register_blank() {
+        functionalCollection.register(new MetricRegistry(), null);
+    }
+}
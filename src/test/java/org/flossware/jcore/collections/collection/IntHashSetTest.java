@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.flossware.jcore.collections.IntIterator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the IntHashSet class.
+ *
+ * @author Scot P. Floess
+ */
+public class IntHashSetTest {
+
+    private IntHashSet set;
+
+    @Before
+    public void init() {
+        set = new IntHashSet();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeSize() {
+        new IntHashSet(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badLoadFactor() {
+        new IntHashSet(1, 1);
+    }
+
+    @Test
+    public void test_constructor() {
+        Assert.assertTrue("Should be empty", new IntHashSet(0).isEmpty());
+        Assert.assertEquals("Should be presized", 32, new IntHashSet(16, 0.5f).capacity());
+    }
+
+    @Test
+    public void test_addF() {
+        Assert.assertSame("Should return self", set, set.addF(9).addF(7).addF(6).addF(7));
+
+        Assert.assertEquals("Should have three elements", 3, set.size());
+        Assert.assertTrue("Should have found the element", set.remove(7));
+        Assert.assertTrue("Should have found the element", set.remove(9));
+        Assert.assertTrue("Should have found the element", set.remove(6));
+        Assert.assertFalse("Should not have found the element", set.remove(6));
+        Assert.assertTrue("Should be no elements", set.isEmpty());
+    }
+
+    @Test
+    public void test_removeF() {
+        set.addF(9).addF(7).addF(6);
+
+        Assert.assertSame("Should return self", set, set.removeF(1).removeF(7).removeF(6).removeF(9));
+        Assert.assertTrue("Should be no elements", set.isEmpty());
+    }
+
+    @Test
+    public void test_zero() {
+        Assert.assertFalse("Should not contain zero", set.contains(0));
+        Assert.assertTrue("Should add zero", set.add(0));
+        Assert.assertFalse("Should not add zero twice", set.add(0));
+        Assert.assertTrue("Should contain zero", set.contains(0));
+        Assert.assertEquals("Should have one element", 1, set.size());
+        Assert.assertArrayEquals("Should iterate zero", new int[]{0}, set.toArray());
+        Assert.assertTrue("Should remove zero", set.remove(0));
+        Assert.assertFalse("Should not remove zero twice", set.remove(0));
+        Assert.assertTrue("Should be no elements", set.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_addAllF_null() {
+        set.addAllF((int[]) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_removeAllF_null() {
+        set.removeAllF((IntHashSet) null);
+    }
+
+    @Test
+    public void test_addAllF_removeAllF() {
+        set.addAllF(1, 2).addAllF(new IntHashSet().addAllF(3, 4));
+        Assert.assertEquals("Should be elements", 4, set.size());
+        Assert.assertTrue("Should contain all", set.containsAll(1, 2, 3, 4));
+        Assert.assertFalse("Should not contain all", set.containsAll(1, 5));
+
+        set.removeAllF(1, 2);
+        Assert.assertEquals("Should be elements", 2, set.size());
+
+        set.removeAllF(new IntHashSet().addAllF(3, 4));
+        Assert.assertTrue("Should be no elements", set.isEmpty());
+    }
+
+    @Test
+    public void test_clear() {
+        set.addAllF(0, 1, 2, 3);
+        set.clear();
+
+        Assert.assertTrue("Should be no elements", set.isEmpty());
+        Assert.assertFalse("Should not contain zero", set.contains(0));
+        Assert.assertFalse("Should not contain element", set.contains(2));
+        Assert.assertFalse("Should not iterate", set.iterator().hasNext());
+    }
+
+    @Test
+    public void test_grow() {
+        final int initialCapacity = set.capacity();
+
+        for (int value = -1000; value <= 1000; value++) {
+            set.add(value);
+        }
+
+        Assert.assertTrue("Should have grown", set.capacity() > initialCapacity);
+        Assert.assertEquals("Should have all elements", 2001, set.size());
+
+        for (int value = -1000; value <= 1000; value++) {
+            Assert.assertTrue("Should contain element", set.contains(value));
+        }
+
+        Assert.assertFalse("Should not contain element", set.contains(1001));
+    }
+
+    @Test
+    public void test_against_hashSet() {
+        final Random random = new Random(42);
+        final Set<Integer> expected = new HashSet<>();
+
+        for (int count = 0; count < 20000; count++) {
+            final int value = random.nextInt(512) - 256;
+
+            if (random.nextBoolean()) {
+                Assert.assertEquals("Should match add", expected.add(value), set.add(value));
+            } else {
+                Assert.assertEquals("Should match remove", expected.remove(value), set.remove(value));
+            }
+
+            Assert.assertEquals("Should match size", expected.size(), set.size());
+        }
+
+        for (final Integer value : expected) {
+            Assert.assertTrue("Should contain element", set.contains(value));
+        }
+
+        Assert.assertEquals("Should match hash code", expected.hashCode(), set.hashCode());
+    }
+
+    @Test
+    public void test_iterator() {
+        set.addAllF(3, 0, 1, 2);
+
+        final IntIterator iter = set.iterator();
+        final int[] values = new int[4];
+
+        for (int index = 0; index < values.length; index++) {
+            Assert.assertTrue("Should have next", iter.hasNext());
+
+            values[index] = iter.nextInt();
+        }
+
+        Assert.assertFalse("Should not have next", iter.hasNext());
+
+        Arrays.sort(values);
+
+        Assert.assertArrayEquals("Should iterate all", new int[]{0, 1, 2, 3}, values);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_iterator_exhausted() {
+        set.addF(1).iterator().nextInt();
+
+        final IntIterator iter = set.iterator();
+
+        iter.nextInt();
+        iter.nextInt();
+    }
+
+    @Test
+    public void test_toArray() {
+        set.addAllF(5, 0, 6);
+
+        final int[] values = set.toArray();
+
+        Arrays.sort(values);
+
+        Assert.assertArrayEquals("Should be all elements", new int[]{0, 5, 6}, values);
+    }
+
+    @Test
+    public void test_equals_hashCode() {
+        final IntHashSet other = new IntHashSet(100).addAllF(3, 2, 1);
+
+        set.addAllF(1, 2, 3);
+
+        Assert.assertEquals("Should be equal", set, other);
+        Assert.assertEquals("Should be equal hash codes", set.hashCode(), other.hashCode());
+        Assert.assertEquals("Should match set hash code", new HashSet<>(Arrays.<Integer>asList(1, 2, 3)).hashCode(), set.hashCode());
+        Assert.assertNotEquals("Should not be equal", set, other.addF(4));
+        Assert.assertNotEquals("Should not be equal", set, other.removeF(3));
+        Assert.assertNotEquals("Should not be equal", set, "foo");
+        Assert.assertEquals("Should be equal", set, set);
+    }
+
+    @Test
+    public void test_toString() {
+        Assert.assertEquals("Should be empty", "[]", set.toString());
+        Assert.assertEquals("Should be one element", "[5]", set.addF(5).toString());
+        Assert.assertEquals("Should be two elements", "[0, 5]", set.addF(0).toString());
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the PersistentFunctionalVector class.
+ *
+ * @author Scot P. Floess
+ */
+public class PersistentFunctionalVectorTest {
+
+    /**
+     * Return a vector of 0 .. size - 1.
+     */
+    static PersistentFunctionalVector<Integer> vector(final int size) {
+        PersistentFunctionalVector<Integer> retVal = PersistentFunctionalVector.empty();
+
+        for (int value = 0; value < size; value++) {
+            retVal = retVal.addF(value);
+        }
+
+        return retVal;
+    }
+
+    @Test
+    public void test_empty() {
+        final PersistentFunctionalVector<String> vector = PersistentFunctionalVector.empty();
+
+        Assert.assertTrue("Should be empty", vector.isEmpty());
+        Assert.assertFalse("Should have no values", vector.iterator().hasNext());
+        Assert.assertSame("Should be unchanged", vector, vector.removeF("one"));
+    }
+
+    @Test
+    public void test_addF() {
+        final PersistentFunctionalVector<String> empty = PersistentFunctionalVector.empty();
+        final PersistentFunctionalVector<String> one = empty.addF("one");
+        final PersistentFunctionalVector<String> two = one.addF("two").addF("one");
+
+        Assert.assertTrue("Should leave original empty", empty.isEmpty());
+        Assert.assertEquals("Should leave prior version unchanged", Arrays.asList("one"), one);
+        Assert.assertEquals("Should keep order and duplicates", Arrays.asList("one", "two", "one"), two);
+    }
+
+    @Test
+    public void test_addF_large() {
+        final List<Integer> expected = new ArrayList<>();
+
+        for (int value = 0; value < 40000; value++) {
+            expected.add(value);
+        }
+
+        final PersistentFunctionalVector<Integer> vector = vector(expected.size());
+
+        Assert.assertEquals("Should be equal", expected, vector);
+        Assert.assertEquals("Should have same hash code", expected.hashCode(), vector.hashCode());
+        Assert.assertEquals("Should find value", Integer.valueOf(33000), vector.get(33000));
+        Assert.assertEquals("Should be three levels", 3, vector.depth());
+        Assert.assertEquals("Should keep old version", 1024, vector(1024).size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_outOfRange() {
+        vector(10).get(10);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_get_negative() {
+        vector(10).get(-1);
+    }
+
+    @Test
+    public void test_setF() {
+        final PersistentFunctionalVector<Integer> vector = vector(2000);
+        final PersistentFunctionalVector<Integer> set = vector.setF(5, -5).setF(1999, -1999);
+
+        Assert.assertEquals("Should set value in trie", Integer.valueOf(-5), set.get(5));
+        Assert.assertEquals("Should set value in tail", Integer.valueOf(-1999), set.get(1999));
+        Assert.assertEquals("Should leave prior version unchanged", Integer.valueOf(5), vector.get(5));
+        Assert.assertEquals("Should leave prior version unchanged", Integer.valueOf(1999), vector.get(1999));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_setF_outOfRange() {
+        vector(10).setF(10, 1);
+    }
+
+    @Test
+    public void test_popF() {
+        final int size = 32 * 32 + 33;
+
+        PersistentFunctionalVector<Integer> vector = vector(size);
+
+        for (int expected = size - 1; expected >= 0; expected--) {
+            Assert.assertEquals("Should have last value", Integer.valueOf(expected), vector.get(vector.size() - 1));
+
+            vector = vector.popF();
+
+            Assert.assertEquals("Should shrink", expected, vector.size());
+        }
+
+        Assert.assertSame("Should be empty vector", PersistentFunctionalVector.empty(), vector);
+        Assert.assertEquals("Should be equal after regrowth", vector(100), vector.addAllF(vector(100)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_popF_empty() {
+        PersistentFunctionalVector.empty().popF();
+    }
+
+    @Test
+    public void test_removeF() {
+        final PersistentFunctionalVector<Integer> vector = vector(100);
+
+        Assert.assertEquals("Should remove last", vector(99), vector.removeF(99));
+
+        final PersistentFunctionalVector<Integer> removed = vector.removeF(50);
+
+        Assert.assertEquals("Should remove value", 99, removed.size());
+        Assert.assertFalse("Should remove value", removed.contains(50));
+        Assert.assertEquals("Should shift later values", Integer.valueOf(51), removed.get(50));
+        Assert.assertTrue("Should leave prior version unchanged", vector.contains(50));
+        Assert.assertSame("Should be unchanged", vector, vector.removeF(1000));
+    }
+
+    @Test
+    public void test_removeAllF() {
+        final PersistentFunctionalVector<Integer> vector = vector(10);
+
+        Assert.assertEquals("Should remove values", Arrays.asList(0, 2, 4, 5, 6, 7, 8, 9), vector.removeAllF(Arrays.asList(1, 3, 42)));
+        Assert.assertSame("Should be unchanged", vector, vector.removeAllF(Arrays.asList(42)));
+    }
+
+    @Test
+    public void test_of() {
+        Assert.assertEquals("Should contain values", Arrays.asList("a", "b"), PersistentFunctionalVector.of(Arrays.asList("a", "b")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_addAllF_null() {
+        PersistentFunctionalVector.empty().addAllF(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_removeAllF_null() {
+        PersistentFunctionalVector.empty().removeAllF(null);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_add() {
+        PersistentFunctionalVector.<String>empty().add("one");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_iterator_remove() {
+        vector(1).iterator().remove();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the CacheStats class.
+ *
+ * @author Scot P. Floess
+ */
+public class CacheStatsTest {
+
+    @Test
+    public void test_getters() {
+        final CacheStats stats = new CacheStats(3, 1, 5, 7);
+
+        Assert.assertEquals("Should be hit count", 3, stats.getHitCount());
+        Assert.assertEquals("Should be miss count", 1, stats.getMissCount());
+        Assert.assertEquals("Should be request count", 4, stats.getRequestCount());
+        Assert.assertEquals("Should be eviction count", 5, stats.getEvictionCount());
+        Assert.assertEquals("Should be expiration count", 7, stats.getExpirationCount());
+        Assert.assertEquals("Should be hit rate", 0.75, stats.getHitRate(), 0);
+        Assert.assertEquals("Should be miss rate", 0.25, stats.getMissRate(), 0);
+        Assert.assertTrue("Should describe hit rate", stats.toString().contains("hitRate=0.75"));
+    }
+
+    @Test
+    public void test_noRequests() {
+        final CacheStats stats = new CacheStats(0, 0, 0, 0);
+
+        Assert.assertEquals("Should be full hit rate", 1.0, stats.getHitRate(), 0);
+        Assert.assertEquals("Should be no miss rate", 0.0, stats.getMissRate(), 0);
+    }
+}
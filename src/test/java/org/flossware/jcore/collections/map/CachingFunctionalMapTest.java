@@ -0,0 +1,356 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.flossware.jcore.concurrent.TimingWheel;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the CachingFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class CachingFunctionalMapTest {
+
+    /**
+     * A caching map whose time we control.
+     */
+    static class ManualCachingFunctionalMap<K, V> extends CachingFunctionalMap<K, V> {
+
+        long now;
+
+        ManualCachingFunctionalMap(final long maximumSize, final EvictionPolicy evictionPolicy, final long expireAfterWrite, final long expireAfterAccess, final TimingWheel timingWheel) {
+            super(maximumSize, SINGLETON_WEIGHER, evictionPolicy, expireAfterWrite, expireAfterAccess, TimeUnit.MILLISECONDS, timingWheel);
+        }
+
+        @Override
+        long nanoTime() {
+            return now;
+        }
+
+        void advance(final long millis) {
+            now += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+    }
+
+    /**
+     * Weighs entries by the length of their value.
+     */
+    static final Weigher<String, String> LENGTH_WEIGHER = new Weigher<String, String>() {
+        @Override
+        public int weigh(final String key, final String value) {
+            return value.length();
+        }
+    };
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badMaximum() {
+        new CachingFunctionalMap<>(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullPolicy() {
+        new CachingFunctionalMap<>(1, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullWeigher() {
+        new CachingFunctionalMap<>(1, null, EvictionPolicy.LRU);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeExpiration() {
+        new CachingFunctionalMap<>(1, EvictionPolicy.LRU, -1, 0, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullTimingWheel() {
+        new CachingFunctionalMap<>(1, CachingFunctionalMap.SINGLETON_WEIGHER, EvictionPolicy.LRU, 0, 0, TimeUnit.SECONDS, null);
+    }
+
+    @Test
+    public void test_constructor() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        Assert.assertEquals("Should be maximum", 10, cache.getMaximumWeight());
+        Assert.assertEquals("Should be default policy", EvictionPolicy.W_TINY_LFU, cache.getEvictionPolicy());
+        Assert.assertTrue("Should be empty", cache.isEmpty());
+    }
+
+    @Test
+    public void test_putF_get_stats() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        Assert.assertSame("Should return self", cache, cache.putF("one", "1").putF("two", "2"));
+        Assert.assertEquals("Should find value", "1", cache.get("one"));
+        Assert.assertEquals("Should find value", "2", cache.get("two"));
+        Assert.assertNull("Should not find value", cache.get("three"));
+        Assert.assertTrue("Should contain key", cache.containsKey("one"));
+        Assert.assertTrue("Should contain value", cache.containsValue("2"));
+
+        final CacheStats stats = cache.stats();
+
+        Assert.assertEquals("Should count hits", 2, stats.getHitCount());
+        Assert.assertEquals("Should count misses", 1, stats.getMissCount());
+        Assert.assertEquals("Should compute hit rate", 2.0 / 3, stats.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void test_put_replace() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        Assert.assertNull("Should be no previous value", cache.put("one", "1"));
+        Assert.assertEquals("Should be previous value", "1", cache.put("one", "uno"));
+        Assert.assertEquals("Should be replaced", "uno", cache.get("one"));
+        Assert.assertEquals("Should be one entry", 1, cache.size());
+    }
+
+    @Test
+    public void test_lru() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(3, EvictionPolicy.LRU);
+
+        cache.putF("a", "a").putF("b", "b").putF("c", "c");
+        cache.get("a");
+        cache.putF("d", "d");
+
+        Assert.assertEquals("Should be at maximum", 3, cache.size());
+        Assert.assertFalse("Should evict least recently used", cache.containsKey("b"));
+        Assert.assertTrue("Should keep recently used", cache.containsKey("a"));
+        Assert.assertEquals("Should count eviction", 1, cache.stats().getEvictionCount());
+    }
+
+    @Test
+    public void test_lfu() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(3, EvictionPolicy.LFU);
+
+        cache.putF("a", "a").putF("b", "b").putF("c", "c");
+
+        for (int count = 0; count < 5; count++) {
+            cache.get("a");
+            cache.get("b");
+        }
+
+        cache.putF("d", "d");
+
+        Assert.assertEquals("Should be at maximum", 3, cache.size());
+        Assert.assertFalse("Should evict least frequently used", cache.containsKey("c"));
+        Assert.assertTrue("Should keep frequently used", cache.containsKey("a"));
+        Assert.assertTrue("Should keep frequently used", cache.containsKey("b"));
+    }
+
+    @Test
+    public void test_wTinyLfu_scanResistance() {
+        final CachingFunctionalMap<Integer, Integer> cache = new CachingFunctionalMap<>(100);
+
+        for (int round = 0; round < 10; round++) {
+            for (int key = 0; key < 80; key++) {
+                if (null == cache.get(key)) {
+                    cache.put(key, key);
+                }
+            }
+        }
+
+        for (int key = 1000; key < 3000; key++) {
+            cache.put(key, key);
+        }
+
+        int hotKeys = 0;
+
+        for (int key = 0; key < 80; key++) {
+            if (cache.containsKey(key)) {
+                hotKeys++;
+            }
+        }
+
+        Assert.assertEquals("Should be at maximum", 100, cache.size());
+        Assert.assertTrue("Should keep hot keys despite the scan: " + hotKeys, hotKeys >= 75);
+    }
+
+    @Test
+    public void test_wTinyLfu_recency() {
+        final CachingFunctionalMap<Integer, Integer> cache = new CachingFunctionalMap<>(100);
+
+        for (int key = 0; key < 1000; key++) {
+            cache.put(key, key);
+            cache.get(key);
+            cache.get(key);
+        }
+
+        Assert.assertEquals("Should be at maximum", 100, cache.size());
+        Assert.assertTrue("Should keep the newest entry", cache.containsKey(999));
+    }
+
+    @Test
+    public void test_weigher() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10, LENGTH_WEIGHER, EvictionPolicy.LRU);
+
+        cache.putF("a", "1234").putF("b", "1234");
+
+        Assert.assertEquals("Should be weighed", 8, cache.getWeight());
+
+        cache.putF("c", "1234");
+
+        Assert.assertEquals("Should evict by weight", 8, cache.getWeight());
+        Assert.assertFalse("Should evict oldest", cache.containsKey("a"));
+
+        cache.putF("b", "1");
+
+        Assert.assertEquals("Should reweigh replaced entries", 5, cache.getWeight());
+
+        cache.putF("d", "12345678901");
+
+        Assert.assertFalse("Should evict entries heavier than the maximum", cache.containsKey("d"));
+        Assert.assertTrue("Should be within maximum", cache.getWeight() <= 10);
+    }
+
+    @Test
+    public void test_weigher_largeBound() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(1L << 40, LENGTH_WEIGHER, EvictionPolicy.W_TINY_LFU);
+        final int initialCapacity = cache.getSketchCapacity();
+
+        Assert.assertTrue("Should size the sketch by entries, not weight", initialCapacity <= CachingFunctionalMap.INITIAL_SKETCH_SIZE);
+
+        for (int count = 0; count < 10000; count++) {
+            cache.putF("key" + count, "value");
+        }
+
+        Assert.assertEquals("Should keep every entry", 10000, cache.size());
+        Assert.assertTrue("Should grow the sketch with entries", cache.getSketchCapacity() > initialCapacity);
+        Assert.assertTrue("Should not size the sketch by weight", cache.getSketchCapacity() <= 2 * 10000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_weigher_negative() {
+        new CachingFunctionalMap<String, String>(10, new Weigher<String, String>() {
+            @Override
+            public int weigh(final String key, final String value) {
+                return -1;
+            }
+        }, EvictionPolicy.LRU).put("a", "b");
+    }
+
+    @Test
+    public void test_expireAfterWrite() {
+        final ManualCachingFunctionalMap<String, String> cache = new ManualCachingFunctionalMap<>(10, EvictionPolicy.LRU, 100, 0, TimingWheel.getDefault());
+
+        cache.putF("one", "1");
+        cache.advance(99);
+
+        Assert.assertEquals("Should not have expired", "1", cache.get("one"));
+
+        cache.advance(1);
+
+        Assert.assertNull("Should have expired", cache.get("one"));
+        Assert.assertEquals("Should count expiration", 1, cache.stats().getExpirationCount());
+        Assert.assertEquals("Should count miss", 1, cache.stats().getMissCount());
+        Assert.assertTrue("Should be removed", cache.isEmpty());
+    }
+
+    @Test
+    public void test_expireAfterAccess() {
+        final ManualCachingFunctionalMap<String, String> cache = new ManualCachingFunctionalMap<>(10, EvictionPolicy.W_TINY_LFU, 0, 100, TimingWheel.getDefault());
+
+        cache.putF("one", "1").putF("two", "2");
+
+        for (int count = 0; count < 5; count++) {
+            cache.advance(60);
+
+            Assert.assertEquals("Should be extended by reads", "1", cache.get("one"));
+        }
+
+        Assert.assertFalse("Should expire unread", cache.containsKey("two"));
+        Assert.assertEquals("Should be one entry", 1, cache.size());
+    }
+
+    @Test
+    public void test_cleanUp() {
+        final ManualCachingFunctionalMap<String, String> cache = new ManualCachingFunctionalMap<>(10, EvictionPolicy.LRU, 100, 0, TimingWheel.getDefault());
+
+        cache.putF("one", "1").putF("two", "2");
+        cache.advance(100);
+        cache.cleanUp();
+
+        Assert.assertTrue("Should be empty", cache.isEmpty());
+        Assert.assertEquals("Should count expirations", 2, cache.stats().getExpirationCount());
+    }
+
+    @Test
+    public void test_timingWheel() throws InterruptedException {
+        final TimingWheel timingWheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 16);
+
+        try {
+            final ManualCachingFunctionalMap<String, String> cache = new ManualCachingFunctionalMap<>(10, EvictionPolicy.LRU, 5, 0, timingWheel);
+
+            cache.putF("one", "1");
+            cache.advance(5);
+
+            for (int count = 0; count < 500 && !cache.isEmpty(); count++) {
+                Thread.sleep(10);
+            }
+
+            Assert.assertTrue("Should be removed in the background", cache.isEmpty());
+            Assert.assertEquals("Should count expiration", 1, cache.stats().getExpirationCount());
+        } finally {
+            timingWheel.close();
+        }
+    }
+
+    @Test
+    public void test_remove_clear() {
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        cache.putF("one", "1").putF("two", "2").putF("three", "3");
+
+        Assert.assertEquals("Should be removed value", "1", cache.remove("one"));
+        Assert.assertNull("Should not find value", cache.remove("one"));
+        Assert.assertSame("Should return self", cache, cache.removeF("two"));
+        Assert.assertEquals("Should be one entry", 1, cache.size());
+
+        cache.clear();
+
+        Assert.assertTrue("Should be empty", cache.isEmpty());
+        Assert.assertEquals("Should be no weight", 0, cache.getWeight());
+    }
+
+    @Test
+    public void test_views() {
+        final Map<String, String> expected = new HashMap<>();
+
+        expected.put("one", "1");
+        expected.put("two", "2");
+
+        final CachingFunctionalMap<String, String> cache = new CachingFunctionalMap<>(10);
+
+        Assert.assertSame("Should return self", cache, cache.putAllF(expected));
+        Assert.assertEquals("Should be equal", expected, cache);
+        Assert.assertEquals("Should be equal", cache, expected);
+        Assert.assertEquals("Should be equal hash codes", expected.hashCode(), cache.hashCode());
+        Assert.assertEquals("Should be keys", expected.keySet(), cache.keySet());
+        Assert.assertTrue("Should be values", cache.values().containsAll(expected.values()));
+        Assert.assertEquals("Should be entries", expected.entrySet(), cache.entrySet());
+        Assert.assertTrue("Should describe entries", cache.toString().contains("one=1"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_views_unmodifiable() {
+        new CachingFunctionalMap<String, String>(10).putF("one", "1").keySet().clear();
+    }
+}
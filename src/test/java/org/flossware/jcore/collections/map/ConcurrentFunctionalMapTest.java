@@ -0,0 +1,199 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.flossware.jcore.BiFunction;
+import org.flossware.jcore.Function;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the ConcurrentFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class ConcurrentFunctionalMapTest {
+
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer first, final Integer second) {
+            return first + second;
+        }
+    };
+
+    static final BiFunction<Integer, Integer, Integer> REMOVE = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer first, final Integer second) {
+            return null;
+        }
+    };
+
+    private ConcurrentFunctionalMap<String, Integer> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new ConcurrentFunctionalMap<>();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new ConcurrentFunctionalMap<>((ConcurrentMap<String, String>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badConcurrencyLevel() {
+        new ConcurrentFunctionalMap<>(0);
+    }
+
+    @Test
+    public void test_constructor() {
+        final ConcurrentMap<String, Integer> map = new ConcurrentHashMap<>();
+
+        Assert.assertSame("Should be same map", map, new ConcurrentFunctionalMap<>(map).getMap());
+        Assert.assertTrue("Should be a ConcurrentHashMap", functionalMap.getMap() instanceof ConcurrentHashMap);
+    }
+
+    @Test
+    public void test_putIfAbsentF() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putIfAbsentF("one", 1).putIfAbsentF("one", 2));
+        Assert.assertEquals("Should be first value", Integer.valueOf(1), functionalMap.get("one"));
+        Assert.assertEquals("Should be current value", Integer.valueOf(1), functionalMap.putIfAbsent("one", 3));
+    }
+
+    @Test
+    public void test_replace() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.replaceF("one", 1));
+        Assert.assertFalse("Should not replace absent key", functionalMap.containsKey("one"));
+
+        functionalMap.putF("one", 1);
+
+        Assert.assertEquals("Should be previous value", Integer.valueOf(1), functionalMap.replace("one", 2));
+        Assert.assertFalse("Should not replace wrong value", functionalMap.replace("one", 1, 3));
+        Assert.assertTrue("Should replace value", functionalMap.replace("one", 2, 3));
+        Assert.assertEquals("Should be replaced value", Integer.valueOf(4), functionalMap.replaceF("one", 4).get("one"));
+        Assert.assertFalse("Should not remove wrong value", functionalMap.remove("one", 1));
+        Assert.assertTrue("Should remove value", functionalMap.remove("one", 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getOrCompute_null() {
+        functionalMap.getOrCompute("one", (Function<String, Integer>) null);
+    }
+
+    @Test
+    public void test_getOrCompute() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, Integer> length = new Function<String, Integer>() {
+            @Override
+            public Integer apply(final String value) {
+                calls.incrementAndGet();
+
+                return value.length();
+            }
+        };
+
+        Assert.assertEquals("Should compute value", Integer.valueOf(5), functionalMap.getOrCompute("hello", length));
+        Assert.assertEquals("Should return existing value", Integer.valueOf(5), functionalMap.getOrCompute("hello", length));
+        Assert.assertEquals("Should compute once", 1, calls.get());
+
+        Assert.assertNull("Should not store null", functionalMap.getOrCompute("none", new Function<String, Integer>() {
+            @Override
+            public Integer apply(final String value) {
+                return null;
+            }
+        }));
+        Assert.assertFalse("Should not store null", functionalMap.containsKey("none"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_mergeValue_nullValue() {
+        functionalMap.mergeValue("one", null, SUM);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_mergeValue_nullFunction() {
+        functionalMap.mergeValue("one", 1, (BiFunction<Integer, Integer, Integer>) null);
+    }
+
+    @Test
+    public void test_mergeValue() {
+        Assert.assertEquals("Should put absent value", Integer.valueOf(1), functionalMap.mergeValue("one", 1, SUM));
+        Assert.assertEquals("Should merge value", Integer.valueOf(3), functionalMap.mergeValue("one", 2, SUM));
+        Assert.assertNull("Should remove value", functionalMap.mergeValue("one", 2, REMOVE));
+        Assert.assertFalse("Should have removed", functionalMap.containsKey("one"));
+    }
+
+    @Test
+    public void test_mergeValue_concurrent() throws InterruptedException {
+        final Thread[] threads = new Thread[8];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    for (int count = 0; count < 10000; count++) {
+                        functionalMap.mergeValue("key" + (count & 7), 1, SUM);
+                    }
+                }
+            };
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int key = 0; key < 8; key++) {
+            Assert.assertEquals("Should count every merge", Integer.valueOf(10000), functionalMap.get("key" + key));
+        }
+    }
+
+    @Test
+    public void test_getOrCompute_concurrent() throws InterruptedException {
+        final Thread[] threads = new Thread[8];
+        final Integer[] results = new Integer[threads.length];
+
+        for (int index = 0; index < threads.length; index++) {
+            final int threadIndex = index;
+
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    results[threadIndex] = functionalMap.getOrCompute("key", new Function<String, Integer>() {
+                        @Override
+                        public Integer apply(final String value) {
+                            return new Integer(threadIndex);
+                        }
+                    });
+                }
+            };
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (final Integer result : results) {
+            Assert.assertSame("Should all see the stored value", functionalMap.get("key"), result);
+        }
+    }
+}
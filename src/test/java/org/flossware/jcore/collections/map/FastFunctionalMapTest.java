@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.TreeMap;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the FastFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class FastFunctionalMapTest {
+
+    private FastFunctionalMap<String, String> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new FastFunctionalMap<>(new TreeMap<String, String>());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new FastFunctionalMap<>(null);
+    }
+
+    @Test
+    public void test_putF() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putF("key1", "val1").putF("key2", "val2").putF("key3", "val3"));
+
+        Assert.assertEquals("Should have three elements", 3, functionalMap.size());
+        Assert.assertEquals("Should have found the element", "val2", functionalMap.remove("key2"));
+        Assert.assertEquals("Should have found the element", "val1", functionalMap.remove("key1"));
+        Assert.assertEquals("Should have found the element", "val3", functionalMap.remove("key3"));
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_removeF() {
+        functionalMap.putF("key1", "val1").putF("key2", "val2").putF("key3", "val3");
+
+        Assert.assertSame("Should return self", functionalMap, functionalMap.removeF("key1").removeF("key3").removeF("key2").removeF("9"));
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_putAllF() {
+        final TreeMap<String, String> map = new TreeMap<>();
+        map.put("key1", "val1");
+        map.put("key2", "val2");
+
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putAllF(map));
+        Assert.assertEquals("Should be elements", map, new TreeMap<>(functionalMap));
+    }
+
+    @Test
+    public void test_delegation() {
+        functionalMap.putF("key1", "val1").putF("key2", "val2");
+
+        Assert.assertTrue("Should contain key", functionalMap.containsKey("key1"));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey("key3"));
+        Assert.assertTrue("Should contain value", functionalMap.containsValue("val2"));
+        Assert.assertEquals("Should get value", "val1", functionalMap.get("key1"));
+        Assert.assertEquals("Should return previous value", "val1", functionalMap.put("key1", "val3"));
+        Assert.assertEquals("Should be key set", 2, functionalMap.keySet().size());
+        Assert.assertTrue("Should be values", functionalMap.values().contains("val3"));
+        Assert.assertEquals("Should be entry set", 2, functionalMap.entrySet().size());
+        Assert.assertEquals("Should be same string", "{key1=val3, key2=val2}", functionalMap.toString());
+
+        final TreeMap<String, String> map = new TreeMap<>();
+        map.put("key4", "val4");
+
+        functionalMap.putAll(map);
+        Assert.assertEquals("Should have put all", "val4", functionalMap.get("key4"));
+
+        functionalMap.clear();
+        Assert.assertTrue("Should be no elements", functionalMap.isEmpty());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the FrequencySketch class.
+ *
+ * @author Scot P. Floess
+ */
+public class FrequencySketchTest {
+
+    @Test
+    public void test_increment_frequency() {
+        final FrequencySketch sketch = new FrequencySketch(512);
+
+        Assert.assertEquals("Should be unseen", 0, sketch.frequency(42));
+
+        for (int count = 1; count <= 5; count++) {
+            sketch.increment(42);
+
+            Assert.assertEquals("Should count", count, sketch.frequency(42));
+        }
+
+        Assert.assertEquals("Should not affect others", 0, sketch.frequency(43));
+    }
+
+    @Test
+    public void test_max() {
+        final FrequencySketch sketch = new FrequencySketch(512);
+
+        for (int count = 0; count < 100; count++) {
+            sketch.increment(7);
+        }
+
+        Assert.assertEquals("Should saturate", FrequencySketch.MAX_FREQUENCY, sketch.frequency(7));
+    }
+
+    @Test
+    public void test_halve() {
+        final FrequencySketch sketch = new FrequencySketch(512);
+
+        for (int count = 0; count < 8; count++) {
+            sketch.increment(7);
+        }
+
+        sketch.halve();
+
+        Assert.assertEquals("Should halve", 4, sketch.frequency(7));
+    }
+
+    @Test
+    public void test_aging() {
+        final FrequencySketch sketch = new FrequencySketch(1);
+
+        for (int count = 0; count < 9; count++) {
+            sketch.increment(7);
+        }
+
+        Assert.assertEquals("Should not have aged", 9, sketch.frequency(7));
+
+        sketch.increment(7);
+
+        Assert.assertEquals("Should have aged", 5, sketch.frequency(7));
+    }
+
+    @Test
+    public void test_ensureCapacity() {
+        final FrequencySketch sketch = new FrequencySketch(16);
+
+        Assert.assertEquals("Should be sized for expected items", 16, sketch.capacity());
+
+        sketch.increment(7);
+        sketch.ensureCapacity(10);
+
+        Assert.assertEquals("Should not shrink", 16, sketch.capacity());
+        Assert.assertEquals("Should keep counts when not grown", 1, sketch.frequency(7));
+
+        sketch.ensureCapacity(1000);
+
+        Assert.assertEquals("Should grow", 1024, sketch.capacity());
+        Assert.assertEquals("Should forget counts when grown", 0, sketch.frequency(7));
+    }
+
+    @Test
+    public void test_clear() {
+        final FrequencySketch sketch = new FrequencySketch(16);
+
+        sketch.increment(7);
+        sketch.clear();
+
+        Assert.assertEquals("Should be cleared", 0, sketch.frequency(7));
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.flossware.jcore.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the InstrumentedFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class InstrumentedFunctionalMapTest {
+
+    private InstrumentedFunctionalMap<String, String> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new InstrumentedFunctionalMap<>(new TreeMap<String, String>(), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new InstrumentedFunctionalMap<>(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badSampleRate() {
+        new InstrumentedFunctionalMap<>(new HashMap<String, String>(), 0);
+    }
+
+    @Test
+    public void test_constructor() {
+        final Map<String, String> map = new HashMap<>();
+        map.put("key", "value");
+
+        final InstrumentedFunctionalMap<String, String> instrumented = new InstrumentedFunctionalMap<>(map);
+
+        Assert.assertEquals("Should be default sample rate", InstrumentedFunctionalMap.DEFAULT_SAMPLE_RATE, instrumented.getSampleRate());
+        Assert.assertEquals("Should start with existing size", 1, instrumented.getSizeHighWaterMark().getValue());
+    }
+
+    @Test
+    public void test_lookups() {
+        functionalMap.putF("key1", "val1").putF("key2", "val2");
+
+        Assert.assertEquals("Should be found", "val1", functionalMap.get("key1"));
+        Assert.assertNull("Should not be found", functionalMap.get("key3"));
+        Assert.assertTrue("Should contain", functionalMap.containsKey("key2"));
+        Assert.assertFalse("Should not contain", functionalMap.containsKey("key4"));
+
+        Assert.assertEquals("Should be correct hits", 2, functionalMap.getHits().getCount());
+        Assert.assertEquals("Should be correct misses", 2, functionalMap.getMisses().getCount());
+        Assert.assertEquals("Should be correct hit ratio", 0.5, functionalMap.getHitRatio(), 0);
+        Assert.assertEquals("Should have timed every lookup", 4, functionalMap.getLookupTimer().getCount());
+    }
+
+    @Test
+    public void test_hitRatio_none() {
+        Assert.assertEquals("Should be no hit ratio", 0, functionalMap.getHitRatio(), 0);
+    }
+
+    @Test
+    public void test_putsAndRemoves() {
+        functionalMap.putF("key1", "val1").putF("key2", "val2").putF("key1", "val3");
+
+        final Map<String, String> map = new HashMap<>();
+        map.put("key3", "val3");
+        map.put("key4", "val4");
+
+        functionalMap.putAllF(map);
+        functionalMap.removeF("key1").removeF("key2").removeF("key5");
+
+        Assert.assertEquals("Should be correct puts", 5, functionalMap.getPuts().getCount());
+        Assert.assertEquals("Should be correct removes", 3, functionalMap.getRemoves().getCount());
+        Assert.assertEquals("Should be largest size", 4, functionalMap.getSizeHighWaterMark().getValue());
+        Assert.assertEquals("Should be current size", 2, functionalMap.size());
+        Assert.assertEquals("Should have timed every put", 3, functionalMap.getPutTimer().getCount());
+        Assert.assertEquals("Should have timed every remove", 3, functionalMap.getRemoveTimer().getCount());
+    }
+
+    @Test
+    public void test_sampled() {
+        final InstrumentedFunctionalMap<Integer, Integer> sampled = new InstrumentedFunctionalMap<>(new HashMap<Integer, Integer>(), 1000);
+
+        for (int index = 0; index < 10000; index++) {
+            sampled.put(index, index);
+        }
+
+        Assert.assertEquals("Should have counted every put", 10000, sampled.getPuts().getCount());
+        Assert.assertTrue("Should have timed some puts", sampled.getPutTimer().getCount() > 0);
+        Assert.assertTrue("Should not have timed most puts", sampled.getPutTimer().getCount() < 100);
+    }
+
+    @Test
+    public void test_register() {
+        final MetricRegistry registry = new MetricRegistry();
+
+        Assert.assertSame("Should return self", functionalMap, functionalMap.register(registry, "test.map"));
+
+        functionalMap.putF("key", "value").get("key");
+
+        Assert.assertEquals("Should be registered", 1, registry.counter("test.map.hits").getCount());
+        Assert.assertEquals("Should be registered", 1, registry.meter("test.map.puts").getCount());
+        Assert.assertEquals("Should be registered", 1, registry.highWaterMark("test.map.size.max").getValue());
+        Assert.assertSame("Should be registered", functionalMap.getLookupTimer(), registry.timer("test.map.lookup"));
+        Assert.assertEquals("Should be all metrics", 8, registry.getMetrics().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_register_blank() {
+        functionalMap.register(new MetricRegistry(), "");
+    }
+
+    @Test
+    public void test_concurrent() throws InterruptedException {
+        final InstrumentedFunctionalMap<Integer, Integer> concurrent = new InstrumentedFunctionalMap<>(new ConcurrentHashMap<Integer, Integer>(), 8);
+        final Thread[] threads = new Thread[4];
+
+        for (int index = 0; index < threads.length; index++) {
+            final int offset = index * 10000;
+
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    for (int count = 0; count < 10000; count++) {
+                        concurrent.putF(offset + count, count);
+                        concurrent.get(offset + count);
+                        concurrent.get(-1);
+                    }
+                }
+            };
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Should be correct puts", 40000, concurrent.getPuts().getCount());
+        Assert.assertEquals("Should be correct hits", 40000, concurrent.getHits().getCount());
+        Assert.assertEquals("Should be correct misses", 40000, concurrent.getMisses().getCount());
+        Assert.assertEquals("Should be correct high water mark", 40000, concurrent.getSizeHighWaterMark().getValue());
+    }
+}
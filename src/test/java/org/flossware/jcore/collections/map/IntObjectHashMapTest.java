@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.flossware.jcore.collections.IntIterator;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the IntObjectHashMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class IntObjectHashMapTest {
+
+    private IntObjectHashMap<String> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new IntObjectHashMap<>();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeSize() {
+        new IntObjectHashMap<>(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badLoadFactor() {
+        new IntObjectHashMap<>(1, 0);
+    }
+
+    @Test
+    public void test_constructor() {
+        Assert.assertTrue("Should be empty", new IntObjectHashMap<>(0).isEmpty());
+        Assert.assertEquals("Should be presized", 32, new IntObjectHashMap<>(16, 0.5f).capacity());
+    }
+
+    @Test
+    public void test_putF_get() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putF(1, "one").putF(2, "two").putF(0, "zero"));
+
+        Assert.assertEquals("Should have three entries", 3, functionalMap.size());
+        Assert.assertEquals("Should be correct value", "one", functionalMap.get(1));
+        Assert.assertEquals("Should be correct value", "two", functionalMap.get(2));
+        Assert.assertEquals("Should be correct value", "zero", functionalMap.get(0));
+        Assert.assertNull("Should not find value", functionalMap.get(3));
+        Assert.assertEquals("Should be default value", "none", functionalMap.get(3, "none"));
+        Assert.assertEquals("Should not be default value", "one", functionalMap.get(1, "none"));
+        Assert.assertEquals("Should not be default value", "zero", functionalMap.get(0, "none"));
+    }
+
+    @Test
+    public void test_put() {
+        Assert.assertNull("Should be no previous value", functionalMap.put(1, "one"));
+        Assert.assertEquals("Should be previous value", "one", functionalMap.put(1, "uno"));
+        Assert.assertNull("Should be no previous value", functionalMap.put(0, "zero"));
+        Assert.assertEquals("Should be previous value", "zero", functionalMap.put(0, "cero"));
+        Assert.assertEquals("Should have two entries", 2, functionalMap.size());
+    }
+
+    @Test
+    public void test_nullValue() {
+        functionalMap.putF(1, null).putF(0, null);
+
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(1));
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(0));
+        Assert.assertNull("Should be null value", functionalMap.get(1, "none"));
+        Assert.assertNull("Should be null value", functionalMap.get(0, "none"));
+    }
+
+    @Test
+    public void test_removeF() {
+        functionalMap.putF(1, "one").putF(2, "two").putF(0, "zero");
+
+        Assert.assertSame("Should return self", functionalMap, functionalMap.removeF(3).removeF(1).removeF(2).removeF(0));
+        Assert.assertTrue("Should be no entries", functionalMap.isEmpty());
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(0));
+    }
+
+    @Test
+    public void test_remove() {
+        functionalMap.putF(1, "one").putF(0, "zero");
+
+        Assert.assertEquals("Should be removed value", "one", functionalMap.remove(1));
+        Assert.assertNull("Should not find value", functionalMap.remove(1));
+        Assert.assertEquals("Should be removed value", "zero", functionalMap.remove(0));
+        Assert.assertNull("Should not find value", functionalMap.remove(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_putAllF_null() {
+        functionalMap.putAllF(null);
+    }
+
+    @Test
+    public void test_putAllF() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putAllF(new IntObjectHashMap<String>().putF(1, "one").putF(0, "zero")));
+        Assert.assertEquals("Should have two entries", 2, functionalMap.size());
+        Assert.assertEquals("Should be correct value", "one", functionalMap.get(1));
+        Assert.assertEquals("Should be correct value", "zero", functionalMap.get(0));
+    }
+
+    @Test
+    public void test_clear() {
+        functionalMap.putF(1, "one").putF(0, "zero");
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be no entries", functionalMap.isEmpty());
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(0));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_forEach_null() {
+        functionalMap.forEach(null);
+    }
+
+    @Test
+    public void test_forEach() {
+        functionalMap.putF(1, "one").putF(2, "two").putF(0, "zero");
+
+        final Map<Integer, String> entries = new HashMap<>();
+
+        functionalMap.forEach(new IntObjectConsumer<String>() {
+            @Override
+            public void accept(final int key, final String value) {
+                entries.put(key, value);
+            }
+        });
+
+        Assert.assertEquals("Should be all entries", 3, entries.size());
+        Assert.assertEquals("Should be correct value", "one", entries.get(1));
+        Assert.assertEquals("Should be correct value", "two", entries.get(2));
+        Assert.assertEquals("Should be correct value", "zero", entries.get(0));
+    }
+
+    @Test
+    public void test_keyIterator() {
+        functionalMap.putF(2, "two").putF(0, "zero").putF(1, "one");
+
+        final int[] keys = functionalMap.keys();
+
+        Arrays.sort(keys);
+
+        Assert.assertArrayEquals("Should be all keys", new int[]{0, 1, 2}, keys);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void test_keyIterator_exhausted() {
+        final IntIterator iter = functionalMap.putF(1, "one").keyIterator();
+
+        iter.nextInt();
+        iter.nextInt();
+    }
+
+    @Test
+    public void test_against_hashMap() {
+        final Random random = new Random(42);
+        final Map<Integer, String> expected = new HashMap<>();
+
+        for (int count = 0; count < 20000; count++) {
+            final int key = random.nextInt(512) - 256;
+
+            if (random.nextBoolean()) {
+                Assert.assertEquals("Should match put", expected.put(key, "v" + count), functionalMap.put(key, "v" + count));
+            } else {
+                Assert.assertEquals("Should match remove", expected.remove(key), functionalMap.remove(key));
+            }
+
+            Assert.assertEquals("Should match size", expected.size(), functionalMap.size());
+        }
+
+        for (final Map.Entry<Integer, String> entry : expected.entrySet()) {
+            Assert.assertEquals("Should match value", entry.getValue(), functionalMap.get(entry.getKey()));
+        }
+
+        Assert.assertEquals("Should match hash code", expected.hashCode(), functionalMap.hashCode());
+    }
+
+    @Test
+    public void test_equals_hashCode() {
+        final IntObjectHashMap<String> other = new IntObjectHashMap<String>(100).putF(2, "two").putF(1, "one");
+
+        functionalMap.putF(1, "one").putF(2, "two");
+
+        Assert.assertEquals("Should be equal", functionalMap, other);
+        Assert.assertEquals("Should be equal hash codes", functionalMap.hashCode(), other.hashCode());
+        Assert.assertNotEquals("Should not be equal", functionalMap, other.putF(2, "dos"));
+        Assert.assertNotEquals("Should not be equal", functionalMap, other.putF(2, "two").putF(3, "three"));
+        Assert.assertNotEquals("Should not be equal", functionalMap, "foo");
+        Assert.assertEquals("Should be equal", functionalMap, functionalMap);
+    }
+
+    @Test
+    public void test_toString() {
+        Assert.assertEquals("Should be empty", "{}", functionalMap.toString());
+        Assert.assertEquals("Should be one entry", "{1=one}", functionalMap.putF(1, "one").toString());
+        Assert.assertEquals("Should be two entries", "{0=zero, 1=one}", functionalMap.putF(0, "zero").toString());
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the LoadingFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class LoadingFunctionalMapTest {
+
+    /**
+     * Loads the length of keys, counting calls.
+     */
+    static class LengthLoader extends CacheLoader<String, Integer> {
+
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicInteger loadAlls = new AtomicInteger();
+        final AtomicInteger reloads = new AtomicInteger();
+        final List<Collection<? extends String>> batches = new ArrayList<>();
+
+        @Override
+        public Integer load(final String key) throws Exception {
+            loads.incrementAndGet();
+
+            return "missing".equals(key) ? null : key.length();
+        }
+
+        @Override
+        public Map<String, Integer> loadAll(final Collection<? extends String> keys) throws Exception {
+            loadAlls.incrementAndGet();
+            batches.add(new ArrayList<>(keys));
+
+            return super.loadAll(keys);
+        }
+
+        @Override
+        public Integer reload(final String key, final Integer oldValue) throws Exception {
+            reloads.incrementAndGet();
+
+            return oldValue + 100;
+        }
+    }
+
+    /**
+     * Lets tests control time.
+     */
+    static class ManualLoadingFunctionalMap extends LoadingFunctionalMap<String, Integer> {
+
+        long now;
+
+        ManualLoadingFunctionalMap(final CacheLoader<String, Integer> loader, final long refreshAfterWrite, final Executor executor) {
+            super(new ConcurrentHashMap<String, Integer>(), loader, refreshAfterWrite, TimeUnit.NANOSECONDS, executor);
+        }
+
+        @Override
+        long nanoTime() {
+            return now;
+        }
+    }
+
+    /**
+     * Runs tasks in the calling thread.
+     */
+    static final Executor SAME_THREAD = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+
+    private LengthLoader loader;
+
+    private LoadingFunctionalMap<String, Integer> functionalMap;
+
+    @Before
+    public void init() {
+        loader = new LengthLoader();
+        functionalMap = new LoadingFunctionalMap<>(new ConcurrentHashMap<String, Integer>(), loader);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullMap() {
+        new LoadingFunctionalMap<>(null, loader);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullLoader() {
+        new LoadingFunctionalMap<>(new HashMap<String, Integer>(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeRefresh() {
+        new LoadingFunctionalMap<>(new HashMap<String, Integer>(), loader, -1, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullExecutor() {
+        new LoadingFunctionalMap<>(new HashMap<String, Integer>(), loader, 1, TimeUnit.SECONDS, null);
+    }
+
+    @Test
+    public void test_constructor() {
+        Assert.assertFalse("Should not refresh", functionalMap.isRefreshing());
+        Assert.assertTrue("Should refresh", new LoadingFunctionalMap<>(new HashMap<String, Integer>(), loader, 1, TimeUnit.SECONDS).isRefreshing());
+    }
+
+    @Test
+    public void test_get() {
+        Assert.assertEquals("Should load value", Integer.valueOf(3), functionalMap.get("one"));
+        Assert.assertEquals("Should return stored value", Integer.valueOf(3), functionalMap.get("one"));
+        Assert.assertEquals("Should load once", 1, loader.loads.get());
+        Assert.assertTrue("Should contain key", functionalMap.containsKey("one"));
+        Assert.assertEquals("Should have no loads in progress", 0, functionalMap.getFlightCount());
+    }
+
+    @Test
+    public void test_get_missing() {
+        Assert.assertNull("Should not find value", functionalMap.get("missing"));
+        Assert.assertFalse("Should not store null", functionalMap.containsKey("missing"));
+    }
+
+    @Test
+    public void test_getIfPresent() {
+        Assert.assertNull("Should not load", functionalMap.getIfPresent("one"));
+        Assert.assertEquals("Should not have loaded", 0, loader.loads.get());
+
+        functionalMap.put("one", 5);
+
+        Assert.assertEquals("Should find value", Integer.valueOf(5), functionalMap.getIfPresent("one"));
+    }
+
+    @Test
+    public void test_get_failure() {
+        final LoadingFunctionalMap<String, Integer> failing = new LoadingFunctionalMap<>(new HashMap<String, Integer>(), new CacheLoader<String, Integer>() {
+            @Override
+            public Integer load(final String key) throws Exception {
+                throw new Exception("boom");
+            }
+        });
+
+        try {
+            failing.get("one");
+
+            Assert.fail("Should have failed");
+        } catch (final LoadingException loadingException) {
+            Assert.assertEquals("Should be loader's failure", "boom", loadingException.getCause().getMessage());
+        }
+
+        Assert.assertEquals("Should have no loads in progress", 0, failing.getFlightCount());
+        Assert.assertTrue("Should store nothing", failing.isEmpty());
+    }
+
+    @Test
+    public void test_get_singleFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+
+        final LoadingFunctionalMap<String, Integer> blocking = new LoadingFunctionalMap<>(new ConcurrentHashMap<String, Integer>(), new CacheLoader<String, Integer>() {
+            @Override
+            public Integer load(final String key) throws Exception {
+                loads.incrementAndGet();
+                started.countDown();
+                release.await();
+
+                return key.length();
+            }
+        });
+
+        final Integer[] results = new Integer[8];
+        final Thread[] threads = new Thread[results.length];
+
+        for (int index = 0; index < threads.length; index++) {
+            final int slot = index;
+
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    results[slot] = blocking.get("four");
+                }
+            };
+
+            threads[index].start();
+        }
+
+        started.await();
+
+        while (blocking.getFlightCount() == 0) {
+            Thread.yield();
+        }
+
+        Thread.sleep(50);
+
+        release.countDown();
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Should load once", 1, loads.get());
+
+        for (final Integer result : results) {
+            Assert.assertEquals("Should share result", Integer.valueOf(4), result);
+        }
+    }
+
+    @Test
+    public void test_getAll() {
+        functionalMap.put("one", 1);
+
+        final Map<String, Integer> values = functionalMap.getAll(Arrays.asList("three", "one", "missing", "three", "two"));
+
+        Assert.assertEquals("Should omit missing", Arrays.asList("three", "one", "two"), new ArrayList<>(values.keySet()));
+        Assert.assertEquals("Should use stored value", Integer.valueOf(1), values.get("one"));
+        Assert.assertEquals("Should load value", Integer.valueOf(5), values.get("three"));
+        Assert.assertEquals("Should batch loads", 1, loader.loadAlls.get());
+        Assert.assertEquals("Should load only missing keys", Arrays.asList("three", "missing", "two"), loader.batches.get(0));
+        Assert.assertEquals("Should store loaded values", Integer.valueOf(3), functionalMap.getIfPresent("two"));
+        Assert.assertEquals("Should have no loads in progress", 0, functionalMap.getFlightCount());
+    }
+
+    @Test
+    public void test_getAll_allPresent() {
+        functionalMap.put("one", 1);
+
+        Assert.assertEquals("Should find value", Integer.valueOf(1), functionalMap.getAll(Arrays.asList("one")).get("one"));
+        Assert.assertEquals("Should not load", 0, loader.loadAlls.get());
+    }
+
+    @Test
+    public void test_getAll_loadedConcurrently() {
+        final Map<String, Integer> backing = new HashMap<String, Integer>() {
+            boolean raced;
+
+            @Override
+            public Integer get(final Object key) {
+                final Integer retVal = super.get(key);
+
+                if (!raced) {
+                    raced = true;
+                    put("one", 100);
+                }
+
+                return retVal;
+            }
+        };
+
+        final Map<String, Integer> values = new LoadingFunctionalMap<>(backing, loader).getAll(Arrays.asList("one"));
+
+        Assert.assertEquals("Should use the concurrently loaded value", Integer.valueOf(100), values.get("one"));
+        Assert.assertEquals("Should not load again", 0, loader.loadAlls.get());
+    }
+
+    @Test(expected = LoadingException.class)
+    public void test_getAll_failure() {
+        new LoadingFunctionalMap<>(new HashMap<String, Integer>(), new CacheLoader<String, Integer>() {
+            @Override
+            public Integer load(final String key) throws Exception {
+                throw new IllegalStateException("boom");
+            }
+        }).getAll(Arrays.asList("one"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getAll_null() {
+        functionalMap.getAll(null);
+    }
+
+    @Test
+    public void test_refreshAhead() {
+        final ManualLoadingFunctionalMap refreshing = new ManualLoadingFunctionalMap(loader, 100, SAME_THREAD);
+
+        Assert.assertEquals("Should load value", Integer.valueOf(3), refreshing.get("one"));
+
+        refreshing.now = 99;
+
+        Assert.assertEquals("Should not refresh yet", Integer.valueOf(3), refreshing.get("one"));
+        Assert.assertEquals("Should not have reloaded", 0, loader.reloads.get());
+
+        refreshing.now = 100;
+
+        refreshing.get("one");
+
+        Assert.assertEquals("Should have reloaded", 1, loader.reloads.get());
+        Assert.assertEquals("Should return refreshed value", Integer.valueOf(103), refreshing.get("one"));
+        Assert.assertEquals("Should not reload again until stale", 1, loader.reloads.get());
+    }
+
+    @Test
+    public void test_refreshAhead_put() {
+        final ManualLoadingFunctionalMap refreshing = new ManualLoadingFunctionalMap(loader, 100, SAME_THREAD);
+
+        refreshing.put("one", 1);
+        refreshing.now = 100;
+
+        refreshing.get("one");
+
+        Assert.assertEquals("Should return refreshed value", Integer.valueOf(101), refreshing.get("one"));
+    }
+
+    @Test
+    public void test_refreshAhead_failure() {
+        final ManualLoadingFunctionalMap refreshing = new ManualLoadingFunctionalMap(new CacheLoader<String, Integer>() {
+            @Override
+            public Integer load(final String key) throws Exception {
+                return 1;
+            }
+
+            @Override
+            public Integer reload(final String key, final Integer oldValue) throws Exception {
+                throw new Exception("boom");
+            }
+        }, 100, SAME_THREAD);
+
+        refreshing.get("one");
+        refreshing.now = 100;
+
+        Assert.assertEquals("Should return current value", Integer.valueOf(1), refreshing.get("one"));
+        Assert.assertEquals("Should keep current value", Integer.valueOf(1), refreshing.getIfPresent("one"));
+        Assert.assertEquals("Should have no loads in progress", 0, refreshing.getFlightCount());
+    }
+
+    @Test
+    public void test_refresh_absent() {
+        functionalMap.refresh("three");
+
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (null == functionalMap.getIfPresent("three") && System.currentTimeMillis() < deadline) {
+            Thread.yield();
+        }
+
+        Assert.assertEquals("Should have loaded in background", Integer.valueOf(5), functionalMap.getIfPresent("three"));
+    }
+
+    @Test
+    public void test_remove_clear() {
+        functionalMap.get("one");
+        functionalMap.get("two");
+
+        Assert.assertEquals("Should remove value", Integer.valueOf(3), functionalMap.remove("one"));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey("one"));
+
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be empty", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_putF() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putF("one", 7));
+        Assert.assertEquals("Should not load", Integer.valueOf(7), functionalMap.get("one"));
+        Assert.assertEquals("Should not have loaded", 0, loader.loads.get());
+    }
+
+    @Test
+    public void test_cacheLoader_loadAll() throws Exception {
+        final Map<String, Integer> values = new LengthLoader().loadAll(Arrays.asList("a", "bb"));
+
+        Assert.assertEquals("Should load each key", Integer.valueOf(2), values.get("bb"));
+        Assert.assertEquals("Should load each key", 2, values.size());
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the LongLongHashMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class LongLongHashMapTest {
+
+    private LongLongHashMap functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new LongLongHashMap();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_negativeSize() {
+        new LongLongHashMap(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badLoadFactor() {
+        new LongLongHashMap(1, 2, -1);
+    }
+
+    @Test
+    public void test_constructor() {
+        Assert.assertEquals("Should be default no entry value", 0, functionalMap.getNoEntryValue());
+        Assert.assertEquals("Should be presized", 32, new LongLongHashMap(16, 0.5f).capacity());
+
+        final LongLongHashMap noEntryMap = new LongLongHashMap(16, 0.5f, -1);
+
+        Assert.assertEquals("Should be no entry value", -1, noEntryMap.getNoEntryValue());
+        Assert.assertEquals("Should be no entry value", -1, noEntryMap.get(5));
+        Assert.assertEquals("Should be no entry value", -1, noEntryMap.get(0));
+        Assert.assertEquals("Should be no entry value", -1, noEntryMap.put(0, 3));
+        Assert.assertEquals("Should be no entry value", -1, noEntryMap.remove(5));
+    }
+
+    @Test
+    public void test_putF_get() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putF(1, 10).putF(2, 20).putF(0, 30));
+
+        Assert.assertEquals("Should have three entries", 3, functionalMap.size());
+        Assert.assertEquals("Should be correct value", 10, functionalMap.get(1));
+        Assert.assertEquals("Should be correct value", 20, functionalMap.get(2));
+        Assert.assertEquals("Should be correct value", 30, functionalMap.get(0));
+        Assert.assertEquals("Should be no entry value", 0, functionalMap.get(3));
+        Assert.assertEquals("Should be default value", -5, functionalMap.get(3, -5));
+        Assert.assertEquals("Should not be default value", 10, functionalMap.get(1, -5));
+    }
+
+    @Test
+    public void test_put_remove() {
+        Assert.assertEquals("Should be no entry value", 0, functionalMap.put(1, 10));
+        Assert.assertEquals("Should be previous value", 10, functionalMap.put(1, 11));
+        Assert.assertEquals("Should be removed value", 11, functionalMap.remove(1));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey(1));
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putF(0, 1).removeF(0).removeF(7));
+        Assert.assertTrue("Should be no entries", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_addTo() {
+        Assert.assertEquals("Should start from zero", 5, functionalMap.addTo(1, 5));
+        Assert.assertEquals("Should add", 8, functionalMap.addTo(1, 3));
+        Assert.assertEquals("Should start from zero", -2, functionalMap.addTo(0, -2));
+        Assert.assertEquals("Should add", 0, functionalMap.addTo(0, 2));
+        Assert.assertTrue("Should contain key", functionalMap.containsKey(0));
+        Assert.assertEquals("Should have two entries", 2, functionalMap.size());
+
+        final LongLongHashMap noEntryMap = new LongLongHashMap(16, 0.75f, -1);
+
+        Assert.assertEquals("Should start from zero", 1, noEntryMap.addTo(9, 1));
+    }
+
+    @Test
+    public void test_putAllF_forEach() {
+        functionalMap.putAllF(new LongLongHashMap().putF(1, 10).putF(0, 30));
+
+        final Map<Long, Long> entries = new HashMap<>();
+
+        functionalMap.forEach(new LongLongConsumer() {
+            @Override
+            public void accept(final long key, final long value) {
+                entries.put(key, value);
+            }
+        });
+
+        Assert.assertEquals("Should be all entries", 2, entries.size());
+        Assert.assertEquals("Should be correct value", Long.valueOf(10), entries.get(1L));
+        Assert.assertEquals("Should be correct value", Long.valueOf(30), entries.get(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_forEach_null() {
+        functionalMap.forEach(null);
+    }
+
+    @Test
+    public void test_keys_clear() {
+        functionalMap.putF(2, 1).putF(0, 1).putF(1, 1);
+
+        final long[] keys = functionalMap.keys();
+
+        Arrays.sort(keys);
+
+        Assert.assertArrayEquals("Should be all keys", new long[]{0, 1, 2}, keys);
+
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be no entries", functionalMap.isEmpty());
+        Assert.assertEquals("Should be no keys", 0, functionalMap.keys().length);
+    }
+
+    @Test
+    public void test_against_hashMap() {
+        final Random random = new Random(42);
+        final Map<Long, Long> expected = new HashMap<>();
+
+        for (int count = 0; count < 20000; count++) {
+            final long key = random.nextLong() >> 55;
+
+            if (random.nextBoolean()) {
+                final Long previous = expected.put(key, (long) count);
+
+                Assert.assertEquals("Should match put", null == previous ? 0 : previous, functionalMap.put(key, count));
+            } else {
+                final Long previous = expected.remove(key);
+
+                Assert.assertEquals("Should match remove", null == previous ? 0 : previous, functionalMap.remove(key));
+            }
+
+            Assert.assertEquals("Should match size", expected.size(), functionalMap.size());
+        }
+
+        Assert.assertEquals("Should match hash code", expected.hashCode(), functionalMap.hashCode());
+    }
+
+    @Test
+    public void test_equals_hashCode() {
+        final LongLongHashMap other = new LongLongHashMap(100).putF(2, 20).putF(1, 10);
+
+        functionalMap.putF(1, 10).putF(2, 20);
+
+        Assert.assertEquals("Should be equal", functionalMap, other);
+        Assert.assertEquals("Should be equal hash codes", functionalMap.hashCode(), other.hashCode());
+        Assert.assertNotEquals("Should not be equal", functionalMap, other.putF(2, 21));
+        Assert.assertNotEquals("Should not be equal", functionalMap, other.putF(2, 20).putF(3, 30));
+        Assert.assertNotEquals("Should not be equal", functionalMap, "foo");
+    }
+
+    @Test
+    public void test_toString() {
+        Assert.assertEquals("Should be empty", "{}", functionalMap.toString());
+        Assert.assertEquals("Should be two entries", "{0=5, 1=10}", functionalMap.putF(1, 10).putF(0, 5).toString());
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import org.flossware.jcore.io.ByteBufferCodecs;
+import org.flossware.jcore.io.DirectSegmentAllocator;
+import org.flossware.jcore.io.MappedSegmentAllocator;
+import org.flossware.jcore.io.SegmentAllocator;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the OffHeapFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class OffHeapFunctionalMapTest {
+
+    private OffHeapFunctionalMap<String, String> functionalMap;
+
+    @Before
+    public void init() {
+        functionalMap = new OffHeapFunctionalMap<>(ByteBufferCodecs.STRING, ByteBufferCodecs.STRING, new DirectSegmentAllocator(), 256, 0);
+    }
+
+    @After
+    public void cleanup() {
+        functionalMap.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullKeyCodec() {
+        new OffHeapFunctionalMap<>(null, ByteBufferCodecs.STRING);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullValueCodec() {
+        new OffHeapFunctionalMap<>(ByteBufferCodecs.STRING, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullAllocator() {
+        new OffHeapFunctionalMap<>(ByteBufferCodecs.STRING, ByteBufferCodecs.STRING, null, 256, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_smallSegment() {
+        new OffHeapFunctionalMap<>(ByteBufferCodecs.STRING, ByteBufferCodecs.STRING, new DirectSegmentAllocator(), 63, 0);
+    }
+
+    @Test
+    public void test_constructor() {
+        try (final OffHeapFunctionalMap<Long, Long> map = new OffHeapFunctionalMap<>(ByteBufferCodecs.LONG, ByteBufferCodecs.LONG)) {
+            Assert.assertTrue("Should be empty", map.isEmpty());
+            Assert.assertEquals("Should be default segment size", OffHeapFunctionalMap.DEFAULT_SEGMENT_SIZE, map.getSegmentSize());
+            Assert.assertEquals("Should be no segments", 0, map.getSegmentCount());
+        }
+    }
+
+    @Test
+    public void test_putF_get() {
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putF("one", "1").putF("two", "2"));
+
+        Assert.assertEquals("Should have two entries", 2, functionalMap.size());
+        Assert.assertEquals("Should be correct value", "1", functionalMap.get("one"));
+        Assert.assertEquals("Should be correct value", "2", functionalMap.get("two"));
+        Assert.assertNull("Should not find value", functionalMap.get("three"));
+        Assert.assertNull("Should not find value", functionalMap.get(null));
+        Assert.assertTrue("Should contain key", functionalMap.containsKey("one"));
+        Assert.assertFalse("Should not contain key", functionalMap.containsKey("three"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_put_nullKey() {
+        functionalMap.put(null, "1");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_put_nullValue() {
+        functionalMap.put("1", null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_put_tooLarge() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (int count = 0; count < 300; count++) {
+            sb.append('x');
+        }
+
+        functionalMap.put("key", sb.toString());
+    }
+
+    @Test
+    public void test_put_replace() {
+        Assert.assertNull("Should be no previous value", functionalMap.put("one", "1"));
+        Assert.assertEquals("Should be no garbage", 0, functionalMap.getGarbageBytes());
+        Assert.assertEquals("Should be previous value", "1", functionalMap.put("one", "uno"));
+        Assert.assertEquals("Should be replaced value", "uno", functionalMap.get("one"));
+        Assert.assertEquals("Should have one entry", 1, functionalMap.size());
+        Assert.assertEquals("Should be garbage", OffHeapFunctionalMap.RECORD_HEADER_SIZE + 4, functionalMap.getGarbageBytes());
+    }
+
+    @Test
+    public void test_remove() {
+        functionalMap.putF("one", "1").putF("two", "2");
+
+        Assert.assertEquals("Should be removed value", "1", functionalMap.remove("one"));
+        Assert.assertNull("Should not find value", functionalMap.remove("one"));
+        Assert.assertNull("Should not find value", functionalMap.remove(null));
+        Assert.assertSame("Should return self", functionalMap, functionalMap.removeF("two").removeF(null));
+        Assert.assertTrue("Should be empty", functionalMap.isEmpty());
+    }
+
+    @Test
+    public void test_putAllF() {
+        final Map<String, String> map = new HashMap<>();
+
+        map.put("one", "1");
+        map.put("two", "2");
+
+        Assert.assertSame("Should return self", functionalMap, functionalMap.putAllF(map));
+        Assert.assertEquals("Should be equal", map, functionalMap);
+        Assert.assertEquals("Should be equal", functionalMap, map);
+        Assert.assertEquals("Should be equal hash codes", map.hashCode(), functionalMap.hashCode());
+    }
+
+    @Test
+    public void test_segments() {
+        for (int count = 0; count < 100; count++) {
+            functionalMap.putF("key" + count, "value" + count);
+        }
+
+        Assert.assertTrue("Should be many segments", functionalMap.getSegmentCount() > 1);
+
+        for (int count = 0; count < 100; count++) {
+            Assert.assertEquals("Should be correct value", "value" + count, functionalMap.get("key" + count));
+        }
+    }
+
+    @Test
+    public void test_incrementalResize() {
+        final int initialCapacity = functionalMap.capacity();
+
+        int count = 0;
+
+        while (!functionalMap.isResizing()) {
+            functionalMap.putF("key" + count, "value" + count);
+            count++;
+        }
+
+        Assert.assertTrue("Should have grown", functionalMap.capacity() > initialCapacity);
+
+        for (int key = 0; key < count; key++) {
+            Assert.assertEquals("Should find during resize", "value" + key, functionalMap.get("key" + key));
+        }
+
+        Assert.assertEquals("Should remove during resize", "value0", functionalMap.remove("key0"));
+        Assert.assertNull("Should have removed", functionalMap.get("key0"));
+        Assert.assertEquals("Should replace during resize", "value1", functionalMap.put("key1", "new"));
+        Assert.assertEquals("Should have one key1", count - 1, functionalMap.size());
+        Assert.assertEquals("Should iterate all entries during resize", count - 1, new HashMap<>(functionalMap).size());
+
+        while (functionalMap.isResizing()) {
+            functionalMap.putF("key" + count, "value" + count);
+            count++;
+        }
+
+        Assert.assertEquals("Should be replaced value", "new", functionalMap.get("key1"));
+        Assert.assertNull("Should have removed", functionalMap.get("key0"));
+        Assert.assertEquals("Should be correct size", count - 1, functionalMap.size());
+    }
+
+    @Test
+    public void test_against_hashMap() {
+        final Random random = new Random(42);
+        final Map<String, String> expected = new HashMap<>();
+
+        try (final OffHeapFunctionalMap<Integer, String> map = new OffHeapFunctionalMap<>(ByteBufferCodecs.INTEGER, ByteBufferCodecs.STRING, new DirectSegmentAllocator(), 4096, 0)) {
+            for (int count = 0; count < 20000; count++) {
+                final int key = random.nextInt(2048);
+
+                if (random.nextBoolean()) {
+                    Assert.assertEquals("Should match put", expected.put(String.valueOf(key), "v" + count), map.put(key, "v" + count));
+                } else {
+                    Assert.assertEquals("Should match remove", expected.remove(String.valueOf(key)), map.remove(key));
+                }
+
+                Assert.assertEquals("Should match size", expected.size(), map.size());
+            }
+
+            for (final Map.Entry<Integer, String> entry : map.entrySet()) {
+                Assert.assertEquals("Should match value", expected.get(String.valueOf(entry.getKey())), entry.getValue());
+            }
+        }
+    }
+
+    @Test
+    public void test_clear() {
+        functionalMap.putF("one", "1").putF("one", "2");
+        functionalMap.clear();
+
+        Assert.assertTrue("Should be empty", functionalMap.isEmpty());
+        Assert.assertEquals("Should be no segments", 0, functionalMap.getSegmentCount());
+        Assert.assertEquals("Should be no garbage", 0, functionalMap.getGarbageBytes());
+        Assert.assertNull("Should not find value", functionalMap.get("one"));
+
+        functionalMap.putF("one", "3");
+
+        Assert.assertEquals("Should be usable", "3", functionalMap.get("one"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_iterator_remove() {
+        functionalMap.putF("one", "1").entrySet().iterator().remove();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_close() {
+        functionalMap.putF("one", "1");
+        functionalMap.close();
+
+        Assert.assertTrue("Should be closed", functionalMap.isClosed());
+
+        functionalMap.close();
+        functionalMap.get("one");
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void test_iterator_afterPut() {
+        final Iterator<Map.Entry<String, String>> iterator = functionalMap.putF("one", "1").entrySet().iterator();
+
+        functionalMap.putF("two", "2");
+        iterator.next();
+    }
+
+    @Test
+    public void test_iterator_afterMigration() {
+        int count = 0;
+
+        while (!functionalMap.isResizing()) {
+            functionalMap.putF("key" + count, "value" + count);
+            count++;
+        }
+
+        final Iterator<Map.Entry<String, String>> iterator = functionalMap.entrySet().iterator();
+
+        while (functionalMap.isResizing()) {
+            functionalMap.removeF("absent");
+        }
+
+        try {
+            iterator.next();
+            Assert.fail("Should not read an index that was freed");
+        } catch (final ConcurrentModificationException concurrentModificationException) {
+        }
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void test_iterator_afterClear() {
+        final Iterator<Map.Entry<String, String>> iterator = functionalMap.putF("one", "1").entrySet().iterator();
+
+        functionalMap.clear();
+        iterator.next();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_iterator_afterClose() {
+        final Iterator<Map.Entry<String, String>> iterator = functionalMap.putF("one", "1").entrySet().iterator();
+
+        functionalMap.close();
+        iterator.next();
+    }
+
+    @Test
+    public void test_compact() {
+        for (int count = 0; count < 20; count++) {
+            functionalMap.putF("key" + count, "value" + count);
+        }
+
+        for (int count = 0; count < 10; count++) {
+            functionalMap.removeF("key" + count);
+        }
+
+        final int segmentCount = functionalMap.getSegmentCount();
+
+        Assert.assertTrue("Should be garbage", functionalMap.getGarbageBytes() > 0);
+        Assert.assertSame("Should return self", functionalMap, functionalMap.compact());
+        Assert.assertEquals("Should be no garbage", 0, functionalMap.getGarbageBytes());
+        Assert.assertTrue("Should use fewer segments", functionalMap.getSegmentCount() < segmentCount);
+        Assert.assertEquals("Should be correct size", 10, functionalMap.size());
+
+        for (int count = 0; count < 20; count++) {
+            Assert.assertEquals("Should keep live entries", count < 10 ? null : "value" + count, functionalMap.get("key" + count));
+        }
+
+        functionalMap.putF("key0", "new");
+
+        Assert.assertEquals("Should be usable", "new", functionalMap.get("key0"));
+    }
+
+    @Test
+    public void test_compact_empty() {
+        functionalMap.compact();
+
+        Assert.assertEquals("Should be no segments", 0, functionalMap.getSegmentCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_compact_closed() {
+        functionalMap.close();
+        functionalMap.compact();
+    }
+
+    @Test
+    public void test_evacuate() {
+        for (int count = 0; count < 100000; count++) {
+            functionalMap.putF("key" + (count % 10), "value" + count);
+        }
+
+        Assert.assertTrue("Should reclaim garbage as it accumulates", functionalMap.getSegmentCount() <= 4);
+
+        for (int count = 0; count < 10; count++) {
+            Assert.assertEquals("Should be latest value", "value" + (99990 + count), functionalMap.get("key" + count));
+        }
+    }
+
+    @Test
+    public void test_evacuate_boundedSegments() {
+        final int segmentSize = 200;
+        final int[] allocated = new int[2];
+
+        final SegmentAllocator allocator = new SegmentAllocator() {
+            private final SegmentAllocator delegate = new DirectSegmentAllocator();
+
+            @Override
+            public ByteBuffer allocate(final int capacity) {
+                if (capacity == segmentSize) {
+                    allocated[0]++;
+                    allocated[1] = Math.max(allocated[0], allocated[1]);
+                }
+
+                return delegate.allocate(capacity);
+            }
+
+            @Override
+            public void free(final ByteBuffer buffer) {
+                if (buffer.capacity() == segmentSize) {
+                    allocated[0]--;
+                }
+
+                delegate.free(buffer);
+            }
+        };
+
+        final Random random = new Random(42);
+        final Map<Integer, String> expected = new HashMap<>();
+
+        int segmentCount = 0;
+
+        try (final OffHeapFunctionalMap<Integer, String> map = new OffHeapFunctionalMap<>(ByteBufferCodecs.INTEGER, ByteBufferCodecs.STRING, allocator, segmentSize, 0)) {
+            for (int count = 0; count < 50000; count++) {
+                final int key = random.nextInt(500);
+
+                if (random.nextInt(4) == 0) {
+                    Assert.assertEquals("Should match remove", expected.remove(key), map.remove(key));
+                } else {
+                    Assert.assertEquals("Should match put", expected.put(key, "v" + count), map.put(key, "v" + count));
+                }
+
+                Assert.assertEquals("Should count allocated segments", allocated[0], map.getSegmentCount());
+                Assert.assertTrue("Should keep garbage near half", map.getGarbageBytes() <= (long) map.getSegmentCount() * segmentSize / 2 + 2 * segmentSize);
+
+                segmentCount = Math.max(segmentCount, map.getSegmentCount());
+
+                Assert.assertTrue("Should need at most one extra segment during a write", allocated[1] <= segmentCount + 1);
+            }
+
+            Assert.assertEquals("Should match size", expected.size(), map.size());
+
+            for (final Map.Entry<Integer, String> entry : expected.entrySet()) {
+                Assert.assertEquals("Should keep live entries", entry.getValue(), map.get(entry.getKey()));
+            }
+        }
+
+        Assert.assertEquals("Should free every segment", 0, allocated[0]);
+    }
+
+    @Test
+    public void test_mapped() {
+        final MappedSegmentAllocator allocator = new MappedSegmentAllocator();
+
+        try (final OffHeapFunctionalMap<Long, String> map = new OffHeapFunctionalMap<>(ByteBufferCodecs.LONG, ByteBufferCodecs.STRING, allocator, 1024, 1000)) {
+            for (long key = 0; key < 1000; key++) {
+                map.putF(key, "value" + key);
+            }
+
+            Assert.assertEquals("Should be correct value", "value999", map.get(999L));
+            Assert.assertEquals("Should be correct size", 1000, map.size());
+        }
+    }
+}
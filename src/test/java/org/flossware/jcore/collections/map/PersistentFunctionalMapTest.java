@@ -0,0 +1,221 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.collections.map;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the PersistentFunctionalMap class.
+ *
+ * @author Scot P. Floess
+ */
+public class PersistentFunctionalMapTest {
+
+    /**
+     * A key whose hash we choose, to force collisions.
+     */
+    static final class CollidingKey {
+
+        final String name;
+        final int hash;
+
+        CollidingKey(final String name, final int hash) {
+            this.name = name;
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof CollidingKey && ((CollidingKey) object).name.equals(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    @Test
+    public void test_empty() {
+        final PersistentFunctionalMap<String, String> map = PersistentFunctionalMap.empty();
+
+        Assert.assertTrue("Should be empty", map.isEmpty());
+        Assert.assertNull("Should not find value", map.get("one"));
+        Assert.assertSame("Should be unchanged", map, map.removeF("one"));
+        Assert.assertFalse("Should have no entries", map.entrySet().iterator().hasNext());
+        Assert.assertEquals("Should have no depth", 0, map.depth());
+    }
+
+    @Test
+    public void test_putF() {
+        final PersistentFunctionalMap<String, Integer> empty = PersistentFunctionalMap.empty();
+        final PersistentFunctionalMap<String, Integer> one = empty.putF("one", 1);
+        final PersistentFunctionalMap<String, Integer> two = one.putF("two", 2);
+
+        Assert.assertTrue("Should leave original empty", empty.isEmpty());
+        Assert.assertEquals("Should leave prior version unchanged", 1, one.size());
+        Assert.assertFalse("Should leave prior version unchanged", one.containsKey("two"));
+        Assert.assertEquals("Should contain both", 2, two.size());
+        Assert.assertEquals("Should find value", Integer.valueOf(2), two.get("two"));
+    }
+
+    @Test
+    public void test_putF_replace() {
+        final Integer value = 1;
+        final PersistentFunctionalMap<String, Integer> one = PersistentFunctionalMap.<String, Integer>empty().putF("one", value);
+
+        Assert.assertSame("Should be unchanged for same value", one, one.putF("one", value));
+
+        final PersistentFunctionalMap<String, Integer> replaced = one.putF("one", 5);
+
+        Assert.assertEquals("Should keep size", 1, replaced.size());
+        Assert.assertEquals("Should find new value", Integer.valueOf(5), replaced.get("one"));
+        Assert.assertEquals("Should keep old value", value, one.get("one"));
+    }
+
+    @Test
+    public void test_nulls() {
+        final PersistentFunctionalMap<String, String> map = PersistentFunctionalMap.<String, String>empty().putF(null, "null").putF("key", null);
+
+        Assert.assertEquals("Should find null key", "null", map.get(null));
+        Assert.assertTrue("Should contain null value", map.containsKey("key"));
+        Assert.assertTrue("Should contain null value", map.containsValue(null));
+        Assert.assertEquals("Should remove null key", 1, map.removeF(null).size());
+    }
+
+    @Test
+    public void test_removeF() {
+        final PersistentFunctionalMap<String, Integer> map = PersistentFunctionalMap.<String, Integer>empty().putF("one", 1).putF("two", 2);
+        final PersistentFunctionalMap<String, Integer> removed = map.removeF("one");
+
+        Assert.assertEquals("Should remove key", 1, removed.size());
+        Assert.assertFalse("Should remove key", removed.containsKey("one"));
+        Assert.assertTrue("Should leave prior version unchanged", map.containsKey("one"));
+        Assert.assertSame("Should be unchanged", removed, removed.removeF("missing"));
+        Assert.assertSame("Should be empty map", PersistentFunctionalMap.empty(), removed.removeF("two"));
+    }
+
+    @Test
+    public void test_collisions() {
+        final CollidingKey one = new CollidingKey("one", 7);
+        final CollidingKey two = new CollidingKey("two", 7);
+        final CollidingKey three = new CollidingKey("three", 7);
+        final CollidingKey other = new CollidingKey("other", 8);
+
+        PersistentFunctionalMap<CollidingKey, String> map = PersistentFunctionalMap.empty();
+
+        map = map.putF(one, "1").putF(two, "2").putF(three, "3").putF(other, "other");
+
+        Assert.assertEquals("Should contain all", 4, map.size());
+        Assert.assertEquals("Should find colliding key", "2", map.get(two));
+        Assert.assertEquals("Should find other key", "other", map.get(other));
+        Assert.assertNull("Should not find missing colliding key", map.get(new CollidingKey("four", 7)));
+        Assert.assertEquals("Should replace colliding key", "22", map.putF(two, "22").get(two));
+
+        map = map.removeF(one).removeF(three);
+
+        Assert.assertEquals("Should remove colliding keys", 2, map.size());
+        Assert.assertEquals("Should find remaining colliding key", "2", map.get(two));
+
+        map = map.removeF(two);
+
+        Assert.assertEquals("Should find other key", "other", map.get(other));
+        Assert.assertEquals("Should inline remaining leaf", 1, map.depth());
+    }
+
+    @Test
+    public void test_random() {
+        final Random random = new Random(42);
+        final Map<Integer, Integer> expected = new HashMap<>();
+
+        PersistentFunctionalMap<Integer, Integer> map = PersistentFunctionalMap.empty();
+
+        for (int count = 0; count < 20000; count++) {
+            final Integer key = random.nextInt(5000);
+
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.removeF(key);
+            } else {
+                expected.put(key, count);
+                map = map.putF(key, count);
+            }
+        }
+
+        Assert.assertEquals("Should have same size", expected.size(), map.size());
+        Assert.assertEquals("Should be equal", expected, map);
+        Assert.assertEquals("Should be equal", map, expected);
+        Assert.assertEquals("Should have same hash code", expected.hashCode(), map.hashCode());
+        Assert.assertTrue("Should be shallow", map.depth() <= 6);
+
+        for (final Integer key : expected.keySet()) {
+            map = map.removeF(key);
+        }
+
+        Assert.assertSame("Should be empty map", PersistentFunctionalMap.empty(), map);
+    }
+
+    @Test
+    public void test_of() {
+        final Map<String, Integer> source = new HashMap<>();
+
+        source.put("one", 1);
+        source.put("two", 2);
+
+        Assert.assertEquals("Should contain source", source, PersistentFunctionalMap.of(source));
+        Assert.assertEquals("Should add source", 3, PersistentFunctionalMap.<String, Integer>empty().putF("three", 3).putAllF(source).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_putAllF_null() {
+        PersistentFunctionalMap.empty().putAllF(null);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_put() {
+        PersistentFunctionalMap.<String, String>empty().put("one", "1");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_remove() {
+        PersistentFunctionalMap.empty().remove("one");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_putAll() {
+        PersistentFunctionalMap.<String, String>empty().putAll(new HashMap<String, String>());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_clear() {
+        PersistentFunctionalMap.empty().clear();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_iterator_remove() {
+        PersistentFunctionalMap.<String, String>empty().putF("one", "1").entrySet().iterator().remove();
+    }
+}
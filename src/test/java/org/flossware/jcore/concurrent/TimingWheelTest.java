@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the TimingWheel class.
+ *
+ * @author Scot P. Floess
+ */
+public class TimingWheelTest {
+
+    /**
+     * A timing wheel whose time we control and that never starts its thread.
+     */
+    static class ManualTimingWheel extends TimingWheel {
+
+        long now;
+
+        ManualTimingWheel() {
+            super(10, TimeUnit.NANOSECONDS, 4);
+        }
+
+        @Override
+        long nanoTime() {
+            return now;
+        }
+
+        @Override
+        void startWorker() {
+        }
+    }
+
+    /**
+     * Counts runs.
+     */
+    static class CountingTask implements Runnable {
+
+        final AtomicInteger runs = new AtomicInteger();
+
+        @Override
+        public void run() {
+            runs.incrementAndGet();
+        }
+    }
+
+    private ManualTimingWheel timingWheel;
+
+    private CountingTask task;
+
+    @Before
+    public void init() {
+        timingWheel = new ManualTimingWheel();
+        task = new CountingTask();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badTick() {
+        new TimingWheel(0, TimeUnit.MILLISECONDS, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badSize() {
+        new TimingWheel(1, TimeUnit.MILLISECONDS, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullUnit() {
+        new TimingWheel(1, null, 4);
+    }
+
+    @Test
+    public void test_getDefault() {
+        Assert.assertSame("Should be shared", TimingWheel.getDefault(), TimingWheel.getDefault());
+        Assert.assertEquals("Should be default tick", TimeUnit.MILLISECONDS.toNanos(TimingWheel.DEFAULT_TICK_MILLIS), TimingWheel.getDefault().getTickNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_schedule_nullTask() {
+        timingWheel.schedule(null, 1, TimeUnit.NANOSECONDS);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_schedule_closed() {
+        timingWheel.close();
+
+        Assert.assertTrue("Should be closed", timingWheel.isClosed());
+
+        timingWheel.schedule(task, 1, TimeUnit.NANOSECONDS);
+    }
+
+    @Test
+    public void test_expireTimeouts() {
+        final TimingWheel.Timeout timeout = timingWheel.schedule(task, 25, TimeUnit.NANOSECONDS);
+
+        timingWheel.now = 20;
+
+        Assert.assertEquals("Should not run early", 0, timingWheel.expireTimeouts());
+        Assert.assertFalse("Should not be expired", timeout.isExpired());
+
+        timingWheel.now = 30;
+
+        Assert.assertEquals("Should run", 1, timingWheel.expireTimeouts());
+        Assert.assertTrue("Should be expired", timeout.isExpired());
+        Assert.assertEquals("Should run once", 1, task.runs.get());
+
+        timingWheel.now = 1000;
+
+        Assert.assertEquals("Should not run again", 0, timingWheel.expireTimeouts());
+    }
+
+    @Test
+    public void test_expireTimeouts_beyondWheel() {
+        timingWheel.schedule(task, 100, TimeUnit.NANOSECONDS);
+
+        timingWheel.now = 50;
+
+        Assert.assertEquals("Should survive rotations", 0, timingWheel.expireTimeouts());
+
+        timingWheel.now = 100;
+
+        Assert.assertEquals("Should run", 1, timingWheel.expireTimeouts());
+    }
+
+    @Test
+    public void test_expireTimeouts_late() {
+        timingWheel.schedule(task, 5, TimeUnit.NANOSECONDS);
+
+        timingWheel.now = 10000;
+
+        Assert.assertEquals("Should run late timeouts", 1, timingWheel.expireTimeouts());
+    }
+
+    @Test
+    public void test_expireTimeouts_crowdedBucket() {
+        final int count = 200000;
+        final TimingWheel.Timeout[] timeouts = new TimingWheel.Timeout[count];
+
+        for (int index = 0; index < count; index++) {
+            timeouts[index] = timingWheel.schedule(task, index % 2 == 0 ? 5 : 45, TimeUnit.NANOSECONDS);
+        }
+
+        for (int index = 0; index < count; index += 4) {
+            timeouts[index].cancel();
+        }
+
+        timingWheel.now = 10;
+
+        Assert.assertEquals("Should run only those due and not cancelled", count / 4, timingWheel.expireTimeouts());
+
+        timingWheel.now = 50;
+
+        Assert.assertEquals("Should run the rest left in the bucket", count / 2, timingWheel.expireTimeouts());
+
+        timingWheel.now = 1000;
+
+        Assert.assertEquals("Should have emptied the bucket", 0, timingWheel.expireTimeouts());
+        Assert.assertEquals("Should run each once", 3 * count / 4, task.runs.get());
+    }
+
+    @Test
+    public void test_bucket() {
+        final TimingWheel.Bucket bucket = new TimingWheel.Bucket();
+        final TimingWheel.Timeout first = new TimingWheel.Timeout(task, 1);
+        final TimingWheel.Timeout middle = new TimingWheel.Timeout(task, 1);
+        final TimingWheel.Timeout last = new TimingWheel.Timeout(task, 1);
+
+        Assert.assertTrue("Should be empty", bucket.isEmpty());
+
+        bucket.add(first);
+        bucket.add(middle);
+        bucket.add(last);
+        bucket.remove(middle);
+        bucket.remove(first);
+
+        Assert.assertFalse("Should not be empty", bucket.isEmpty());
+
+        bucket.remove(last);
+
+        Assert.assertTrue("Should be empty", bucket.isEmpty());
+
+        bucket.add(middle);
+
+        Assert.assertFalse("Should be reusable", bucket.isEmpty());
+    }
+
+    @Test
+    public void test_cancel() {
+        final TimingWheel.Timeout timeout = timingWheel.schedule(task, 5, TimeUnit.NANOSECONDS);
+        final TimingWheel.Timeout other = timingWheel.schedule(task, 25, TimeUnit.NANOSECONDS);
+
+        timeout.cancel();
+        timingWheel.now = 10;
+        timingWheel.expireTimeouts();
+        other.cancel();
+        timingWheel.now = 100;
+
+        Assert.assertEquals("Should not run", 0, timingWheel.expireTimeouts());
+        Assert.assertTrue("Should be cancelled", timeout.isCancelled());
+        Assert.assertFalse("Should not be expired", other.isExpired());
+    }
+
+    @Test
+    public void test_failingTask() {
+        timingWheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Test");
+            }
+        }, 1, TimeUnit.NANOSECONDS);
+        timingWheel.schedule(task, 1, TimeUnit.NANOSECONDS);
+
+        timingWheel.now = 10;
+
+        Assert.assertEquals("Should run remaining tasks", 2, timingWheel.expireTimeouts());
+        Assert.assertEquals("Should have run", 1, task.runs.get());
+    }
+
+    @Test
+    public void test_worker() throws InterruptedException {
+        final TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Runnable countDown = new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        };
+
+        try {
+            wheel.schedule(countDown, 1, TimeUnit.MILLISECONDS);
+            wheel.schedule(countDown, 20, TimeUnit.MILLISECONDS);
+
+            Assert.assertTrue("Should run on the worker", latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            wheel.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ByteBufferCodecs class.
+ *
+ * @author Scot P. Floess
+ */
+public class ByteBufferCodecsTest {
+
+    static <T> T roundTrip(final ByteBufferCodec<T> codec, final T value) {
+        final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        codec.encode(value, buffer);
+        buffer.flip();
+
+        return codec.decode(buffer);
+    }
+
+    @Test
+    public void test_INTEGER() {
+        Assert.assertEquals("Should round trip", Integer.valueOf(-12345), roundTrip(ByteBufferCodecs.INTEGER, -12345));
+    }
+
+    @Test
+    public void test_LONG() {
+        Assert.assertEquals("Should round trip", Long.valueOf(Long.MIN_VALUE), roundTrip(ByteBufferCodecs.LONG, Long.MIN_VALUE));
+    }
+
+    @Test
+    public void test_BYTES() {
+        Assert.assertArrayEquals("Should round trip", new byte[]{1, 2, 3}, roundTrip(ByteBufferCodecs.BYTES, new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    public void test_STRING() {
+        Assert.assertEquals("Should round trip", "café über", roundTrip(ByteBufferCodecs.STRING, "café über"));
+        Assert.assertEquals("Should round trip", "", roundTrip(ByteBufferCodecs.STRING, ""));
+    }
+
+    @Test(expected = java.nio.BufferOverflowException.class)
+    public void test_overflow() {
+        ByteBufferCodecs.LONG.encode(1L, ByteBuffer.allocate(4));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the DirectSegmentAllocator class.
+ *
+ * @author Scot P. Floess
+ */
+public class DirectSegmentAllocatorTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_allocate_zero() {
+        new DirectSegmentAllocator().allocate(0);
+    }
+
+    @Test
+    public void test_allocate_free() {
+        final DirectSegmentAllocator allocator = new DirectSegmentAllocator();
+        final ByteBuffer buffer = allocator.allocate(128);
+
+        Assert.assertTrue("Should be direct", buffer.isDirect());
+        Assert.assertEquals("Should be correct capacity", 128, buffer.capacity());
+        Assert.assertEquals("Should be zero filled", 0, buffer.getLong(120));
+
+        allocator.free(buffer);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.io;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the MappedSegmentAllocator class.
+ *
+ * @author Scot P. Floess
+ */
+public class MappedSegmentAllocatorTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new MappedSegmentAllocator(null);
+    }
+
+    @Test
+    public void test_constructor() {
+        Assert.assertEquals("Should be temp dir", new File(System.getProperty("java.io.tmpdir")), new MappedSegmentAllocator().getDirectory());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_allocate_zero() {
+        new MappedSegmentAllocator().allocate(0);
+    }
+
+    @Test(expected = IoException.class)
+    public void test_allocate_badDirectory() {
+        new MappedSegmentAllocator(new File("/does/not/exist/" + System.currentTimeMillis())).allocate(16);
+    }
+
+    @Test
+    public void test_allocate_free() {
+        final MappedSegmentAllocator allocator = new MappedSegmentAllocator();
+        final ByteBuffer buffer = allocator.allocate(4096);
+
+        Assert.assertTrue("Should be direct", buffer.isDirect());
+        Assert.assertEquals("Should be correct capacity", 4096, buffer.capacity());
+        Assert.assertEquals("Should be one file", 1, allocator.getFileCount());
+
+        buffer.putLong(4088, 42);
+
+        Assert.assertEquals("Should be writable", 42, buffer.getLong(4088));
+
+        allocator.free(buffer);
+
+        Assert.assertEquals("Should be no files", 0, allocator.getFileCount());
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the AsyncLogPublisher class.
+ *
+ * @author Scot P. Floess
+ */
+public class AsyncLogPublisherTest {
+
+    /**
+     * Captures records and, if asked to, blocks on the first one so we can fill up the ring buffer.
+     */
+    static final class BlockingHandler extends Handler {
+
+        final List<LogRecord> records = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        BlockingHandler(final boolean isBlocking) {
+            release = new CountDownLatch(isBlocking ? 1 : 0);
+        }
+
+        @Override
+        public void publish(final LogRecord record) {
+            blocked.countDown();
+
+            try {
+                release.await();
+            } catch (final InterruptedException interruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            records.add(record);
+            threads.add(Thread.currentThread());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private Logger logger;
+
+    private AsyncLogPublisher publisher;
+
+    private BlockingHandler handler;
+
+    void init(final int capacity, final OverflowPolicy overflowPolicy, final int sampleRate, final boolean isBlocking) {
+        handler = new BlockingHandler(isBlocking);
+        logger.addHandler(handler);
+
+        publisher = new AsyncLogPublisher(capacity, overflowPolicy, sampleRate).start();
+    }
+
+    /**
+     * Publish the first record, and wait for the background thread to block on it.
+     */
+    void blockPublisher() throws InterruptedException {
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "blocker", null));
+        Assert.assertTrue("Should have blocked", handler.blocked.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Return the messages published.
+     */
+    String messages() {
+        final StringBuilder sb = new StringBuilder();
+
+        for (final LogRecord record : handler.records) {
+            sb.append(record.getMessage()).append(' ');
+        }
+
+        return sb.toString().trim();
+    }
+
+    @Before
+    public void setUp() {
+        logger = Logger.getLogger(AsyncLogPublisherTest.class.getName() + ".capture");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+    }
+
+    @After
+    public void tearDown() {
+        handler.release.countDown();
+        publisher.close();
+        logger.removeHandler(handler);
+    }
+
+    /**
+     * Tests bad constructor params.
+     */
+    @Test
+    public void test_constructor_bad() {
+        handler = new BlockingHandler(false);
+        publisher = new AsyncLogPublisher();
+
+        try {
+            new AsyncLogPublisher(0, OverflowPolicy.BLOCK);
+            Assert.fail("Should have failed on capacity");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+
+        try {
+            new AsyncLogPublisher(1, null);
+            Assert.fail("Should have failed on overflow policy");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+
+        try {
+            new AsyncLogPublisher(1, OverflowPolicy.SAMPLE, 0);
+            Assert.fail("Should have failed on sample rate");
+        } catch (final IllegalArgumentException illegalArgumentException) {
+        }
+    }
+
+    /**
+     * Tests the defaults.
+     */
+    @Test
+    public void test_defaults() {
+        handler = new BlockingHandler(false);
+        publisher = new AsyncLogPublisher();
+
+        Assert.assertEquals("Should be default capacity", AsyncLogPublisher.DEFAULT_CAPACITY, publisher.getCapacity());
+        Assert.assertEquals("Should be default policy", OverflowPolicy.DROP_NEWEST, publisher.getOverflowPolicy());
+        Assert.assertEquals("Should be default sample rate", AsyncLogPublisher.DEFAULT_SAMPLE_RATE, publisher.getSampleRate());
+        Assert.assertFalse("Should not be running", publisher.isRunning());
+    }
+
+    /**
+     * Tests records are published on the background thread with the correct values.
+     */
+    @Test
+    public void test_publish() {
+        init(16, OverflowPolicy.BLOCK, 1, false);
+
+        for (int index = 0; index < 10; index++) {
+            Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "{0}", new Object[]{index}));
+        }
+
+        Assert.assertFalse("Should not publish disabled level", publisher.publish(logger, Level.FINEST, "{0}", new Object[]{"no"}));
+
+        publisher.close();
+
+        Assert.assertEquals("Should have published all", 10, handler.records.size());
+        Assert.assertEquals("Should have published all", 10, publisher.getPublishedCount());
+        Assert.assertEquals("Should have enqueued all", 10, publisher.getEnqueuedCount());
+        Assert.assertEquals("Should have dropped none", 0, publisher.getDroppedCount());
+
+        for (int index = 0; index < 10; index++) {
+            final LogRecord record = handler.records.get(index);
+
+            Assert.assertEquals("Should be in order", index, record.getParameters()[0]);
+            Assert.assertEquals("Should be correct logger", logger.getName(), record.getLoggerName());
+            Assert.assertEquals("Should be correct source", logger.getName(), record.getSourceClassName());
+            Assert.assertEquals("Should be published on background thread", AsyncLogPublisher.THREAD_NAME, handler.threads.get(index).getName());
+        }
+    }
+
+    /**
+     * Tests once closed, records are published synchronously.
+     */
+    @Test
+    public void test_publish_closed() {
+        init(16, OverflowPolicy.DROP_NEWEST, 1, false);
+
+        publisher.close();
+
+        Assert.assertTrue("Should have published", publisher.publish(logger, Level.INFO, "closed", null));
+        Assert.assertEquals("Should have published synchronously", Thread.currentThread(), handler.threads.get(0));
+        Assert.assertEquals("Should not have enqueued", 0, publisher.getEnqueuedCount());
+    }
+
+    /**
+     * Tests a record enqueued as we close is published rather than left in the ring buffer.
+     */
+    @Test
+    public void test_publish_closedWhileEnqueueing() {
+        handler = new BlockingHandler(false);
+        logger.addHandler(handler);
+
+        publisher = new AsyncLogPublisher(16, OverflowPolicy.DROP_NEWEST) {
+            int calls;
+
+            @Override
+            public boolean isRunning() {
+                return 0 == calls++;
+            }
+        };
+
+        Assert.assertTrue("Should have published", publisher.publish(logger, Level.INFO, "closing", null));
+        Assert.assertEquals("Should have enqueued", 1, publisher.getEnqueuedCount());
+        Assert.assertEquals("Should have nothing pending", 0, publisher.getPendingCount());
+        Assert.assertEquals("Should have published", "closing", messages());
+    }
+
+    /**
+     * Tests dropping the newest when full.
+     */
+    @Test
+    public void test_overflow_dropNewest() throws InterruptedException {
+        init(2, OverflowPolicy.DROP_NEWEST, 1, true);
+
+        blockPublisher();
+
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "a", null));
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "b", null));
+        Assert.assertFalse("Should have dropped", publisher.publish(logger, Level.INFO, "c", null));
+        Assert.assertFalse("Should have dropped", publisher.publish(logger, Level.INFO, "d", null));
+
+        handler.release.countDown();
+        publisher.close();
+
+        Assert.assertEquals("Should have kept oldest", "blocker a b", messages());
+        Assert.assertEquals("Should have dropped", 2, publisher.getDroppedCount());
+        Assert.assertEquals("Should have overflowed", 2, publisher.getOverflowCount());
+    }
+
+    /**
+     * Tests dropping the oldest when full.
+     */
+    @Test
+    public void test_overflow_dropOldest() throws InterruptedException {
+        init(2, OverflowPolicy.DROP_OLDEST, 1, true);
+
+        blockPublisher();
+
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "a", null));
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "b", null));
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "c", null));
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "d", null));
+
+        handler.release.countDown();
+        publisher.close();
+
+        Assert.assertEquals("Should have kept newest", "blocker c d", messages());
+        Assert.assertEquals("Should have dropped", 2, publisher.getDroppedCount());
+    }
+
+    /**
+     * Tests sampling when full.
+     */
+    @Test
+    public void test_overflow_sample() throws InterruptedException {
+        init(2, OverflowPolicy.SAMPLE, 3, true);
+
+        blockPublisher();
+
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "a", null));
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "b", null));
+
+        int kept = 0;
+
+        for (int index = 0; index < 9; index++) {
+            if (publisher.publish(logger, Level.INFO, "s" + index, null)) {
+                kept++;
+            }
+        }
+
+        handler.release.countDown();
+        publisher.close();
+
+        Assert.assertEquals("Should have kept 1 in 3", 3, kept);
+        Assert.assertEquals("Should have overflowed", 9, publisher.getOverflowCount());
+        Assert.assertEquals("Should have dropped the rest, plus the oldest for each sample", 9 - 3 + 3, publisher.getDroppedCount());
+        Assert.assertEquals("Should have kept the newest samples", "blocker s5 s8", messages());
+    }
+
+    /**
+     * Tests blocking when full.
+     */
+    @Test
+    public void test_overflow_block() throws InterruptedException {
+        init(2, OverflowPolicy.BLOCK, 1, true);
+
+        blockPublisher();
+
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "a", null));
+        Assert.assertTrue("Should have enqueued", publisher.publish(logger, Level.INFO, "b", null));
+
+        final CountDownLatch done = new CountDownLatch(1);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                publisher.publish(logger, Level.INFO, "c", null);
+                done.countDown();
+            }
+        }).start();
+
+        Assert.assertFalse("Should be blocked", done.await(100, TimeUnit.MILLISECONDS));
+
+        handler.release.countDown();
+
+        Assert.assertTrue("Should have been unblocked", done.await(10, TimeUnit.SECONDS));
+
+        publisher.close();
+
+        Assert.assertEquals("Should have kept all", "blocker a b c", messages());
+        Assert.assertEquals("Should have dropped none", 0, publisher.getDroppedCount());
+        Assert.assertEquals("Should have overflowed", 1, publisher.getOverflowCount());
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the MessageTemplate class.
+ *
+ * @author Scot P. Floess
+ */
+public class MessageTemplateTest {
+
+    /**
+     * Patterns taken from, or modeled on, those used throughout jCore.
+     */
+    static final String[] PATTERNS = {
+        "Returning [{0}]",
+        "Putting [{0}] -> [{1}]",
+        "Put yielded [{0}] for [{1}] -> [{2}]",
+        "Setting last observed modified for file, {0} lastModified {1}}",
+        "Service is [{0}] for service class [{1}] and wsl resource string [{1}]",
+        "Request to close MessageContext:  {0}",
+        "No arguments at all",
+        "{0}{1}{2}",
+        "{2} before {0}",
+        "It''s [{0}]",
+        "'{0}' is quoted",
+        "Half '{quoted}' and {0} ''{1}''",
+        "Trailing quote '",
+        "{10} is out of range",
+        "Missing {3}",
+        ""
+    };
+
+    /**
+     * Arguments to render the patterns with.
+     */
+    static final Object[][] ARGUMENTS = {
+        {},
+        {"alpha"},
+        {"alpha", "beta", "gamma"},
+        {null, null, null},
+        {1234567, 3.14159, -42L},
+        {1476738000000L, new Date(1476738000000L), Boolean.TRUE},
+        {new StringBuilder("sb"), Arrays.asList(1, 2), 'c'}
+    };
+
+    /**
+     * Tests parsing an argument index.
+     */
+    @Test
+    public void test_parseArgumentIndex() {
+        Assert.assertEquals("Should be correct index", 0, MessageTemplate.parseArgumentIndex("0"));
+        Assert.assertEquals("Should be correct index", 12, MessageTemplate.parseArgumentIndex("12"));
+        Assert.assertEquals("Should not be an index", -1, MessageTemplate.parseArgumentIndex(""));
+        Assert.assertEquals("Should not be an index", -1, MessageTemplate.parseArgumentIndex("0,number"));
+        Assert.assertEquals("Should not be an index", -1, MessageTemplate.parseArgumentIndex("a"));
+        Assert.assertEquals("Should not be an index", -1, MessageTemplate.parseArgumentIndex("1234567890"));
+    }
+
+    /**
+     * Tests compiling a null pattern.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_compile_null() {
+        MessageTemplate.compile(null);
+    }
+
+    /**
+     * Tests that rendering matches MessageFormat for every pattern and set of arguments.
+     */
+    @Test
+    public void test_render_matchesMessageFormat() {
+        for (final String pattern : PATTERNS) {
+            final MessageTemplate template = MessageTemplate.compile(pattern);
+
+            Assert.assertFalse("Should be compiled for [" + pattern + "]", template.isMessageFormat());
+            Assert.assertEquals("Should be same pattern", pattern, template.getPattern());
+
+            for (final Object[] arguments : ARGUMENTS) {
+                Assert.assertEquals("Should render same as MessageFormat for [" + pattern + "]", MessageFormat.format(pattern, arguments), template.render(arguments));
+            }
+        }
+    }
+
+    /**
+     * Tests null arguments.
+     */
+    @Test
+    public void test_render_nullArguments() {
+        final String pattern = "Value [{0}]";
+
+        Assert.assertEquals("Should render same as MessageFormat", MessageFormat.format(pattern, (Object[]) null), MessageTemplate.compile(pattern).render((Object[]) null));
+    }
+
+    /**
+     * Tests a different default locale.
+     */
+    @Test
+    public void test_render_locale() {
+        final Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+
+        try {
+            Locale.setDefault(Locale.Category.FORMAT, Locale.GERMANY);
+
+            final String pattern = "Value [{0}] [{1}]";
+            final Object[] arguments = {1234567.5, new Date(1476738000000L)};
+
+            Assert.assertEquals("Should render same as MessageFormat", MessageFormat.format(pattern, arguments), MessageTemplate.compile(pattern).render(arguments));
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, locale);
+        }
+    }
+
+    /**
+     * Tests patterns we do not compile but defer to MessageFormat.
+     */
+    @Test
+    public void test_render_messageFormat() {
+        final String[] patterns = {"{0,number,#}", "{1,date,short} {0}", "{0,choice,0#none|1#one}"};
+
+        for (final String pattern : patterns) {
+            final MessageTemplate template = MessageTemplate.compile(pattern);
+
+            Assert.assertTrue("Should defer to MessageFormat for [" + pattern + "]", template.isMessageFormat());
+
+            Assert.assertEquals("Should render same as MessageFormat for [" + pattern + "]", MessageFormat.format(pattern, 1234567, new Date(0)), template.render(1234567, new Date(0)));
+        }
+    }
+
+    /**
+     * Tests an unclosed argument is rejected just as MessageFormat does.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_render_unclosed() {
+        final MessageTemplate template = MessageTemplate.compile("Unclosed {0");
+
+        Assert.assertTrue("Should defer to MessageFormat", template.isMessageFormat());
+
+        template.render("foo");
+    }
+
+    /**
+     * Tests rendering into a string builder.
+     */
+    @Test
+    public void test_render_stringBuilder() {
+        final StringBuilder sb = new StringBuilder("Prefix ");
+
+        Assert.assertSame("Should be same string builder", sb, MessageTemplate.compile("[{0}]").render(sb, "foo"));
+        Assert.assertEquals("Should be appended", "Prefix [foo]", sb.toString());
+    }
+
+    /**
+     * Tests toString.
+     */
+    @Test
+    public void test_toString() {
+        Assert.assertTrue("Should contain pattern", MessageTemplate.compile("Foo {0}").toString().contains("Foo {0}"));
+    }
+}
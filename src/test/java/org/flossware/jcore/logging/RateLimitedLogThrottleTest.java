@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the RateLimitedLogThrottle class.
+ *
+ * @author Scot P. Floess
+ */
+public class RateLimitedLogThrottleTest {
+
+    /**
+     * Create a throttle whose time is controlled by <code>clock</code>.
+     */
+    static RateLimitedLogThrottle createThrottle(final AtomicLong clock, final int permitsPerSecond, final int burst) {
+        return new RateLimitedLogThrottle(permitsPerSecond, burst) {
+            @Override
+            long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+
+    /**
+     * Tests a bad rate.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badRate() {
+        new RateLimitedLogThrottle(0);
+    }
+
+    /**
+     * Tests a bad burst.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badBurst() {
+        new RateLimitedLogThrottle(1, 0);
+    }
+
+    /**
+     * Tests bursts are permitted then suppressed.
+     */
+    @Test
+    public void test_acquire_burst() {
+        final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+        final RateLimitedLogThrottle throttle = createThrottle(clock, 10, 3);
+
+        for (int index = 0; index < 3; index++) {
+            Assert.assertEquals("Should be permitted", 0, throttle.acquire());
+        }
+
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+        Assert.assertEquals("Should be correct suppressed count", 2, throttle.getSuppressedCount());
+    }
+
+    /**
+     * Tests tokens are replenished over time and suppressed counts reported.
+     */
+    @Test
+    public void test_acquire_replenish() {
+        final AtomicLong clock = new AtomicLong(-TimeUnit.DAYS.toNanos(1));
+        final RateLimitedLogThrottle throttle = createThrottle(clock, 10, 1);
+
+        Assert.assertEquals("Should be permitted", 0, throttle.acquire());
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+
+        Assert.assertEquals("Should be permitted with suppressed count", 3, throttle.acquire());
+        Assert.assertEquals("Should have reset suppressed count", 0, throttle.getSuppressedCount());
+        Assert.assertEquals("Should be correct total suppressed count", 3, throttle.getTotalSuppressedCount());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        Assert.assertEquals("Should be permitted", 0, throttle.acquire());
+        Assert.assertEquals("Should not bank tokens beyond the burst", LogThrottle.SUPPRESSED, throttle.acquire());
+    }
+
+    /**
+     * Tests the sustained rate with real time.
+     */
+    @Test
+    public void test_acquire_concurrent() throws InterruptedException {
+        final RateLimitedLogThrottle throttle = new RateLimitedLogThrottle(1, 5);
+        final AtomicLong permitted = new AtomicLong();
+        final Thread[] threads = new Thread[4];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    for (int count = 0; count < 10000; count++) {
+                        if (throttle.acquire() != LogThrottle.SUPPRESSED) {
+                            permitted.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertTrue("Should have permitted the burst", permitted.get() >= 5);
+        Assert.assertTrue("Should not have permitted much more than the burst", permitted.get() <= 6);
+        Assert.assertEquals("Should have suppressed the rest", 40000 - permitted.get(), throttle.getTotalSuppressedCount());
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the RingBuffer class.
+ *
+ * @author Scot P. Floess
+ */
+public class RingBufferTest {
+
+    /**
+     * Tests computing a capacity.
+     */
+    @Test
+    public void test_computeCapacity() {
+        Assert.assertEquals("Should be correct capacity", 1, RingBuffer.computeCapacity(1));
+        Assert.assertEquals("Should be correct capacity", 2, RingBuffer.computeCapacity(2));
+        Assert.assertEquals("Should be correct capacity", 4, RingBuffer.computeCapacity(3));
+        Assert.assertEquals("Should be correct capacity", 1024, RingBuffer.computeCapacity(1000));
+        Assert.assertEquals("Should be correct capacity", 1024, RingBuffer.computeCapacity(1024));
+    }
+
+    /**
+     * Tests a bad capacity.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_computeCapacity_tooSmall() {
+        RingBuffer.computeCapacity(0);
+    }
+
+    /**
+     * Tests a too large capacity.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_computeCapacity_tooLarge() {
+        RingBuffer.computeCapacity(RingBuffer.MAX_CAPACITY + 1);
+    }
+
+    /**
+     * Tests offering and polling in order, including wrapping around.
+     */
+    @Test
+    public void test_offer_poll() {
+        final RingBuffer<String> ringBuffer = new RingBuffer<>(3);
+
+        Assert.assertEquals("Should be correct capacity", 4, ringBuffer.capacity());
+        Assert.assertTrue("Should be empty", ringBuffer.isEmpty());
+        Assert.assertNull("Should be nothing to poll", ringBuffer.poll());
+
+        for (int round = 0; round < 3; round++) {
+            for (int index = 0; index < ringBuffer.capacity(); index++) {
+                Assert.assertTrue("Should have offered", ringBuffer.offer("value" + index));
+            }
+
+            Assert.assertFalse("Should be full", ringBuffer.offer("full"));
+            Assert.assertEquals("Should be full", ringBuffer.capacity(), ringBuffer.size());
+
+            for (int index = 0; index < ringBuffer.capacity(); index++) {
+                Assert.assertEquals("Should be in order", "value" + index, ringBuffer.poll());
+            }
+
+            Assert.assertTrue("Should be empty", ringBuffer.isEmpty());
+            Assert.assertEquals("Should be empty", 0, ringBuffer.size());
+        }
+    }
+
+    /**
+     * Tests many producers and one consumer lose nothing.
+     */
+    @Test
+    public void test_concurrent() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 20000;
+
+        final RingBuffer<Long> ringBuffer = new RingBuffer<>(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicLong sum = new AtomicLong();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int producer = 0; producer < producers; producer++) {
+            final Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (final InterruptedException interruptedException) {
+                        return;
+                    }
+
+                    for (long value = 1; value <= perProducer; value++) {
+                        while (!ringBuffer.offer(value)) {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+
+        long received = 0;
+
+        while (received < producers * perProducer) {
+            final Long value = ringBuffer.poll();
+
+            if (null == value) {
+                Thread.yield();
+            } else {
+                sum.addAndGet(value);
+                received++;
+            }
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Should have received every value", producers * ((long) perProducer * (perProducer + 1) / 2), sum.get());
+        Assert.assertTrue("Should be empty", ringBuffer.isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the SampledLogThrottle class.
+ *
+ * @author Scot P. Floess
+ */
+public class SampledLogThrottleTest {
+
+    /**
+     * Tests a bad sample rate.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_badSampleRate() {
+        new SampledLogThrottle(0);
+    }
+
+    /**
+     * Tests sampling.
+     */
+    @Test
+    public void test_acquire() {
+        final SampledLogThrottle throttle = new SampledLogThrottle(3);
+
+        Assert.assertEquals("Should be correct sample rate", 3, throttle.getSampleRate());
+
+        Assert.assertEquals("Should permit the first", 0, throttle.acquire());
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+        Assert.assertEquals("Should be suppressed", LogThrottle.SUPPRESSED, throttle.acquire());
+        Assert.assertEquals("Should be permitted with suppressed count", 2, throttle.acquire());
+        Assert.assertEquals("Should be correct total suppressed count", 2, throttle.getTotalSuppressedCount());
+    }
+
+    /**
+     * Tests a sample rate of one permits everything.
+     */
+    @Test
+    public void test_acquire_all() {
+        final SampledLogThrottle throttle = new SampledLogThrottle(1);
+
+        for (int index = 0; index < 100; index++) {
+            Assert.assertEquals("Should be permitted", 0, throttle.acquire());
+        }
+
+        Assert.assertEquals("Should not have suppressed", 0, throttle.getTotalSuppressedCount());
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.logging;
+
+import java.util.Date;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the TemplateFormatter class.
+ *
+ * @author Scot P. Floess
+ */
+public class TemplateFormatterTest {
+
+    /**
+     * Create a log record.
+     */
+    static LogRecord createLogRecord(final String message, final Object... parameters) {
+        final LogRecord retVal = new LogRecord(Level.INFO, message);
+
+        retVal.setParameters(parameters);
+
+        return retVal;
+    }
+
+    /**
+     * Tests detecting MessageFormat patterns.
+     */
+    @Test
+    public void test_isMessageFormat() {
+        Assert.assertTrue("Should be a MessageFormat", TemplateFormatter.isMessageFormat("Foo {0}"));
+        Assert.assertTrue("Should be a MessageFormat", TemplateFormatter.isMessageFormat("Foo {3,number}"));
+        Assert.assertFalse("Should not be a MessageFormat", TemplateFormatter.isMessageFormat("Foo {4}"));
+        Assert.assertFalse("Should not be a MessageFormat", TemplateFormatter.isMessageFormat("Foo"));
+    }
+
+    /**
+     * Tests formatting messages is the same as SimpleFormatter.
+     */
+    @Test
+    public void test_formatMessage() {
+        final SimpleFormatter expected = new SimpleFormatter();
+        final TemplateFormatter formatter = new TemplateFormatter();
+
+        final LogRecord[] records = {
+            createLogRecord("Putting [{0}] -> [{1}]", "foo", 1234567),
+            createLogRecord("Date {0}", new Date(0)),
+            createLogRecord("No parameters"),
+            createLogRecord("No pattern", "foo"),
+            createLogRecord("Number {0,number,#}", 1234567),
+            createLogRecord("Bad {0,foo}", "bar"),
+            createLogRecord(null, "bar")
+        };
+
+        for (final LogRecord record : records) {
+            Assert.assertEquals("Should format the same as SimpleFormatter", expected.formatMessage(record), formatter.formatMessage(record));
+        }
+    }
+
+    /**
+     * Tests formatting a whole record.
+     */
+    @Test
+    public void test_format() {
+        final LogRecord record = createLogRecord("Putting [{0}] -> [{1}]", "foo", "bar");
+
+        Assert.assertEquals("Should format the same as SimpleFormatter", new SimpleFormatter().format(record), new TemplateFormatter().format(record));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the Counter class.
+ *
+ * @author Scot P. Floess
+ */
+public class CounterTest {
+
+    /**
+     * Tests counting.
+     */
+    @Test
+    public void test_count() {
+        final Counter counter = new Counter();
+
+        counter.inc();
+        counter.inc(5);
+        counter.dec();
+        counter.dec(2);
+
+        Assert.assertEquals("Should be correct count", 3, counter.getCount());
+        Assert.assertTrue("Should contain count", counter.toString().contains("3"));
+
+        counter.reset();
+
+        Assert.assertEquals("Should be reset", 0, counter.getCount());
+    }
+}
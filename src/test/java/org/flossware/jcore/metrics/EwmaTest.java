@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the Ewma class.
+ *
+ * @author Scot P. Floess
+ */
+public class EwmaTest {
+
+    /**
+     * Tests the first tick sets the rate and later ticks decay towards new rates.
+     */
+    @Test
+    public void test_tick() {
+        final Ewma ewma = new Ewma(1);
+
+        Assert.assertEquals("Should be no rate", 0, ewma.getRate(), 0);
+
+        ewma.tick(50);
+
+        Assert.assertEquals("Should be instant rate", 10, ewma.getRate(), 0.0001);
+
+        for (int tick = 0; tick < 12; tick++) {
+            ewma.tick(0);
+        }
+
+        Assert.assertEquals("Should have decayed by a factor of e over a minute", 10 / Math.E, ewma.getRate(), 0.0001);
+    }
+}
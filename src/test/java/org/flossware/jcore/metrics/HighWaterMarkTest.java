@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the HighWaterMark class.
+ *
+ * @author Scot P. Floess
+ */
+public class HighWaterMarkTest {
+
+    /**
+     * Tests updating.
+     */
+    @Test
+    public void test_update() {
+        final HighWaterMark highWaterMark = new HighWaterMark();
+
+        highWaterMark.update(5);
+        highWaterMark.update(3);
+        highWaterMark.update(7);
+        highWaterMark.update(6);
+
+        Assert.assertEquals("Should be highest", 7, highWaterMark.getValue());
+        Assert.assertTrue("Should contain value", highWaterMark.toString().contains("7"));
+
+        highWaterMark.reset();
+
+        Assert.assertEquals("Should be reset", 0, highWaterMark.getValue());
+    }
+}
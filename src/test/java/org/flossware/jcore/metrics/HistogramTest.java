@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the Histogram class.
+ *
+ * @author Scot P. Floess
+ */
+public class HistogramTest {
+
+    /**
+     * Tests buckets cover every value contiguously.
+     */
+    @Test
+    public void test_buckets() {
+        Assert.assertEquals("Should be first bucket", 0, Histogram.computeBucket(0));
+        Assert.assertEquals("Should be last bucket", Histogram.BUCKET_COUNT - 1, Histogram.computeBucket(Histogram.HIGHEST_TRACKABLE_VALUE));
+        Assert.assertEquals("Should be last value", Histogram.HIGHEST_TRACKABLE_VALUE, Histogram.computeHighestValue(Histogram.BUCKET_COUNT - 1));
+
+        for (int bucket = 1; bucket < Histogram.BUCKET_COUNT; bucket++) {
+            Assert.assertEquals("Should be contiguous", Histogram.computeHighestValue(bucket - 1) + 1, Histogram.computeLowestValue(bucket));
+            Assert.assertEquals("Should be same bucket", bucket, Histogram.computeBucket(Histogram.computeLowestValue(bucket)));
+            Assert.assertEquals("Should be same bucket", bucket, Histogram.computeBucket(Histogram.computeHighestValue(bucket)));
+        }
+    }
+
+    /**
+     * Tests clamping.
+     */
+    @Test
+    public void test_clamp() {
+        Assert.assertEquals("Should be zero", 0, Histogram.clamp(-5));
+        Assert.assertEquals("Should be same", 5, Histogram.clamp(5));
+        Assert.assertEquals("Should be highest", Histogram.HIGHEST_TRACKABLE_VALUE, Histogram.clamp(Long.MAX_VALUE));
+    }
+
+    /**
+     * Tests an empty histogram.
+     */
+    @Test
+    public void test_empty() {
+        final Histogram histogram = new Histogram();
+
+        Assert.assertEquals("Should be no count", 0, histogram.getCount());
+        Assert.assertEquals("Should be no min", 0, histogram.getMin());
+        Assert.assertEquals("Should be no max", 0, histogram.getMax());
+        Assert.assertEquals("Should be no mean", 0, histogram.getMean(), 0);
+        Assert.assertEquals("Should be no percentile", 0, histogram.get99thPercentile());
+    }
+
+    /**
+     * Tests statistics and percentile accuracy against exact values.
+     */
+    @Test
+    public void test_update() {
+        final Histogram histogram = new Histogram();
+        final Random random = new Random(42);
+        final long[] values = new long[100000];
+
+        long sum = 0;
+
+        for (int index = 0; index < values.length; index++) {
+            values[index] = (long) Math.abs(random.nextGaussian() * 1000000) + 100;
+            sum += values[index];
+
+            histogram.update(values[index]);
+        }
+
+        Arrays.sort(values);
+
+        Assert.assertEquals("Should be correct count", values.length, histogram.getCount());
+        Assert.assertEquals("Should be correct sum", sum, histogram.getSum());
+        Assert.assertEquals("Should be correct min", values[0], histogram.getMin());
+        Assert.assertEquals("Should be correct max", values[values.length - 1], histogram.getMax());
+        Assert.assertEquals("Should be correct mean", (double) sum / values.length, histogram.getMean(), 0.001);
+
+        final double[] percentiles = {50, 90, 99, 99.9};
+
+        for (final double percentile : percentiles) {
+            final long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long actual = histogram.getValueAtPercentile(percentile);
+
+            Assert.assertTrue("Should be at least the exact value", actual >= expected);
+            Assert.assertTrue("Should be within precision", actual - expected <= expected / Histogram.SUB_BUCKET_COUNT);
+        }
+
+        Assert.assertEquals("Should be max", values[values.length - 1], histogram.getValueAtPercentile(100));
+        Assert.assertTrue("Should contain count", histogram.toString().contains("100000"));
+
+        histogram.reset();
+
+        Assert.assertEquals("Should be reset", 0, histogram.getCount());
+        Assert.assertEquals("Should be reset", 0, histogram.get50thPercentile());
+    }
+
+    /**
+     * Tests small values are exact.
+     */
+    @Test
+    public void test_update_small() {
+        final Histogram histogram = new Histogram();
+
+        for (int value = 1; value <= 10; value++) {
+            histogram.update(value);
+        }
+
+        Assert.assertEquals("Should be exact", 5, histogram.get50thPercentile());
+        Assert.assertEquals("Should be exact", 9, histogram.get90thPercentile());
+        Assert.assertEquals("Should be exact", 10, histogram.get99thPercentile());
+        Assert.assertEquals("Should be exact", 10, histogram.get999thPercentile());
+        Assert.assertEquals("Should be exact", 1, histogram.getValueAtPercentile(0));
+    }
+}
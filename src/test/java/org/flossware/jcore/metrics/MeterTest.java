@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the Meter class.
+ *
+ * @author Scot P. Floess
+ */
+public class MeterTest {
+
+    /**
+     * Create a meter whose time is controlled by <code>clock</code>.
+     */
+    static Meter createMeter(final AtomicLong clock) {
+        return new Meter() {
+            @Override
+            long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+
+    /**
+     * Tests marking and rates.
+     */
+    @Test
+    public void test_mark() {
+        final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toNanos(1));
+        final Meter meter = createMeter(clock);
+
+        Assert.assertEquals("Should be no mean rate", 0, meter.getMeanRate(), 0);
+
+        meter.mark();
+        meter.mark(49);
+
+        Assert.assertEquals("Should be correct count", 50, meter.getCount());
+        Assert.assertEquals("Should not have ticked", 0, meter.getOneMinuteRate(), 0);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+
+        Assert.assertEquals("Should be correct mean rate", 10, meter.getMeanRate(), 0.0001);
+        Assert.assertEquals("Should be correct rate", 10, meter.getOneMinuteRate(), 0.0001);
+        Assert.assertEquals("Should be correct rate", 10, meter.getFiveMinuteRate(), 0.0001);
+        Assert.assertEquals("Should be correct rate", 10, meter.getFifteenMinuteRate(), 0.0001);
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        Assert.assertEquals("Should have decayed", 10 / Math.E, meter.getOneMinuteRate(), 0.0001);
+        Assert.assertTrue("Should have decayed less", meter.getFifteenMinuteRate() > meter.getFiveMinuteRate());
+        Assert.assertTrue("Should contain count", meter.toString().contains("50"));
+    }
+
+    /**
+     * Tests marking concurrently.
+     */
+    @Test
+    public void test_mark_concurrent() throws InterruptedException {
+        final Meter meter = new Meter();
+        final Thread[] threads = new Thread[4];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    for (int count = 0; count < 100000; count++) {
+                        meter.mark();
+                    }
+                }
+            };
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Should be correct count", 400000, meter.getCount());
+        Assert.assertTrue("Should have a rate", meter.getMeanRate() > 0);
+    }
+}
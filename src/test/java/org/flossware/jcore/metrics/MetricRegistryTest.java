@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the MetricRegistry class.
+ *
+ * @author Scot P. Floess
+ */
+public class MetricRegistryTest {
+
+    /**
+     * A metric that cannot be exported.
+     */
+    static final class StubMetric implements Metric {
+    }
+
+    private MetricRegistry registry;
+
+    @Before
+    public void init() {
+        registry = new MetricRegistry();
+    }
+
+    /**
+     * Tests the default registry.
+     */
+    @Test
+    public void test_getDefault() {
+        Assert.assertSame("Should be same registry", MetricRegistry.getDefault(), MetricRegistry.getDefault());
+    }
+
+    /**
+     * Tests creating metrics.
+     */
+    @Test
+    public void test_create() {
+        final Counter counter = registry.counter("counter");
+        final Histogram histogram = registry.histogram("histogram");
+        final Timer timer = registry.timer("timer");
+        final Meter meter = registry.meter("meter");
+        final HighWaterMark highWaterMark = registry.highWaterMark("highWaterMark");
+
+        Assert.assertSame("Should be same meter", meter, registry.meter("meter"));
+        Assert.assertSame("Should be same high water mark", highWaterMark, registry.highWaterMark("highWaterMark"));
+        Assert.assertSame("Should be same counter", counter, registry.counter("counter"));
+        Assert.assertSame("Should be same histogram", histogram, registry.histogram("histogram"));
+        Assert.assertSame("Should be same timer", timer, registry.timer("timer"));
+        Assert.assertSame("Should be same metric", timer, registry.getMetric("timer"));
+        Assert.assertNull("Should be no metric", registry.getMetric("foo"));
+        Assert.assertEquals("Should be five metrics", 5, registry.getMetrics().size());
+    }
+
+    /**
+     * Tests a blank name.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_create_blank() {
+        registry.counter(" ");
+    }
+
+    /**
+     * Tests retrieving a metric as the wrong type.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_create_wrongType() {
+        registry.counter("metric");
+        registry.timer("metric");
+    }
+
+    /**
+     * Tests registering.
+     */
+    @Test
+    public void test_register() {
+        final Counter counter = new Counter();
+
+        Assert.assertSame("Should be same counter", counter, registry.register("counter", counter));
+        Assert.assertSame("Should be same counter", counter, registry.counter("counter"));
+    }
+
+    /**
+     * Tests registering a name twice.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_register_twice() {
+        registry.register("counter", new Counter());
+        registry.register("counter", new Counter());
+    }
+
+    /**
+     * Tests registering a null metric.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_register_null() {
+        registry.register("counter", null);
+    }
+
+    /**
+     * Tests removing.
+     */
+    @Test
+    public void test_remove() {
+        final Counter counter = registry.counter("counter");
+
+        Assert.assertSame("Should be removed", counter, registry.remove("counter"));
+        Assert.assertNull("Should be gone", registry.remove("counter"));
+        Assert.assertNotSame("Should be new counter", counter, registry.counter("counter"));
+    }
+
+    /**
+     * Tests exporting to JMX.
+     */
+    @Test
+    public void test_exportToJmx() throws Exception {
+        final MBeanServer mbeanServer = MBeanServerFactory.newMBeanServer();
+
+        registry.counter("requests").inc(3);
+        registry.register("stub", new StubMetric());
+
+        registry.exportToJmx(mbeanServer, "test");
+
+        Assert.assertTrue("Should be exported", registry.isExportedToJmx());
+
+        final Timer timer = registry.timer("handler latency");
+        timer.update(5, TimeUnit.MILLISECONDS);
+        registry.histogram("sizes").update(10);
+        registry.meter("puts").mark(2);
+        registry.highWaterMark("size").update(12);
+
+        final ObjectName counterName = new ObjectName("test:type=Counter,name=\"requests\"");
+        final ObjectName timerName = new ObjectName("test:type=Timer,name=\"handler latency\"");
+        final ObjectName histogramName = new ObjectName("test:type=Histogram,name=\"sizes\"");
+
+        Assert.assertEquals("Should be count", 3L, mbeanServer.getAttribute(counterName, "Count"));
+        Assert.assertEquals("Should be count", 1L, mbeanServer.getAttribute(timerName, "Count"));
+        Assert.assertEquals("Should be max", 5000.0, (Double) mbeanServer.getAttribute(timerName, "Max"), 200);
+        Assert.assertEquals("Should be max", 10L, mbeanServer.getAttribute(histogramName, "Max"));
+
+        Assert.assertEquals("Should be count", 2L, mbeanServer.getAttribute(new ObjectName("test:type=Meter,name=\"puts\""), "Count"));
+        Assert.assertEquals("Should be value", 12L, mbeanServer.getAttribute(new ObjectName("test:type=HighWaterMark,name=\"size\""), "Value"));
+
+        mbeanServer.invoke(counterName, "reset", null, null);
+        Assert.assertEquals("Should be reset", 0, registry.counter("requests").getCount());
+
+        registry.remove("sizes");
+        Assert.assertFalse("Should be unregistered", mbeanServer.isRegistered(histogramName));
+
+        registry.unexportFromJmx();
+
+        Assert.assertFalse("Should not be exported", registry.isExportedToJmx());
+        Assert.assertFalse("Should be unregistered", mbeanServer.isRegistered(counterName));
+        Assert.assertFalse("Should be unregistered", mbeanServer.isRegistered(timerName));
+
+        registry.unexportFromJmx();
+    }
+
+    /**
+     * Tests exporting to the platform MBean server.
+     */
+    @Test
+    public void test_exportToJmx_platform() throws Exception {
+        registry.counter("platform test counter");
+        registry.exportToJmx();
+
+        try {
+            Assert.assertTrue("Should be registered", ManagementFactory.getPlatformMBeanServer().isRegistered(new ObjectName(MetricRegistry.DEFAULT_DOMAIN + ":type=Counter,name=\"platform test counter\"")));
+        } finally {
+            registry.unexportFromJmx();
+        }
+    }
+
+    /**
+     * Tests exporting with a null server.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_exportToJmx_null() {
+        registry.exportToJmx(null, "test");
+    }
+
+    /**
+     * Tests an invalid domain.
+     */
+    @Test(expected = MetricsException.class)
+    public void test_exportToJmx_badDomain() {
+        registry.counter("counter");
+        registry.exportToJmx(MBeanServerFactory.newMBeanServer(), "bad:domain");
+    }
+}
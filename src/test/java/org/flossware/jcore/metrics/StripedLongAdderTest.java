@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the StripedLongAdder class.
+ *
+ * @author Scot P. Floess
+ */
+public class StripedLongAdderTest {
+
+    /**
+     * Tests computing the number of stripes.
+     */
+    @Test
+    public void test_computeStripes() {
+        Assert.assertEquals("Should be correct stripes", 2, StripedLongAdder.computeStripes(1));
+        Assert.assertEquals("Should be correct stripes", 8, StripedLongAdder.computeStripes(3));
+        Assert.assertEquals("Should be correct stripes", 8, StripedLongAdder.computeStripes(4));
+        Assert.assertEquals("Should be correct stripes", 64, StripedLongAdder.computeStripes(1000));
+    }
+
+    /**
+     * Tests adding.
+     */
+    @Test
+    public void test_add() {
+        final StripedLongAdder adder = new StripedLongAdder();
+
+        adder.increment();
+        adder.add(10);
+        adder.decrement();
+
+        Assert.assertEquals("Should be correct sum", 10, adder.sum());
+        Assert.assertEquals("Should be correct string", "10", adder.toString());
+        Assert.assertFalse("Should not be striped", adder.isStriped());
+
+        adder.ensureStripes();
+        adder.add(5);
+
+        Assert.assertTrue("Should be striped", adder.isStriped());
+        Assert.assertEquals("Should be correct sum", 15, adder.sum());
+
+        adder.reset();
+
+        Assert.assertEquals("Should be reset", 0, adder.sum());
+    }
+
+    /**
+     * Tests adding concurrently.
+     */
+    @Test
+    public void test_add_concurrent() throws InterruptedException {
+        final StripedLongAdder adder = new StripedLongAdder();
+        final Thread[] threads = new Thread[8];
+
+        for (int index = 0; index < threads.length; index++) {
+            threads[index] = new Thread() {
+                @Override
+                public void run() {
+                    for (int count = 0; count < 100000; count++) {
+                        adder.increment();
+                    }
+                }
+            };
+            threads[index].start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals("Should be correct sum", 800000, adder.sum());
+    }
+}
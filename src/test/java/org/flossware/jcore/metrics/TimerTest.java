@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.metrics;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the Timer class.
+ *
+ * @author Scot P. Floess
+ */
+public class TimerTest {
+
+    /**
+     * Tests a null duration unit.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_null() {
+        new Timer(null);
+    }
+
+    /**
+     * Tests recording durations.
+     */
+    @Test
+    public void test_update() {
+        final Timer timer = new Timer(TimeUnit.MILLISECONDS);
+
+        timer.update(2, TimeUnit.MILLISECONDS);
+        timer.update(4000, TimeUnit.MICROSECONDS);
+
+        Assert.assertEquals("Should be correct unit", "MILLISECONDS", timer.getDurationUnit());
+        Assert.assertEquals("Should be correct count", 2, timer.getCount());
+        Assert.assertEquals("Should be correct min", 2, timer.getMin(), 0.1);
+        Assert.assertEquals("Should be correct max", 4, timer.getMax(), 0.1);
+        Assert.assertEquals("Should be correct mean", 3, timer.getMean(), 0.1);
+        Assert.assertEquals("Should be correct median", 2, timer.get50thPercentile(), 0.1);
+        Assert.assertEquals("Should be correct percentile", 4, timer.get90thPercentile(), 0.1);
+        Assert.assertEquals("Should be correct percentile", 4, timer.get99thPercentile(), 0.1);
+        Assert.assertEquals("Should be correct percentile", 4, timer.get999thPercentile(), 0.1);
+        Assert.assertEquals("Should be nanoseconds", 2000000, timer.getHistogram().getMin());
+        Assert.assertTrue("Should contain unit", timer.toString().contains("MILLISECONDS"));
+
+        timer.reset();
+
+        Assert.assertEquals("Should be reset", 0, timer.getCount());
+    }
+
+    /**
+     * Tests timing.
+     */
+    @Test
+    public void test_time() throws InterruptedException {
+        final Timer timer = new Timer();
+
+        Assert.assertEquals("Should be default unit", Timer.DEFAULT_DURATION_UNIT.name(), timer.getDurationUnit());
+
+        try (final Timer.Context context = timer.time()) {
+            Thread.sleep(5);
+        }
+
+        final long start = timer.start();
+
+        Assert.assertTrue("Should be a duration", timer.stop(start) >= 0);
+        Assert.assertEquals("Should be correct count", 2, timer.getCount());
+        Assert.assertTrue("Should have slept", timer.getMax() >= 5000);
+    }
+}
@@ -16,11 +16,15 @@
  */
 package org.flossware.jcore.soap;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
 import javax.xml.ws.handler.Handler;
 import javax.xml.ws.handler.MessageContext;
 import javax.xml.ws.handler.soap.SOAPMessageContext;
+import org.flossware.jcore.logging.LogThrottle;
+import org.flossware.jcore.logging.SampledLogThrottle;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -49,6 +53,13 @@ public class AbstractSoapHandlerTest {
         boolean wasProcessResponseCalled;
         boolean wasProcessFailureCalled;
 
+        StubSoapRequestHandler(final LogThrottle failureLogThrottle, final LogThrottle faultLogThrottle, final LogThrottle exceptionLogThrottle) {
+            super(failureLogThrottle, faultLogThrottle, exceptionLogThrottle);
+
+            this.isProcessRequestExceptionRaised = true;
+            this.isProcessResponseExceptionRaised = true;
+        }
+
         StubSoapRequestHandler(final boolean isProcessRequestExceptionRaised, final boolean isProcessResponseExceptionRaised) {
             this.isProcessRequestExceptionRaised = isProcessRequestExceptionRaised;
             this.isProcessResponseExceptionRaised = isProcessResponseExceptionRaised;
@@ -117,6 +128,74 @@ public class AbstractSoapHandlerTest {
         new StubSoapRequestHandler();
     }
 
+    /**
+     * Test constructor with a null failure log throttle.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullFailureLogThrottle() {
+        new StubSoapRequestHandler(null, new SampledLogThrottle(1), new SampledLogThrottle(1));
+    }
+
+    /**
+     * Test constructor with a null fault log throttle.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullFaultLogThrottle() {
+        new StubSoapRequestHandler(new SampledLogThrottle(1), null, new SampledLogThrottle(1));
+    }
+
+    /**
+     * Test constructor with a null exception log throttle.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_constructor_nullExceptionLogThrottle() {
+        new StubSoapRequestHandler(new SampledLogThrottle(1), new SampledLogThrottle(1), null);
+    }
+
+    /**
+     * Test the default throttles.
+     */
+    @Test
+    public void test_defaultThrottles() {
+        final StubSoapRequestHandler stub = new StubSoapRequestHandler();
+
+        Assert.assertNotNull("Should have a failure log throttle", stub.getFailureLogThrottle());
+        Assert.assertNotNull("Should have a fault log throttle", stub.getFaultLogThrottle());
+        Assert.assertEquals("Should be default sample rate", AbstractSoapHandler.DEFAULT_FAILURE_SAMPLE_RATE, ((SampledLogThrottle) stub.getExceptionLogThrottle()).getSampleRate());
+    }
+
+    /**
+     * Tests a storm of failures only serializes the SOAP message as the throttle permits.
+     */
+    @Test
+    public void test_handleMessage_throttled() throws SOAPException, IOException {
+        final StubSoapRequestHandler stub = new StubSoapRequestHandler(new SampledLogThrottle(10), new SampledLogThrottle(1), new SampledLogThrottle(10));
+
+        Mockito.when(soapMessageContext.get(MessageContext.MESSAGE_OUTBOUND_PROPERTY)).thenReturn(true);
+
+        for (int index = 0; index < 20; index++) {
+            Assert.assertFalse("Should have gotten a false", stub.handleMessage(soapMessageContext));
+        }
+
+        Mockito.verify(soapMessage, Mockito.times(2)).writeTo(Mockito.any(OutputStream.class));
+        Assert.assertEquals("Should have suppressed failures", 18, stub.getFailureLogThrottle().getTotalSuppressedCount());
+        Assert.assertEquals("Should have suppressed exceptions", 18, stub.getExceptionLogThrottle().getTotalSuppressedCount());
+    }
+
+    /**
+     * Tests handleFault() is throttled.
+     */
+    @Test
+    public void test_handleFault_throttled() throws SOAPException, IOException {
+        final StubSoapRequestHandler stub = new StubSoapRequestHandler(new SampledLogThrottle(1), new SampledLogThrottle(5), new SampledLogThrottle(1));
+
+        for (int index = 0; index < 10; index++) {
+            Assert.assertTrue("Should have gotten a true", stub.handleFault(soapMessageContext));
+        }
+
+        Mockito.verify(soapMessage, Mockito.times(2)).writeTo(Mockito.any(OutputStream.class));
+    }
+
     /**
      * Test the processFailure() method.
      */
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.flossware.jcore.CompiledFilter;
+import org.flossware.jcore.Filter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the FilterUtils class.
+ *
+ * @author Scot P. Floess
+ */
+public class FilterUtilsTest {
+
+    /**
+     * Accepts values divisible by the value applied.
+     */
+    static final Filter<Integer, Integer> DIVISIBLE_BY = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter % value == 0;
+        }
+    };
+
+    /**
+     * Accepts values greater than the value applied.
+     */
+    static final Filter<Integer, Integer> GREATER_THAN = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter > value;
+        }
+    };
+
+    /**
+     * Accepts everything.
+     */
+    static final Filter<Object, Object> ANYTHING = new Filter<Object, Object>() {
+        @Override
+        public boolean accept(final Object toFilter, final Object value) {
+            return true;
+        }
+    };
+
+    @Test
+    public void test_and() {
+        final Filter<Integer, Integer> filter = FilterUtils.and(DIVISIBLE_BY, GREATER_THAN);
+
+        Assert.assertTrue("Should accept", filter.accept(6, 3));
+        Assert.assertFalse("Should not accept", filter.accept(3, 3));
+        Assert.assertFalse("Should not accept", filter.accept(7, 3));
+    }
+
+    @Test
+    public void test_or() {
+        final Filter<Integer, Integer> filter = FilterUtils.or(DIVISIBLE_BY, GREATER_THAN);
+
+        Assert.assertTrue("Should accept", filter.accept(3, 3));
+        Assert.assertTrue("Should accept", filter.accept(7, 3));
+        Assert.assertFalse("Should not accept", filter.accept(2, 3));
+    }
+
+    @Test
+    public void test_not() {
+        final Filter<Integer, Integer> filter = FilterUtils.not(DIVISIBLE_BY);
+
+        Assert.assertFalse("Should not accept", filter.accept(6, 3));
+        Assert.assertTrue("Should accept", filter.accept(7, 3));
+        Assert.assertTrue("Should describe negation", filter.toString().startsWith("NOT["));
+        Assert.assertSame("Should unwrap a double negation", DIVISIBLE_BY, FilterUtils.not(filter));
+    }
+
+    @Test
+    public void test_all() {
+        final CompiledFilter<Integer, Integer> filter = FilterUtils.all(DIVISIBLE_BY, GREATER_THAN, ANYTHING);
+
+        Assert.assertEquals("Should be all", CompiledFilter.Mode.ALL, filter.getMode());
+        Assert.assertTrue("Should accept", filter.accept(6, 3));
+        Assert.assertFalse("Should not accept", filter.accept(3, 3));
+    }
+
+    @Test
+    public void test_any() {
+        final CompiledFilter<Integer, Integer> filter = FilterUtils.any(Arrays.asList(DIVISIBLE_BY, GREATER_THAN));
+
+        Assert.assertEquals("Should be any", CompiledFilter.Mode.ANY, filter.getMode());
+        Assert.assertTrue("Should accept", filter.accept(7, 3));
+        Assert.assertFalse("Should not accept", filter.accept(2, 3));
+    }
+
+    @Test
+    public void test_flatten() {
+        final Filter<Integer, Integer> notDivisible = FilterUtils.not(DIVISIBLE_BY);
+        final CompiledFilter<Integer, Integer> filter = FilterUtils.and(FilterUtils.and(DIVISIBLE_BY, GREATER_THAN), FilterUtils.all(ANYTHING, notDivisible));
+
+        Assert.assertEquals("Should flatten nested all", Arrays.asList(DIVISIBLE_BY, GREATER_THAN, ANYTHING, notDivisible), filter.getFilters());
+
+        final CompiledFilter<Integer, Integer> mixed = FilterUtils.or(FilterUtils.and(DIVISIBLE_BY, GREATER_THAN), ANYTHING);
+
+        Assert.assertEquals("Should not flatten a different mode", 2, mixed.getFilters().size());
+    }
+
+    @Test
+    public void test_empty() {
+        final List<Filter<Integer, Integer>> none = new ArrayList<>();
+
+        Assert.assertTrue("Should accept", FilterUtils.all(none).accept(1, 1));
+        Assert.assertFalse("Should not accept", FilterUtils.any(none).accept(1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_and_null() {
+        FilterUtils.and(DIVISIBLE_BY, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_or_null() {
+        FilterUtils.or(null, DIVISIBLE_BY);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_not_null() {
+        FilterUtils.not(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_all_null() {
+        FilterUtils.all((Iterable<Filter<Integer, Integer>>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_any_nullFilter() {
+        FilterUtils.any(DIVISIBLE_BY, null);
+    }
+}
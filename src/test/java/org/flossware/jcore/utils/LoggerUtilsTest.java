@@ -16,11 +16,26 @@
  */
 package org.flossware.jcore.utils;
 
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
+import org.flossware.jcore.Supplier;
+import org.flossware.jcore.logging.AsyncLogPublisher;
+import org.flossware.jcore.logging.SampledLogThrottle;
+import org.flossware.jcore.logging.OverflowPolicy;
+import org.junit.After;
 import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
 import org.junit.Test;
 
 /**
@@ -32,6 +47,67 @@ public class LoggerUtilsTest {
 
     static final Logger LOGGER = Logger.getLogger(LoggerUtilsTest.class.getName());
 
+    /**
+     * Number of calls to make when measuring allocations.
+     */
+    static final int ALLOCATION_ITERATIONS = 100000;
+
+    /**
+     * Captures records so we can examine what was published.
+     */
+    static final class CapturingHandler extends Handler {
+
+        final List<LogRecord> records = new ArrayList<>();
+
+        @Override
+        public void publish(final LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Counts the number of times it is called.
+     */
+    static final class CountingSupplier implements Supplier<String> {
+
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String get() {
+            count.incrementAndGet();
+
+            return "supplied";
+        }
+    }
+
+    private Logger logger;
+
+    private CapturingHandler handler;
+
+    @Before
+    public void init() {
+        handler = new CapturingHandler();
+
+        logger = Logger.getLogger(LoggerUtilsTest.class.getName() + ".capture");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.INFO);
+        logger.addHandler(handler);
+    }
+
+    @After
+    public void destroy() {
+        LoggerUtils.disableAsync();
+        logger.removeHandler(handler);
+    }
+
     /**
      * Tests the constructor.
      */
@@ -42,6 +118,125 @@ public class LoggerUtilsTest {
         constructor.newInstance(new Object[0]);
     }
 
+    /**
+     * Tests retrieving a cached logger for a class.
+     */
+    @Test
+    public void test_getLogger() {
+        final Logger classLogger = LoggerUtils.getLogger(LoggerUtilsTest.class);
+
+        Assert.assertSame("Should be the same logger as LogManager's", LOGGER, classLogger);
+        Assert.assertSame("Should be cached", classLogger, LoggerUtils.getLogger(LoggerUtilsTest.class));
+        Assert.assertEquals("Should be named for the class", String.class.getName(), LoggerUtils.getLogger(String.class).getName());
+    }
+
+    /**
+     * Tests retrieving a logger for a null class.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getLogger_null() {
+        LoggerUtils.getLogger(null);
+    }
+
+    /**
+     * Tests getting message templates.
+     */
+    @Test
+    public void test_getMessageTemplate() {
+        Assert.assertSame("Should be cached", LoggerUtils.getMessageTemplate("Foo [{0}]"), LoggerUtils.getMessageTemplate("Foo [{0}]"));
+        Assert.assertEquals("Should be correct pattern", "Foo [{0}]", LoggerUtils.getMessageTemplate("Foo [{0}]").getPattern());
+    }
+
+    /**
+     * Tests getting a message template for a null pattern.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void test_getMessageTemplate_null() {
+        LoggerUtils.getMessageTemplate(null);
+    }
+
+    /**
+     * Tests formatting.
+     */
+    @Test
+    public void test_format() {
+        Assert.assertEquals("Should be same as MessageFormat", MessageFormat.format("Put yielded [{0}] for [{1}] -> [{2}]", null, 1234567, "foo"), LoggerUtils.format("Put yielded [{0}] for [{1}] -> [{2}]", null, 1234567, "foo"));
+        Assert.assertEquals("Should be correct string", "Prefix [foo]", LoggerUtils.formatTo(new StringBuilder("Prefix "), "[{0}]", "foo").toString());
+
+        final char[] large = new char[LoggerUtils.MAX_REUSABLE_CAPACITY * 2];
+        Arrays.fill(large, 'a');
+
+        Assert.assertEquals("Should format large values", new String(large), LoggerUtils.format("{0}", new String(large)));
+        Assert.assertEquals("Should format after large values", "small", LoggerUtils.format("{0}", "small"));
+    }
+
+    /**
+     * Tests formatting a parameter whose toString() itself formats does not clobber the outer message.
+     */
+    @Test
+    public void test_format_reentrant() {
+        final Object nested = new Object() {
+            @Override
+            public String toString() {
+                return LoggerUtils.format("inner [{0}]", "value");
+            }
+        };
+
+        Assert.assertEquals("Should keep outer message", "outer [inner [value]] done", LoggerUtils.format("outer [{0}] {1}", nested, "done"));
+        Assert.assertEquals("Should format after re-entry", "again", LoggerUtils.format("{0}", "again"));
+    }
+
+    /**
+     * Tests throttled logging publishes permitted logs and summarizes suppressed ones.
+     */
+    @Test
+    public void test_logThrottled() {
+        final SampledLogThrottle throttle = new SampledLogThrottle(3);
+
+        for (int index = 0; index < 4; index++) {
+            LoggerUtils.logThrottled(throttle, logger, Level.INFO, "Failure [{0}]", index);
+        }
+
+        Assert.assertEquals("Should have published two logs and a summary", 3, handler.records.size());
+        Assert.assertArrayEquals("Should be first log", new Object[]{0}, handler.records.get(0).getParameters());
+        Assert.assertEquals("Should be summary", LoggerUtils.SUPPRESSED_SUMMARY, handler.records.get(1).getMessage());
+        Assert.assertArrayEquals("Should be summary", new Object[]{2L, "Failure [{0}]"}, handler.records.get(1).getParameters());
+        Assert.assertArrayEquals("Should be last log", new Object[]{3}, handler.records.get(2).getParameters());
+    }
+
+    /**
+     * Tests throttled logging does not consume permits or call suppliers when the level is disabled or suppressed.
+     */
+    @Test
+    public void test_logThrottled_supplier() {
+        final SampledLogThrottle throttle = new SampledLogThrottle(2);
+        final CountingSupplier supplier = new CountingSupplier();
+
+        Assert.assertFalse("Should not log", LoggerUtils.logThrottled(throttle, logger, Level.FINE, "Value [{0}]", supplier));
+        Assert.assertEquals("Should not have suppressed", 0, throttle.getTotalSuppressedCount());
+
+        Assert.assertTrue("Should log", LoggerUtils.logThrottled(throttle, logger, Level.INFO, "Value [{0}]", supplier));
+        Assert.assertFalse("Should not log", LoggerUtils.logThrottled(throttle, logger, Level.INFO, "Value [{0}]", supplier));
+
+        Assert.assertEquals("Should only have called supplier once", 1, supplier.count.get());
+        Assert.assertEquals("Should have published", 1, handler.records.size());
+    }
+
+    /**
+     * Tests throttled logging of a throwable.
+     */
+    @Test
+    public void test_logThrottled_throwable() {
+        final SampledLogThrottle throttle = new SampledLogThrottle(2);
+        final Exception exception = new Exception();
+
+        Assert.assertTrue("Should log", LoggerUtils.logThrottled(throttle, logger, Level.SEVERE, "Failed", exception));
+        Assert.assertFalse("Should not log", LoggerUtils.logThrottled(throttle, logger, Level.SEVERE, "Failed", exception));
+
+        Assert.assertEquals("Should have published", 1, handler.records.size());
+        Assert.assertSame("Should have thrown", exception, handler.records.get(0).getThrown());
+    }
+
     /**
      * Doesn't really test anything - just ensures we can log.
      */
@@ -85,4 +280,190 @@ public class LoggerUtilsTest {
 
         Assert.assertSame("Should have gotten correct return value", str0, LoggerUtils.logAndReturn(LOGGER, Level.SEVERE, "This is it {0} {1} {2} {3}", str0, str1, str2, str3));
     }
+
+    /**
+     * Tests the fixed arity logs present the correct parameters.
+     */
+    @Test
+    public void test_log_fixedArity() {
+        LoggerUtils.log(logger, Level.INFO, "None");
+        LoggerUtils.log(logger, Level.INFO, "{0}", "a");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1}", "a", "b");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1} {2}", "a", "b", "c");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1} {2} {3}", "a", "b", "c", "d");
+
+        Assert.assertEquals("Should have logged each", 5, handler.records.size());
+        Assert.assertNull("Should have no parameters", handler.records.get(0).getParameters());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{"a"}, handler.records.get(1).getParameters());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{"a", "b"}, handler.records.get(2).getParameters());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{"a", "b", "c"}, handler.records.get(3).getParameters());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{"a", "b", "c", "d"}, handler.records.get(4).getParameters());
+    }
+
+    /**
+     * Tests the primitive logs present boxed parameters.
+     */
+    @Test
+    public void test_log_primitives() {
+        LoggerUtils.log(logger, Level.INFO, "{0}", true);
+        LoggerUtils.log(logger, Level.INFO, "{0}", 5);
+        LoggerUtils.log(logger, Level.INFO, "{0}", 6L);
+
+        Assert.assertEquals("Should have logged each", 3, handler.records.size());
+        Assert.assertEquals("Should be correct parameter", Boolean.TRUE, handler.records.get(0).getParameters()[0]);
+        Assert.assertEquals("Should be correct parameter", 5, handler.records.get(1).getParameters()[0]);
+        Assert.assertEquals("Should be correct parameter", 6L, handler.records.get(2).getParameters()[0]);
+    }
+
+    /**
+     * Tests nothing is published when the level is disabled.
+     */
+    @Test
+    public void test_log_disabled() {
+        LoggerUtils.log(logger, Level.FINEST, "None");
+        LoggerUtils.log(logger, Level.FINEST, "{0} {1}", "a", "b");
+        LoggerUtils.log(logger, Level.FINEST, "{0}", 5);
+        LoggerUtils.log(logger, Level.FINEST, "{0} {1} {2} {3} {4}", "a", "b", "c", "d", "e");
+
+        Assert.assertTrue("Should not have logged", handler.records.isEmpty());
+    }
+
+    /**
+     * Tests suppliers are only called when the level is enabled.
+     */
+    @Test
+    public void test_log_supplier() {
+        final CountingSupplier supplier = new CountingSupplier();
+
+        LoggerUtils.log(logger, Level.FINEST, "{0}", supplier);
+        LoggerUtils.log(logger, Level.FINEST, "{0} {1}", supplier, supplier);
+
+        Assert.assertEquals("Should not have called supplier", 0, supplier.count.get());
+
+        LoggerUtils.log(logger, Level.INFO, "{0}", supplier);
+        LoggerUtils.log(logger, Level.INFO, "{0} {1}", supplier, supplier);
+
+        Assert.assertEquals("Should have called supplier", 3, supplier.count.get());
+        Assert.assertArrayEquals("Should be supplied parameters", new Object[]{"supplied", "supplied"}, handler.records.get(1).getParameters());
+    }
+
+    /**
+     * Tests the fixed arity log and returns.
+     */
+    @Test
+    public void test_logAndReturn_fixedArity() {
+        Assert.assertEquals("Should be correct return value", "a", LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1}", "a", "b"));
+        Assert.assertEquals("Should be correct return value", "a", LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1} {2}", "a", "b", "c"));
+        Assert.assertEquals("Should be correct return value", "a", LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1} {2} {3}", "a", "b", "c", "d"));
+
+        Assert.assertEquals("Should have logged enabled only", 2, handler.records.size());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{"a", "b", "c"}, handler.records.get(1).getParameters());
+    }
+
+    /**
+     * Tests the primitive log and returns return the correct value and only log when enabled.
+     */
+    @Test
+    public void test_logAndReturn_primitives() {
+        Assert.assertTrue("Should be correct return value", LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", true));
+        Assert.assertFalse("Should be correct return value", LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1}", false, "b"));
+        Assert.assertEquals("Should be correct return value", 1024, LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", 1024));
+        Assert.assertEquals("Should be correct return value", 2048, LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1}", 2048, "b"));
+        Assert.assertEquals("Should be correct return value", 4096L, LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", 4096L));
+        Assert.assertEquals("Should be correct return value", 8192L, LoggerUtils.logAndReturn(logger, Level.INFO, "{0} {1}", 8192L, "b"));
+
+        Assert.assertEquals("Should have logged each", 6, handler.records.size());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{false, "b"}, handler.records.get(1).getParameters());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{2048, "b"}, handler.records.get(3).getParameters());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{8192L, "b"}, handler.records.get(5).getParameters());
+
+        Assert.assertEquals("Should be correct return value", 1, LoggerUtils.logAndReturn(logger, Level.FINEST, "{0}", 1));
+        Assert.assertEquals("Should be correct return value", 2L, LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", 2L, "b"));
+        Assert.assertTrue("Should be correct return value", LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", true, "b"));
+
+        Assert.assertEquals("Should not have logged disabled", 6, handler.records.size());
+    }
+
+    /**
+     * Tests enabling and disabling asynchronous logging.
+     */
+    @Test
+    public void test_async() {
+        Assert.assertFalse("Should not be async", LoggerUtils.isAsync());
+        Assert.assertNull("Should not have a publisher", LoggerUtils.getAsyncLogPublisher());
+
+        final AsyncLogPublisher publisher = LoggerUtils.enableAsync(16, OverflowPolicy.BLOCK);
+
+        Assert.assertTrue("Should be async", LoggerUtils.isAsync());
+        Assert.assertSame("Should be same publisher", publisher, LoggerUtils.getAsyncLogPublisher());
+        Assert.assertEquals("Should be correct policy", OverflowPolicy.BLOCK, publisher.getOverflowPolicy());
+
+        LoggerUtils.log(logger, Level.INFO, "None");
+        LoggerUtils.log(logger, Level.INFO, "{0} {1}", "a", "b");
+        LoggerUtils.log(logger, Level.FINEST, "{0}", "disabled");
+        Assert.assertEquals("Should be correct return value", 5, LoggerUtils.logAndReturn(logger, Level.INFO, "{0}", 5));
+
+        final AsyncLogPublisher replacement = LoggerUtils.enableAsync();
+
+        Assert.assertFalse("Should have closed old publisher", publisher.isRunning());
+        Assert.assertEquals("Should have published everything", 3, publisher.getPublishedCount());
+        Assert.assertEquals("Should have published everything", 3, handler.records.size());
+        Assert.assertArrayEquals("Should be correct parameters", new Object[]{"a", "b"}, handler.records.get(1).getParameters());
+
+        LoggerUtils.disableAsync();
+
+        Assert.assertFalse("Should have closed publisher", replacement.isRunning());
+        Assert.assertFalse("Should not be async", LoggerUtils.isAsync());
+    }
+
+    /**
+     * Ensures that, when the level is disabled, logging allocates nothing.
+     */
+    @Test
+    public void test_log_disabled_noAllocation() {
+        final java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled());
+
+        final Object obj0 = "obj0";
+        final Object obj1 = "obj1";
+        final CountingSupplier supplier = new CountingSupplier();
+        final long threadId = Thread.currentThread().getId();
+
+        // Warm up so class loading and the like does not count.
+        logDisabled(obj0, obj1, supplier, ALLOCATION_ITERATIONS);
+
+        final long before = allocationBean.getThreadAllocatedBytes(threadId);
+
+        logDisabled(obj0, obj1, supplier, ALLOCATION_ITERATIONS);
+
+        final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+
+        Assert.assertEquals("Should not have called supplier", 0, supplier.count.get());
+        Assert.assertTrue("Should allocate zero bytes per call but allocated [" + allocated + "] bytes", allocated < ALLOCATION_ITERATIONS);
+    }
+
+    /**
+     * Perform logs that are disabled.
+     */
+    void logDisabled(final Object obj0, final Object obj1, final Supplier<?> supplier, final int iterations) {
+        for (int index = 0; index < iterations; index++) {
+            LoggerUtils.log(logger, Level.FINEST, "{0}", obj0);
+            LoggerUtils.log(logger, Level.FINEST, "{0} {1}", obj0, obj1);
+            LoggerUtils.log(logger, Level.FINEST, "{0} {1} {2} {3}", obj0, obj1, obj0, obj1);
+            LoggerUtils.log(logger, Level.FINEST, "{0}", index);
+            LoggerUtils.log(logger, Level.FINEST, "{0}", (long) index);
+            LoggerUtils.log(logger, Level.FINEST, "{0}", index > 0);
+            LoggerUtils.log(logger, Level.FINEST, "{0}", supplier);
+            LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", obj0, obj1);
+            LoggerUtils.logAndReturn(logger, Level.FINEST, "{0}", index + 1024);
+            LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", index + 1024, obj0);
+            LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", (long) index + 1024, obj0);
+            LoggerUtils.logAndReturn(logger, Level.FINEST, "{0} {1}", index > 0, obj0);
+        }
+    }
 }
@@ -21,12 +21,25 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.flossware.jcore.BiFunction;
 import org.flossware.jcore.Filter;
+import org.flossware.jcore.Function;
+import org.flossware.jcore.ToDoubleFunction;
+import org.flossware.jcore.ToIntFunction;
+import org.flossware.jcore.ToLongFunction;
 import org.flossware.jcore.utils.ObjectUtils;
 import org.flossware.jcore.utils.TestUtils;
 import org.junit.Assert;
@@ -487,4 +500,526 @@ public class CollectionUtilsTest {
         Assert.assertTrue("Value should be found", collection.contains(list.get(0)));
         Assert.assertTrue("Value should be found", collection.contains(list.get(2)));
     }
+
+    /**
+     * Return <code>size</code> random integers.
+     */
+    static List<Integer> randomIntegers(final int size) {
+        final Random random = new Random(size);
+        final List<Integer> retVal = new ArrayList<>(size);
+
+        for (int count = 0; count < size; count++) {
+            retVal.add(random.nextInt(1000));
+        }
+
+        return retVal;
+    }
+
+    static final Filter<Integer, Integer> DIVISIBLE_BY = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer divisor) {
+            return toFilter % divisor == 0;
+        }
+    };
+
+    static final Filter<Integer, Integer> EQUALS = new Filter<Integer, Integer>() {
+        @Override
+        public boolean accept(final Integer toFilter, final Integer value) {
+            return toFilter.equals(value);
+        }
+    };
+
+    static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer first, final Integer second) {
+            return first + second;
+        }
+    };
+
+    static final Function<Integer, Integer> MOD_SEVEN = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer value) {
+            return value % 7;
+        }
+    };
+
+    @Test
+    public void test_getDefaultForkJoinPool() {
+        Assert.assertNotNull("Should have a pool", CollectionUtils.getDefaultForkJoinPool());
+        Assert.assertSame("Should share pool", CollectionUtils.getDefaultForkJoinPool(), CollectionUtils.getDefaultForkJoinPool());
+    }
+
+    @Test
+    public void test_parallelFilter() {
+        final List<Integer> values = randomIntegers(10001);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            for (final int threshold : new int[]{1, 7, 100, 10001, 20000}) {
+                Assert.assertEquals("Should filter as filter() does", CollectionUtils.filter(values, DIVISIBLE_BY, 3), CollectionUtils.parallelFilter(values, DIVISIBLE_BY, 3, pool, threshold));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals("Should filter with defaults", CollectionUtils.filter(values, DIVISIBLE_BY, 5), CollectionUtils.parallelFilter(values, DIVISIBLE_BY, 5));
+        Assert.assertTrue("Should filter empty", CollectionUtils.parallelFilter(new ArrayList<Integer>(), DIVISIBLE_BY, 5).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parallelFilter_nullFilter() {
+        CollectionUtils.parallelFilter(new ArrayList<Integer>(), null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parallelFilter_nullPool() {
+        CollectionUtils.parallelFilter(new ArrayList<Integer>(), DIVISIBLE_BY, 1, null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parallelFilter_badThreshold() {
+        CollectionUtils.parallelFilter(new ArrayList<Integer>(), DIVISIBLE_BY, 1, CollectionUtils.getDefaultForkJoinPool(), 0);
+    }
+
+    @Test
+    public void test_parallelSort() {
+        final List<Integer> values = randomIntegers(20000);
+        final Comparator<Integer> byTens = new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                return Integer.compare(first / 10, second / 10);
+            }
+        };
+
+        final List<Integer> expected = new ArrayList<>(CollectionUtils.sort(values, byTens));
+
+        for (final int threshold : new int[]{1, 13, 1000, 50000}) {
+            Assert.assertEquals("Should sort stably as sort() does", expected, CollectionUtils.parallelSort(values, byTens, CollectionUtils.getDefaultForkJoinPool(), threshold));
+        }
+
+        Assert.assertEquals("Should sort with defaults", expected, CollectionUtils.parallelSort(values, byTens));
+        Assert.assertEquals("Should leave collection unchanged", randomIntegers(20000), values);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parallelSort_nullComparator() {
+        CollectionUtils.parallelSort(new ArrayList<Integer>(), null);
+    }
+
+    @Test
+    public void test_parallelContains() {
+        final List<Integer> values = randomIntegers(10000);
+
+        values.set(9999, 1001);
+
+        Assert.assertTrue("Should find value", CollectionUtils.parallelContains(values, EQUALS, 1001, CollectionUtils.getDefaultForkJoinPool(), 100));
+        Assert.assertFalse("Should not find value", CollectionUtils.parallelContains(values, EQUALS, 1002, CollectionUtils.getDefaultForkJoinPool(), 100));
+        Assert.assertTrue("Should find value with defaults", CollectionUtils.parallelContains(values, EQUALS, 1001));
+        Assert.assertFalse("Should not find in empty", CollectionUtils.parallelContains(new ArrayList<Integer>(), EQUALS, 1));
+    }
+
+    @Test
+    public void test_parallelContains_earlyTermination() {
+        final List<Integer> values = randomIntegers(100000);
+        final AtomicInteger calls = new AtomicInteger();
+
+        Assert.assertTrue("Should find value", CollectionUtils.parallelContains(values, new Filter<Integer, Integer>() {
+            @Override
+            public boolean accept(final Integer toFilter, final Integer value) {
+                calls.incrementAndGet();
+
+                return true;
+            }
+        }, 0, CollectionUtils.getDefaultForkJoinPool(), 1000));
+
+        Assert.assertTrue("Should stop once found", calls.get() < values.size());
+    }
+
+    @Test
+    public void test_parallelReduce() {
+        final List<Integer> values = randomIntegers(10000);
+
+        int expected = 0;
+
+        for (final Integer value : values) {
+            expected += value;
+        }
+
+        Assert.assertEquals("Should sum", Integer.valueOf(expected), CollectionUtils.parallelReduce(values, 0, SUM, CollectionUtils.getDefaultForkJoinPool(), 33));
+        Assert.assertEquals("Should sum with defaults", Integer.valueOf(expected), CollectionUtils.parallelReduce(values, 0, SUM));
+        Assert.assertEquals("Should return identity", Integer.valueOf(0), CollectionUtils.parallelReduce(new ArrayList<Integer>(), 0, SUM));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parallelReduce_nullOperator() {
+        CollectionUtils.parallelReduce(new ArrayList<Integer>(), 0, null);
+    }
+
+    @Test
+    public void test_parallelGroupBy() {
+        final List<Integer> values = randomIntegers(10000);
+        final Map<Integer, List<Integer>> expected = new LinkedHashMap<>();
+
+        for (final Integer value : values) {
+            final Integer key = value % 7;
+
+            if (!expected.containsKey(key)) {
+                expected.put(key, new ArrayList<Integer>());
+            }
+
+            expected.get(key).add(value);
+        }
+
+        final Map<Integer, List<Integer>> groups = CollectionUtils.parallelGroupBy(values, MOD_SEVEN, CollectionUtils.getDefaultForkJoinPool(), 50);
+
+        Assert.assertEquals("Should group", expected, groups);
+        Assert.assertEquals("Should keep first encountered key order", new ArrayList<>(expected.keySet()), new ArrayList<>(groups.keySet()));
+        Assert.assertEquals("Should group with defaults", expected, CollectionUtils.parallelGroupBy(values, MOD_SEVEN));
+        Assert.assertTrue("Should group empty", CollectionUtils.parallelGroupBy(new ArrayList<Integer>(), MOD_SEVEN).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parallelGroupBy_nullFunction() {
+        CollectionUtils.parallelGroupBy(new ArrayList<Integer>(), null);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_parallel_exception() {
+        CollectionUtils.parallelFilter(randomIntegers(1000), new Filter<Integer, Integer>() {
+            @Override
+            public boolean accept(final Integer toFilter, final Integer value) {
+                throw new IllegalStateException("boom");
+            }
+        }, 0, CollectionUtils.getDefaultForkJoinPool(), 10);
+    }
+
+    /**
+     * Not Comparable - asSet() cannot hold these.
+     */
+    static final class Point {
+
+        final int x;
+
+        Point(final int x) {
+            this.x = x;
+        }
+
+        @Override
+        public int hashCode() {
+            return x;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof Point && ((Point) object).x == x;
+        }
+    }
+
+    @Test
+    public void test_toList() {
+        final Set<String> set = new TreeSet<>(Arrays.asList("b", "a"));
+        final List<String> list = CollectionUtils.toList(set);
+
+        Assert.assertTrue("Should be an ArrayList", list instanceof ArrayList);
+        Assert.assertEquals("Should copy in order", Arrays.asList("a", "b"), list);
+
+        list.add("c");
+
+        Assert.assertEquals("Should not affect source", 2, set.size());
+        Assert.assertTrue("Should copy a non list for VIEW", CollectionUtils.toList(set, CopyMode.VIEW) instanceof ArrayList);
+    }
+
+    @Test
+    public void test_toList_view() {
+        final List<String> source = new ArrayList<>(Arrays.asList("a"));
+        final List<String> view = CollectionUtils.toList(source, CopyMode.VIEW);
+
+        source.add("b");
+
+        Assert.assertEquals("Should reflect source", Arrays.asList("a", "b"), view);
+
+        try {
+            view.add("c");
+
+            Assert.fail("Should be unmodifiable");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_toList_nullMode() {
+        CollectionUtils.toList(new ArrayList<String>(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_toList_null() {
+        CollectionUtils.toList(null);
+    }
+
+    @Test
+    public void test_toSet() {
+        final List<Point> list = Arrays.asList(new Point(1), new Point(2), new Point(1));
+        final Set<Point> set = CollectionUtils.toSet(list);
+
+        Assert.assertTrue("Should be a HashSet", set instanceof HashSet);
+        Assert.assertEquals("Should hold non comparable values", 2, set.size());
+        Assert.assertTrue("Should copy a non set for VIEW", CollectionUtils.toSet(list, CopyMode.VIEW) instanceof HashSet);
+    }
+
+    @Test
+    public void test_toSet_view() {
+        final Set<String> source = new HashSet<>();
+        final Set<String> view = CollectionUtils.toSet(source, CopyMode.VIEW);
+
+        source.add("a");
+
+        Assert.assertTrue("Should reflect source", view.contains("a"));
+
+        try {
+            view.add("c");
+
+            Assert.fail("Should be unmodifiable");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_toSet_null() {
+        CollectionUtils.toSet(null);
+    }
+
+    @Test
+    public void test_toSortedSet() {
+        final Comparator<String> reverse = Collections.reverseOrder();
+        final SortedSet<String> natural = CollectionUtils.toSortedSet(Arrays.asList("b", "c", "a"), null);
+        final SortedSet<String> reversed = CollectionUtils.toSortedSet(Arrays.asList("b", "c", "a"), reverse);
+
+        Assert.assertEquals("Should sort naturally", Arrays.asList("a", "b", "c"), new ArrayList<>(natural));
+        Assert.assertEquals("Should sort by comparator", Arrays.asList("c", "b", "a"), new ArrayList<>(reversed));
+        Assert.assertNotSame("Should copy sorted set", natural, CollectionUtils.toSortedSet(natural, null));
+        Assert.assertEquals("Should copy sorted set", natural, CollectionUtils.toSortedSet(natural, null));
+        Assert.assertEquals("Should resort by other comparator", Arrays.asList("c", "b", "a"), new ArrayList<>(CollectionUtils.toSortedSet(natural, reverse, CopyMode.VIEW)));
+    }
+
+    @Test
+    public void test_toSortedSet_view() {
+        final SortedSet<String> source = new TreeSet<>();
+        final SortedSet<String> view = CollectionUtils.toSortedSet(source, null, CopyMode.VIEW);
+
+        source.add("a");
+
+        Assert.assertEquals("Should reflect source", "a", view.first());
+
+        try {
+            view.add("c");
+
+            Assert.fail("Should be unmodifiable");
+        } catch (final UnsupportedOperationException unsupportedOperationException) {
+        }
+    }
+
+    @Test
+    public void test_toSortedList() {
+        final List<String> source = Arrays.asList("bb", "a", "cc", "b");
+        final List<String> sorted = CollectionUtils.toSortedList(source, new Comparator<String>() {
+            @Override
+            public int compare(final String first, final String second) {
+                return Integer.compare(first.length(), second.length());
+            }
+        });
+
+        Assert.assertEquals("Should sort stably", Arrays.asList("a", "b", "bb", "cc"), sorted);
+        Assert.assertEquals("Should not affect source", Arrays.asList("bb", "a", "cc", "b"), source);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_toSortedList_nullComparator() {
+        CollectionUtils.toSortedList(new ArrayList<String>(), null);
+    }
+
+    @Test
+    public void test_topK() {
+        final List<Integer> values = randomIntegers(10000);
+        final Comparator<Integer> byTens = new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                return Integer.compare(first / 10, second / 10);
+            }
+        };
+
+        final List<Integer> sorted = new ArrayList<>(CollectionUtils.sort(values, byTens));
+
+        Assert.assertEquals("Should match stable sort prefix", sorted.subList(0, 50), CollectionUtils.topK(values, 50, byTens));
+        Assert.assertEquals("Should return all if k is large", sorted, CollectionUtils.topK(values, 20000, byTens));
+        Assert.assertEquals("Should return all if k is huge", sorted, CollectionUtils.topK(values, Integer.MAX_VALUE, byTens));
+        Assert.assertTrue("Should return none", CollectionUtils.topK(values, 0, byTens).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_topK_negativeK() {
+        CollectionUtils.topK(new ArrayList<Integer>(), -1, Collections.<Integer>reverseOrder());
+    }
+
+    @Test
+    public void test_partialSort() {
+        final Comparator<Integer> natural = Collections.reverseOrder(Collections.<Integer>reverseOrder());
+
+        for (final int size : new int[]{0, 1, 2, 10, 1000, 10000}) {
+            final List<Integer> expected = new ArrayList<>(randomIntegers(size));
+
+            Collections.sort(expected);
+
+            for (final int k : new int[]{0, 1, 5, 50, size, size + 1}) {
+                final List<Integer> values = randomIntegers(size);
+
+                Assert.assertSame("Should return list", values, CollectionUtils.partialSort(values, k, natural));
+                Assert.assertEquals("Should sort prefix", expected.subList(0, Math.min(k, size)), values.subList(0, Math.min(k, size)));
+
+                Collections.sort(values);
+
+                Assert.assertEquals("Should keep all values", expected, values);
+            }
+        }
+    }
+
+    @Test
+    public void test_partialSort_duplicates() {
+        final List<Integer> values = new ArrayList<>(Collections.nCopies(1000, 7));
+
+        values.set(500, 3);
+
+        CollectionUtils.partialSort(values, 2, Collections.<Integer>reverseOrder(Collections.<Integer>reverseOrder()));
+
+        Assert.assertEquals("Should sort prefix", Arrays.asList(3, 7), values.subList(0, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_partialSort_negativeK() {
+        CollectionUtils.partialSort(new ArrayList<Integer>(), -1, Collections.<Integer>reverseOrder());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_partialSort_nullList() {
+        CollectionUtils.partialSort(null, 1, Collections.<Integer>reverseOrder());
+    }
+
+    /**
+     * A record with numeric fields to sort by.
+     */
+    static final class Sample {
+
+        final int id;
+        final int intKey;
+        final long longKey;
+        final double doubleKey;
+
+        Sample(final int id, final int intKey, final long longKey, final double doubleKey) {
+            this.id = id;
+            this.intKey = intKey;
+            this.longKey = longKey;
+            this.doubleKey = doubleKey;
+        }
+    }
+
+    static List<Sample> randomSamples(final int size) {
+        final Random random = new Random(size);
+        final List<Sample> retVal = new ArrayList<>(size);
+
+        for (int id = 0; id < size; id++) {
+            retVal.add(new Sample(id, random.nextInt(200) - 100, random.nextLong() >> random.nextInt(64), (random.nextInt(400) - 200) / 4.0));
+        }
+
+        retVal.add(new Sample(size, 0, 0, -0.0));
+        retVal.add(new Sample(size + 1, 0, 0, Double.NaN));
+        retVal.add(new Sample(size + 2, 0, 0, Double.NEGATIVE_INFINITY));
+
+        return retVal;
+    }
+
+    @Test
+    public void test_sortByIntKey() {
+        final List<Sample> samples = randomSamples(5000);
+        final List<Sample> expected = new ArrayList<>(CollectionUtils.sort(samples, new Comparator<Sample>() {
+            @Override
+            public int compare(final Sample first, final Sample second) {
+                return Integer.compare(first.intKey, second.intKey);
+            }
+        }));
+
+        Assert.assertEquals("Should sort stably as sort() does", expected, CollectionUtils.sortByIntKey(samples, new ToIntFunction<Sample>() {
+            @Override
+            public int applyAsInt(final Sample value) {
+                return value.intKey;
+            }
+        }));
+    }
+
+    @Test
+    public void test_sortByLongKey() {
+        final List<Sample> samples = randomSamples(5000);
+        final List<Sample> expected = new ArrayList<>(CollectionUtils.sort(samples, new Comparator<Sample>() {
+            @Override
+            public int compare(final Sample first, final Sample second) {
+                return Long.compare(first.longKey, second.longKey);
+            }
+        }));
+
+        Assert.assertEquals("Should sort stably as sort() does", expected, CollectionUtils.sortByLongKey(samples, new ToLongFunction<Sample>() {
+            @Override
+            public long applyAsLong(final Sample value) {
+                return value.longKey;
+            }
+        }));
+    }
+
+    @Test
+    public void test_sortByDoubleKey() {
+        final List<Sample> samples = randomSamples(5000);
+        final List<Sample> expected = new ArrayList<>(CollectionUtils.sort(samples, new Comparator<Sample>() {
+            @Override
+            public int compare(final Sample first, final Sample second) {
+                return Double.compare(first.doubleKey, second.doubleKey);
+            }
+        }));
+
+        final List<Sample> sorted = CollectionUtils.sortByDoubleKey(samples, new ToDoubleFunction<Sample>() {
+            @Override
+            public double applyAsDouble(final Sample value) {
+                return value.doubleKey;
+            }
+        });
+
+        Assert.assertEquals("Should sort stably as sort() does", expected, sorted);
+        Assert.assertTrue("Should put NaN last", Double.isNaN(sorted.get(sorted.size() - 1).doubleKey));
+    }
+
+    @Test
+    public void test_sortByIntKey_empty() {
+        Assert.assertTrue("Should be empty", CollectionUtils.sortByIntKey(new ArrayList<Sample>(), new ToIntFunction<Sample>() {
+            @Override
+            public int applyAsInt(final Sample value) {
+                return value.intKey;
+            }
+        }).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_sortByIntKey_nullFunction() {
+        CollectionUtils.sortByIntKey(new ArrayList<Sample>(), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_sortByLongKey_nullCollection() {
+        CollectionUtils.sortByLongKey(null, new ToLongFunction<Sample>() {
+            @Override
+            public long applyAsLong(final Sample value) {
+                return value.longKey;
+            }
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_sortByDoubleKey_nullFunction() {
+        CollectionUtils.sortByDoubleKey(new ArrayList<Sample>(), null);
+    }
 }
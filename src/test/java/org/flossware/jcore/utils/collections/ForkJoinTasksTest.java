@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.flossware.jcore.collections.ArraySplitter;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ForkJoinTasks class.
+ *
+ * @author Scot P. Floess
+ */
+public class ForkJoinTasksTest {
+
+    static Integer[] range(final int size) {
+        final Integer[] retVal = new Integer[size];
+
+        for (int index = 0; index < size; index++) {
+            retVal[index] = index;
+        }
+
+        return retVal;
+    }
+
+    /**
+     * Hand each chunk of <code>size</code> values to a handler recording them.
+     */
+    static List<List<Integer>> chunk(final int size, final int threshold) {
+        final List<List<Integer>> retVal = new ArrayList<>(Collections.<List<Integer>>nCopies(ForkJoinTasks.computeChunkCount(size, threshold), null));
+
+        ForkJoinTasks.forEachChunk(new ForkJoinPool(2), new ArraySplitter<>(range(size)), threshold, new ForkJoinTasks.ChunkHandler<Integer>() {
+            @Override
+            public void handle(final int chunk, final ArraySplitter<Integer> values) {
+                final List<Integer> chunkValues = new ArrayList<>();
+
+                while (values.hasNext()) {
+                    chunkValues.add(values.next());
+                }
+
+                retVal.set(chunk, chunkValues);
+            }
+        });
+
+        return retVal;
+    }
+
+    @Test
+    public void test_computeChunkCount() {
+        Assert.assertEquals("Should be one chunk", 1, ForkJoinTasks.computeChunkCount(0, 10));
+        Assert.assertEquals("Should be one chunk", 1, ForkJoinTasks.computeChunkCount(10, 10));
+        Assert.assertEquals("Should be two chunks", 2, ForkJoinTasks.computeChunkCount(11, 10));
+        Assert.assertEquals("Should be three chunks", 3, ForkJoinTasks.computeChunkCount(21, 10));
+    }
+
+    @Test
+    public void test_forEachChunk() {
+        for (final int size : new int[]{0, 1, 10, 11, 21, 1000, 1001}) {
+            final List<List<Integer>> chunks = chunk(size, 10);
+
+            int expected = 0;
+
+            for (final List<Integer> chunk : chunks) {
+                Assert.assertTrue("Should not exceed threshold", chunk.size() <= 10);
+                Assert.assertTrue("Should split evenly", size <= 10 || chunk.size() >= 5);
+
+                for (final Integer value : chunk) {
+                    Assert.assertEquals("Should number chunks in order", Integer.valueOf(expected++), value);
+                }
+            }
+
+            Assert.assertEquals("Should hand over every value", size, expected);
+        }
+    }
+}
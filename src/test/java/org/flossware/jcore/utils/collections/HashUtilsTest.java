@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the HashUtils class.
+ *
+ * @author Scot P. Floess
+ */
+public class HashUtilsTest {
+
+    @Test
+    public void test_mix() {
+        Assert.assertEquals("Should mix zero to zero", 0, HashUtils.mix(0));
+        Assert.assertEquals("Should mix zero to zero", 0, HashUtils.mix(0L));
+        Assert.assertNotEquals("Should spread consecutive values", HashUtils.mix(1) & 15, HashUtils.mix(2) & 15);
+        Assert.assertNotEquals("Should use high bits", HashUtils.mix(1L), HashUtils.mix(1L << 32 | 1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_ensureLoadFactor_zero() {
+        HashUtils.ensureLoadFactor(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_ensureLoadFactor_one() {
+        HashUtils.ensureLoadFactor(1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_ensureLoadFactor_nan() {
+        HashUtils.ensureLoadFactor(Float.NaN);
+    }
+
+    @Test
+    public void test_ensureLoadFactor() {
+        Assert.assertEquals("Should be same load factor", 0.5f, HashUtils.ensureLoadFactor(0.5f), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_computeCapacity_negative() {
+        HashUtils.computeCapacity(-1, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_computeCapacity_tooLarge() {
+        HashUtils.computeCapacity(Integer.MAX_VALUE, HashUtils.DEFAULT_LOAD_FACTOR);
+    }
+
+    @Test
+    public void test_computeCapacity() {
+        Assert.assertEquals("Should be minimum capacity", HashUtils.MIN_CAPACITY, HashUtils.computeCapacity(0, 0.75f));
+        Assert.assertEquals("Should be minimum capacity", HashUtils.MIN_CAPACITY, HashUtils.computeCapacity(3, 0.75f));
+        Assert.assertEquals("Should be power of two", 8, HashUtils.computeCapacity(4, 0.75f));
+        Assert.assertEquals("Should be power of two", 32, HashUtils.computeCapacity(16, 0.75f));
+        Assert.assertEquals("Should be power of two", 32, HashUtils.computeCapacity(16, 0.5f));
+        Assert.assertEquals("Should be maximum capacity", HashUtils.MAX_CAPACITY, HashUtils.computeCapacity(HashUtils.MAX_CAPACITY / 2, 0.5f));
+    }
+
+    @Test
+    public void test_computeThreshold() {
+        Assert.assertEquals("Should be load factor of capacity", 12, HashUtils.computeThreshold(16, 0.75f));
+        Assert.assertEquals("Should leave a free slot", 3, HashUtils.computeThreshold(4, 0.99f));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void test_computeGrownCapacity_max() {
+        HashUtils.computeGrownCapacity(HashUtils.MAX_CAPACITY);
+    }
+
+    @Test
+    public void test_computeGrownCapacity() {
+        Assert.assertEquals("Should double", 32, HashUtils.computeGrownCapacity(16));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.collections;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the RadixSort class.
+ *
+ * @author Scot P. Floess
+ */
+public class RadixSortTest {
+
+    @Test
+    public void test_toUnsigned_int() {
+        final int[] ordered = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+
+        for (int index = 1; index < ordered.length; index++) {
+            Assert.assertTrue("Should keep order", (RadixSort.toUnsigned(ordered[index - 1]) + Integer.MIN_VALUE) < (RadixSort.toUnsigned(ordered[index]) + Integer.MIN_VALUE));
+        }
+    }
+
+    @Test
+    public void test_toUnsigned_double() {
+        final double[] ordered = {Double.NEGATIVE_INFINITY, -1.5, -Double.MIN_VALUE, -0.0, 0.0, Double.MIN_VALUE, 2.0, Double.POSITIVE_INFINITY, Double.NaN};
+
+        for (int index = 1; index < ordered.length; index++) {
+            Assert.assertTrue("Should keep order", (RadixSort.toUnsigned(ordered[index - 1]) + Long.MIN_VALUE) < (RadixSort.toUnsigned(ordered[index]) + Long.MIN_VALUE));
+        }
+    }
+
+    @Test
+    public void test_sort_int() {
+        final Random random = new Random(3);
+        final int[] keys = new int[5000];
+
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = RadixSort.toUnsigned(random.nextInt(100) - 50);
+        }
+
+        final int[] original = keys.clone();
+        final int[] order = RadixSort.sort(keys);
+
+        for (int index = 1; index < order.length; index++) {
+            final long previous = original[order[index - 1]] & 0xFFFFFFFFL;
+            final long current = original[order[index]] & 0xFFFFFFFFL;
+
+            Assert.assertTrue("Should be sorted", previous <= current);
+            Assert.assertTrue("Should be stable", previous < current || order[index - 1] < order[index]);
+            Assert.assertEquals("Should reorder keys", original[order[index]], keys[index]);
+        }
+    }
+
+    @Test
+    public void test_sort_long() {
+        final Random random = new Random(5);
+        final long[] keys = new long[5000];
+
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = RadixSort.toUnsigned(random.nextLong() >> random.nextInt(64));
+        }
+
+        final long[] original = keys.clone();
+        final int[] order = RadixSort.sort(keys);
+        final long[] expected = new long[original.length];
+
+        for (int index = 0; index < expected.length; index++) {
+            expected[index] = original[index] + Long.MIN_VALUE;
+        }
+
+        Arrays.sort(expected);
+
+        for (int index = 0; index < order.length; index++) {
+            Assert.assertEquals("Should be sorted", expected[index], original[order[index]] + Long.MIN_VALUE);
+        }
+    }
+
+    @Test
+    public void test_sort_empty() {
+        Assert.assertEquals("Should be empty", 0, RadixSort.sort(new int[0]).length);
+        Assert.assertEquals("Should be empty", 0, RadixSort.sort(new long[0]).length);
+    }
+
+    @Test
+    public void test_sort_allEqual() {
+        Assert.assertArrayEquals("Should keep order", new int[]{0, 1, 2}, RadixSort.sort(new long[]{7, 7, 7}));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2016 Scot P. Floess
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.flossware.jcore.utils.io;
+
+import java.nio.ByteBuffer;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the ByteBufferUtils class.
+ *
+ * @author Scot P. Floess
+ */
+public class ByteBufferUtilsTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_free_null() {
+        ByteBufferUtils.free(null);
+    }
+
+    @Test
+    public void test_free_heap() {
+        Assert.assertFalse("Should not free heap buffers", ByteBufferUtils.free(ByteBuffer.allocate(16)));
+    }
+
+    @Test
+    public void test_free_direct() {
+        Assert.assertTrue("Should be supported", ByteBufferUtils.isFreeSupported());
+        Assert.assertTrue("Should free direct buffers", ByteBufferUtils.free(ByteBuffer.allocateDirect(16)));
+    }
+}
@@ -35,6 +35,7 @@ import javax.xml.ws.BindingProvider;
 import javax.xml.ws.handler.Handler;
 import javax.xml.ws.handler.soap.SOAPMessageContext;
 import org.flossware.jcore.io.OutputStreamFactory;
+import org.flossware.jcore.logging.SampledLogThrottle;
 import org.flossware.jcore.soap.SoapException;
 import org.flossware.jcore.utils.TestUtils;
 import org.junit.Assert;
@@ -376,6 +377,22 @@ public class SoapUtilsTest {
         Mockito.verify(soapMessage, Mockito.times(1)).writeTo(Mockito.any(OutputStream.class));
     }
 
+    /**
+     * Test throttled logging of a SOAPMessageContext only converts the message when logged.
+     */
+    @Test
+    public void test_logSoapMessageContext_throttled() throws SOAPException, IOException {
+        Mockito.when(logger.isLoggable(Level.SEVERE)).thenReturn(true);
+        Mockito.when(soapMessageContext.getMessage()).thenReturn(soapMessage);
+
+        final SampledLogThrottle throttle = new SampledLogThrottle(2);
+
+        Assert.assertTrue("Should have logged", SoapUtils.logSoapMessageContext(throttle, logger, Level.SEVERE, TestUtils.generateUniqueStr(), soapMessageContext));
+        Assert.assertFalse("Should not have logged", SoapUtils.logSoapMessageContext(throttle, logger, Level.SEVERE, TestUtils.generateUniqueStr(), soapMessageContext));
+
+        Mockito.verify(soapMessage, Mockito.times(1)).writeTo(Mockito.any(OutputStream.class));
+    }
+
     /**
      * Test logging a SOAPMessage - wrong level.
      */